@@ -0,0 +1,38 @@
+package net.rodrigoamaral;
+
+import net.rodrigoamaral.algorithms.ms2mo.island.IslandCoordinator;
+import net.rodrigoamaral.algorithms.ms2mo.island.IslandWorker;
+import net.rodrigoamaral.dspsp.experiment.ExperimentSettings;
+import net.rodrigoamaral.dspsp.experiment.ExperimentSettingsParser;
+import net.rodrigoamaral.logging.SPSPLogger;
+
+import java.io.IOException;
+
+/**
+ * MS2MO island worker entry point.
+ *
+ * Usage: IslandWorkerApp settings-file
+ *
+ * Connects to the coordinator started by DSPSPExperimentApp when
+ * islandWorkers is set, at islandHost (localhost by default) and
+ * islandPort, and runs MS2MO islands with the swarm settings of the given
+ * file until the experiment ends.
+ *
+ */
+public class IslandWorkerApp {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Usage: IslandWorkerApp settings-file");
+            System.exit(1);
+        }
+        ExperimentSettings settings = new ExperimentSettingsParser().parse(args[0]);
+        String host = settings.getIslandHost() != null ? settings.getIslandHost() : "localhost";
+        int port = settings.getIslandPort() != null ? settings.getIslandPort() : IslandCoordinator.DEFAULT_PORT;
+
+        SPSPLogger.info("Connecting to island coordinator at " + host + ":" + port);
+        try (IslandWorker worker = new IslandWorker(host, port, settings)) {
+            worker.run();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package net.rodrigoamaral.algorithms;
+
+import java.io.Serializable;
+
+/**
+ * Wall-clock time limit within which an algorithm must return its result.
+ * Algorithms start it when their run begins and check it between
+ * iterations. Once it is reached, they stop and return their current
+ * archive or population, whatever their evaluation budget.
+ *
+ * A deadline is started only once, so algorithms that share it, such as
+ * those of the components of a decomposed rescheduling, are limited
+ * together from the start of the first one. It is never reached before it
+ * is started.
+ *
+ * An algorithm always completes its initialization and the iteration in
+ * progress, so it may return somewhat after the deadline.
+ */
+public class Deadline implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long millis;
+    private long nanoTime;
+    private volatile boolean started;
+
+    private Deadline(long millis) {
+        this.millis = millis;
+    }
+
+    /**
+     * @param millis milliseconds from the start of the run
+     */
+    public static Deadline after(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Deadline must not be negative: " + millis);
+        }
+        return new Deadline(millis);
+    }
+
+    /**
+     * Starts counting the time limit, unless it has already been started.
+     */
+    public synchronized void start() {
+        if (!started) {
+            nanoTime = System.nanoTime() + millis * 1000000L;
+            started = true;
+        }
+    }
+
+    public boolean isReached() {
+        return started && System.nanoTime() - nanoTime >= 0;
+    }
+
+    /**
+     * @param deadline a deadline, or null if there is none
+     */
+    public static void start(Deadline deadline) {
+        if (deadline != null) {
+            deadline.start();
+        }
+    }
+
+    /**
+     * @param deadline a deadline, or null if there is none
+     * @return true if there is a deadline and it has been reached
+     */
+    public static boolean isReached(Deadline deadline) {
+        return deadline != null && deadline.isReached();
+    }
+}
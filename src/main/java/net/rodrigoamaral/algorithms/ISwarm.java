@@ -4,8 +4,27 @@ package net.rodrigoamaral.algorithms;
 import org.uma.jmetal.solution.DoubleSolution;
 import org.uma.jmetal.util.archive.Archive;
 
+/**
+ * Swarm that can be driven by a multi-swarm algorithm.
+ *
+ * {@link #run()} performs a complete optimization. A multi-swarm algorithm
+ * should instead call {@link #init()} once and then {@link #step()} at each
+ * iteration, so that positions, velocities and local bests are kept between
+ * iterations and archive swaps.
+ */
 public interface ISwarm {
     void mergeArchive(Archive<DoubleSolution> archive);
     Archive<DoubleSolution> getLeaders();
     void run();
+
+    /**
+     * Creates and evaluates the initial swarm and initializes velocities,
+     * particle memories and leaders.
+     */
+    void init();
+
+    /**
+     * Performs one iteration over the current swarm. Requires {@link #init()}.
+     */
+    void step();
 }
@@ -0,0 +1,237 @@
+package net.rodrigoamaral.algorithms.cc;
+
+import net.rodrigoamaral.algorithms.Deadline;
+import net.rodrigoamaral.algorithms.ISwarm;
+import net.rodrigoamaral.algorithms.smpso.SMPSOBuilder;
+import net.rodrigoamaral.algorithms.smpso.SMPSODynamicBuilder;
+import net.rodrigoamaral.jmetal.operator.impl.mutation.SparsePolynomialMutation;
+import net.rodrigoamaral.jmetal.util.archive.impl.IncrementalCrowdingDistanceArchive;
+import net.rodrigoamaral.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
+import net.rodrigoamaral.jmetal.util.pseudorandom.ThreadBoundRandomGenerator;
+import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.problem.DoubleProblem;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.archive.BoundedArchive;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+import org.uma.jmetal.util.pseudorandom.impl.MersenneTwisterGenerator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Cooperative coevolution of sub-swarms, each optimizing one group of
+ * variables (Potter and De Jong, 1994), as multi-objective cooperative
+ * coevolution algorithms do for large decision spaces.
+ *
+ * Each group is optimized by an SMPSO swarm over a {@link SubcomponentProblem},
+ * which evaluates its particles together with the values of the other
+ * variables in a context vector. In each cycle all swarms perform one
+ * iteration in parallel against the same context. The complete solutions
+ * they evaluated are then added to a global archive, and a random member
+ * of the archive becomes the context of the next cycle.
+ *
+ * Leaders and particle memories keep the objective values obtained with
+ * the context at the time they were evaluated. The global archive, which
+ * is the result, only holds complete solutions with their own values.
+ */
+@SuppressWarnings("serial")
+public class CooperativeCoevolution implements Algorithm<List<DoubleSolution>> {
+
+    private final DoubleProblem problem;
+    private final List<SubcomponentProblem> subproblems;
+    private final List<ISwarm> swarms;
+    private final int maxCycles;
+    private final int numberOfThreads;
+    private final BoundedArchive<DoubleSolution> globalArchive;
+    private final List<DoubleSolution> initialPopulation;
+    private Deadline deadline;
+
+    /**
+     * Constructor
+     *
+     * @param groups variable indices of each group
+     * @param swarmSize particles of each swarm
+     * @param maxEvaluations evaluations of all swarms, one per particle in
+     *                       each cycle
+     * @param archiveSize size of the leaders archives and of the global
+     *                    archive
+     * @param numberOfThreads threads running the swarms. Zero uses all
+     *                        available processors.
+     * @param initialPopulation solutions of the problem the swarms start
+     *                          from, or null to start from random ones
+     */
+    public CooperativeCoevolution(DoubleProblem problem, int[][] groups, int swarmSize, int maxEvaluations,
+                                  int archiveSize, int numberOfThreads, List<DoubleSolution> initialPopulation) {
+        this.problem = problem;
+        this.maxCycles = Math.max(1, maxEvaluations / (groups.length * swarmSize));
+        this.numberOfThreads = numberOfThreads > 0 ? numberOfThreads : Runtime.getRuntime().availableProcessors();
+        this.globalArchive = new IncrementalCrowdingDistanceArchive<>(archiveSize);
+        this.initialPopulation = initialPopulation;
+        this.subproblems = new ArrayList<>(groups.length);
+        this.swarms = new ArrayList<>(groups.length);
+        for (int[] group : groups) {
+            SubcomponentProblem subproblem = new SubcomponentProblem(problem, group);
+            subproblems.add(subproblem);
+            BoundedArchive<DoubleSolution> leaders = new IncrementalCrowdingDistanceArchive<>(archiveSize);
+            List<DoubleSolution> swarmPopulation = project(subproblem, initialPopulation, swarmSize);
+            SMPSOBuilder builder = swarmPopulation == null
+                    ? new SMPSOBuilder(subproblem, leaders)
+                    : new SMPSODynamicBuilder(subproblem, leaders).setInitialPopulation(swarmPopulation);
+            swarms.add(builder
+                    .setMutation(new SparsePolynomialMutation(1.0 / group.length, 20.0))
+                    .setMaxIterations(maxCycles)
+                    .setSwarmSize(swarmSize)
+                    .setSolutionListEvaluator(new SequentialSolutionListEvaluator<DoubleSolution>())
+                    .build());
+        }
+    }
+
+    /**
+     * @return the group values of the initial population, completed with
+     * random solutions up to the swarm size, or null without an initial
+     * population
+     */
+    private static List<DoubleSolution> project(SubcomponentProblem subproblem, List<DoubleSolution> solutions,
+                                                int size) {
+        if (solutions == null || solutions.isEmpty()) {
+            return null;
+        }
+        List<DoubleSolution> projected = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            projected.add(i < solutions.size() ? subproblem.project(solutions.get(i)) : subproblem.createSolution());
+        }
+        return projected;
+    }
+
+    /**
+     * @param deadline time by which no new cycle is started, or null. The
+     *                 first cycle, which initializes the swarms, always
+     *                 runs.
+     */
+    public void setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Each swarm draws random numbers from its own generator, seeded from
+     * the jMetal random generator, so results are the same for any number
+     * of threads when the jMetal generator seed is fixed.
+     */
+    @Override
+    public void run() {
+        Deadline.start(deadline);
+        PseudoRandomGenerator defaultGenerator = JMetalRandom.getInstance().getRandomGenerator();
+        PseudoRandomGenerator[] swarmGenerators = new PseudoRandomGenerator[swarms.size()];
+        for (int s = 0; s < swarms.size(); s++) {
+            swarmGenerators[s] = new MersenneTwisterGenerator(defaultGenerator.nextInt(0, Integer.MAX_VALUE - 1));
+        }
+
+        DoubleSolution context = initialPopulation != null && !initialPopulation.isEmpty()
+                ? initialPopulation.get(0)
+                : problem.createSolution();
+
+        int threads = Math.min(numberOfThreads, swarms.size());
+        ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        ThreadBoundRandomGenerator threadBoundGenerator = ThreadBoundRandomGenerator.install();
+        try {
+            for (int cycle = 0; cycle < maxCycles && (cycle == 0 || !Deadline.isReached(deadline)); cycle++) {
+                for (SubcomponentProblem subproblem : subproblems) {
+                    subproblem.setContext(context);
+                }
+                runSwarms(cycle == 0, executor, threadBoundGenerator, swarmGenerators);
+                updateGlobalArchive();
+                context = selectContext();
+            }
+        } finally {
+            ThreadBoundRandomGenerator.uninstall(threadBoundGenerator);
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private void runSwarms(boolean first, ExecutorService executor, ThreadBoundRandomGenerator threadBoundGenerator,
+                           PseudoRandomGenerator[] swarmGenerators) {
+        List<Callable<Void>> tasks = new ArrayList<>(swarms.size());
+        for (int s = 0; s < swarms.size(); s++) {
+            final ISwarm swarm = swarms.get(s);
+            final PseudoRandomGenerator generator = swarmGenerators[s];
+            tasks.add(() -> {
+                PseudoRandomGenerator previous = threadBoundGenerator.bind(generator);
+                try {
+                    if (first) {
+                        swarm.init();
+                    } else {
+                        swarm.step();
+                    }
+                } finally {
+                    threadBoundGenerator.restore(previous);
+                }
+                return null;
+            });
+        }
+        try {
+            if (executor == null) {
+                for (Callable<Void> task : tasks) {
+                    task.call();
+                }
+            } else {
+                for (Future<Void> future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JMetalException(e);
+        } catch (ExecutionException e) {
+            throw new JMetalException(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JMetalException(e);
+        }
+    }
+
+    /**
+     * Adds the complete solutions evaluated in the last cycle to the global
+     * archive, swarm by swarm, so that the archive does not depend on the
+     * order in which swarms finish.
+     */
+    private void updateGlobalArchive() {
+        List<DoubleSolution> evaluated = new ArrayList<>();
+        for (SubcomponentProblem subproblem : subproblems) {
+            evaluated.clear();
+            subproblem.drainEvaluated(evaluated);
+            for (DoubleSolution solution : evaluated) {
+                globalArchive.add(solution);
+            }
+        }
+    }
+
+    private DoubleSolution selectContext() {
+        List<DoubleSolution> archived = globalArchive.getSolutionList();
+        return archived.get(JMetalRandom.getInstance().nextInt(0, archived.size() - 1));
+    }
+
+    @Override
+    public List<DoubleSolution> getResult() {
+        return globalArchive.getSolutionList();
+    }
+
+    @Override
+    public String getName() {
+        return "CCSMPSO";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Cooperative coevolution of SMPSO swarms over groups of variables";
+    }
+}
@@ -0,0 +1,106 @@
+package net.rodrigoamaral.algorithms.cc;
+
+import net.rodrigoamaral.algorithms.Deadline;
+import net.rodrigoamaral.dspsp.DSPSProblem;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.AlgorithmBuilder;
+
+import java.util.List;
+
+public class CooperativeCoevolutionBuilder implements AlgorithmBuilder<CooperativeCoevolution> {
+
+    private final DSPSProblem problem;
+    private VariableGrouping variableGrouping;
+    private int numberOfGroups;
+    private int swarmSize;
+    private int maxEvaluations;
+    private int archiveSize;
+    private int numberOfThreads;
+    private List<DoubleSolution> initialPopulation;
+    private Deadline deadline;
+
+    public CooperativeCoevolutionBuilder(DSPSProblem problem) {
+        this.problem = problem;
+        this.variableGrouping = VariableGrouping.TASK_COLUMNS;
+        this.numberOfGroups = 4;
+        this.swarmSize = 100;
+        this.maxEvaluations = 25000;
+        this.archiveSize = 100;
+        this.numberOfThreads = 0;
+    }
+
+    public CooperativeCoevolutionBuilder setVariableGrouping(VariableGrouping variableGrouping) {
+        this.variableGrouping = variableGrouping;
+        return this;
+    }
+
+    /**
+     * @param numberOfGroups maximum number of variable groups, each
+     *                       optimized by its own swarm
+     */
+    public CooperativeCoevolutionBuilder setNumberOfGroups(int numberOfGroups) {
+        if (numberOfGroups < 1) {
+            throw new IllegalArgumentException("Number of groups must be positive: " + numberOfGroups);
+        }
+        this.numberOfGroups = numberOfGroups;
+        return this;
+    }
+
+    public CooperativeCoevolutionBuilder setSwarmSize(int swarmSize) {
+        this.swarmSize = swarmSize;
+        return this;
+    }
+
+    public CooperativeCoevolutionBuilder setMaxEvaluations(int maxEvaluations) {
+        this.maxEvaluations = maxEvaluations;
+        return this;
+    }
+
+    public CooperativeCoevolutionBuilder setArchiveSize(int archiveSize) {
+        this.archiveSize = archiveSize;
+        return this;
+    }
+
+    /**
+     * @param numberOfThreads threads running the swarms. Zero uses all
+     *                        available processors.
+     */
+    public CooperativeCoevolutionBuilder setNumberOfThreads(int numberOfThreads) {
+        this.numberOfThreads = numberOfThreads;
+        return this;
+    }
+
+    public CooperativeCoevolutionBuilder setInitialPopulation(List<DoubleSolution> initialPopulation) {
+        this.initialPopulation = initialPopulation;
+        return this;
+    }
+
+    /**
+     * @param deadline time by which no new cycle is started, or null
+     */
+    public CooperativeCoevolutionBuilder setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    /**
+     * Groups the variables of the current state of the project, which
+     * must not change until the algorithm has run.
+     */
+    @Override
+    public CooperativeCoevolution build() {
+        int[][] groups = variableGrouping.groups(problem, numberOfGroups);
+        if (groups.length == 0) {
+            // No available task, so all variables are optimized together
+            int[] all = new int[problem.getNumberOfVariables()];
+            for (int i = 0; i < all.length; i++) {
+                all[i] = i;
+            }
+            groups = new int[][] {all};
+        }
+        CooperativeCoevolution algorithm = new CooperativeCoevolution(problem, groups, swarmSize, maxEvaluations,
+                archiveSize, numberOfThreads, initialPopulation);
+        algorithm.setDeadline(deadline);
+        return algorithm;
+    }
+}
@@ -0,0 +1,110 @@
+package net.rodrigoamaral.algorithms.cc;
+
+import net.rodrigoamaral.dspsp.solution.DSPSPSolution;
+import net.rodrigoamaral.jmetal.util.DoubleSolutionUtils;
+import org.uma.jmetal.problem.DoubleProblem;
+import org.uma.jmetal.problem.impl.AbstractDoubleProblem;
+import org.uma.jmetal.solution.DoubleSolution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Problem over a group of variables of another problem. A solution is
+ * evaluated by placing its values into a copy of the context vector, which
+ * holds the values of all other variables, and evaluating the complete
+ * solution with the original problem.
+ *
+ * Complete solutions evaluated since the last call to
+ * {@link #drainEvaluated(List)} are kept, so that they can be archived.
+ * The context must not change while solutions are being evaluated.
+ */
+@SuppressWarnings("serial")
+class SubcomponentProblem extends AbstractDoubleProblem {
+
+    private final DoubleProblem problem;
+    private final int[] variables;
+    private final double[] lowerBounds;
+    private final double[] upperBounds;
+    private final double[] fullLowerBounds;
+    private final double[] fullUpperBounds;
+    private final double[] context;
+    private final List<DoubleSolution> evaluated = new ArrayList<>();
+
+    /**
+     * @param problem original problem
+     * @param variables indices of the variables of the group in the
+     *                  original problem
+     */
+    SubcomponentProblem(DoubleProblem problem, int[] variables) {
+        this.problem = problem;
+        this.variables = variables;
+        fullLowerBounds = DoubleSolutionUtils.lowerBounds(problem);
+        fullUpperBounds = DoubleSolutionUtils.upperBounds(problem);
+        context = new double[problem.getNumberOfVariables()];
+
+        List<Double> lowerLimit = new ArrayList<>(variables.length);
+        List<Double> upperLimit = new ArrayList<>(variables.length);
+        for (int variable : variables) {
+            lowerLimit.add(fullLowerBounds[variable]);
+            upperLimit.add(fullUpperBounds[variable]);
+        }
+        setName(problem.getName());
+        setNumberOfVariables(variables.length);
+        setNumberOfObjectives(problem.getNumberOfObjectives());
+        setNumberOfConstraints(problem.getNumberOfConstraints());
+        setLowerLimit(lowerLimit);
+        setUpperLimit(upperLimit);
+        lowerBounds = DoubleSolutionUtils.lowerBounds(this);
+        upperBounds = DoubleSolutionUtils.upperBounds(this);
+    }
+
+    /**
+     * @param solution solution of the original problem whose variables
+     *                 become the context
+     */
+    void setContext(DoubleSolution solution) {
+        DoubleSolutionUtils.getVariables(solution, context);
+    }
+
+    /**
+     * @param solution solution of the original problem
+     * @return solution of this problem with the values of the group
+     */
+    DoubleSolution project(DoubleSolution solution) {
+        double[] values = DoubleSolutionUtils.getVariables(solution, new double[context.length]);
+        double[] groupValues = new double[variables.length];
+        for (int k = 0; k < variables.length; k++) {
+            groupValues[k] = values[variables[k]];
+        }
+        return new DSPSPSolution(lowerBounds, upperBounds, groupValues, new double[getNumberOfObjectives()]);
+    }
+
+    /**
+     * Moves the complete solutions evaluated so far to a list.
+     */
+    void drainEvaluated(List<DoubleSolution> solutions) {
+        solutions.addAll(evaluated);
+        evaluated.clear();
+    }
+
+    @Override
+    public DoubleSolution createSolution() {
+        return new DSPSPSolution(lowerBounds, upperBounds, getNumberOfObjectives());
+    }
+
+    @Override
+    public void evaluate(DoubleSolution solution) {
+        double[] values = context.clone();
+        for (int k = 0; k < variables.length; k++) {
+            values[variables[k]] = solution.getVariableValue(k);
+        }
+        DoubleSolution complete = new DSPSPSolution(fullLowerBounds, fullUpperBounds, values,
+                new double[getNumberOfObjectives()]);
+        problem.evaluate(complete);
+        for (int i = 0; i < getNumberOfObjectives(); i++) {
+            solution.setObjective(i, complete.getObjective(i));
+        }
+        evaluated.add(complete);
+    }
+}
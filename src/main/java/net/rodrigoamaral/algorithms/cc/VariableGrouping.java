@@ -0,0 +1,100 @@
+package net.rodrigoamaral.algorithms.cc;
+
+import net.rodrigoamaral.dspsp.DSPSProblem;
+import net.rodrigoamaral.dspsp.project.tasks.DynamicTask;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public enum VariableGrouping {
+    // Each available task is grouped on its own, with the dedications of all employees to it
+    TASK_COLUMNS,
+    // Available tasks connected in the precedence graph are kept in the same group
+    TASK_CLUSTERS;
+
+    /**
+     * Partitions the variables of the available tasks. Task sets are
+     * assigned, largest first, to the group with the fewest tasks, which is
+     * also the one with the fewest variables. There are fewer groups than
+     * requested if there are fewer task sets. Variables of unavailable
+     * tasks belong to no group.
+     *
+     * @param problem problem whose variables are grouped
+     * @param numberOfGroups maximum number of groups
+     * @return variable indices of each group, in ascending order
+     */
+    public int[][] groups(DSPSProblem problem, int numberOfGroups) {
+        List<List<Integer>> taskSets = taskSets(problem);
+        int[] taskGroup = new int[problem.getProject().getTasks().size()];
+        int groups = Math.max(1, Math.min(numberOfGroups, taskSets.size()));
+        int[] groupSizes = new int[groups];
+        Arrays.fill(taskGroup, -1);
+
+        taskSets.sort((a, b) -> Integer.compare(b.size(), a.size()));
+        for (List<Integer> taskSet : taskSets) {
+            int smallest = 0;
+            for (int g = 1; g < groups; g++) {
+                if (groupSizes[g] < groupSizes[smallest]) {
+                    smallest = g;
+                }
+            }
+            for (int task : taskSet) {
+                taskGroup[task] = smallest;
+            }
+            groupSizes[smallest] += taskSet.size();
+        }
+
+        List<List<Integer>> variables = new ArrayList<>(groups);
+        for (int g = 0; g < groups; g++) {
+            variables.add(new ArrayList<Integer>());
+        }
+        for (int i = 0; i < problem.getNumberOfVariables(); i++) {
+            int group = taskGroup[problem.getVariableTask(i)];
+            if (group >= 0) {
+                variables.get(group).add(i);
+            }
+        }
+
+        List<int[]> result = new ArrayList<>(groups);
+        for (List<Integer> group : variables) {
+            if (!group.isEmpty()) {
+                int[] indices = new int[group.size()];
+                for (int k = 0; k < indices.length; k++) {
+                    indices[k] = group.get(k);
+                }
+                result.add(indices);
+            }
+        }
+        return result.toArray(new int[result.size()][]);
+    }
+
+    private List<List<Integer>> taskSets(DSPSProblem problem) {
+        boolean[] available = new boolean[problem.getProject().getTasks().size()];
+        for (DynamicTask task : problem.getProject().getAvailableTasks()) {
+            available[task.index()] = true;
+        }
+        List<List<Integer>> taskSets = new ArrayList<>();
+        if (this == TASK_CLUSTERS) {
+            for (List<Integer> component : problem.getProject().getTaskPrecedenceGraph().getConnectedComponents()) {
+                List<Integer> taskSet = new ArrayList<>();
+                for (int task : component) {
+                    if (available[task]) {
+                        taskSet.add(task);
+                    }
+                }
+                if (!taskSet.isEmpty()) {
+                    taskSets.add(taskSet);
+                }
+            }
+        } else {
+            for (int task = 0; task < available.length; task++) {
+                if (available[task]) {
+                    taskSets.add(Collections.singletonList(task));
+                }
+            }
+        }
+        return taskSets;
+    }
+}
@@ -0,0 +1,239 @@
+package net.rodrigoamaral.algorithms.decomposition;
+
+import net.rodrigoamaral.dspsp.DSPSProblem;
+import net.rodrigoamaral.dspsp.adapters.SolutionConverter;
+import net.rodrigoamaral.dspsp.project.DynamicProject;
+import net.rodrigoamaral.dspsp.project.tasks.DynamicTask;
+import net.rodrigoamaral.jmetal.util.DoubleSolutionUtils;
+import net.rodrigoamaral.jmetal.util.archive.impl.IncrementalCrowdingDistanceArchive;
+import net.rodrigoamaral.jmetal.util.pseudorandom.ThreadBoundRandomGenerator;
+import net.rodrigoamaral.logging.SPSPLogger;
+import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.archive.BoundedArchive;
+import org.uma.jmetal.util.comparator.ObjectiveComparator;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+import org.uma.jmetal.util.pseudorandom.impl.MersenneTwisterGenerator;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reschedules independent work streams separately. The available tasks
+ * are split by the weakly connected components of the precedence graph,
+ * which share no precedences and are only coupled by the dedication of the
+ * employees. Each component becomes a subproblem over a restricted copy of
+ * the project, in which the maximum dedication of every employee is scaled
+ * by the share of the component in the remaining effort, so that merged
+ * schedules do not overwork anyone.
+ *
+ * The algorithms of the subproblems run concurrently. A deadline shared by
+ * them limits the whole rescheduling, from the start of the first one, so
+ * components waiting for a thread get only the time that is left. Their
+ * fronts are sorted by duration and the i-th schedule of the merged front
+ * joins the schedules at the same relative position in every front.
+ * Merged schedules are evaluated, and thus repaired, by the original
+ * problem.
+ */
+@SuppressWarnings("serial")
+public class ComponentDecomposition implements Algorithm<List<DoubleSolution>> {
+
+    private final DSPSProblem problem;
+    private final List<DSPSProblem> subproblems;
+    private final List<Algorithm<List<DoubleSolution>>> algorithms;
+    private final int numberOfThreads;
+    private final BoundedArchive<DoubleSolution> archive;
+
+    /**
+     * Constructor
+     *
+     * @param subproblems subproblems created by {@link #decompose(DSPSProblem)}
+     * @param algorithms algorithm of each subproblem
+     * @param archiveSize maximum number of merged schedules
+     * @param numberOfThreads threads running the algorithms. Zero uses all
+     *                        available processors.
+     */
+    public ComponentDecomposition(DSPSProblem problem, List<DSPSProblem> subproblems,
+                                  List<Algorithm<List<DoubleSolution>>> algorithms, int archiveSize,
+                                  int numberOfThreads) {
+        this.problem = problem;
+        this.subproblems = subproblems;
+        this.algorithms = algorithms;
+        this.numberOfThreads = numberOfThreads > 0 ? numberOfThreads : Runtime.getRuntime().availableProcessors();
+        this.archive = new IncrementalCrowdingDistanceArchive<>(archiveSize);
+    }
+
+    /**
+     * Creates a subproblem for each connected component of the available
+     * tasks, with the same decision space type as the problem.
+     *
+     * @return subproblems, fewer than two if the problem is not decomposable
+     */
+    public static List<DSPSProblem> decompose(DSPSProblem problem) {
+        DynamicProject project = problem.getProject();
+        Set<Integer> available = new HashSet<>();
+        for (DynamicTask task : project.getAvailableTasks()) {
+            available.add(task.index());
+        }
+
+        List<List<Integer>> components = new ArrayList<>();
+        List<Double> efforts = new ArrayList<>();
+        double totalEffort = 0;
+        for (List<Integer> component : project.getTaskPrecedenceGraph().getConnectedComponents()) {
+            List<Integer> tasks = new ArrayList<>();
+            double effort = 0;
+            for (int t : component) {
+                if (available.contains(t)) {
+                    tasks.add(t);
+                    effort += project.getTaskByIndex(t).getRemainingEffort();
+                }
+            }
+            if (!tasks.isEmpty()) {
+                components.add(tasks);
+                efforts.add(effort);
+                totalEffort += effort;
+            }
+        }
+
+        List<DSPSProblem> subproblems = new ArrayList<>(components.size());
+        if (components.size() > 1) {
+            SPSPLogger.info("Rescheduling decomposed into " + components.size() + " components: " + components);
+            for (int c = 0; c < components.size(); c++) {
+                double share = totalEffort > 0 ? efforts.get(c) / totalEffort : 1.0 / components.size();
+                DSPSProblem subproblem = new DSPSProblem(project.restrictTo(components.get(c), share));
+                subproblem.setReducedDecisionSpace(problem.isReducedDecisionSpace());
+                subproblem.countEvaluationsIn(problem);
+                subproblems.add(subproblem);
+            }
+        }
+        return subproblems;
+    }
+
+    /**
+     * @param solution solution of the problem
+     * @return unevaluated solution of a subproblem with the same values.
+     * Subproblems always have the objectives of a rescheduling.
+     */
+    public static DoubleSolution project(DSPSProblem problem, DSPSProblem subproblem, DoubleSolution solution) {
+        DoubleSolution reduced = subproblem.reduce(problem.expand(solution));
+        return subproblem.createSolution(
+                DoubleSolutionUtils.getVariables(reduced, new double[subproblem.getNumberOfVariables()]));
+    }
+
+    /**
+     * Each algorithm draws random numbers from its own generator, seeded
+     * from the jMetal random generator, so results do not depend on thread
+     * scheduling.
+     */
+    @Override
+    public void run() {
+        PseudoRandomGenerator defaultGenerator = JMetalRandom.getInstance().getRandomGenerator();
+        PseudoRandomGenerator[] generators = new PseudoRandomGenerator[algorithms.size()];
+        for (int c = 0; c < algorithms.size(); c++) {
+            generators[c] = new MersenneTwisterGenerator(defaultGenerator.nextInt(0, Integer.MAX_VALUE - 1));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(numberOfThreads, algorithms.size()));
+        ThreadBoundRandomGenerator threadBoundGenerator = ThreadBoundRandomGenerator.install();
+        List<List<DoubleSolution>> fronts = new ArrayList<>(algorithms.size());
+        try {
+            List<Callable<List<DoubleSolution>>> tasks = new ArrayList<>(algorithms.size());
+            for (int c = 0; c < algorithms.size(); c++) {
+                final Algorithm<List<DoubleSolution>> algorithm = algorithms.get(c);
+                final PseudoRandomGenerator generator = generators[c];
+                tasks.add(() -> {
+                    PseudoRandomGenerator previous = threadBoundGenerator.bind(generator);
+                    try {
+                        algorithm.run();
+                        return algorithm.getResult();
+                    } finally {
+                        threadBoundGenerator.restore(previous);
+                    }
+                });
+            }
+            for (Future<List<DoubleSolution>> future : executor.invokeAll(tasks)) {
+                fronts.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JMetalException(e);
+        } catch (ExecutionException e) {
+            throw new JMetalException(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        } finally {
+            ThreadBoundRandomGenerator.uninstall(threadBoundGenerator);
+            executor.shutdownNow();
+        }
+        for (DoubleSolution solution : merge(fronts)) {
+            archive.add(solution);
+        }
+    }
+
+    /**
+     * @param fronts front of each subproblem
+     * @return merged schedules, evaluated by the problem, as many as the
+     * largest front
+     */
+    List<DoubleSolution> merge(List<List<DoubleSolution>> fronts) {
+        int size = 0;
+        List<List<DoubleSolution>> sortedFronts = new ArrayList<>(fronts.size());
+        for (int c = 0; c < fronts.size(); c++) {
+            List<DoubleSolution> front = new ArrayList<>(subproblems.get(c).expand(fronts.get(c)));
+            front.sort(new ObjectiveComparator<DoubleSolution>(0));
+            sortedFronts.add(front);
+            size = Math.max(size, front.size());
+        }
+
+        List<DoubleSolution> merged = new ArrayList<>(size);
+        double[] values = new double[problem.getProject().size()];
+        double[] componentValues = new double[values.length];
+        for (int i = 0; i < size; i++) {
+            for (int c = 0; c < sortedFronts.size(); c++) {
+                List<DoubleSolution> front = sortedFronts.get(c);
+                if (front.isEmpty()) {
+                    continue;
+                }
+                DoubleSolution schedule = front.get(size > 1 ? i * (front.size() - 1) / (size - 1) : 0);
+                DoubleSolutionUtils.getVariables(schedule, componentValues);
+                DynamicProject subproject = subproblems.get(c).getProject();
+                for (DynamicTask task : subproject.getAvailableTasks()) {
+                    for (int e = 0; e < subproject.getEmployees().size(); e++) {
+                        int index = SolutionConverter.encode(e, task.index());
+                        values[index] = componentValues[index];
+                    }
+                }
+            }
+            // Created by the problem, as subproblems may have more objectives
+            DoubleSolution schedule = problem.expand(
+                    problem.createSolution(new double[problem.getNumberOfVariables()]));
+            DoubleSolutionUtils.setVariables(schedule, values);
+            DoubleSolution solution = problem.reduce(schedule);
+            problem.evaluate(solution);
+            merged.add(solution);
+        }
+        return merged;
+    }
+
+    @Override
+    public List<DoubleSolution> getResult() {
+        return archive.getSolutionList();
+    }
+
+    @Override
+    public String getName() {
+        return algorithms.isEmpty() ? "ComponentDecomposition" : algorithms.get(0).getName();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Rescheduling decomposed by connected components of the task precedence graph";
+    }
+}
@@ -0,0 +1,374 @@
+package net.rodrigoamaral.algorithms.moead;
+
+import net.rodrigoamaral.algorithms.Deadline;
+import net.rodrigoamaral.jmetal.util.evaluator.SolutionListEvaluator;
+import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.algorithm.multiobjective.moead.AbstractMOEAD.FunctionType;
+import org.uma.jmetal.operator.CrossoverOperator;
+import org.uma.jmetal.operator.MutationOperator;
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.SolutionListUtils;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * MOEA/D (Zhang and Li, 2007) for problems whose solutions are evaluated
+ * in batches, optionally starting from a given population.
+ *
+ * Each solution of the population is the best found for one subproblem,
+ * the scalarization of the objectives with one weight vector. In each
+ * generation every subproblem breeds one offspring from two parents taken
+ * from its neighbourhood, the subproblems with the closest weight vectors,
+ * or, with probability 1 - neighbourhoodSelectionProbability, from the
+ * whole population. All offspring of a generation are evaluated together
+ * by the solution list evaluator, which may evaluate them in parallel, and
+ * then replace, in turn, up to maximumNumberOfReplacedSolutions solutions
+ * of the neighbourhood or population that they improve.
+ *
+ * Objectives are normalized by the ideal and nadir points of the
+ * population, as the objectives of DSPSP have very different scales. Each
+ * generation costs O(N T M) besides evaluations, for N subproblems with T
+ * neighbours and M objectives, instead of the non-dominated sorting of
+ * NSGA-II.
+ *
+ * Weight vectors are those of the simplex lattice with the most divisions
+ * that does not exceed the population size, completed by random weight
+ * vectors.
+ */
+@SuppressWarnings("serial")
+public class MOEADDynamic implements Algorithm<List<DoubleSolution>> {
+
+    // Penalty factor of PBI
+    private static final double THETA = 5.0;
+    // Weight of an objective with a zero weight in the Tchebycheff function
+    private static final double MINIMUM_WEIGHT = 1.0e-4;
+
+    private final Problem<DoubleSolution> problem;
+    private final int populationSize;
+    private final int maxEvaluations;
+    private final CrossoverOperator<DoubleSolution> crossoverOperator;
+    private final MutationOperator<DoubleSolution> mutationOperator;
+    private final FunctionType functionType;
+    private final int neighbourSize;
+    private final double neighbourhoodSelectionProbability;
+    private final int maximumNumberOfReplacedSolutions;
+    private final SolutionListEvaluator<DoubleSolution> evaluator;
+    private final List<DoubleSolution> initialPopulation;
+    private final JMetalRandom randomGenerator = JMetalRandom.getInstance();
+
+    private List<DoubleSolution> population;
+    private double[][] lambda;
+    private int[][] neighbourhood;
+    private double[] idealPoint;
+    private double[] nadirPoint;
+    private int evaluations;
+    private Deadline deadline;
+
+    public MOEADDynamic(Problem<DoubleSolution> problem, int populationSize, int maxEvaluations,
+                        CrossoverOperator<DoubleSolution> crossoverOperator,
+                        MutationOperator<DoubleSolution> mutationOperator, FunctionType functionType,
+                        int neighbourSize, double neighbourhoodSelectionProbability,
+                        int maximumNumberOfReplacedSolutions, SolutionListEvaluator<DoubleSolution> evaluator,
+                        List<DoubleSolution> initialPopulation) {
+        this.problem = problem;
+        this.populationSize = populationSize;
+        this.maxEvaluations = maxEvaluations;
+        this.crossoverOperator = crossoverOperator;
+        this.mutationOperator = mutationOperator;
+        this.functionType = functionType;
+        this.neighbourSize = Math.min(neighbourSize, populationSize);
+        this.neighbourhoodSelectionProbability = neighbourhoodSelectionProbability;
+        this.maximumNumberOfReplacedSolutions = maximumNumberOfReplacedSolutions;
+        this.evaluator = evaluator;
+        this.initialPopulation = initialPopulation;
+    }
+
+    /**
+     * @param deadline time by which the algorithm stops breeding new
+     *                 batches, or null
+     */
+    public void setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Shuts the evaluator down when done.
+     */
+    @Override
+    public void run() {
+        Deadline.start(deadline);
+        try {
+            evolve();
+        } finally {
+            evaluator.shutdown();
+        }
+    }
+
+    private void evolve() {
+        population = evaluator.evaluate(createInitialPopulation(), problem);
+        evaluations = populationSize;
+        initializeWeights();
+        initializeNeighbourhood();
+        idealPoint = new double[problem.getNumberOfObjectives()];
+        Arrays.fill(idealPoint, Double.POSITIVE_INFINITY);
+        for (DoubleSolution solution : population) {
+            updateIdealPoint(solution);
+        }
+        updateNadirPoint();
+
+        while (evaluations < maxEvaluations && !Deadline.isReached(deadline)) {
+            int batchSize = Math.min(populationSize, maxEvaluations - evaluations);
+            int[] subproblems = randomPermutation(populationSize);
+            boolean[] fromNeighbourhood = new boolean[batchSize];
+            List<DoubleSolution> offspring = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                fromNeighbourhood[i] = randomGenerator.nextDouble() < neighbourhoodSelectionProbability;
+                offspring.add(createOffspring(subproblems[i], fromNeighbourhood[i]));
+            }
+            offspring = evaluator.evaluate(offspring, problem);
+            evaluations += batchSize;
+            for (int i = 0; i < batchSize; i++) {
+                updateIdealPoint(offspring.get(i));
+                updateSolutions(offspring.get(i), subproblems[i], fromNeighbourhood[i]);
+            }
+            updateNadirPoint();
+        }
+    }
+
+    private List<DoubleSolution> createInitialPopulation() {
+        List<DoubleSolution> solutions = new ArrayList<>(populationSize);
+        for (int i = 0; i < populationSize; i++) {
+            if (initialPopulation == null || initialPopulation.isEmpty()) {
+                solutions.add(problem.createSolution());
+            } else {
+                solutions.add((DoubleSolution) initialPopulation.get(i).copy());
+            }
+        }
+        return solutions;
+    }
+
+    private void initializeWeights() {
+        int numberOfObjectives = problem.getNumberOfObjectives();
+        List<double[]> weights = new ArrayList<>(populationSize);
+        if (numberOfObjectives == 1) {
+            weights.add(new double[]{1.0});
+        } else {
+            int divisions = 1;
+            while (latticeSize(divisions + 1, numberOfObjectives) <= populationSize) {
+                divisions++;
+            }
+            addLatticeWeights(weights, new int[numberOfObjectives], 0, divisions, divisions);
+        }
+        while (weights.size() < populationSize) {
+            weights.add(randomWeight(numberOfObjectives));
+        }
+        lambda = weights.subList(0, populationSize).toArray(new double[populationSize][]);
+    }
+
+    /**
+     * @return number of weight vectors with the given number of divisions,
+     * C(divisions + objectives - 1, objectives - 1)
+     */
+    private static double latticeSize(int divisions, int numberOfObjectives) {
+        double size = 1;
+        for (int i = 1; i < numberOfObjectives; i++) {
+            size = size * (divisions + i) / i;
+        }
+        return size;
+    }
+
+    /**
+     * Adds the weight vectors whose components are multiples of
+     * 1 / divisions, given the components before the objective.
+     */
+    private static void addLatticeWeights(List<double[]> weights, int[] steps, int objective, int remaining,
+                                          int divisions) {
+        if (objective == steps.length - 1) {
+            steps[objective] = remaining;
+            double[] weight = new double[steps.length];
+            for (int i = 0; i < steps.length; i++) {
+                weight[i] = (double) steps[i] / divisions;
+            }
+            weights.add(weight);
+            return;
+        }
+        for (int step = 0; step <= remaining; step++) {
+            steps[objective] = step;
+            addLatticeWeights(weights, steps, objective + 1, remaining - step, divisions);
+        }
+    }
+
+    /**
+     * @return a weight vector drawn uniformly from the simplex
+     */
+    private double[] randomWeight(int numberOfObjectives) {
+        double[] weight = new double[numberOfObjectives];
+        double sum = 0;
+        for (int i = 0; i < numberOfObjectives; i++) {
+            weight[i] = -Math.log(1.0 - randomGenerator.nextDouble());
+            sum += weight[i];
+        }
+        for (int i = 0; i < numberOfObjectives; i++) {
+            weight[i] = sum > 0 ? weight[i] / sum : 1.0 / numberOfObjectives;
+        }
+        return weight;
+    }
+
+    /**
+     * The neighbourhood of a subproblem holds the subproblems with the
+     * closest weight vectors, itself included.
+     */
+    private void initializeNeighbourhood() {
+        neighbourhood = new int[populationSize][neighbourSize];
+        Integer[] order = new Integer[populationSize];
+        double[] distances = new double[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            for (int j = 0; j < populationSize; j++) {
+                distances[j] = squaredDistance(lambda[i], lambda[j]);
+                order[j] = j;
+            }
+            Arrays.sort(order, Comparator.comparingDouble(j -> distances[j]));
+            for (int k = 0; k < neighbourSize; k++) {
+                neighbourhood[i][k] = order[k];
+            }
+        }
+    }
+
+    private static double squaredDistance(double[] a, double[] b) {
+        double distance = 0;
+        for (int i = 0; i < a.length; i++) {
+            distance += (a[i] - b[i]) * (a[i] - b[i]);
+        }
+        return distance;
+    }
+
+    private DoubleSolution createOffspring(int subproblem, boolean fromNeighbourhood) {
+        int poolSize = fromNeighbourhood ? neighbourSize : populationSize;
+        int first = randomGenerator.nextInt(0, poolSize - 1);
+        int second = first;
+        while (poolSize > 1 && second == first) {
+            second = randomGenerator.nextInt(0, poolSize - 1);
+        }
+        if (fromNeighbourhood) {
+            first = neighbourhood[subproblem][first];
+            second = neighbourhood[subproblem][second];
+        }
+        List<DoubleSolution> parents = Arrays.asList(population.get(first), population.get(second));
+        DoubleSolution child = crossoverOperator.execute(parents).get(0);
+        mutationOperator.execute(child);
+        return child;
+    }
+
+    /**
+     * Replaces, in random order, up to maximumNumberOfReplacedSolutions
+     * solutions of the neighbourhood of a subproblem, or of the population,
+     * that are worse than a child for their own subproblem.
+     */
+    private void updateSolutions(DoubleSolution child, int subproblem, boolean fromNeighbourhood) {
+        int size = fromNeighbourhood ? neighbourSize : populationSize;
+        int[] order = randomPermutation(size);
+        int replaced = 0;
+        for (int i = 0; i < size && replaced < maximumNumberOfReplacedSolutions; i++) {
+            int k = fromNeighbourhood ? neighbourhood[subproblem][order[i]] : order[i];
+            if (fitness(child, lambda[k]) < fitness(population.get(k), lambda[k])) {
+                population.set(k, child);
+                replaced++;
+            }
+        }
+    }
+
+    private double fitness(DoubleSolution solution, double[] weight) {
+        int numberOfObjectives = weight.length;
+        switch (functionType) {
+            case TCHE: {
+                double max = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < numberOfObjectives; i++) {
+                    double difference = Math.abs(normalized(solution, i));
+                    max = Math.max(max, difference * (weight[i] == 0 ? MINIMUM_WEIGHT : weight[i]));
+                }
+                return max;
+            }
+            case PBI: {
+                double norm = 0;
+                double d1 = 0;
+                for (int i = 0; i < numberOfObjectives; i++) {
+                    d1 += normalized(solution, i) * weight[i];
+                    norm += weight[i] * weight[i];
+                }
+                norm = Math.sqrt(norm);
+                d1 = Math.abs(d1) / norm;
+                double d2 = 0;
+                for (int i = 0; i < numberOfObjectives; i++) {
+                    double difference = normalized(solution, i) - d1 * weight[i] / norm;
+                    d2 += difference * difference;
+                }
+                return d1 + THETA * Math.sqrt(d2);
+            }
+            case AGG: {
+                double sum = 0;
+                for (int i = 0; i < numberOfObjectives; i++) {
+                    sum += weight[i] * normalized(solution, i);
+                }
+                return sum;
+            }
+            default:
+                throw new JMetalException("Unknown function type: " + functionType);
+        }
+    }
+
+    private double normalized(DoubleSolution solution, int objective) {
+        double range = nadirPoint[objective] - idealPoint[objective];
+        return (solution.getObjective(objective) - idealPoint[objective]) / (range > 0 ? range : 1);
+    }
+
+    private void updateIdealPoint(DoubleSolution solution) {
+        for (int i = 0; i < idealPoint.length; i++) {
+            idealPoint[i] = Math.min(idealPoint[i], solution.getObjective(i));
+        }
+    }
+
+    private void updateNadirPoint() {
+        nadirPoint = new double[idealPoint.length];
+        Arrays.fill(nadirPoint, Double.NEGATIVE_INFINITY);
+        for (DoubleSolution solution : population) {
+            for (int i = 0; i < nadirPoint.length; i++) {
+                nadirPoint[i] = Math.max(nadirPoint[i], solution.getObjective(i));
+            }
+        }
+    }
+
+    private int[] randomPermutation(int size) {
+        int[] permutation = new int[size];
+        for (int i = 0; i < size; i++) {
+            permutation[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = randomGenerator.nextInt(0, i);
+            int swapped = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = swapped;
+        }
+        return permutation;
+    }
+
+    @Override
+    public List<DoubleSolution> getResult() {
+        return SolutionListUtils.getNondominatedSolutions(population);
+    }
+
+    @Override
+    public String getName() {
+        return "MOEAD";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Multi-Objective Evolutionary Algorithm based on Decomposition";
+    }
+}
@@ -0,0 +1,117 @@
+package net.rodrigoamaral.algorithms.moead;
+
+import net.rodrigoamaral.algorithms.Deadline;
+import net.rodrigoamaral.jmetal.util.evaluator.SolutionListEvaluator;
+import net.rodrigoamaral.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
+import org.uma.jmetal.algorithm.multiobjective.moead.AbstractMOEAD.FunctionType;
+import org.uma.jmetal.operator.CrossoverOperator;
+import org.uma.jmetal.operator.MutationOperator;
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.AlgorithmBuilder;
+
+import java.util.List;
+
+public class MOEADDynamicBuilder implements AlgorithmBuilder<MOEADDynamic> {
+
+    private final Problem<DoubleSolution> problem;
+    private final CrossoverOperator<DoubleSolution> crossoverOperator;
+    private final MutationOperator<DoubleSolution> mutationOperator;
+    private int populationSize;
+    private int maxEvaluations;
+    private FunctionType functionType;
+    private int neighbourSize;
+    private double neighbourhoodSelectionProbability;
+    private int maximumNumberOfReplacedSolutions;
+    private SolutionListEvaluator<DoubleSolution> evaluator;
+    private List<DoubleSolution> initialPopulation;
+    private Deadline deadline;
+
+    public MOEADDynamicBuilder(Problem<DoubleSolution> problem, CrossoverOperator<DoubleSolution> crossoverOperator,
+                               MutationOperator<DoubleSolution> mutationOperator) {
+        this.problem = problem;
+        this.crossoverOperator = crossoverOperator;
+        this.mutationOperator = mutationOperator;
+        this.populationSize = 100;
+        this.maxEvaluations = 25000;
+        this.functionType = FunctionType.TCHE;
+        this.neighbourSize = 20;
+        this.neighbourhoodSelectionProbability = 0.9;
+        this.maximumNumberOfReplacedSolutions = 2;
+        this.evaluator = new SequentialSolutionListEvaluator<>();
+    }
+
+    public MOEADDynamicBuilder setPopulationSize(int populationSize) {
+        this.populationSize = populationSize;
+        return this;
+    }
+
+    public MOEADDynamicBuilder setMaxEvaluations(int maxEvaluations) {
+        this.maxEvaluations = maxEvaluations;
+        return this;
+    }
+
+    /**
+     * @param functionType scalarizing function of the subproblems
+     */
+    public MOEADDynamicBuilder setFunctionType(FunctionType functionType) {
+        this.functionType = functionType;
+        return this;
+    }
+
+    public MOEADDynamicBuilder setNeighbourSize(int neighbourSize) {
+        if (neighbourSize < 2) {
+            throw new IllegalArgumentException("Neighbour size must be at least 2: " + neighbourSize);
+        }
+        this.neighbourSize = neighbourSize;
+        return this;
+    }
+
+    /**
+     * @param neighbourhoodSelectionProbability probability of mating and
+     *                                          replacing within the
+     *                                          neighbourhood instead of the
+     *                                          whole population
+     */
+    public MOEADDynamicBuilder setNeighbourhoodSelectionProbability(double neighbourhoodSelectionProbability) {
+        this.neighbourhoodSelectionProbability = neighbourhoodSelectionProbability;
+        return this;
+    }
+
+    public MOEADDynamicBuilder setMaximumNumberOfReplacedSolutions(int maximumNumberOfReplacedSolutions) {
+        this.maximumNumberOfReplacedSolutions = maximumNumberOfReplacedSolutions;
+        return this;
+    }
+
+    /**
+     * @param evaluator evaluator of the offspring of each generation, which
+     *                  may evaluate them in parallel
+     */
+    public MOEADDynamicBuilder setSolutionListEvaluator(SolutionListEvaluator<DoubleSolution> evaluator) {
+        this.evaluator = evaluator;
+        return this;
+    }
+
+    public MOEADDynamicBuilder setInitialPopulation(List<DoubleSolution> initialPopulation) {
+        this.initialPopulation = initialPopulation;
+        return this;
+    }
+
+    /**
+     * @param deadline time by which the algorithm stops breeding new
+     *                 batches, or null
+     */
+    public MOEADDynamicBuilder setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
+    @Override
+    public MOEADDynamic build() {
+        MOEADDynamic algorithm = new MOEADDynamic(problem, populationSize, maxEvaluations, crossoverOperator,
+                mutationOperator, functionType, neighbourSize, neighbourhoodSelectionProbability,
+                maximumNumberOfReplacedSolutions, evaluator, initialPopulation);
+        algorithm.setDeadline(deadline);
+        return algorithm;
+    }
+}
@@ -6,5 +6,6 @@ public enum ArchiveType {
     IdealArchive,
     SPEA2DensityArchive,
     AdaptiveGridArchive,
-    HypervolumeArchive
+    HypervolumeArchive,
+    HypervolumeContributionArchive
 }
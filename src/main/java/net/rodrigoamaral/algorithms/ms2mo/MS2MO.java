@@ -1,93 +1,348 @@
 package net.rodrigoamaral.algorithms.ms2mo;
 
+import net.rodrigoamaral.algorithms.Deadline;
 import net.rodrigoamaral.algorithms.ISwarm;
+import net.rodrigoamaral.jmetal.util.archive.impl.NDTreeArchive;
+import net.rodrigoamaral.jmetal.util.pseudorandom.ThreadBoundRandomGenerator;
 import org.uma.jmetal.algorithm.Algorithm;
 import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.JMetalException;
 import org.uma.jmetal.util.archive.Archive;
 import org.uma.jmetal.util.archive.impl.NonDominatedSolutionListArchive;
-import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+import org.uma.jmetal.util.pseudorandom.impl.MersenneTwisterGenerator;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class MS2MO implements Algorithm {
 
+    // Oldest migrants are dropped when a swarm does not keep up
+    private static final int MIGRATION_QUEUE_CAPACITY = 500;
+
     private List<ISwarm> swarms;
 
     private int maxIterations;
     private int swapInterval;
     private TopologyType topology;
     private Archive globalArchive;
+    private int numberOfThreads;
+    private boolean asynchronous;
+    private int migrationInterval;
+    private int migrationSize;
+    private MigrationChannel migrationChannel;
+    private Deadline deadline;
 
     /**
      * Constructor
      */
     public MS2MO(List<ISwarm> swarms, int maxIterations, int swapInterval, TopologyType topology) {
+        this(swarms, maxIterations, swapInterval, topology, 1);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param numberOfThreads threads running the swarms between swaps. Zero
+     *                        uses all available processors.
+     */
+    public MS2MO(List<ISwarm> swarms, int maxIterations, int swapInterval, TopologyType topology, int numberOfThreads) {
+        this(swarms, maxIterations, swapInterval, topology, numberOfThreads, false, 0, 0);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param numberOfThreads threads running the swarms. Zero uses all
+     *                        available processors.
+     * @param asynchronous if true, swarms never wait for each other and
+     *                     exchange leaders through migration queues instead
+     *                     of synchronous swaps
+     * @param migrationInterval iterations between migrations in asynchronous
+     *                          mode. Zero uses the swap interval.
+     * @param migrationSize leaders sent to each neighbour per migration in
+     *                      asynchronous mode. Zero sends all leaders.
+     */
+    public MS2MO(List<ISwarm> swarms, int maxIterations, int swapInterval, TopologyType topology,
+                 int numberOfThreads, boolean asynchronous, int migrationInterval, int migrationSize) {
+        this.numberOfThreads = numberOfThreads > 0 ? numberOfThreads : Runtime.getRuntime().availableProcessors();
         this.swarms = swarms;
         this.maxIterations = maxIterations;
 //        this.swapInterval = swapInterval;
-        this.swapInterval = Math.round(maxIterations) / 2;
+        // At least one iteration between swaps, even for a single iteration
+        this.swapInterval = Math.max(1, Math.round(maxIterations) / 2);
         this.topology = topology;
-        this.globalArchive = new NonDominatedSolutionListArchive();
+        this.globalArchive = new NDTreeArchive<>();
+        this.asynchronous = asynchronous;
+        this.migrationInterval = migrationInterval > 0 ? migrationInterval : this.swapInterval;
+        this.migrationSize = migrationSize;
     }
 
+    /**
+     * Makes the first swarm also exchange leaders with remote swarms, at
+     * swaps or, in asynchronous mode, at migration points.
+     *
+     * @param migrationChannel channel to the remote swarms, or null
+     */
+    public void setMigrationChannel(MigrationChannel migrationChannel) {
+        this.migrationChannel = migrationChannel;
+    }
+
+    /**
+     * Makes swarms stop iterating at a deadline, after which the global
+     * archive is merged from their current leaders.
+     *
+     * @param deadline time by which swarms stop iterating, or null
+     */
+    public void setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Swarms are always initialized, so there are leaders to merge.
+     */
+    private boolean isDeadlineReached(int iteration) {
+        return iteration > 0 && Deadline.isReached(deadline);
+    }
+
+    /**
+     * Each swarm draws random numbers from its own generator, seeded from
+     * the jMetal random generator, so synchronous results are the same for
+     * any number of threads when the jMetal generator seed is fixed.
+     * Asynchronous results also depend on thread scheduling.
+     */
     @Override
     public void run() {
-        runIterations();
+        Deadline.start(deadline);
+        PseudoRandomGenerator defaultGenerator = JMetalRandom.getInstance().getRandomGenerator();
+        PseudoRandomGenerator[] swarmGenerators = new PseudoRandomGenerator[swarms.size()];
+        for (int s = 0; s < swarms.size(); s++) {
+            swarmGenerators[s] = new MersenneTwisterGenerator(defaultGenerator.nextInt(0, Integer.MAX_VALUE - 1));
+        }
+
+        int threads = Math.min(numberOfThreads, swarms.size());
+        ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+        ThreadBoundRandomGenerator threadBoundGenerator = ThreadBoundRandomGenerator.install();
+        try {
+            if (asynchronous) {
+                runAsynchronously(executor, threadBoundGenerator, swarmGenerators);
+            } else {
+                runIterations(executor, threadBoundGenerator, swarmGenerators);
+            }
+        } finally {
+            ThreadBoundRandomGenerator.uninstall(threadBoundGenerator);
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
         mergeGlobalArchive();
     }
 
-    private void runIterations() {
-        for (int i = 0; i < maxIterations; i++) {
-            runSwarms();
-            if (isTimeToSwap(i)) {
+    /**
+     * Swarms are initialized in the first iteration and keep their state
+     * along the following ones, so each iteration costs one swarm
+     * evaluation per swarm. Swarms run independently between swaps, which
+     * act as barriers.
+     */
+    private void runIterations(ExecutorService executor, ThreadBoundRandomGenerator threadBoundGenerator,
+                               PseudoRandomGenerator[] swarmGenerators) {
+        int first = 0;
+        while (first < maxIterations && !isDeadlineReached(first)) {
+            int last = first;
+            while (last < maxIterations - 1 && !isTimeToSwap(last)) {
+                last++;
+            }
+            runSwarms(first, last, executor, threadBoundGenerator, swarmGenerators);
+            if (isTimeToSwap(last)) {
                 swap();
             }
+            first = last + 1;
         }
     }
 
-    private void runSwarms() {
-        for (ISwarm swarm: swarms) {
-            swarm.run();
+    private void runSwarms(int first, int last, ExecutorService executor,
+                           ThreadBoundRandomGenerator threadBoundGenerator, PseudoRandomGenerator[] swarmGenerators) {
+        List<Callable<Void>> tasks = new ArrayList<>(swarms.size());
+        for (int s = 0; s < swarms.size(); s++) {
+            final ISwarm swarm = swarms.get(s);
+            final PseudoRandomGenerator generator = swarmGenerators[s];
+            tasks.add(() -> {
+                PseudoRandomGenerator previous = threadBoundGenerator.bind(generator);
+                try {
+                    for (int i = first; i <= last && !isDeadlineReached(i); i++) {
+                        if (i == 0) {
+                            swarm.init();
+                        } else {
+                            swarm.step();
+                        }
+                    }
+                } finally {
+                    threadBoundGenerator.restore(previous);
+                }
+                return null;
+            });
         }
+        invokeAll(tasks, executor);
     }
 
-    private boolean isTimeToSwap(int iteration) {
-        return iteration % swapInterval == 0;
+    /**
+     * Runs every swarm for all iterations without barriers. At each
+     * migration interval a swarm sends copies of some of its leaders to the
+     * queues of its neighbours, and before each iteration it merges the
+     * migrants that have arrived in its own queue.
+     */
+    private void runAsynchronously(ExecutorService executor, ThreadBoundRandomGenerator threadBoundGenerator,
+                                   PseudoRandomGenerator[] swarmGenerators) {
+        MigrationQueue[] queues = new MigrationQueue[swarms.size()];
+        for (int s = 0; s < swarms.size(); s++) {
+            queues[s] = new MigrationQueue(MIGRATION_QUEUE_CAPACITY);
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>(swarms.size());
+        for (int s = 0; s < swarms.size(); s++) {
+            final int index = s;
+            final PseudoRandomGenerator generator = swarmGenerators[s];
+            tasks.add(() -> {
+                PseudoRandomGenerator previous = threadBoundGenerator.bind(generator);
+                try {
+                    ISwarm swarm = swarms.get(index);
+                    for (int i = 0; i < maxIterations && !isDeadlineReached(i); i++) {
+                        if (i == 0) {
+                            swarm.init();
+                        } else {
+                            receiveMigrants(index, queues[index]);
+                            swarm.step();
+                        }
+                        if (i > 0 && i % migrationInterval == 0) {
+                            emigrate(index, queues);
+                        }
+                    }
+                    receiveMigrants(index, queues[index]);
+                } finally {
+                    threadBoundGenerator.restore(previous);
+                }
+                return null;
+            });
+        }
+        invokeAll(tasks, executor);
     }
 
-    private void swap() {
-        if (topology == TopologyType.RING) {
-            makeRingCommunication();
-        } else if (topology == TopologyType.BROADCAST) {
-            makeBroadcastCommunication();
+    private void emigrate(int from, MigrationQueue[] queues) {
+        Archive<DoubleSolution> leaders = swarms.get(from).getLeaders();
+        List<DoubleSolution> emigrants = selectEmigrants(leaders);
+        if (migrationChannel != null && from == 0) {
+            migrationChannel.send(emigrants);
+        }
+        for (int to : topology.neighbours(from, swarms.size())) {
+            // Swarms may share their leaders archive
+            if (swarms.get(to).getLeaders() != leaders) {
+                for (DoubleSolution emigrant : emigrants) {
+                    queues[to].offer((DoubleSolution) emigrant.copy());
+                }
+            }
         }
     }
 
-    private void makeRingCommunication() {
-        int numberOfSwarms = swarms.size();
-        int last = numberOfSwarms - 1;
-        for (int i = 0; i < numberOfSwarms; i++) {
-            int previous = i != 0 ? i - 1 : last;
-            int next = i != last ? i + 1 : 0;
-            mergeArchives(previous, i);
-            mergeArchives(next, i);
+    /**
+     * @return all leaders or, if there are more than migrationSize, a random
+     * sample of them
+     */
+    private List<DoubleSolution> selectEmigrants(Archive<DoubleSolution> leaders) {
+        List<DoubleSolution> candidates = new ArrayList<>(leaders.getSolutionList());
+        if (migrationSize <= 0 || candidates.size() <= migrationSize) {
+            return candidates;
+        }
+        JMetalRandom random = JMetalRandom.getInstance();
+        for (int i = 0; i < migrationSize; i++) {
+            Collections.swap(candidates, i, random.nextInt(i, candidates.size() - 1));
+        }
+        return candidates.subList(0, migrationSize);
+    }
+
+    private void receiveMigrants(int index, MigrationQueue queue) {
+        List<DoubleSolution> migrants = new ArrayList<>();
+        queue.drainTo(migrants);
+        if (migrationChannel != null && index == 0) {
+            migrationChannel.receive(migrants);
         }
+        mergeMigrants(swarms.get(index), migrants);
     }
 
-    private void makeBroadcastCommunication() {
+    private void mergeMigrants(ISwarm swarm, List<DoubleSolution> migrants) {
+        if (!migrants.isEmpty()) {
+            NonDominatedSolutionListArchive<DoubleSolution> archive = new NonDominatedSolutionListArchive<>();
+            for (DoubleSolution migrant : migrants) {
+                archive.add(migrant);
+            }
+            swarm.mergeArchive(archive);
+        }
+    }
+
+    private void invokeAll(List<Callable<Void>> tasks, ExecutorService executor) {
+        try {
+            if (executor == null) {
+                for (Callable<Void> task : tasks) {
+                    task.call();
+                }
+            } else {
+                for (Future<Void> future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JMetalException(e);
+        } catch (ExecutionException e) {
+            throw new JMetalException(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new JMetalException(e);
+        }
+    }
+
+    private boolean isTimeToSwap(int iteration) {
+        return iteration % swapInterval == 0;
+    }
+
+    private void swap() {
         int numberOfSwarms = swarms.size();
         for (int i = 0; i < numberOfSwarms; i++) {
-            for (int j = 0; j < numberOfSwarms; j++) {
-                mergeArchives(i, j);
+            if (topology == TopologyType.RING) {
+                // Each swarm merges the leaders of its previous and next swarms
+                for (int neighbour : topology.neighbours(i, numberOfSwarms)) {
+                    mergeArchives(neighbour, i);
+                }
+            } else {
+                for (int to : topology.neighbours(i, numberOfSwarms)) {
+                    mergeArchives(i, to);
+                }
             }
         }
+        if (migrationChannel != null) {
+            ISwarm gateway = swarms.get(0);
+            migrationChannel.send(selectEmigrants(gateway.getLeaders()));
+            List<DoubleSolution> migrants = new ArrayList<>();
+            migrationChannel.receive(migrants);
+            mergeMigrants(gateway, migrants);
+        }
     }
 
     private void mergeArchives(int fromIndex, int toIndex) {
         if (fromIndex != toIndex) {
             ISwarm swarm = swarms.get(toIndex);
             Archive<DoubleSolution> archive = swarms.get(fromIndex).getLeaders();
-            swarm.mergeArchive(archive);
+            // Swarms may share their leaders archive
+            if (archive != swarm.getLeaders()) {
+                swarm.mergeArchive(archive);
+            }
         }
     }
 
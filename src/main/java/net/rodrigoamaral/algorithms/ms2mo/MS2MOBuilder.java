@@ -1,11 +1,20 @@
 package net.rodrigoamaral.algorithms.ms2mo;
 
+import net.rodrigoamaral.algorithms.Deadline;
 import net.rodrigoamaral.algorithms.ISwarm;
+import net.rodrigoamaral.jmetal.operator.impl.mutation.SparsePolynomialMutation;
+import net.rodrigoamaral.jmetal.util.archive.impl.HypervolumeContributionArchive;
+import net.rodrigoamaral.jmetal.util.archive.impl.IdealArchive;
+import net.rodrigoamaral.jmetal.util.archive.impl.IncrementalCrowdingDistanceArchive;
+import net.rodrigoamaral.jmetal.util.archive.impl.MGAArchive;
 import org.uma.jmetal.operator.MutationOperator;
-import org.uma.jmetal.operator.impl.mutation.PolynomialMutation;
 import org.uma.jmetal.problem.DoubleProblem;
+import org.uma.jmetal.qualityindicator.impl.hypervolume.PISAHypervolume;
 import org.uma.jmetal.solution.DoubleSolution;
 import org.uma.jmetal.util.AlgorithmBuilder;
+import org.uma.jmetal.util.archive.BoundedArchive;
+import org.uma.jmetal.util.archive.impl.AdaptiveGridArchive;
+import org.uma.jmetal.util.archive.impl.HypervolumeArchive;
 import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
 import org.uma.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
 
@@ -24,6 +33,12 @@ public class MS2MOBuilder implements AlgorithmBuilder {
     protected SolutionListEvaluator<DoubleSolution> evaluator;
     TopologyType topology;
     private List<ISwarm> swarms;
+    private int numberOfThreads;
+    private boolean asynchronous;
+    private int migrationInterval;
+    private int migrationSize;
+    private MigrationChannel migrationChannel;
+    private Deadline deadline;
 
     public MS2MOBuilder(DoubleProblem problem) {
         setDefaultParams(problem);
@@ -40,19 +55,54 @@ public class MS2MOBuilder implements AlgorithmBuilder {
         this.archiveSize = 100;
         this.firstArchiveType = ArchiveType.CrowdingDistanceArchive;
         this.secondArchiveType = ArchiveType.IdealArchive;
+        this.numberOfThreads = 1;
+        this.asynchronous = false;
+        this.migrationInterval = 0;
+        this.migrationSize = 0;
     }
 
     private MutationOperator<DoubleSolution> defaultMutationOperator() {
         double mutationProbability = 1.0 / problem.getNumberOfVariables() ;
         double mutationDistributionIndex = 20.0 ;
-        return new PolynomialMutation(mutationProbability, mutationDistributionIndex) ;
+        return new SparsePolynomialMutation(mutationProbability, mutationDistributionIndex) ;
     }
 
     public MS2MO build() {
         if (swarms == null || swarms.size() == 0) {
             throw new RuntimeException("MS2MO must have at least one swarm.");
         }
-        return new MS2MO(swarms, maxIterations, swapInterval, topology);
+        MS2MO ms2mo = new MS2MO(swarms, maxIterations, swapInterval, topology, numberOfThreads,
+                asynchronous, migrationInterval, migrationSize);
+        ms2mo.setMigrationChannel(migrationChannel);
+        ms2mo.setDeadline(deadline);
+        return ms2mo;
+    }
+
+    /**
+     * Creates the leaders archive of a swarm, so that each swarm added to
+     * the builder may use a different archive type.
+     *
+     * @param archiveType type of the archive, bounded to the archive size
+     * @return a new archive
+     */
+    public BoundedArchive<DoubleSolution> createArchive(ArchiveType archiveType) {
+        int numberOfObjectives = problem.getNumberOfObjectives();
+        switch (archiveType) {
+            case CrowdingDistanceArchive:
+                return new IncrementalCrowdingDistanceArchive<>(archiveSize);
+            case MGAArchive:
+                return new MGAArchive<>(archiveSize, numberOfObjectives);
+            case IdealArchive:
+                return new IdealArchive<>(archiveSize, numberOfObjectives);
+            case AdaptiveGridArchive:
+                return new AdaptiveGridArchive<>(archiveSize, 5, numberOfObjectives);
+            case HypervolumeArchive:
+                return new HypervolumeArchive<>(archiveSize, new PISAHypervolume<DoubleSolution>());
+            case HypervolumeContributionArchive:
+                return new HypervolumeContributionArchive<>(archiveSize, numberOfObjectives);
+            default:
+                throw new IllegalArgumentException("Unsupported leaders archive: " + archiveType);
+        }
     }
 
     public MS2MOBuilder addSwarm(ISwarm swarm) {
@@ -66,11 +116,79 @@ public class MS2MOBuilder implements AlgorithmBuilder {
     }
 
 
+    public MS2MOBuilder setArchiveSize(int archiveSize) {
+        this.archiveSize = archiveSize;
+        return this;
+    }
+
     public MS2MOBuilder setMaxIterations(int maxIterations) {
         this.maxIterations = maxIterations;
         return this;
     }
-}
 
+    /**
+     * @param numberOfThreads threads running the swarms concurrently. Zero
+     *                        uses all available processors.
+     */
+    public MS2MOBuilder setNumberOfThreads(int numberOfThreads) {
+        if (numberOfThreads < 0) {
+            throw new IllegalArgumentException("Number of threads must not be negative: " + numberOfThreads);
+        }
+        this.numberOfThreads = numberOfThreads;
+        return this;
+    }
 
+    public MS2MOBuilder setTopology(TopologyType topology) {
+        this.topology = topology;
+        return this;
+    }
+
+    /**
+     * @param asynchronous if true, swarms exchange leaders through migration
+     *                     queues and never wait for each other
+     */
+    public MS2MOBuilder setAsynchronous(boolean asynchronous) {
+        this.asynchronous = asynchronous;
+        return this;
+    }
 
+    /**
+     * @param migrationInterval iterations between asynchronous migrations.
+     *                          Zero uses the swap interval.
+     */
+    public MS2MOBuilder setMigrationInterval(int migrationInterval) {
+        if (migrationInterval < 0) {
+            throw new IllegalArgumentException("Migration interval must not be negative: " + migrationInterval);
+        }
+        this.migrationInterval = migrationInterval;
+        return this;
+    }
+
+    /**
+     * @param migrationSize leaders sent to each neighbour per asynchronous
+     *                      migration. Zero sends all leaders.
+     */
+    public MS2MOBuilder setMigrationSize(int migrationSize) {
+        if (migrationSize < 0) {
+            throw new IllegalArgumentException("Migration size must not be negative: " + migrationSize);
+        }
+        this.migrationSize = migrationSize;
+        return this;
+    }
+
+    /**
+     * @param migrationChannel channel to swarms running elsewhere, or null
+     */
+    public MS2MOBuilder setMigrationChannel(MigrationChannel migrationChannel) {
+        this.migrationChannel = migrationChannel;
+        return this;
+    }
+
+    /**
+     * @param deadline time by which swarms stop iterating, or null
+     */
+    public MS2MOBuilder setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+}
@@ -0,0 +1,31 @@
+package net.rodrigoamaral.algorithms.ms2mo;
+
+import org.uma.jmetal.solution.DoubleSolution;
+
+import java.util.List;
+
+/**
+ * Exchanges leaders between an MS2MO instance and swarms running
+ * elsewhere, such as in other processes.
+ *
+ * Implementations must not block, since they are called by the swarms at
+ * migration points.
+ */
+public interface MigrationChannel {
+
+    /**
+     * Sends leaders to the remote swarms. The solutions may be modified
+     * after the call returns.
+     *
+     * @param emigrants leaders to send
+     */
+    void send(List<DoubleSolution> emigrants);
+
+    /**
+     * Moves the solutions received so far to a list.
+     *
+     * @param immigrants list the received solutions are added to
+     * @return number of solutions received
+     */
+    int receive(List<DoubleSolution> immigrants);
+}
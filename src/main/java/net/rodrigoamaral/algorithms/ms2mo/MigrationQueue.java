@@ -0,0 +1,51 @@
+package net.rodrigoamaral.algorithms.ms2mo;
+
+import org.uma.jmetal.solution.DoubleSolution;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded lock-free queue of solutions migrating to a swarm or island.
+ *
+ * Any number of swarms may offer migrants while the receiving swarm drains
+ * them. Neither side ever blocks: when the queue is full, the oldest
+ * migrants are dropped in favour of the new ones.
+ *
+ */
+public class MigrationQueue {
+
+    private final Queue<DoubleSolution> migrants = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+
+    public MigrationQueue(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void offer(DoubleSolution migrant) {
+        migrants.offer(migrant);
+        if (size.incrementAndGet() > capacity && migrants.poll() != null) {
+            size.decrementAndGet();
+        }
+    }
+
+    /**
+     * Moves the migrants that have arrived so far to a list.
+     *
+     * @param list list the migrants are added to
+     * @return number of migrants drained
+     */
+    public int drainTo(List<DoubleSolution> list) {
+        int drained = 0;
+        DoubleSolution migrant;
+        while ((migrant = migrants.poll()) != null) {
+            list.add(migrant);
+            drained++;
+        }
+        size.addAndGet(-drained);
+        return drained;
+    }
+}
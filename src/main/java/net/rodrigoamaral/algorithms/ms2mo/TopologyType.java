@@ -1,6 +1,52 @@
 package net.rodrigoamaral.algorithms.ms2mo;
 
 
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
 public enum TopologyType {
-    BROADCAST, RING
+    BROADCAST, RING,
+    // Each swarm sends to one other swarm drawn at every migration
+    RANDOM,
+    // The first swarm exchanges with all others, which only exchange with it
+    STAR;
+
+    /**
+     * @param node index of the sending swarm or island
+     * @param numberOfNodes number of swarms or islands
+     * @return indexes of the nodes that receive leaders from a node
+     */
+    public int[] neighbours(int node, int numberOfNodes) {
+        if (numberOfNodes == 1) {
+            return new int[0];
+        }
+        switch (this) {
+            case RING:
+                if (numberOfNodes == 2) {
+                    // Both sides of the ring are the same node
+                    return new int[] {1 - node};
+                }
+                return new int[] {
+                        node != 0 ? node - 1 : numberOfNodes - 1,
+                        node != numberOfNodes - 1 ? node + 1 : 0
+                };
+            case RANDOM:
+                int other = JMetalRandom.getInstance().nextInt(0, numberOfNodes - 2);
+                return new int[] {other < node ? other : other + 1};
+            case STAR:
+                return node != 0 ? new int[] {0} : allOthers(node, numberOfNodes);
+            case BROADCAST:
+            default:
+                return allOthers(node, numberOfNodes);
+        }
+    }
+
+    private static int[] allOthers(int node, int numberOfNodes) {
+        int[] others = new int[numberOfNodes - 1];
+        for (int i = 0, j = 0; i < numberOfNodes; i++) {
+            if (i != node) {
+                others[j++] = i;
+            }
+        }
+        return others;
+    }
 }
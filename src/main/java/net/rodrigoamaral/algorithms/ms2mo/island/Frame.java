@@ -0,0 +1,57 @@
+package net.rodrigoamaral.algorithms.ms2mo.island;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Message exchanged between the island coordinator and its workers.
+ *
+ * On the wire a frame is its type, the epoch it belongs to, the payload
+ * length and the payload. An epoch is one optimization run, that is, one
+ * scheduling or rescheduling of the project.
+ *
+ */
+class Frame {
+
+    // Coordinator to worker: algorithm ID, seed, project state and initial population
+    static final byte EPOCH = 1;
+    // Both directions: encoded leaders
+    static final byte MIGRANTS = 2;
+    // Worker to coordinator: encoded final leaders
+    static final byte RESULT = 3;
+    // Coordinator to worker
+    static final byte SHUTDOWN = 4;
+
+    private static final int MAX_PAYLOAD = 256 * 1024 * 1024;
+
+    final byte type;
+    final int epoch;
+    final byte[] payload;
+
+    Frame(byte type, int epoch, byte[] payload) {
+        this.type = type;
+        this.epoch = epoch;
+        this.payload = payload;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeByte(type);
+        out.writeInt(epoch);
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.flush();
+    }
+
+    static Frame read(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        int epoch = in.readInt();
+        int length = in.readInt();
+        if (length < 0 || length > MAX_PAYLOAD) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return new Frame(type, epoch, payload);
+    }
+}
@@ -0,0 +1,218 @@
+package net.rodrigoamaral.algorithms.ms2mo.island;
+
+import net.rodrigoamaral.algorithms.ms2mo.TopologyType;
+import net.rodrigoamaral.dspsp.DSPSProblem;
+import net.rodrigoamaral.logging.SPSPLogger;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.archive.impl.NonDominatedSolutionListArchive;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Coordinates MS2MO islands running in worker processes
+ * ({@link IslandWorker}) connected over TCP.
+ *
+ * For each optimization the coordinator starts a new epoch by sending the
+ * current project state to every worker, then relays the leaders each
+ * worker publishes to its neighbours in the topology until all workers
+ * have sent their final leaders. Solutions are evaluated and archived by
+ * the workers; the coordinator only forwards encoded migrants, dropping
+ * those of past epochs, and merges the final results.
+ *
+ */
+public class IslandCoordinator implements Closeable {
+
+    public static final int DEFAULT_PORT = 4545;
+
+    private final ServerSocket serverSocket;
+    private final TopologyType topology;
+    private final List<WorkerLink> workers = new ArrayList<>();
+    private final BlockingQueue<Received> inbox = new LinkedBlockingQueue<>();
+    private int epoch;
+
+    /**
+     * Listens for workers on an address.
+     *
+     * @param address address to listen on; the loopback address unless
+     *                workers run on other hosts
+     * @param port TCP port
+     * @param topology topology in which migrants are relayed between workers
+     */
+    public IslandCoordinator(InetAddress address, int port, TopologyType topology) throws IOException {
+        this.serverSocket = new ServerSocket(port, 50, address);
+        this.topology = topology;
+    }
+
+    /**
+     * Blocks until a number of workers have connected.
+     */
+    public void awaitWorkers(int numberOfWorkers) throws IOException {
+        while (workers.size() < numberOfWorkers) {
+            Socket socket = serverSocket.accept();
+            socket.setTcpNoDelay(true);
+            WorkerLink worker = new WorkerLink(workers.size(), socket);
+            workers.add(worker);
+            worker.reader.start();
+            SPSPLogger.info("Island worker " + worker.index + " connected from " + socket.getRemoteSocketAddress());
+        }
+    }
+
+    public int getNumberOfWorkers() {
+        return workers.size();
+    }
+
+    /**
+     * Runs one epoch on all workers.
+     *
+     * @param algorithmID ID of the MS2MO algorithm run by each worker
+     * @param problem problem in the current project state
+     * @param initialPopulation initial population, or null
+     * @return non-dominated leaders of all workers
+     */
+    public List<DoubleSolution> optimize(String algorithmID, DSPSProblem problem,
+                                         List<DoubleSolution> initialPopulation) throws IOException {
+        if (workers.isEmpty()) {
+            throw new IllegalStateException("No island workers connected");
+        }
+        epoch++;
+        SolutionCodec codec = new SolutionCodec(problem);
+        byte[] state = serialize(problem);
+        byte[] population = codec.encode(initialPopulation != null
+                ? initialPopulation : Collections.<DoubleSolution>emptyList());
+
+        JMetalRandom random = JMetalRandom.getInstance();
+        for (WorkerLink worker : workers) {
+            // Distinct seeds, since workers started at the same time would
+            // otherwise share their default seeds
+            long seed = random.nextInt(0, Integer.MAX_VALUE - 1);
+            worker.send(new Frame(Frame.EPOCH, epoch, epochPayload(algorithmID, seed, state, population)));
+        }
+
+        NonDominatedSolutionListArchive<DoubleSolution> archive = new NonDominatedSolutionListArchive<>();
+        int finished = 0;
+        while (finished < workers.size()) {
+            Received received = take();
+            if (received.frame == null) {
+                throw new IOException("Island worker " + received.from + " disconnected");
+            }
+            if (received.frame.epoch != epoch) {
+                continue;
+            }
+            if (received.frame.type == Frame.MIGRANTS) {
+                for (int to : topology.neighbours(received.from, workers.size())) {
+                    workers.get(to).send(received.frame);
+                }
+            } else if (received.frame.type == Frame.RESULT) {
+                for (DoubleSolution solution : codec.decode(received.frame.payload)) {
+                    archive.add(solution);
+                }
+                finished++;
+            }
+        }
+        return archive.getSolutionList();
+    }
+
+    private Received take() throws IOException {
+        try {
+            return inbox.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for island workers", e);
+        }
+    }
+
+    private static byte[] serialize(DSPSProblem problem) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(problem);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] epochPayload(String algorithmID, long seed, byte[] state, byte[] population) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(algorithmID);
+            out.writeLong(seed);
+            out.writeInt(state.length);
+            out.write(state);
+            out.writeInt(population.length);
+            out.write(population);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Shuts the workers down and stops listening.
+     */
+    @Override
+    public void close() throws IOException {
+        for (WorkerLink worker : workers) {
+            try {
+                worker.send(new Frame(Frame.SHUTDOWN, epoch, new byte[0]));
+            } catch (IOException e) {
+                // Already disconnected
+            }
+            worker.socket.close();
+        }
+        serverSocket.close();
+    }
+
+    private static class Received {
+        final int from;
+        // Null when the worker disconnected
+        final Frame frame;
+
+        Received(int from, Frame frame) {
+            this.from = from;
+            this.frame = frame;
+        }
+    }
+
+    private class WorkerLink {
+
+        final int index;
+        final Socket socket;
+        final DataOutputStream out;
+        final Thread reader;
+
+        WorkerLink(int index, Socket socket) throws IOException {
+            this.index = index;
+            this.socket = socket;
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.reader = new Thread(() -> read(in), "island-worker-" + index);
+            this.reader.setDaemon(true);
+        }
+
+        void send(Frame frame) throws IOException {
+            frame.write(out);
+        }
+
+        private void read(DataInputStream in) {
+            try {
+                while (true) {
+                    inbox.add(new Received(index, Frame.read(in)));
+                }
+            } catch (IOException e) {
+                inbox.add(new Received(index, null));
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package net.rodrigoamaral.algorithms.ms2mo.island;
+
+import net.rodrigoamaral.dspsp.DSPSProblem;
+import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.JMetalException;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * MS2MO whose islands run in the worker processes of an
+ * {@link IslandCoordinator}. Each worker runs the algorithm with its own
+ * settings, so the evaluation budget is per worker.
+ */
+public class IslandMS2MO implements Algorithm<List<DoubleSolution>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final IslandCoordinator coordinator;
+    private final String algorithmID;
+    private final DSPSProblem problem;
+    private final List<DoubleSolution> initialPopulation;
+    private List<DoubleSolution> result;
+
+    /**
+     * @param initialPopulation initial population of the islands, or null
+     */
+    public IslandMS2MO(IslandCoordinator coordinator, String algorithmID, DSPSProblem problem,
+                       List<DoubleSolution> initialPopulation) {
+        this.coordinator = coordinator;
+        this.algorithmID = algorithmID;
+        this.problem = problem;
+        this.initialPopulation = initialPopulation;
+    }
+
+    @Override
+    public void run() {
+        try {
+            result = coordinator.optimize(algorithmID, problem, initialPopulation);
+        } catch (IOException e) {
+            throw new JMetalException(e);
+        }
+    }
+
+    @Override
+    public List<DoubleSolution> getResult() {
+        return result;
+    }
+
+    @Override
+    public String getName() {
+        return this.getClass().getName();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Multiple Swarm Multiple Strategy Many Objective Algorithm on worker processes";
+    }
+}
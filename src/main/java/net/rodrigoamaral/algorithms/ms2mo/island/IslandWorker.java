@@ -0,0 +1,195 @@
+package net.rodrigoamaral.algorithms.ms2mo.island;
+
+import net.rodrigoamaral.algorithms.ms2mo.MigrationChannel;
+import net.rodrigoamaral.algorithms.ms2mo.MigrationQueue;
+import net.rodrigoamaral.dspsp.DSPSProblem;
+import net.rodrigoamaral.dspsp.experiment.AlgorithmAssembler;
+import net.rodrigoamaral.dspsp.experiment.ExperimentSettings;
+import net.rodrigoamaral.logging.SPSPLogger;
+import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs MS2MO islands for an {@link IslandCoordinator}.
+ *
+ * For each epoch received, the worker assembles the requested algorithm
+ * with its own settings on the received project state, runs it and sends
+ * back its final leaders. While running, it is the {@link MigrationChannel}
+ * of the algorithm: published leaders are encoded and sent by a writer
+ * thread, and migrants of the current epoch are decoded by a reader thread
+ * into a bounded queue, so swarms never wait on the network.
+ *
+ * The project state is deserialized with Java serialization, so workers
+ * must only connect to a trusted coordinator.
+ *
+ */
+public class IslandWorker implements MigrationChannel, Closeable {
+
+    private static final int MIGRATION_QUEUE_CAPACITY = 500;
+
+    private final ExperimentSettings settings;
+    private final Socket socket;
+    private final DataOutputStream out;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+    private final BlockingQueue<Frame> control = new LinkedBlockingQueue<>();
+    private final MigrationQueue immigrants = new MigrationQueue(MIGRATION_QUEUE_CAPACITY);
+
+    // Epoch being optimized, or null between epochs
+    private volatile RunningEpoch running;
+
+    public IslandWorker(String host, int port, ExperimentSettings settings) throws IOException {
+        this.settings = settings;
+        this.socket = new Socket(host, port);
+        this.socket.setTcpNoDelay(true);
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        Thread reader = new Thread(() -> read(in), "island-coordinator");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Runs epochs until the coordinator shuts the worker down or
+     * disconnects.
+     */
+    public void run() throws IOException {
+        while (true) {
+            Frame frame;
+            try {
+                frame = control.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (frame.type == Frame.EPOCH) {
+                runEpoch(frame);
+            } else if (frame.type == Frame.SHUTDOWN) {
+                return;
+            }
+        }
+    }
+
+    private void runEpoch(Frame frame) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame.payload));
+        String algorithmID = in.readUTF();
+        long seed = in.readLong();
+        DSPSProblem problem = deserialize(readBytes(in));
+        SolutionCodec epochCodec = new SolutionCodec(problem);
+        List<DoubleSolution> initialPopulation = epochCodec.decode(readBytes(in));
+
+        AlgorithmAssembler assembler = new AlgorithmAssembler(algorithmID, settings);
+        assembler.setMigrationChannel(this);
+        Algorithm<List<DoubleSolution>> algorithm = initialPopulation.isEmpty()
+                ? assembler.assemble(problem)
+                : assembler.assemble(problem, initialPopulation);
+        // Seeded after assembling, since builders replace the generator
+        JMetalRandom.getInstance().setSeed(seed);
+
+        SPSPLogger.info("Starting epoch " + frame.epoch + " -> algorithm: " + algorithmID);
+        running = new RunningEpoch(frame.epoch, epochCodec);
+        try {
+            algorithm.run();
+        } finally {
+            running = null;
+            immigrants.drainTo(new ArrayList<>());
+        }
+        submit(new Frame(Frame.RESULT, frame.epoch, epochCodec.encode(algorithm.getResult())));
+        SPSPLogger.info("Epoch " + frame.epoch + " complete");
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    private static DSPSProblem deserialize(byte[] state) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(state))) {
+            return (DSPSProblem) in.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("Invalid project state", e);
+        }
+    }
+
+    @Override
+    public void send(List<DoubleSolution> emigrants) {
+        RunningEpoch current = running;
+        if (current != null) {
+            submit(new Frame(Frame.MIGRANTS, current.epoch, current.codec.encode(emigrants)));
+        }
+    }
+
+    @Override
+    public int receive(List<DoubleSolution> list) {
+        return immigrants.drainTo(list);
+    }
+
+    private void submit(Frame frame) {
+        writer.execute(() -> {
+            try {
+                frame.write(out);
+            } catch (IOException e) {
+                SPSPLogger.warning("Could not send to island coordinator: " + e.getMessage());
+            }
+        });
+    }
+
+    private void read(DataInputStream in) {
+        try {
+            while (true) {
+                Frame frame = Frame.read(in);
+                if (frame.type == Frame.MIGRANTS) {
+                    RunningEpoch current = running;
+                    if (current != null && frame.epoch == current.epoch) {
+                        for (DoubleSolution migrant : current.codec.decode(frame.payload)) {
+                            immigrants.offer(migrant);
+                        }
+                    }
+                } else {
+                    control.add(frame);
+                }
+            }
+        } catch (IOException e) {
+            control.add(new Frame(Frame.SHUTDOWN, -1, new byte[0]));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        socket.close();
+    }
+
+    private static class RunningEpoch {
+        final int epoch;
+        final SolutionCodec codec;
+
+        RunningEpoch(int epoch, SolutionCodec codec) {
+            this.epoch = epoch;
+            this.codec = codec;
+        }
+    }
+}
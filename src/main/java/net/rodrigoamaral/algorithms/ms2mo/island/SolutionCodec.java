@@ -0,0 +1,138 @@
+package net.rodrigoamaral.algorithms.ms2mo.island;
+
+import net.rodrigoamaral.dspsp.solution.DSPSPSolution;
+import net.rodrigoamaral.jmetal.util.DoubleSolutionUtils;
+import org.uma.jmetal.problem.DoubleProblem;
+import org.uma.jmetal.solution.DoubleSolution;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of solution lists exchanged between islands.
+ *
+ * A list is written as its size and the number of variables and
+ * objectives, followed by each solution. Variables of a solution are
+ * written either densely, or as (index, value) pairs of the non-zero
+ * variables when that is shorter, which is the usual case for dedication
+ * matrices. Attributes are not encoded.
+ *
+ */
+public class SolutionCodec {
+
+    private static final byte DENSE = 0;
+    private static final byte SPARSE = 1;
+
+    private final double[] lowerBounds;
+    private final double[] upperBounds;
+    private final int numberOfObjectives;
+
+    /**
+     * @param problem problem whose bounds are shared by decoded solutions
+     */
+    public SolutionCodec(DoubleProblem problem) {
+        this.lowerBounds = DoubleSolutionUtils.lowerBounds(problem);
+        this.upperBounds = DoubleSolutionUtils.upperBounds(problem);
+        this.numberOfObjectives = problem.getNumberOfObjectives();
+    }
+
+    public byte[] encode(List<DoubleSolution> solutions) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(solutions.size());
+            out.writeInt(lowerBounds.length);
+            out.writeInt(numberOfObjectives);
+            double[] variables = new double[lowerBounds.length];
+            for (DoubleSolution solution : solutions) {
+                writeSolution(out, solution, variables);
+            }
+        } catch (IOException e) {
+            // Not thrown by in-memory streams
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void writeSolution(DataOutputStream out, DoubleSolution solution, double[] variables) throws IOException {
+        DoubleSolutionUtils.getVariables(solution, variables);
+        int nonZero = 0;
+        for (double variable : variables) {
+            if (variable != 0) {
+                nonZero++;
+            }
+        }
+        // An (int, double) pair takes 12 bytes and a dense variable 8
+        if (nonZero * 12 < variables.length * 8) {
+            out.writeByte(SPARSE);
+            out.writeInt(nonZero);
+            for (int i = 0; i < variables.length; i++) {
+                if (variables[i] != 0) {
+                    out.writeInt(i);
+                    out.writeDouble(variables[i]);
+                }
+            }
+        } else {
+            out.writeByte(DENSE);
+            for (double variable : variables) {
+                out.writeDouble(variable);
+            }
+        }
+        for (int i = 0; i < numberOfObjectives; i++) {
+            out.writeDouble(solution.getObjective(i));
+        }
+    }
+
+    /**
+     * @throws IOException if the data is malformed or was encoded for a
+     * problem of different dimensions
+     */
+    public List<DoubleSolution> decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        int size = in.readInt();
+        int variables = in.readInt();
+        int objectives = in.readInt();
+        if (variables != lowerBounds.length || objectives != numberOfObjectives) {
+            throw new IOException("Solutions have " + variables + " variables and " + objectives
+                    + " objectives, expected " + lowerBounds.length + " and " + numberOfObjectives);
+        }
+        if (size < 0) {
+            throw new IOException("Invalid number of solutions: " + size);
+        }
+        List<DoubleSolution> solutions = new ArrayList<>(Math.min(size, 1024));
+        for (int s = 0; s < size; s++) {
+            solutions.add(readSolution(in));
+        }
+        return solutions;
+    }
+
+    private DoubleSolution readSolution(DataInputStream in) throws IOException {
+        double[] variables = new double[lowerBounds.length];
+        byte encoding = in.readByte();
+        if (encoding == SPARSE) {
+            int nonZero = in.readInt();
+            for (int i = 0; i < nonZero; i++) {
+                int index = in.readInt();
+                if (index < 0 || index >= variables.length) {
+                    throw new IOException("Invalid variable index: " + index);
+                }
+                variables[index] = in.readDouble();
+            }
+        } else if (encoding == DENSE) {
+            for (int i = 0; i < variables.length; i++) {
+                variables[i] = in.readDouble();
+            }
+        } else {
+            throw new IOException("Invalid solution encoding: " + encoding);
+        }
+        double[] objectives = new double[numberOfObjectives];
+        for (int i = 0; i < objectives.length; i++) {
+            objectives[i] = in.readDouble();
+        }
+        return new DSPSPSolution(lowerBounds, upperBounds, variables, objectives);
+    }
+}
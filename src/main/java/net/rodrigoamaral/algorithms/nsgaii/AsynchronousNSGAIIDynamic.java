@@ -0,0 +1,301 @@
+package net.rodrigoamaral.algorithms.nsgaii;
+
+import net.rodrigoamaral.jmetal.util.solutionattribute.RankingType;
+import org.uma.jmetal.operator.CrossoverOperator;
+import org.uma.jmetal.operator.MutationOperator;
+import org.uma.jmetal.operator.SelectionOperator;
+import org.uma.jmetal.problem.ConstrainedProblem;
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.comparator.DominanceComparator;
+import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
+import org.uma.jmetal.util.solutionattribute.Ranking;
+import org.uma.jmetal.util.solutionattribute.impl.CrowdingDistance;
+import org.uma.jmetal.util.solutionattribute.impl.DominanceRanking;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Asynchronous steady-state variant of {@link NSGAIIDynamic}.
+ *
+ * A fixed number of offspring, one per thread, is always being evaluated.
+ * Each offspring that completes is inserted into the population and the
+ * worst solution, the one with the smallest crowding distance in the last
+ * front, is removed, before the next offspring is bred from the updated
+ * population and submitted. Workers never wait for a generation barrier,
+ * so evaluations of very different cost do not leave them idle.
+ *
+ * The fronts are kept from one insertion to the next, as in the efficient
+ * non-domination level update (Li et al., 2015): the front of the new
+ * solution is found by a binary search over the fronts, and the solutions
+ * it dominates are pushed down one front, and so on. Crowding distances
+ * are only recomputed for the fronts that change.
+ *
+ * Offspring are evaluated on the threads of the algorithm and not by the
+ * solution list evaluator. Selection and variation run on the calling
+ * thread. With one thread the result is that of a sequential steady-state
+ * NSGA-II, otherwise it also depends on the order in which evaluations
+ * complete.
+ */
+@SuppressWarnings({"serial", "unchecked"})
+public class AsynchronousNSGAIIDynamic extends NSGAIIDynamic {
+
+    private final int numberOfThreads;
+    private final Comparator<DoubleSolution> dominanceComparator = new DominanceComparator<>();
+    // Attributes read by RankingAndCrowdingDistanceComparator
+    private final DominanceRanking<DoubleSolution> rankAttribute = new DominanceRanking<>();
+    private final CrowdingDistance<DoubleSolution> crowdingDistance = new CrowdingDistance<>();
+
+    private List<List<DoubleSolution>> fronts;
+    private boolean[] changedFronts;
+
+    /**
+     * Constructor.
+     *
+     * @param numberOfThreads threads evaluating offspring, which is also the
+     *                        number of offspring being evaluated at any time.
+     *                        Zero uses all available processors.
+     */
+    public AsynchronousNSGAIIDynamic(Problem problem, int maxEvaluations, int populationSize,
+                                     CrossoverOperator crossoverOperator, MutationOperator mutationOperator,
+                                     SelectionOperator selectionOperator, SolutionListEvaluator evaluator,
+                                     List<DoubleSolution> initialPopulation, RankingType rankingType,
+                                     int numberOfThreads) {
+        super(problem, maxEvaluations, populationSize, crossoverOperator, mutationOperator, selectionOperator,
+                evaluator, initialPopulation, rankingType);
+        if (numberOfThreads < 0) {
+            throw new IllegalArgumentException("Number of threads must not be negative: " + numberOfThreads);
+        }
+        this.numberOfThreads = numberOfThreads == 0 ? Runtime.getRuntime().availableProcessors() : numberOfThreads;
+    }
+
+    @Override
+    public void run() {
+        startDeadline();
+        ExecutorService executor = numberOfThreads > 1 ? Executors.newFixedThreadPool(numberOfThreads) : null;
+        // A single thread evaluates on the calling thread, in submission order
+        CompletionService<DoubleSolution> completion =
+                new ExecutorCompletionService<>(executor != null ? executor : Runnable::run);
+        try {
+            List<DoubleSolution> population = createInitialPopulation();
+            for (DoubleSolution solution : population) {
+                submit(completion, solution);
+            }
+            for (int i = 0; i < population.size(); i++) {
+                take(completion);
+            }
+            setPopulation(population);
+            initProgress();
+            rankPopulation();
+
+            int inFlight = 0;
+            while (inFlight < numberOfThreads && canSubmit(inFlight)) {
+                submit(completion, createOffspring());
+                inFlight++;
+            }
+            while (inFlight > 0) {
+                DoubleSolution offspring = take(completion);
+                inFlight--;
+                evaluations++;
+                insert(offspring);
+                removeWorst();
+                updateCrowdingDistances();
+                if (canSubmit(inFlight)) {
+                    submit(completion, createOffspring());
+                    inFlight++;
+                }
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Offspring are submitted while the budget allows and the deadline has
+     * not been reached. Offspring in flight at the deadline are still
+     * inserted.
+     */
+    private boolean canSubmit(int inFlight) {
+        return evaluations + inFlight < getGenerationalEvaluations() && !isDeadlineReached();
+    }
+
+    /**
+     * @return evaluations of the generational variant, which completes the
+     * generation that reaches maxEvaluations
+     */
+    private int getGenerationalEvaluations() {
+        int populationSize = getMaxPopulationSize();
+        return populationSize * Math.max(1, (maxEvaluations + populationSize - 1) / populationSize);
+    }
+
+    private void submit(CompletionService<DoubleSolution> completion, DoubleSolution solution) {
+        Problem<DoubleSolution> problem = getProblem();
+        completion.submit(() -> {
+            problem.evaluate(solution);
+            if (problem instanceof ConstrainedProblem) {
+                ((ConstrainedProblem<DoubleSolution>) problem).evaluateConstraints(solution);
+            }
+            return solution;
+        });
+    }
+
+    private DoubleSolution take(CompletionService<DoubleSolution> completion) {
+        try {
+            return completion.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JMetalException(e);
+        } catch (ExecutionException e) {
+            throw new JMetalException(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        }
+    }
+
+    /**
+     * Breeds one offspring from two parents chosen by the selection
+     * operator, as the steady-state NSGA-II of jMetal.
+     */
+    private DoubleSolution createOffspring() {
+        List<DoubleSolution> population = getPopulation();
+        List<DoubleSolution> parents = Arrays.asList(
+                (DoubleSolution) selectionOperator.execute(population),
+                (DoubleSolution) selectionOperator.execute(population));
+        DoubleSolution offspring = (DoubleSolution) ((List) crossoverOperator.execute(parents)).get(0);
+        mutationOperator.execute(offspring);
+        return offspring;
+    }
+
+    private void rankPopulation() {
+        Ranking<DoubleSolution> ranking = computeRanking(getPopulation());
+        fronts = new ArrayList<>();
+        for (int rank = 0; rank < ranking.getNumberOfSubfronts(); rank++) {
+            List<DoubleSolution> front = new ArrayList<>(ranking.getSubfront(rank));
+            for (DoubleSolution solution : front) {
+                rankAttribute.setAttribute(solution, rank);
+            }
+            fronts.add(front);
+        }
+        changedFronts = new boolean[getMaxPopulationSize() + 1];
+        Arrays.fill(changedFronts, true);
+        updateCrowdingDistances();
+    }
+
+    /**
+     * Adds a solution to the population and to its front. The solutions
+     * of that front that it dominates move to the next one, where they
+     * push down those they dominate, and so on.
+     */
+    private void insert(DoubleSolution solution) {
+        getPopulation().add(solution);
+        List<DoubleSolution> moving = new ArrayList<>();
+        moving.add(solution);
+        for (int rank = findFront(solution); !moving.isEmpty(); rank++) {
+            changedFronts[rank] = true;
+            if (rank == fronts.size()) {
+                fronts.add(new ArrayList<DoubleSolution>());
+            }
+            List<DoubleSolution> front = fronts.get(rank);
+            List<DoubleSolution> dominated = new ArrayList<>();
+            for (int i = front.size() - 1; i >= 0; i--) {
+                if (isDominatedByAny(front.get(i), moving)) {
+                    dominated.add(0, front.remove(i));
+                }
+            }
+            for (DoubleSolution moved : moving) {
+                rankAttribute.setAttribute(moved, rank);
+                front.add(moved);
+            }
+            moving = dominated;
+        }
+    }
+
+    /**
+     * @return index of the first front with no solution dominating the
+     * given one. A solution dominated by a solution of some front is
+     * dominated by a solution of every previous front, so the fronts can
+     * be searched by bisection.
+     */
+    private int findFront(DoubleSolution solution) {
+        int low = 0;
+        int high = fronts.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (isDominatedByAny(solution, fronts.get(middle))) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private boolean isDominatedByAny(DoubleSolution solution, List<DoubleSolution> solutions) {
+        for (DoubleSolution other : solutions) {
+            if (dominanceComparator.compare(other, solution) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes the solution of the last front with the smallest crowding
+     * distance, the last one among ties, as the crowding distance
+     * selection of NSGA-II would leave out of a population with one
+     * solution too many.
+     */
+    private void removeWorst() {
+        int last = fronts.size() - 1;
+        List<DoubleSolution> front = fronts.get(last);
+        crowdingDistance.computeDensityEstimator(front);
+        int worst = 0;
+        for (int i = 1; i < front.size(); i++) {
+            if (crowdingDistance.getAttribute(front.get(i)) <= crowdingDistance.getAttribute(front.get(worst))) {
+                worst = i;
+            }
+        }
+        DoubleSolution removed = front.remove(worst);
+        List<DoubleSolution> population = getPopulation();
+        for (int i = population.size() - 1; i >= 0; i--) {
+            if (population.get(i) == removed) {
+                population.remove(i);
+                break;
+            }
+        }
+        if (front.isEmpty()) {
+            fronts.remove(last);
+            changedFronts[last] = false;
+        } else {
+            changedFronts[last] = true;
+        }
+    }
+
+    private void updateCrowdingDistances() {
+        for (int rank = 0; rank < fronts.size(); rank++) {
+            if (changedFronts[rank]) {
+                crowdingDistance.computeDensityEstimator(fronts.get(rank));
+                changedFronts[rank] = false;
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "AsyncNSGAII";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Nondominated Sorting Genetic Algorithm version II. Asynchronous steady-state version";
+    }
+}
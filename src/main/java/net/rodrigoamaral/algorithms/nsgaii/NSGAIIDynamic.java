@@ -1,13 +1,15 @@
 package net.rodrigoamaral.algorithms.nsgaii;
 
+import net.rodrigoamaral.algorithms.Deadline;
+import net.rodrigoamaral.jmetal.util.solutionattribute.RankingType;
 import org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAII;
 import org.uma.jmetal.operator.CrossoverOperator;
 import org.uma.jmetal.operator.MutationOperator;
 import org.uma.jmetal.operator.SelectionOperator;
 import org.uma.jmetal.problem.Problem;
 import org.uma.jmetal.solution.DoubleSolution;
-import org.uma.jmetal.solution.impl.DefaultDoubleSolution;
 import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
+import org.uma.jmetal.util.solutionattribute.Ranking;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,10 +17,51 @@ import java.util.List;
 public class NSGAIIDynamic extends NSGAII {
 
     private List<DoubleSolution> initialPopulation;
+    private final RankingType rankingType;
+    private Deadline deadline;
 
     public NSGAIIDynamic(Problem problem, int maxEvaluations, int populationSize, CrossoverOperator crossoverOperator, MutationOperator mutationOperator, SelectionOperator selectionOperator, SolutionListEvaluator evaluator, List<DoubleSolution> initialPopulation) {
+        this(problem, maxEvaluations, populationSize, crossoverOperator, mutationOperator, selectionOperator, evaluator, initialPopulation, RankingType.DOMINANCE);
+    }
+
+    public NSGAIIDynamic(Problem problem, int maxEvaluations, int populationSize, CrossoverOperator crossoverOperator, MutationOperator mutationOperator, SelectionOperator selectionOperator, SolutionListEvaluator evaluator, List<DoubleSolution> initialPopulation, RankingType rankingType) {
         super(problem, maxEvaluations, populationSize, crossoverOperator, mutationOperator, selectionOperator, evaluator);
         this.initialPopulation = initialPopulation;
+        this.rankingType = rankingType;
+    }
+
+    /**
+     * @param deadline time by which the algorithm stops breeding new
+     *                 offspring, or null
+     */
+    public void setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+    }
+
+    protected void startDeadline() {
+        Deadline.start(deadline);
+    }
+
+    protected boolean isDeadlineReached() {
+        return Deadline.isReached(deadline);
+    }
+
+    @Override
+    public void run() {
+        startDeadline();
+        super.run();
+    }
+
+    @Override
+    protected boolean isStoppingConditionReached() {
+        return super.isStoppingConditionReached() || isDeadlineReached();
+    }
+
+    @Override
+    protected Ranking computeRanking(List solutionList) {
+        Ranking ranking = rankingType.newRanking();
+        ranking.computeRanking(solutionList);
+        return ranking;
     }
 
     @Override
@@ -29,7 +72,7 @@ public class NSGAIIDynamic extends NSGAII {
             if (initialPopulation == null || initialPopulation.isEmpty()) {
                 newIndividual = (DoubleSolution) getProblem().createSolution();
             } else {
-                newIndividual = new DefaultDoubleSolution((DefaultDoubleSolution) initialPopulation.get(i));
+                newIndividual = (DoubleSolution) initialPopulation.get(i).copy();
             }
             population.add(newIndividual);
         }
@@ -1,5 +1,7 @@
 package net.rodrigoamaral.algorithms.nsgaii;
 
+import net.rodrigoamaral.algorithms.Deadline;
+import net.rodrigoamaral.jmetal.util.solutionattribute.RankingType;
 import org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAII;
 import org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAIIBuilder;
 import org.uma.jmetal.operator.CrossoverOperator;
@@ -12,6 +14,10 @@ import java.util.List;
 public class NSGAIIDynamicBuilder extends NSGAIIBuilder{
 
     private List<DoubleSolution> initialPopulation;
+    private RankingType rankingType = RankingType.DOMINANCE;
+    private boolean asynchronous = false;
+    private int numberOfThreads = 1;
+    private Deadline deadline;
 
     public NSGAIIDynamicBuilder(Problem problem, CrossoverOperator crossoverOperator, MutationOperator mutationOperator) {
         super(problem, crossoverOperator, mutationOperator);
@@ -22,9 +28,55 @@ public class NSGAIIDynamicBuilder extends NSGAIIBuilder{
         return this;
     }
 
+    public NSGAIIDynamicBuilder setRankingType(RankingType rankingType) {
+        this.rankingType = rankingType;
+        return this;
+    }
+
+    /**
+     * @param asynchronous if true, builds the asynchronous steady-state
+     *                     variant, {@link AsynchronousNSGAIIDynamic}
+     */
+    public NSGAIIDynamicBuilder setAsynchronous(boolean asynchronous) {
+        this.asynchronous = asynchronous;
+        return this;
+    }
+
+    /**
+     * @param numberOfThreads threads evaluating offspring in the
+     *                        asynchronous variant. Zero uses all available
+     *                        processors.
+     */
+    public NSGAIIDynamicBuilder setNumberOfThreads(int numberOfThreads) {
+        if (numberOfThreads < 0) {
+            throw new IllegalArgumentException("Number of threads must not be negative: " + numberOfThreads);
+        }
+        this.numberOfThreads = numberOfThreads;
+        return this;
+    }
+
+    /**
+     * @param deadline time by which the algorithm stops breeding new
+     *                 offspring, or null
+     */
+    public NSGAIIDynamicBuilder setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+        return this;
+    }
+
     @Override
     public NSGAII build() {
-        return new NSGAIIDynamic(getProblem(), getMaxIterations(), getPopulationSize(), getCrossoverOperator(),
-                getMutationOperator(), getSelectionOperator(), getSolutionListEvaluator(), initialPopulation);
+        NSGAIIDynamic algorithm;
+        if (asynchronous) {
+            algorithm = new AsynchronousNSGAIIDynamic(getProblem(), getMaxIterations(), getPopulationSize(),
+                    getCrossoverOperator(), getMutationOperator(), getSelectionOperator(), getSolutionListEvaluator(),
+                    initialPopulation, rankingType, numberOfThreads);
+        } else {
+            algorithm = new NSGAIIDynamic(getProblem(), getMaxIterations(), getPopulationSize(), getCrossoverOperator(),
+                    getMutationOperator(), getSelectionOperator(), getSolutionListEvaluator(), initialPopulation,
+                    rankingType);
+        }
+        algorithm.setDeadline(deadline);
+        return algorithm;
     }
 }
@@ -13,8 +13,12 @@
 
 package net.rodrigoamaral.algorithms.smpso;
 
+import net.rodrigoamaral.algorithms.Deadline;
 import net.rodrigoamaral.algorithms.ISwarm;
+import net.rodrigoamaral.jmetal.util.DoubleSolutionUtils;
 import net.rodrigoamaral.jmetal.util.evaluator.SolutionListEvaluator;
+import net.rodrigoamaral.util.ArrayKernels;
+import net.rodrigoamaral.util.ArrayKernelsFactory;
 import org.uma.jmetal.algorithm.impl.AbstractParticleSwarmOptimization;
 import org.uma.jmetal.operator.MutationOperator;
 import org.uma.jmetal.problem.DoubleProblem;
@@ -38,6 +42,8 @@ import java.util.List;
  */
 @SuppressWarnings("serial")
 public class SMPSO extends AbstractParticleSwarmOptimization<DoubleSolution, List<DoubleSolution>> implements ISwarm {
+    private static final ArrayKernels KERNELS = ArrayKernelsFactory.getInstance();
+
     private DoubleProblem problem;
 
     private double c1Max;
@@ -69,9 +75,18 @@ public class SMPSO extends AbstractParticleSwarmOptimization<DoubleSolution, Lis
 
     private double deltaMax[];
     private double deltaMin[];
+    private double lowerBound[];
+    private double upperBound[];
+
+    // Variable buffers reused by velocity and position updates
+    private double position[];
+    private double bestPosition[];
+    private double globalBestPosition[];
 
     private SolutionListEvaluator<DoubleSolution> evaluator;
 
+    private Deadline deadline;
+
     /**
      * Constructor
      */
@@ -112,12 +127,23 @@ public class SMPSO extends AbstractParticleSwarmOptimization<DoubleSolution, Lis
             deltaMax[i] = (problem.getUpperBound(i) - problem.getLowerBound(i)) / 2.0;
             deltaMin[i] = -deltaMax[i];
         }
+        lowerBound = DoubleSolutionUtils.lowerBounds(problem);
+        upperBound = DoubleSolutionUtils.upperBounds(problem);
+        position = new double[problem.getNumberOfVariables()];
+        bestPosition = new double[problem.getNumberOfVariables()];
+        globalBestPosition = new double[problem.getNumberOfVariables()];
     }
 
     protected void updateLeadersDensityEstimator() {
         leaders.computeDensityEstimator();
     }
 
+    @Override
+    public void run() {
+        Deadline.start(deadline);
+        super.run();
+    }
+
     @Override
     protected void initProgress() {
         iterations = 1;
@@ -132,7 +158,7 @@ public class SMPSO extends AbstractParticleSwarmOptimization<DoubleSolution, Lis
 
     @Override
     protected boolean isStoppingConditionReached() {
-        return iterations >= maxIterations;
+        return iterations >= maxIterations || Deadline.isReached(deadline);
     }
 
     @Override
@@ -158,7 +184,7 @@ public class SMPSO extends AbstractParticleSwarmOptimization<DoubleSolution, Lis
     @Override
     protected void initializeLeader(List<DoubleSolution> swarm) {
         for (DoubleSolution particle : swarm) {
-            leaders.add(particle);
+            leaders.add((DoubleSolution) particle.copy());
         }
     }
 
@@ -178,32 +204,34 @@ public class SMPSO extends AbstractParticleSwarmOptimization<DoubleSolution, Lis
         }
     }
 
+    /**
+     * Reads the particles, their local bests and the selected leaders in
+     * place, so no solution is copied. Constants are computed once per
+     * swarm or per particle, outside the variable loop.
+     */
     @Override
     protected void updateVelocity(List<DoubleSolution> swarm) {
-        double r1, r2, c1, c2;
-        double wmax, wmin;
-        DoubleSolution bestGlobal;
+        double inertia = inertiaWeight(iterations, maxIterations, weightMax, weightMin);
 
         for (int i = 0; i < swarm.size(); i++) {
-            DoubleSolution particle = (DoubleSolution) swarm.get(i).copy();
-            DoubleSolution bestParticle = (DoubleSolution) localBest.getAttribute(swarm.get(i)).copy();
-
-            bestGlobal = selectGlobalBest();
-
-            r1 = randomGenerator.nextDouble(r1Min, r1Max);
-            r2 = randomGenerator.nextDouble(r2Min, r2Max);
-            c1 = randomGenerator.nextDouble(c1Min, c1Max);
-            c2 = randomGenerator.nextDouble(c2Min, c2Max);
-            wmax = weightMax;
-            wmin = weightMin;
-
-            for (int var = 0; var < particle.getNumberOfVariables(); var++) {
-                speed[i][var] = velocityConstriction(constrictionCoefficient(c1, c2) * (
-                                inertiaWeight(iterations, maxIterations, wmax, wmin) * speed[i][var] +
-                                        c1 * r1 * (bestParticle.getVariableValue(var) - particle.getVariableValue(var)) +
-                                        c2 * r2 * (bestGlobal.getVariableValue(var) - particle.getVariableValue(var))),
-                        deltaMax, deltaMin, var);
-            }
+            DoubleSolution particle = swarm.get(i);
+            DoubleSolution bestParticle = localBest.getAttribute(particle);
+            DoubleSolution bestGlobal = selectGlobalBest();
+
+            double r1 = randomGenerator.nextDouble(r1Min, r1Max);
+            double r2 = randomGenerator.nextDouble(r2Min, r2Max);
+            double c1 = randomGenerator.nextDouble(c1Min, c1Max);
+            double c2 = randomGenerator.nextDouble(c2Min, c2Max);
+            double constriction = constrictionCoefficient(c1, c2);
+            double cognitive = c1 * r1;
+            double social = c2 * r2;
+
+            DoubleSolutionUtils.getVariables(particle, position);
+            DoubleSolutionUtils.getVariables(bestParticle, bestPosition);
+            DoubleSolutionUtils.getVariables(bestGlobal, globalBestPosition);
+
+            KERNELS.updateVelocity(speed[i], position, bestPosition, globalBestPosition, deltaMin, deltaMax,
+                    constriction, inertia, cognitive, social);
         }
     }
 
@@ -211,18 +239,9 @@ public class SMPSO extends AbstractParticleSwarmOptimization<DoubleSolution, Lis
     protected void updatePosition(List<DoubleSolution> swarm) {
         for (int i = 0; i < swarmSize; i++) {
             DoubleSolution particle = swarm.get(i);
-            for (int j = 0; j < particle.getNumberOfVariables(); j++) {
-                particle.setVariableValue(j, particle.getVariableValue(j) + speed[i][j]);
-
-                if (particle.getVariableValue(j) < problem.getLowerBound(j)) {
-                    particle.setVariableValue(j, problem.getLowerBound(j));
-                    speed[i][j] = speed[i][j] * changeVelocity1;
-                }
-                if (particle.getVariableValue(j) > problem.getUpperBound(j)) {
-                    particle.setVariableValue(j, problem.getUpperBound(j));
-                    speed[i][j] = speed[i][j] * changeVelocity2;
-                }
-            }
+            DoubleSolutionUtils.getVariables(particle, position);
+            KERNELS.updatePosition(position, speed[i], lowerBound, upperBound, changeVelocity1, changeVelocity2);
+            DoubleSolutionUtils.setVariables(particle, position);
         }
     }
 
@@ -258,42 +277,24 @@ public class SMPSO extends AbstractParticleSwarmOptimization<DoubleSolution, Lis
         return leaders.getSolutionList();
     }
 
+    /**
+     * Selects a leader by binary tournament.
+     *
+     * @return the selected leader itself, which must not be modified
+     */
     protected DoubleSolution selectGlobalBest() {
-        DoubleSolution one, two;
-        DoubleSolution bestGlobal;
-        int pos1 = randomGenerator.nextInt(0, leaders.getSolutionList().size() - 1);
-        int pos2 = randomGenerator.nextInt(0, leaders.getSolutionList().size() - 1);
-        one = leaders.getSolutionList().get(pos1);
-        two = leaders.getSolutionList().get(pos2);
+        // Read once, since a shared archive may publish a new list meanwhile
+        List<DoubleSolution> leaderList = leaders.getSolutionList();
+        int pos1 = randomGenerator.nextInt(0, leaderList.size() - 1);
+        int pos2 = randomGenerator.nextInt(0, leaderList.size() - 1);
+        DoubleSolution one = leaderList.get(pos1);
+        DoubleSolution two = leaderList.get(pos2);
 
         if (leaders.getComparator().compare(one, two) < 1) {
-            bestGlobal = (DoubleSolution) one.copy();
+            return one;
         } else {
-            bestGlobal = (DoubleSolution) two.copy();
+            return two;
         }
-
-        return bestGlobal;
-    }
-
-    private double velocityConstriction(double v, double[] deltaMax, double[] deltaMin,
-                                        int variableIndex) {
-
-        double result;
-
-        double dmax = deltaMax[variableIndex];
-        double dmin = deltaMin[variableIndex];
-
-        result = v;
-
-        if (v > dmax) {
-            result = dmax;
-        }
-
-        if (v < dmin) {
-            result = dmin;
-        }
-
-        return result;
     }
 
     private double constrictionCoefficient(double c1, double c2) {
@@ -337,14 +338,42 @@ public class SMPSO extends AbstractParticleSwarmOptimization<DoubleSolution, Lis
     }
 
     /* Setters */
+    /**
+     * @param deadline time by which {@link #run()} stops iterating, or null
+     */
+    public void setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+    }
+
     public void setIterations(int iterations) {
         this.iterations = iterations;
     }
 
+    @Override
+    public void init() {
+        setSwarm(evaluateSwarm(createInitialSwarm()));
+        initializeVelocity(getSwarm());
+        initializeParticlesMemory(getSwarm());
+        initializeLeader(getSwarm());
+        initProgress();
+    }
+
+    @Override
+    public void step() {
+        updateVelocity(getSwarm());
+        updatePosition(getSwarm());
+        perturbation(getSwarm());
+        setSwarm(evaluateSwarm(getSwarm()));
+        updateLeaders(getSwarm());
+        updateParticlesMemory(getSwarm());
+        updateProgress();
+    }
+
     @Override
     public void mergeArchive(Archive<DoubleSolution> archive) {
+        // Copies, since swarms may compute density estimators concurrently
         for (DoubleSolution s : archive.getSolutionList()) {
-            leaders.add(s);
+            leaders.add((DoubleSolution) s.copy());
         }
     }
 
@@ -13,10 +13,11 @@
 
 package net.rodrigoamaral.algorithms.smpso;
 
+import net.rodrigoamaral.algorithms.Deadline;
+import net.rodrigoamaral.jmetal.operator.impl.mutation.SparsePolynomialMutation;
 import net.rodrigoamaral.jmetal.util.evaluator.SolutionListEvaluator;
 import net.rodrigoamaral.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
 import org.uma.jmetal.operator.MutationOperator;
-import org.uma.jmetal.operator.impl.mutation.PolynomialMutation;
 import org.uma.jmetal.problem.DoubleProblem;
 import org.uma.jmetal.solution.DoubleSolution;
 import org.uma.jmetal.util.AlgorithmBuilder;
@@ -58,6 +59,8 @@ public class SMPSOBuilder implements AlgorithmBuilder<SMPSO> {
 
   protected SMPSOVariant variant ;
 
+  protected Deadline deadline;
+
   public SMPSOBuilder(DoubleProblem problem, BoundedArchive<DoubleSolution> leaders) {
     this.problem = problem;
     this.leaders = leaders;
@@ -78,7 +81,7 @@ public class SMPSOBuilder implements AlgorithmBuilder<SMPSO> {
     changeVelocity1 = -1;
     changeVelocity2 = -1;
 
-    mutationOperator = new PolynomialMutation(1.0/problem.getNumberOfVariables(), 20.0) ;
+    mutationOperator = new SparsePolynomialMutation(1.0/problem.getNumberOfVariables(), 20.0) ;
     evaluator = new SequentialSolutionListEvaluator<DoubleSolution>() ;
 
     this.variant = SMPSOVariant.SMPSO ;
@@ -255,16 +258,28 @@ public class SMPSOBuilder implements AlgorithmBuilder<SMPSO> {
     return this;
   }
 
+  /**
+   * @param deadline time by which the algorithm stops iterating, or null
+   */
+  public SMPSOBuilder setDeadline(Deadline deadline) {
+    this.deadline = deadline;
+
+    return this;
+  }
+
   public SMPSO build() {
+    SMPSO smpso;
     if (variant.equals(SMPSOVariant.SMPSO)) {
-      return new SMPSO(problem, swarmSize, leaders, mutationOperator, maxIterations, r1Min, r1Max,
+      smpso = new SMPSO(problem, swarmSize, leaders, mutationOperator, maxIterations, r1Min, r1Max,
           r2Min, r2Max, c1Min, c1Max, c2Min, c2Max, weightMin, weightMax, changeVelocity1,
           changeVelocity2, evaluator);
     } else {
-      return new SMPSOMeasures(problem, swarmSize, leaders, mutationOperator, maxIterations, r1Min, r1Max,
+      smpso = new SMPSOMeasures(problem, swarmSize, leaders, mutationOperator, maxIterations, r1Min, r1Max,
           r2Min, r2Max, c1Min, c1Max, c2Min, c2Max, weightMin, weightMax, changeVelocity1,
           changeVelocity2, evaluator);
     }
+    smpso.setDeadline(deadline);
+    return smpso;
   }
 
   /*
@@ -5,7 +5,6 @@ import net.rodrigoamaral.jmetal.util.evaluator.SolutionListEvaluator;
 import org.uma.jmetal.operator.MutationOperator;
 import org.uma.jmetal.problem.DoubleProblem;
 import org.uma.jmetal.solution.DoubleSolution;
-import org.uma.jmetal.solution.impl.DefaultDoubleSolution;
 import org.uma.jmetal.util.archive.BoundedArchive;
 
 import java.util.ArrayList;
@@ -41,7 +40,7 @@ public class SMPSODynamic extends SMPSO implements ISwarm {
             if (initialPopulation == null || initialPopulation.isEmpty()) {
                 newSolution = getProblem().createSolution();
             } else {
-                newSolution = new DefaultDoubleSolution((DefaultDoubleSolution) initialPopulation.get(i));
+                newSolution = (DoubleSolution) initialPopulation.get(i).copy();
             }
             swarm.add(newSolution);
         }
@@ -20,9 +20,11 @@ public class SMPSODynamicBuilder extends SMPSOBuilder {
     }
 
     public SMPSO build() {
-        return new SMPSODynamic(getProblem(), getSwarmSize(), leaders, mutationOperator, getMaxIterations(), getR1Min(), getR1Max(),
+        SMPSO smpso = new SMPSODynamic(getProblem(), getSwarmSize(), leaders, mutationOperator, getMaxIterations(), getR1Min(), getR1Max(),
                     getR2Min(), getR2Max(), getC1Min(), getC1Max(), getC2Min(), getC2Max(), getWeightMin(), getWeightMax(), getChangeVelocity1(),
                     getChangeVelocity2(), evaluator, initialPopulation);
+        smpso.setDeadline(deadline);
+        return smpso;
     }
 
 }
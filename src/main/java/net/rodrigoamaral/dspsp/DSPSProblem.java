@@ -5,10 +5,16 @@ import net.rodrigoamaral.dspsp.adapters.SolutionConverter;
 import net.rodrigoamaral.dspsp.project.DynamicEmployee;
 import net.rodrigoamaral.dspsp.project.DynamicProject;
 import net.rodrigoamaral.dspsp.project.tasks.DynamicTask;
+import net.rodrigoamaral.dspsp.solution.DSPSPSolution;
+import net.rodrigoamaral.dspsp.solution.VariableMapping;
+import net.rodrigoamaral.jmetal.util.DoubleSolutionUtils;
 import org.uma.jmetal.problem.impl.AbstractDoubleProblem;
 import org.uma.jmetal.solution.DoubleSolution;
 
 import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  *
@@ -19,7 +25,15 @@ import java.io.FileNotFoundException;
  */
 public class DSPSProblem extends AbstractDoubleProblem {
 
+    private static final long serialVersionUID = 1L;
+
     private JMetalDSPSPAdapter dspsp;
+    private VariableMapping mapping;
+    private FullDecisionSpace fullDecisionSpace;
+    private double[] lowerBounds;
+    private double[] upperBounds;
+    // Solutions may be evaluated concurrently
+    private AtomicLong evaluations = new AtomicLong();
 
     public DSPSProblem(String projectPropertiesFileName) throws FileNotFoundException {
         dspsp = new JMetalDSPSPAdapter(projectPropertiesFileName);
@@ -38,21 +52,153 @@ public class DSPSProblem extends AbstractDoubleProblem {
         setNumberOfConstraints(dspsp.getNumberOfConstraints());
         setLowerLimit(dspsp.getLowerLimit());
         setUpperLimit(dspsp.getUpperLimit());
+        lowerBounds = DoubleSolutionUtils.lowerBounds(this);
+        upperBounds = DoubleSolutionUtils.upperBounds(this);
     }
 
     @Override
     public void evaluate(DoubleSolution solution) {
         dspsp.evaluateObjectives(solution);
+        evaluations.incrementAndGet();
+    }
+
+    /**
+     * @return number of solutions evaluated so far
+     */
+    public long getEvaluations() {
+        return evaluations.get();
+    }
+
+    /**
+     * Makes evaluations of this problem be counted by another problem, of
+     * which this problem is a part, from now on.
+     */
+    public void countEvaluationsIn(DSPSProblem problem) {
+        this.evaluations = problem.evaluations;
+    }
+
+    /**
+     * Restricts the decision variables to the (available employee,
+     * available task) pairs of the current project state. Solutions of a
+     * reduced problem must be expanded with {@link #expand(DoubleSolution)}
+     * before being used outside the optimization of the current rescheduling.
+     *
+     * @param reduced true to use the reduced decision space
+     */
+    public void setReducedDecisionSpace(boolean reduced) {
+        mapping = reduced ? new VariableMapping(getProject()) : null;
+        fullDecisionSpace = reduced ? new FullDecisionSpace() : null;
+        dspsp.setVariableMapping(mapping);
+        init();
+    }
+
+    public boolean isReducedDecisionSpace() {
+        return mapping != null;
+    }
+
+    /**
+     * @param index variable index of this problem
+     * @return index of the task whose dedication the variable encodes
+     */
+    public int getVariableTask(int index) {
+        return mapping == null ? SolutionConverter.decodeTask(index) : mapping.getTask(index);
+    }
+
+    /**
+     * Expands a solution of this problem into a solution with all
+     * employees x tasks variables. Pairs outside the reduced decision
+     * space get zero dedication.
+     *
+     * @param solution solution of this problem
+     * @return solution in the full decision space
+     */
+    public DoubleSolution expand(DoubleSolution solution) {
+        if (mapping == null) {
+            return solution;
+        }
+        double[] reducedValues = DoubleSolutionUtils.getVariables(solution, new double[mapping.size()]);
+        double[] values = new double[getProject().size()];
+        for (int i = 0; i < mapping.size(); i++) {
+            values[mapping.getFullIndex(i)] = reducedValues[i];
+        }
+        DoubleSolution expanded = fullDecisionSpace.createSolution(values);
+        copyObjectives(solution, expanded);
+        return expanded;
+    }
+
+    public List<DoubleSolution> expand(List<DoubleSolution> solutions) {
+        if (mapping == null) {
+            return solutions;
+        }
+        List<DoubleSolution> expanded = new ArrayList<>(solutions.size());
+        for (DoubleSolution s : solutions) {
+            expanded.add(expand(s));
+        }
+        return expanded;
+    }
+
+    /**
+     * Projects a solution with all employees x tasks variables into the
+     * decision space of this problem.
+     *
+     * @param solution solution in the full decision space
+     * @return solution of this problem
+     */
+    public DoubleSolution reduce(DoubleSolution solution) {
+        if (mapping == null) {
+            return solution;
+        }
+        double[] values = DoubleSolutionUtils.getVariables(solution, new double[solution.getNumberOfVariables()]);
+        double[] reducedValues = new double[mapping.size()];
+        for (int i = 0; i < mapping.size(); i++) {
+            reducedValues[i] = values[mapping.getFullIndex(i)];
+        }
+        DoubleSolution reduced = createSolution(reducedValues);
+        copyObjectives(solution, reduced);
+        return reduced;
+    }
+
+    public List<DoubleSolution> reduce(List<DoubleSolution> solutions) {
+        if (mapping == null) {
+            return solutions;
+        }
+        List<DoubleSolution> reduced = new ArrayList<>(solutions.size());
+        for (DoubleSolution s : solutions) {
+            reduced.add(reduce(s));
+        }
+        return reduced;
+    }
+
+    private void copyObjectives(DoubleSolution from, DoubleSolution to) {
+        int objectives = Math.min(from.getNumberOfObjectives(), to.getNumberOfObjectives());
+        for (int i = 0; i < objectives; i++) {
+            to.setObjective(i, from.getObjective(i));
+        }
     }
 
     @Override
     public DoubleSolution createSolution() {
-        DoubleSolution newSolution = super.createSolution();
+        DoubleSolution newSolution = new DSPSPSolution(lowerBounds, upperBounds, getNumberOfObjectives());
+        if (mapping != null) {
+            // Only available pairs are decision variables
+            return newSolution;
+        }
         newSolution = enableOnlyAvailableEmployees(newSolution);
         newSolution  = enableOnlyAvailableTasks(newSolution);
         return newSolution;
     }
 
+    /**
+     * Creates a solution with the given variables, without drawing random
+     * numbers.
+     *
+     * @param values variable values, which are not copied
+     * @return unevaluated solution
+     */
+    public DoubleSolution createSolution(double[] values) {
+        return new DSPSPSolution(lowerBounds, upperBounds, values, new double[getNumberOfObjectives()]);
+    }
+
     private DoubleSolution enableOnlyAvailableTasks(DoubleSolution solution) {
         for (DynamicTask task : getProject().getTasks()) {
             if (!task.isAvailable()) {
@@ -89,4 +235,43 @@ public class DSPSProblem extends AbstractDoubleProblem {
     public String getInstanceDescription() {
         return getProject().getInstanceDescription();
     }
+
+    /**
+     * Decision space with all employees x tasks variables, which
+     * expanded solutions refer to.
+     */
+    private class FullDecisionSpace extends AbstractDoubleProblem {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] lowerBounds;
+        private final double[] upperBounds;
+
+        FullDecisionSpace() {
+            setName(DSPSProblem.this.getName());
+            setNumberOfVariables(getProject().size());
+            setNumberOfObjectives(DSPSProblem.this.getNumberOfObjectives());
+            setNumberOfConstraints(DSPSProblem.this.getNumberOfConstraints());
+            setLowerLimit(dspsp.getLowerLimit(getNumberOfVariables()));
+            setUpperLimit(dspsp.getUpperLimit(getNumberOfVariables()));
+            lowerBounds = DoubleSolutionUtils.lowerBounds(this);
+            upperBounds = DoubleSolutionUtils.upperBounds(this);
+        }
+
+        @Override
+        public DoubleSolution createSolution() {
+            return new DSPSPSolution(lowerBounds, upperBounds, getNumberOfObjectives());
+        }
+
+        DoubleSolution createSolution(double[] values) {
+            return new DSPSPSolution(lowerBounds, upperBounds, values, new double[getNumberOfObjectives()]);
+        }
+
+        @Override
+        public void evaluate(DoubleSolution solution) {
+            DoubleSolution reduced = reduce(solution);
+            DSPSProblem.this.evaluate(reduced);
+            copyObjectives(reduced, solution);
+        }
+    }
 }
@@ -8,10 +8,12 @@ import net.rodrigoamaral.dspsp.project.DynamicEmployee;
 import net.rodrigoamaral.dspsp.project.DynamicProject;
 import net.rodrigoamaral.dspsp.project.tasks.DynamicTask;
 import net.rodrigoamaral.dspsp.solution.DedicationMatrix;
+import net.rodrigoamaral.dspsp.solution.VariableMapping;
 import net.rodrigoamaral.logging.SPSPLogger;
 import org.uma.jmetal.solution.DoubleSolution;
 
 import java.io.FileNotFoundException;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -24,7 +26,9 @@ import java.util.List;
  * @author Rodrigo Amaral
  *
  */
-public class JMetalDSPSPAdapter {
+public class JMetalDSPSPAdapter implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static final int DURATION = 0;
     public static final int COST = 1;
@@ -44,6 +48,7 @@ public class JMetalDSPSPAdapter {
     private IConstraintEvaluator constraintEvaluator;
 
     private SolutionConverter converter;
+    private VariableMapping mapping;
 
     /**
      * Creates a {@link DynamicProject} instance and evaluate all objectives and constraints
@@ -87,27 +92,45 @@ public class JMetalDSPSPAdapter {
     }
 
     public int getNumberOfVariables() {
-        return project.size();
+        return mapping == null ? project.size() : mapping.size();
+    }
+
+    /**
+     * Makes solutions be decoded through a reduced decision space mapping.
+     *
+     * @param mapping variable mapping, or null to use all employees x tasks variables
+     */
+    public void setVariableMapping(VariableMapping mapping) {
+        this.mapping = mapping;
+        this.converter = new SolutionConverter(this.project, mapping);
     }
 
     public int getNumberOfObjectives() {
         return objectives.length;
     }
 
-    private List<Double> populateLimitList(double value) {
-        List<Double> limit = new ArrayList<>(getNumberOfVariables());
-        for (int i = 0; i < getNumberOfVariables(); i++) {
+    private List<Double> populateLimitList(double value, int size) {
+        List<Double> limit = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
             limit.add(value);
         }
         return limit;
     }
 
     public List<Double> getLowerLimit() {
-        return populateLimitList(LOWER_LIMIT);
+        return getLowerLimit(getNumberOfVariables());
     }
 
     public List<Double> getUpperLimit() {
-        return populateLimitList(UPPER_LIMIT + MAX_OVERWORK);
+        return getUpperLimit(getNumberOfVariables());
+    }
+
+    public List<Double> getLowerLimit(int numberOfVariables) {
+        return populateLimitList(LOWER_LIMIT, numberOfVariables);
+    }
+
+    public List<Double> getUpperLimit(int numberOfVariables) {
+        return populateLimitList(UPPER_LIMIT + MAX_OVERWORK, numberOfVariables);
     }
 
     /**
@@ -2,22 +2,43 @@ package net.rodrigoamaral.dspsp.adapters;
 
 import net.rodrigoamaral.dspsp.project.DynamicProject;
 import net.rodrigoamaral.dspsp.solution.DedicationMatrix;
+import net.rodrigoamaral.dspsp.solution.VariableMapping;
+import net.rodrigoamaral.jmetal.util.DoubleSolutionUtils;
 import org.uma.jmetal.solution.DoubleSolution;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+
 /**
  * Converts a jMetal {@link DoubleSolution} into a {@link DedicationMatrix}.
  * It also provides public methods to encode and decode vector indices
  * of a DoubleSolution into matrix indices of a DedicationMatrix.
  *
  */
-public class SolutionConverter {
+public class SolutionConverter implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private static int employees;
     private static int tasks;
+    private final DynamicProject project;
+    private final VariableMapping mapping;
 
     public SolutionConverter(DynamicProject _project) {
+        this(_project, null);
+    }
+
+    /**
+     * @param _project project
+     * @param _mapping mapping of a reduced decision space, or null if
+     *                 solutions have all employees x tasks variables
+     */
+    public SolutionConverter(DynamicProject _project, VariableMapping _mapping) {
         employees = _project.getEmployees().size();
         tasks = _project.getTasks().size();
+        project = _project;
+        mapping = _mapping;
     }
 
     /**
@@ -38,18 +59,28 @@ public class SolutionConverter {
      * @return new instance of DedicationMatrix
      */
     public DedicationMatrix convert(DoubleSolution solution, boolean repair) {
-        DedicationMatrix dm = new DedicationMatrix(employees, tasks);
-        for (int i = 0; i < solution.getNumberOfVariables(); i++) {
-            Double dedication = solution.getVariableValue(i);
-            dedication = repairDedication(repair, dedication);
-            dm.setDedication(decodeEmployee(i),
-                    decodeTask(i),
-                    dedication);
+        final boolean sparse = project.isSparseDedication();
+        DedicationMatrix dm = new DedicationMatrix(employees, tasks, sparse);
+        double[] values = DoubleSolutionUtils.getVariables(solution, new double[solution.getNumberOfVariables()]);
+        for (int i = 0; i < values.length; i++) {
+            double dedication = repairDedication(repair, values[i]);
+            if (sparse && dedication == 0) {
+                continue;
+            }
+            if (mapping == null) {
+                dm.setDedication(decodeEmployee(i),
+                        decodeTask(i),
+                        dedication);
+            } else {
+                dm.setDedication(mapping.getEmployee(i),
+                        mapping.getTask(i),
+                        dedication);
+            }
         }
         return dm;
     }
 
-    private Double repairDedication(boolean repair, Double dedication) {
+    private double repairDedication(boolean repair, double dedication) {
         if (repair) {
             dedication = dedication < DedicationMatrix.MIN_DED_THRESHOLD ? 0.0 : dedication;
         }
@@ -87,4 +118,11 @@ public class SolutionConverter {
     public static int encode(int employeeIndex, int taskIndex) {
         return employeeIndex * tasks + taskIndex;
     }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        // Static dimensions are not serialized
+        employees = project.getEmployees().size();
+        tasks = project.getTasks().size();
+    }
 }
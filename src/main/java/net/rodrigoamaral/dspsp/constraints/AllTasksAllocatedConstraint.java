@@ -10,13 +10,22 @@ import net.rodrigoamaral.dspsp.solution.DedicationMatrix;
  */
 public class AllTasksAllocatedConstraint implements IConstraint {
 
+    private static final long serialVersionUID = 1L;
+
     @Override
     public DedicationMatrix repair(DedicationMatrix dm, DynamicProject project) {
+        boolean[] available = new boolean[dm.getTasks()];
+        for (DynamicTask task: project.getAvailableTasks()) {
+            available[task.index()] = true;
+        }
         for (DynamicEmployee employee: project.getAvailableEmployees()) {
-            for (DynamicTask task: project.getAvailableTasks()) {
-                double proficiency = project.getTaskProficiency().get(employee.index()).get(task.index());
-                if (proficiency == 0) {
-                    dm.setDedication(employee.index(), task.index(), 0);
+            for (int k = 0; k < dm.getStoredEntries(employee.index()); k++) {
+                int task = dm.getStoredTask(employee.index(), k);
+                if (available[task]) {
+                    double proficiency = project.getTaskProficiency().get(employee.index()).get(task);
+                    if (proficiency == 0) {
+                        dm.setStoredDedication(employee.index(), k, 0);
+                    }
                 }
             }
         }
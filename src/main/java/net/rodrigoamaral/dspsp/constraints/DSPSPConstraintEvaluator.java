@@ -15,6 +15,8 @@ import java.util.List;
  *
  */
 public class DSPSPConstraintEvaluator implements IConstraintEvaluator {
+    private static final long serialVersionUID = 1L;
+
     private List<IConstraint> constraints;
 
     public DSPSPConstraintEvaluator() {
@@ -3,7 +3,8 @@ package net.rodrigoamaral.dspsp.constraints;
 import net.rodrigoamaral.dspsp.project.DynamicProject;
 import net.rodrigoamaral.dspsp.solution.DedicationMatrix;
 
+import java.io.Serializable;
 
-public interface IConstraint {
+public interface IConstraint extends Serializable {
     DedicationMatrix repair(DedicationMatrix dm, DynamicProject project);
 }
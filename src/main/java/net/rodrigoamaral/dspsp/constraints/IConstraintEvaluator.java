@@ -3,7 +3,9 @@ package net.rodrigoamaral.dspsp.constraints;
 import net.rodrigoamaral.dspsp.project.DynamicProject;
 import net.rodrigoamaral.dspsp.solution.DedicationMatrix;
 
-public interface IConstraintEvaluator {
+import java.io.Serializable;
+
+public interface IConstraintEvaluator extends Serializable {
     IConstraintEvaluator addConstraint(IConstraint constraint);
     DedicationMatrix repair(DedicationMatrix dm, DynamicProject project);
     int size();
@@ -9,6 +9,8 @@ import java.util.*;
 
 public class MaximumHeadcountConstraint implements IConstraint {
 
+    private static final long serialVersionUID = 1L;
+
     @Override
     public DedicationMatrix repair(DedicationMatrix dm, DynamicProject project) {
         for (DynamicTask task: project.getAvailableTasks()) {
@@ -9,20 +9,19 @@ import java.util.List;
 
 public class NoEmployeeOverworkConstraint implements IConstraint {
 
+    private static final long serialVersionUID = 1L;
+
     public DedicationMatrix repair(DedicationMatrix dm, DynamicProject project) {
         DedicationMatrix repaired = dm;
         List<DynamicEmployee> availableEmployees = project.getAvailableEmployees();
-        List<DynamicTask> activeTasks = project.getActiveTasks();
+        boolean[] active = new boolean[dm.getTasks()];
+        for (DynamicTask t: project.getActiveTasks()) {
+            active[t.index()] = true;
+        }
         for (DynamicEmployee e: availableEmployees) {
-            double employeeDedication = 0.0;
-            for (DynamicTask t: activeTasks) {
-                employeeDedication += dm.getDedication(e.index(), t.index());
-            }
+            double employeeDedication = dm.maskedRowSum(e.index(), active);
             if (employeeDedication > e.getMaxDedication()) {
-                for (DynamicTask t: activeTasks) {
-                    double normalizedDedication = dm.getDedication(e.index(), t.index()) / Math.max(1, employeeDedication/e.getMaxDedication());
-                    repaired.setDedication(e.index(), t.index(), normalizedDedication);
-                }
+                dm.divideMaskedRow(e.index(), active, Math.max(1, employeeDedication/e.getMaxDedication()), repaired);
             }
         }
         return repaired;
@@ -6,6 +6,8 @@ import net.rodrigoamaral.dspsp.solution.DedicationMatrix;
 
 public class TaskSkillsConstraint implements IConstraint {
 
+    private static final long serialVersionUID = 1L;
+
     public double violationDegree(DynamicProject project,
                                   DedicationMatrix dm) {
         return project.missingSkills();
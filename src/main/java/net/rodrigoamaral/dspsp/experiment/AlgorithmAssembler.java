@@ -1,29 +1,47 @@
 package net.rodrigoamaral.dspsp.experiment;
 
+import net.rodrigoamaral.algorithms.Deadline;
 import net.rodrigoamaral.algorithms.ISwarm;
+import net.rodrigoamaral.algorithms.cc.CooperativeCoevolutionBuilder;
+import net.rodrigoamaral.algorithms.cc.VariableGrouping;
+import net.rodrigoamaral.algorithms.decomposition.ComponentDecomposition;
+import net.rodrigoamaral.algorithms.moead.MOEADDynamicBuilder;
+import net.rodrigoamaral.algorithms.ms2mo.ArchiveType;
 import net.rodrigoamaral.algorithms.ms2mo.MS2MOBuilder;
+import net.rodrigoamaral.algorithms.ms2mo.MigrationChannel;
+import net.rodrigoamaral.algorithms.ms2mo.TopologyType;
+import net.rodrigoamaral.algorithms.ms2mo.island.IslandCoordinator;
+import net.rodrigoamaral.algorithms.ms2mo.island.IslandMS2MO;
 import net.rodrigoamaral.algorithms.nsgaii.NSGAIIDynamicBuilder;
 import net.rodrigoamaral.algorithms.smpso.SMPSOBuilder;
 import net.rodrigoamaral.algorithms.smpso.SMPSODynamicBuilder;
+import net.rodrigoamaral.dspsp.DSPSProblem;
+import net.rodrigoamaral.dspsp.nsgaii.DSPSP_NSGAIIBuilder;
 import net.rodrigoamaral.dspsp.solution.mutation.DSPSPRepairMutation;
+import net.rodrigoamaral.jmetal.operator.impl.mutation.SparsePolynomialMutation;
+import net.rodrigoamaral.jmetal.util.archive.impl.ConcurrentCrowdingDistanceArchive;
+import net.rodrigoamaral.jmetal.util.archive.impl.IncrementalCrowdingDistanceArchive;
+import net.rodrigoamaral.jmetal.util.evaluator.SolutionListEvaluator;
 import net.rodrigoamaral.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
+import net.rodrigoamaral.jmetal.util.evaluator.impl.ThreadPoolSolutionListEvaluator;
+import net.rodrigoamaral.jmetal.util.solutionattribute.RankingType;
+import net.rodrigoamaral.logging.SPSPLogger;
 import org.uma.jmetal.algorithm.Algorithm;
-import org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAIIBuilder;
+import org.uma.jmetal.algorithm.multiobjective.moead.AbstractMOEAD.FunctionType;
 import org.uma.jmetal.operator.CrossoverOperator;
 import org.uma.jmetal.operator.MutationOperator;
 import org.uma.jmetal.operator.SelectionOperator;
 import org.uma.jmetal.operator.impl.crossover.SBXCrossover;
-import org.uma.jmetal.operator.impl.mutation.PolynomialMutation;
 import org.uma.jmetal.operator.impl.selection.BinaryTournamentSelection;
 import org.uma.jmetal.problem.DoubleProblem;
 import org.uma.jmetal.problem.Problem;
 import org.uma.jmetal.solution.DoubleSolution;
 import org.uma.jmetal.util.archive.BoundedArchive;
-import org.uma.jmetal.util.archive.impl.CrowdingDistanceArchive;
 import org.uma.jmetal.util.comparator.RankingAndCrowdingDistanceComparator;
 import org.uma.jmetal.util.pseudorandom.impl.MersenneTwisterGenerator;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -38,8 +56,25 @@ public class AlgorithmAssembler {
     private int objectiveEvaluations = 12000;
     private int numberOfSwarms = 30;
     private int swarmSize = 160;
-    private final int maxMultiSwarmIterations;
     private int populationSize = 100;
+    private int numberOfSwarmThreads = 0;
+    private boolean sharedLeadersArchive = true;
+    private List<ArchiveType> leadersArchiveTypes = Collections.singletonList(ArchiveType.CrowdingDistanceArchive);
+    private TopologyType swarmTopology = TopologyType.BROADCAST;
+    private boolean asynchronousMigration = false;
+    private int migrationInterval = 0;
+    private int migrationSize = 0;
+    private MigrationChannel migrationChannel;
+    private IslandCoordinator islandCoordinator;
+    private RankingType rankingType = RankingType.DOMINANCE;
+    private boolean asynchronousEvaluation = false;
+    private int numberOfEvaluationThreads = 0;
+    private FunctionType decompositionFunction = FunctionType.TCHE;
+    private boolean componentDecomposition = false;
+    private VariableGrouping variableGrouping = VariableGrouping.TASK_COLUMNS;
+    private int numberOfVariableGroups = 4;
+    private long reschedulingDeadlineMillis = 0;
+    private Deadline deadline;
 
     public AlgorithmAssembler(final String algorithmID, ExperimentSettings settings) {
         this.objectiveEvaluations = settings.getObjectiveEvaluations();
@@ -47,15 +82,76 @@ public class AlgorithmAssembler {
         this.swarmSize = settings.getSwarmSize();
         this.algorithmID = algorithmID;
         this.populationSize = settings.getPopulationSize();
-        maxMultiSwarmIterations = getMaxMultiSwarmIterations();
+        if (settings.getNumberOfSwarmThreads() != null) {
+            this.numberOfSwarmThreads = settings.getNumberOfSwarmThreads();
+        }
+        if (settings.getSharedLeadersArchive() != null) {
+            this.sharedLeadersArchive = settings.getSharedLeadersArchive();
+        }
+        if (settings.getLeadersArchives() != null && !settings.getLeadersArchives().isEmpty()) {
+            this.leadersArchiveTypes = new ArrayList<>();
+            for (String archive : settings.getLeadersArchives()) {
+                this.leadersArchiveTypes.add(ArchiveType.valueOf(archive));
+            }
+        }
+        if (settings.getSwarmTopology() != null) {
+            this.swarmTopology = TopologyType.valueOf(settings.getSwarmTopology().toUpperCase());
+        }
+        if (settings.getAsynchronousMigration() != null) {
+            this.asynchronousMigration = settings.getAsynchronousMigration();
+        }
+        if (settings.getMigrationInterval() != null) {
+            this.migrationInterval = settings.getMigrationInterval();
+        }
+        if (settings.getMigrationSize() != null) {
+            this.migrationSize = settings.getMigrationSize();
+        }
+        if (settings.getRankingType() != null) {
+            this.rankingType = RankingType.valueOf(settings.getRankingType().toUpperCase());
+        }
+        if (settings.getAsynchronousEvaluation() != null) {
+            this.asynchronousEvaluation = settings.getAsynchronousEvaluation();
+        }
+        if (settings.getNumberOfEvaluationThreads() != null) {
+            this.numberOfEvaluationThreads = settings.getNumberOfEvaluationThreads();
+        }
+        if (settings.getDecompositionFunction() != null) {
+            this.decompositionFunction = FunctionType.valueOf(settings.getDecompositionFunction().toUpperCase());
+        }
+        if (settings.getComponentDecomposition() != null) {
+            this.componentDecomposition = settings.getComponentDecomposition();
+        }
+        if (settings.getVariableGrouping() != null) {
+            this.variableGrouping = VariableGrouping.valueOf(settings.getVariableGrouping().toUpperCase());
+        }
+        if (settings.getNumberOfVariableGroups() != null) {
+            this.numberOfVariableGroups = settings.getNumberOfVariableGroups();
+        }
+        if (settings.getReschedulingDeadlineMillis() != null) {
+            this.reschedulingDeadlineMillis = settings.getReschedulingDeadlineMillis();
+        }
+    }
+
+    private int getMaxMultiSwarmIterations(int evaluations) {
+        return Math.max(1, (evaluations / numberOfSwarms) / swarmSize);
+    }
+
+    private int getMaxIterations(int evaluations) {
+        return Math.max(1, evaluations / populationSize);
     }
 
-    private int getMaxMultiSwarmIterations() {
-        return (objectiveEvaluations / numberOfSwarms) / swarmSize;
+    /**
+     * Makes MS2MO algorithms exchange leaders with remote swarms.
+     */
+    public void setMigrationChannel(MigrationChannel migrationChannel) {
+        this.migrationChannel = migrationChannel;
     }
 
-    private int getMaxIterations() {
-        return objectiveEvaluations / populationSize;
+    /**
+     * Makes MS2MO algorithms run on the worker processes of a coordinator.
+     */
+    public void setIslandCoordinator(IslandCoordinator islandCoordinator) {
+        this.islandCoordinator = islandCoordinator;
     }
 
     public String getAlgorithmID() {
@@ -75,7 +171,56 @@ public class AlgorithmAssembler {
         return objectiveEvaluations;
     }
 
+    /**
+     * In component decomposition mode, a problem whose available tasks form
+     * several connected components of the precedence graph is solved by an
+     * algorithm of the given type for each component.
+     *
+     * With a rescheduling deadline, the algorithm returns its current result
+     * once the deadline, counted from the start of its run, is reached, even
+     * if it has not used all objective evaluations. The algorithms of the
+     * components of a decomposed rescheduling share the deadline, which
+     * limits the whole rescheduling. MS2MO islands are not time-limited.
+     */
     public Algorithm<List<DoubleSolution>> assemble(Problem<DoubleSolution> problem) {
+        deadline = reschedulingDeadlineMillis > 0 ? Deadline.after(reschedulingDeadlineMillis) : null;
+        if (componentDecomposition && islandCoordinator == null && problem instanceof DSPSProblem) {
+            List<DSPSProblem> subproblems = ComponentDecomposition.decompose((DSPSProblem) problem);
+            if (subproblems.size() > 1) {
+                return assembleDecomposition((DSPSProblem) problem, subproblems);
+            }
+        }
+        return assembleAlgorithm(problem, initialPopulation, objectiveEvaluations);
+    }
+
+    /**
+     * The objective evaluations are split among the components in
+     * proportion to their share of the remaining effort, so a decomposed
+     * rescheduling uses about the same budget as an undecomposed one.
+     */
+    private Algorithm<List<DoubleSolution>> assembleDecomposition(DSPSProblem problem, List<DSPSProblem> subproblems) {
+        List<Algorithm<List<DoubleSolution>>> algorithms = new ArrayList<>(subproblems.size());
+        for (int c = 0; c < subproblems.size(); c++) {
+            DSPSProblem subproblem = subproblems.get(c);
+            List<DoubleSolution> subproblemPopulation = null;
+            if (initialPopulation != null) {
+                subproblemPopulation = new ArrayList<>(initialPopulation.size());
+                for (DoubleSolution solution : initialPopulation) {
+                    subproblemPopulation.add(ComponentDecomposition.project(problem, subproblem, solution));
+                }
+            }
+            int evaluations = (int) Math.round(objectiveEvaluations * subproblem.getProject().getDedicationShare());
+            SPSPLogger.info("Component " + c + ": " + evaluations + " objective evaluations");
+            algorithms.add(assembleAlgorithm(subproblem, subproblemPopulation, evaluations));
+        }
+        return new ComponentDecomposition(problem, subproblems, algorithms, populationSize, 0);
+    }
+
+    private Algorithm<List<DoubleSolution>> assembleAlgorithm(Problem<DoubleSolution> problem,
+                                                              List<DoubleSolution> initialPopulation,
+                                                              int evaluations) {
+        int maxIterations = getMaxIterations(evaluations);
+        int maxMultiSwarmIterations = getMaxMultiSwarmIterations(evaluations);
         CrossoverOperator<DoubleSolution> crossover;
         MutationOperator<DoubleSolution> mutation;
         SelectionOperator<List<DoubleSolution>, DoubleSolution> selection;
@@ -88,60 +233,107 @@ public class AlgorithmAssembler {
         double mutationProbability = 1.0 / problem.getNumberOfVariables() ;
         double mutationDistributionIndex = 20.0 ;
 
-        mutation = new PolynomialMutation(mutationProbability, mutationDistributionIndex) ;
+        mutation = new SparsePolynomialMutation(mutationProbability, mutationDistributionIndex) ;
 
         selection = new BinaryTournamentSelection<>(new RankingAndCrowdingDistanceComparator<>());
 
         // REFACTOR: Make algorithm builder instantiation dynamic
         if ("NSGAII".equals(algorithmID.toUpperCase())) {
-            return new NSGAIIBuilder<>(problem, crossover, mutation)
+            return new DSPSP_NSGAIIBuilder<>(problem, crossover, mutation)
+                    .setRankingType(rankingType)
                     .setSelectionOperator(selection)
-                    .setMaxEvaluations(getMaxIterations())
+                    .setMaxEvaluations(maxIterations)
                     .setPopulationSize(populationSize)
+                    .setDeadline(deadline)
                     .build();
         } else if (algorithmID.toUpperCase().startsWith("NSGAIIDYNAMIC")) {
                 return new NSGAIIDynamicBuilder(problem, crossover, mutation)
                         .setInitialPopulation(initialPopulation)
+                        .setRankingType(rankingType)
+                        .setAsynchronous(asynchronousEvaluation)
+                        .setNumberOfThreads(numberOfEvaluationThreads)
+                        .setDeadline(deadline)
                         .setSelectionOperator(selection)
-                        .setMaxEvaluations(getMaxIterations())
+                        .setMaxEvaluations(maxIterations)
                         .setPopulationSize(populationSize)
                         .build();
+        } else if ("MOEAD".equals(algorithmID.toUpperCase())
+                || algorithmID.toUpperCase().startsWith("MOEADDYNAMIC")) {
+            return new MOEADDynamicBuilder(problem, crossover, mutation)
+                    .setInitialPopulation(initialPopulation)
+                    .setFunctionType(decompositionFunction)
+                    .setSolutionListEvaluator(createEvaluator())
+                    .setMaxEvaluations(evaluations)
+                    .setPopulationSize(populationSize)
+                    .setDeadline(deadline)
+                    .build();
         } else if ("SMPSO".equals(algorithmID.toUpperCase())) {
-            BoundedArchive<DoubleSolution> archive = new CrowdingDistanceArchive<DoubleSolution>(populationSize) ;
+            BoundedArchive<DoubleSolution> archive = new IncrementalCrowdingDistanceArchive<DoubleSolution>(populationSize) ;
             return new SMPSOBuilder((DoubleProblem) problem, archive)
                     .setMutation(mutation)
-                    .setMaxIterations(getMaxIterations())
+                    .setMaxIterations(maxIterations)
                     .setSwarmSize(populationSize)
                     .setRandomGenerator(new MersenneTwisterGenerator())
                     .setSolutionListEvaluator(new SequentialSolutionListEvaluator<DoubleSolution>())
+                    .setDeadline(deadline)
                     .build();
         } else if ("SMPSODYNAMIC".equals(algorithmID.toUpperCase())) {
-            BoundedArchive<DoubleSolution> archive = new CrowdingDistanceArchive<DoubleSolution>(populationSize) ;
+            BoundedArchive<DoubleSolution> archive = new IncrementalCrowdingDistanceArchive<DoubleSolution>(populationSize) ;
             return new SMPSODynamicBuilder((DoubleProblem) problem, archive)
                     .setInitialPopulation(initialPopulation)
                     .setMutation(mutation)
-                    .setMaxIterations(getMaxIterations())
+                    .setMaxIterations(maxIterations)
                     .setSwarmSize(populationSize)
                     .setRandomGenerator(new MersenneTwisterGenerator())
                     .setSolutionListEvaluator(new SequentialSolutionListEvaluator<DoubleSolution>())
+                    .setDeadline(deadline)
                     .build();
+        } else if (algorithmID.toUpperCase().startsWith("CCSMPSO")) {
+            return new CooperativeCoevolutionBuilder((DSPSProblem) problem)
+                    .setInitialPopulation(initialPopulation)
+                    .setVariableGrouping(variableGrouping)
+                    .setNumberOfGroups(numberOfVariableGroups)
+                    .setNumberOfThreads(numberOfSwarmThreads)
+                    .setMaxEvaluations(evaluations)
+                    .setSwarmSize(swarmSize)
+                    .setDeadline(deadline)
+                    .build();
+        }  else if (islandCoordinator != null && algorithmID.toUpperCase().startsWith("MS2MO")) {
+            return new IslandMS2MO(islandCoordinator, algorithmID, (DSPSProblem) problem, initialPopulation);
         }  else if ("MS2MO".equals(algorithmID.toUpperCase())) {
 
-            List<ISwarm> swarms = createSwarms((DoubleProblem) problem, mutation, null);
+            MS2MOBuilder builder = new MS2MOBuilder((DoubleProblem) problem);
+            List<ISwarm> swarms = createSwarms((DoubleProblem) problem, mutation, null, maxMultiSwarmIterations, builder);
 
-            return new MS2MOBuilder((DoubleProblem)problem)
+            return builder
                     .addSwarms(swarms)
                     .setMaxIterations(maxMultiSwarmIterations)
+                    .setNumberOfThreads(numberOfSwarmThreads)
+                    .setTopology(swarmTopology)
+                    .setAsynchronous(asynchronousMigration)
+                    .setMigrationInterval(migrationInterval)
+                    .setMigrationSize(migrationSize)
+                    .setMigrationChannel(migrationChannel)
+                    .setDeadline(deadline)
                     .build();
 
         } else if ("MS2MODYNAMIC".equals(algorithmID.toUpperCase())) {
 //            mutation = new DSPSPRepairMutation();
 
-            List<ISwarm> swarms = createSwarms((DoubleProblem) problem, mutation, initialPopulation);
+            MS2MOBuilder builder = new MS2MOBuilder((DoubleProblem) problem);
+            List<ISwarm> swarms = createSwarms((DoubleProblem) problem, mutation, initialPopulation, maxMultiSwarmIterations,
+                    builder);
 
-            return new MS2MOBuilder((DoubleProblem)problem)
+            return builder
                     .addSwarms(swarms)
                     .setMaxIterations(maxMultiSwarmIterations)
+                    .setNumberOfThreads(numberOfSwarmThreads)
+                    .setTopology(swarmTopology)
+                    .setAsynchronous(asynchronousMigration)
+                    .setMigrationInterval(migrationInterval)
+                    .setMigrationSize(migrationSize)
+                    .setMigrationChannel(migrationChannel)
+                    .setDeadline(deadline)
                     .build();
         }
         else {
@@ -150,16 +342,49 @@ public class AlgorithmAssembler {
 
     }
 
-    private List<ISwarm> createSwarms(DoubleProblem problem, MutationOperator<DoubleSolution> mutation, List<DoubleSolution> initialPopulation_) {
-        BoundedArchive<DoubleSolution> archive = new CrowdingDistanceArchive<DoubleSolution>(100) ;
+    /**
+     * @return an evaluator of solution lists that uses the evaluation
+     * threads, or evaluates sequentially if there is only one
+     */
+    private SolutionListEvaluator<DoubleSolution> createEvaluator() {
+        if (numberOfEvaluationThreads == 1) {
+            return new SequentialSolutionListEvaluator<>();
+        }
+        return new ThreadPoolSolutionListEvaluator<>(numberOfEvaluationThreads);
+    }
+
+    private boolean runsSwarmsConcurrently() {
+        int threads = numberOfSwarmThreads > 0 ? numberOfSwarmThreads : Runtime.getRuntime().availableProcessors();
+        return Math.min(threads, numberOfSwarms) > 1;
+    }
 
+    /**
+     * Creates the swarms of MS2MO. By default, all swarms share one leaders
+     * archive, which is concurrent when they run on several threads. If the
+     * leaders archive is not shared, swarm i gets an archive of the type at
+     * position i, cyclically, of the leaders archive types.
+     */
+    private List<ISwarm> createSwarms(DoubleProblem problem, MutationOperator<DoubleSolution> mutation,
+                                      List<DoubleSolution> initialPopulation_, int maxMultiSwarmIterations,
+                                      MS2MOBuilder builder) {
         List<ISwarm> swarms = new ArrayList<>();
+        BoundedArchive<DoubleSolution> sharedArchive = null;
+        if (sharedLeadersArchive) {
+            sharedArchive = runsSwarmsConcurrently()
+                    ? new ConcurrentCrowdingDistanceArchive<DoubleSolution>(100)
+                    : new IncrementalCrowdingDistanceArchive<DoubleSolution>(100) ;
+        }
+        builder.setArchiveSize(100);
         for (int i = 0; i < numberOfSwarms; i++) {
+            // Unless shared, each swarm owns its leaders, which are exchanged on swaps
+            BoundedArchive<DoubleSolution> archive = sharedArchive != null
+                    ? sharedArchive
+                    : builder.createArchive(leadersArchiveTypes.get(i % leadersArchiveTypes.size())) ;
             if (initialPopulation_ == null) {
                 swarms.add(
                     new SMPSOBuilder(problem, archive)
                             .setMutation(mutation)
-                            .setMaxIterations(1)
+                            .setMaxIterations(maxMultiSwarmIterations)
                             .setSwarmSize(swarmSize)
                             .setRandomGenerator(new MersenneTwisterGenerator())
                             .setSolutionListEvaluator(new SequentialSolutionListEvaluator<DoubleSolution>())
@@ -170,7 +395,7 @@ public class AlgorithmAssembler {
                     new SMPSODynamicBuilder(problem, archive)
                             .setInitialPopulation(initialPopulation_)
                             .setMutation(mutation)
-                            .setMaxIterations(1)
+                            .setMaxIterations(maxMultiSwarmIterations)
                             .setSwarmSize(swarmSize)
                             .setRandomGenerator(new MersenneTwisterGenerator())
                             .setSolutionListEvaluator(new SequentialSolutionListEvaluator<DoubleSolution>())
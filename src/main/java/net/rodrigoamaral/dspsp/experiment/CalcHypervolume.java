@@ -1,9 +1,7 @@
 package net.rodrigoamaral.dspsp.experiment;
 
-import org.uma.jmetal.qualityindicator.impl.hypervolume.PISAHypervolume;
+import net.rodrigoamaral.jmetal.qualityindicator.impl.hypervolume.ExactHypervolume;
 import org.uma.jmetal.solution.DoubleSolution;
-import org.uma.jmetal.util.front.imp.ArrayFront;
-import org.uma.jmetal.util.point.impl.ArrayPoint;
 
 import java.util.List;
 
@@ -11,12 +9,18 @@ public class CalcHypervolume {
 
     private double[] minRes, maxRes;
     private double[][] front;
+    private final ExactHypervolume hypervolume;
 
     public CalcHypervolume() {
         minRes = new double[4];
         maxRes = new double[4];
+        hypervolume = new ExactHypervolume(new double[] {1.1, 1.1, 1.1, 1.1});
     }
 
+    /**
+     * @return hypervolume of the results, normalized by the bounds of all
+     * the results seen so far, with respect to the reference point 1.1
+     */
     public double getHypervolume (List<DoubleSolution> results) {
         front = new double[results.size()][4];
 
@@ -27,16 +31,12 @@ public class CalcHypervolume {
             }
 
         int pos = 0;
-        for (DoubleSolution r : results)
+        for (DoubleSolution r : results) {
             for (int i = 0; i < 4; i++)
                 front[pos][i] = (r.getObjective(i) - minRes[i]) / (maxRes[i] - minRes[i]);
+            pos++;
+        }
 
-        ArrayFront referencePoints = new ArrayFront (results.size(), 4);
-        double[] refPoint = {1.1, 1.1, 1.1, 1.1};
-        for (int i = 0; i < results.size(); i++)
-            referencePoints.setPoint(i, new ArrayPoint(refPoint));
-
-        PISAHypervolume<DoubleSolution> pisa = new PISAHypervolume<DoubleSolution>(referencePoints);
-        return pisa.calculateHypervolume(front, results.size(), 4);
+        return hypervolume.hypervolume(front, results.size());
     }
 }
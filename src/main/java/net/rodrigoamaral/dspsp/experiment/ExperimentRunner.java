@@ -1,5 +1,7 @@
 package net.rodrigoamaral.dspsp.experiment;
 
+import net.rodrigoamaral.algorithms.ms2mo.TopologyType;
+import net.rodrigoamaral.algorithms.ms2mo.island.IslandCoordinator;
 import net.rodrigoamaral.dspsp.DSPSProblem;
 import net.rodrigoamaral.dspsp.decision.ComparisonMatrix;
 import net.rodrigoamaral.dspsp.decision.DecisionMaker;
@@ -20,6 +22,8 @@ import org.uma.jmetal.solution.DoubleSolution;
 import org.uma.jmetal.util.AlgorithmRunner;
 
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.InetAddress;
 import java.util.List;
 
 /**
@@ -59,7 +63,10 @@ public class ExperimentRunner {
 
     private DSPSProblem loadProblemInstance(final String instanceFile) {
         try {
-            return new DSPSProblem(instanceFile);
+            DSPSProblem problem = new DSPSProblem(instanceFile);
+            problem.getProject().setSparseDedication(Boolean.TRUE.equals(experimentSettings.getSparseDedication()));
+            problem.setReducedDecisionSpace(Boolean.TRUE.equals(experimentSettings.getReducedDecisionSpace()));
+            return problem;
         } catch (FileNotFoundException e) {
             e.printStackTrace();
             System.exit(1);
@@ -68,7 +75,9 @@ public class ExperimentRunner {
     }
 
     private DSPSProblem loadProblemInstance(final DynamicProject project) {
-        return new DSPSProblem(project);
+        DSPSProblem problem = new DSPSProblem(project);
+        problem.setReducedDecisionSpace(Boolean.TRUE.equals(experimentSettings.getReducedDecisionSpace()));
+        return problem;
     }
 
     public ExperimentSettings getExperimentSettings() {
@@ -88,16 +97,19 @@ public class ExperimentRunner {
 
         Algorithm<List<DoubleSolution>> algorithm = assembler.assemble(problem);
 
+        long evaluations = problem.getEvaluations();
         AlgorithmRunner algorithmRunner = new AlgorithmRunner.Executor(algorithm).execute() ;
+        evaluations = problem.getEvaluations() - evaluations;
 
-        List<DoubleSolution> population = algorithm.getResult() ;
+        List<DoubleSolution> population = problem.expand(algorithm.getResult()) ;
 
         history.put(reschedulings, population);
 
         long totalComputingTime = algorithmRunner.getComputingTime();
 
         SPSPLogger.info("Initial scheduling complete.");
-        SPSPLogger.info("Elapsed time: " + DurationFormatUtils.formatDuration(totalComputingTime, "HH:mm:ss,SSS"));
+        SPSPLogger.info("Elapsed time: " + DurationFormatUtils.formatDuration(totalComputingTime, "HH:mm:ss,SSS") +
+                " (" + evaluations + " evaluations)");
 
         new SolutionFileWriter(population)
                 .setAlgorithmID(algorithmID)
@@ -138,7 +150,7 @@ public class ExperimentRunner {
 
             totalComputingTime += result.getComputingTime();
 
-            SPSPLogger.info("Rescheduling "+ reschedulings +" complete in " + DurationFormatUtils.formatDuration(result.getComputingTime(), "HH:mm:ss,SSS") + ". ");
+            SPSPLogger.info("Rescheduling "+ reschedulings +" complete in " + DurationFormatUtils.formatDuration(result.getComputingTime(), "HH:mm:ss,SSS") + " (" + result.getEvaluations() + " evaluations). ");
             SPSPLogger.info("Elapsed time: " + DurationFormatUtils.formatDuration(totalComputingTime, "HH:mm:ss,SSS"));
             SPSPLogger.info("Project current duration: " + project.getTotalDuration());
             SPSPLogger.info("Project current cost    : " + project.getTotalCost());
@@ -211,10 +223,12 @@ public class ExperimentRunner {
             algorithm = assembler.assemble(problem);
         }
 
+        long evaluations = problem.getEvaluations();
         AlgorithmRunner algorithmRunner = new AlgorithmRunner.Executor(algorithm).execute();
 
-        return new SchedulingResult(algorithm.getResult(),
+        return new SchedulingResult(problem.expand(algorithm.getResult()),
                 algorithmRunner.getComputingTime(),
+                problem.getEvaluations() - evaluations,
                 problem.getProject().isFinished());
     }
 
@@ -227,6 +241,7 @@ public class ExperimentRunner {
      */
     public void run() {
         System.out.println(experimentSettings);
+        IslandCoordinator islandCoordinator = startIslandCoordinator();
         for (String instanceFile : experimentSettings.getInstanceFiles()) {
             for (String algorithmID : experimentSettings.getAlgorithms()) {
                 final Integer numberOfRuns = experimentSettings.getNumberOfRuns();
@@ -236,9 +251,44 @@ public class ExperimentRunner {
                     SPSPLogger.printRun(run, numberOfRuns);
                     final DSPSProblem problem = loadProblemInstance(instanceFile);
                     AlgorithmAssembler assembler = new AlgorithmAssembler(algorithmID, experimentSettings);
+                    assembler.setIslandCoordinator(islandCoordinator);
                     runInstance(problem, assembler, run);
                 }
             }
         }
+        if (islandCoordinator != null) {
+            try {
+                islandCoordinator.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Waits for the island workers set in the settings, if any, which will
+     * then run the MS2MO algorithms.
+     */
+    private IslandCoordinator startIslandCoordinator() {
+        Integer workers = experimentSettings.getIslandWorkers();
+        if (workers == null || workers <= 0) {
+            return null;
+        }
+        String host = experimentSettings.getIslandHost();
+        int port = experimentSettings.getIslandPort() != null
+                ? experimentSettings.getIslandPort() : IslandCoordinator.DEFAULT_PORT;
+        TopologyType topology = experimentSettings.getSwarmTopology() != null
+                ? TopologyType.valueOf(experimentSettings.getSwarmTopology().toUpperCase()) : TopologyType.BROADCAST;
+        try {
+            InetAddress address = host != null ? InetAddress.getByName(host) : InetAddress.getLoopbackAddress();
+            IslandCoordinator coordinator = new IslandCoordinator(address, port, topology);
+            SPSPLogger.info("Waiting for " + workers + " island workers on " + address.getHostAddress() + ":" + port);
+            coordinator.awaitWorkers(workers);
+            return coordinator;
+        } catch (IOException e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+        return null;
     }
 }
\ No newline at end of file
@@ -15,7 +15,25 @@ public class ExperimentSettings {
 
     private Integer numberOfRuns;
     private Integer objectiveEvaluations;
+    private Long reschedulingDeadlineMillis;
     private Integer numberOfSwarms;
+    private Integer numberOfSwarmThreads;
+    private Boolean sharedLeadersArchive;
+    private List<String> leadersArchives;
+    private String swarmTopology;
+    private Boolean asynchronousMigration;
+    private Integer migrationInterval;
+    private Integer migrationSize;
+    private Integer islandWorkers;
+    private String islandHost;
+    private Integer islandPort;
+    private String rankingType;
+    private Boolean asynchronousEvaluation;
+    private Integer numberOfEvaluationThreads;
+    private String decompositionFunction;
+    private Boolean componentDecomposition;
+    private String variableGrouping;
+    private Integer numberOfVariableGroups;
     private Integer swarmSize;
     private List<String> instanceFiles;
     private List<String> algorithms;
@@ -23,6 +41,8 @@ public class ExperimentSettings {
     private Double repairedSolutions;
     private Double histPropPreviousEventSolutions;
     private List<String> dynamicStrategies;
+    private Boolean sparseDedication;
+    private Boolean reducedDecisionSpace;
 
     public Integer getNumberOfRuns() {
         return numberOfRuns;
@@ -40,6 +60,14 @@ public class ExperimentSettings {
         this.objectiveEvaluations = objectiveEvaluations;
     }
 
+    public Long getReschedulingDeadlineMillis() {
+        return reschedulingDeadlineMillis;
+    }
+
+    public void setReschedulingDeadlineMillis(Long reschedulingDeadlineMillis) {
+        this.reschedulingDeadlineMillis = reschedulingDeadlineMillis;
+    }
+
     public Integer getNumberOfSwarms() {
         return numberOfSwarms;
     }
@@ -48,6 +76,142 @@ public class ExperimentSettings {
         this.numberOfSwarms = numberOfSwarms;
     }
 
+    public Integer getNumberOfSwarmThreads() {
+        return numberOfSwarmThreads;
+    }
+
+    public void setNumberOfSwarmThreads(Integer numberOfSwarmThreads) {
+        this.numberOfSwarmThreads = numberOfSwarmThreads;
+    }
+
+    public Boolean getSharedLeadersArchive() {
+        return sharedLeadersArchive;
+    }
+
+    public void setSharedLeadersArchive(Boolean sharedLeadersArchive) {
+        this.sharedLeadersArchive = sharedLeadersArchive;
+    }
+
+    public List<String> getLeadersArchives() {
+        return leadersArchives;
+    }
+
+    public void setLeadersArchives(List<String> leadersArchives) {
+        this.leadersArchives = leadersArchives;
+    }
+
+    public String getSwarmTopology() {
+        return swarmTopology;
+    }
+
+    public void setSwarmTopology(String swarmTopology) {
+        this.swarmTopology = swarmTopology;
+    }
+
+    public Boolean getAsynchronousMigration() {
+        return asynchronousMigration;
+    }
+
+    public void setAsynchronousMigration(Boolean asynchronousMigration) {
+        this.asynchronousMigration = asynchronousMigration;
+    }
+
+    public Integer getMigrationInterval() {
+        return migrationInterval;
+    }
+
+    public void setMigrationInterval(Integer migrationInterval) {
+        this.migrationInterval = migrationInterval;
+    }
+
+    public Integer getMigrationSize() {
+        return migrationSize;
+    }
+
+    public void setMigrationSize(Integer migrationSize) {
+        this.migrationSize = migrationSize;
+    }
+
+    public Integer getIslandWorkers() {
+        return islandWorkers;
+    }
+
+    public void setIslandWorkers(Integer islandWorkers) {
+        this.islandWorkers = islandWorkers;
+    }
+
+    public String getIslandHost() {
+        return islandHost;
+    }
+
+    public void setIslandHost(String islandHost) {
+        this.islandHost = islandHost;
+    }
+
+    public Integer getIslandPort() {
+        return islandPort;
+    }
+
+    public void setIslandPort(Integer islandPort) {
+        this.islandPort = islandPort;
+    }
+
+    public String getRankingType() {
+        return rankingType;
+    }
+
+    public void setRankingType(String rankingType) {
+        this.rankingType = rankingType;
+    }
+
+    public Boolean getAsynchronousEvaluation() {
+        return asynchronousEvaluation;
+    }
+
+    public void setAsynchronousEvaluation(Boolean asynchronousEvaluation) {
+        this.asynchronousEvaluation = asynchronousEvaluation;
+    }
+
+    public Integer getNumberOfEvaluationThreads() {
+        return numberOfEvaluationThreads;
+    }
+
+    public void setNumberOfEvaluationThreads(Integer numberOfEvaluationThreads) {
+        this.numberOfEvaluationThreads = numberOfEvaluationThreads;
+    }
+
+    public String getDecompositionFunction() {
+        return decompositionFunction;
+    }
+
+    public void setDecompositionFunction(String decompositionFunction) {
+        this.decompositionFunction = decompositionFunction;
+    }
+
+    public Boolean getComponentDecomposition() {
+        return componentDecomposition;
+    }
+
+    public void setComponentDecomposition(Boolean componentDecomposition) {
+        this.componentDecomposition = componentDecomposition;
+    }
+
+    public String getVariableGrouping() {
+        return variableGrouping;
+    }
+
+    public void setVariableGrouping(String variableGrouping) {
+        this.variableGrouping = variableGrouping;
+    }
+
+    public Integer getNumberOfVariableGroups() {
+        return numberOfVariableGroups;
+    }
+
+    public void setNumberOfVariableGroups(Integer numberOfVariableGroups) {
+        this.numberOfVariableGroups = numberOfVariableGroups;
+    }
+
     public Integer getSwarmSize() {
         return swarmSize;
     }
@@ -104,12 +268,46 @@ public class ExperimentSettings {
         this.dynamicStrategies = dynamicStrategies;
     }
 
+    public Boolean getSparseDedication() {
+        return sparseDedication;
+    }
+
+    public void setSparseDedication(Boolean sparseDedication) {
+        this.sparseDedication = sparseDedication;
+    }
+
+    public Boolean getReducedDecisionSpace() {
+        return reducedDecisionSpace;
+    }
+
+    public void setReducedDecisionSpace(Boolean reducedDecisionSpace) {
+        this.reducedDecisionSpace = reducedDecisionSpace;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder(super.toString() + "{ " );
         sb.append("\n\tnumberOfRuns = " + numberOfRuns);
         sb.append("\n\tobjectiveEvaluations = " + objectiveEvaluations);
+        sb.append("\n\treschedulingDeadlineMillis = " + reschedulingDeadlineMillis);
         sb.append("\n\tnumberOfSwarms = " + numberOfSwarms);
+        sb.append("\n\tnumberOfSwarmThreads = " + numberOfSwarmThreads);
+        sb.append("\n\tsharedLeadersArchive = " + sharedLeadersArchive);
+        sb.append("\n\tleadersArchives = " + leadersArchives);
+        sb.append("\n\tswarmTopology = " + swarmTopology);
+        sb.append("\n\tasynchronousMigration = " + asynchronousMigration);
+        sb.append("\n\tmigrationInterval = " + migrationInterval);
+        sb.append("\n\tmigrationSize = " + migrationSize);
+        sb.append("\n\tislandWorkers = " + islandWorkers);
+        sb.append("\n\tislandHost = " + islandHost);
+        sb.append("\n\tislandPort = " + islandPort);
+        sb.append("\n\trankingType = " + rankingType);
+        sb.append("\n\tasynchronousEvaluation = " + asynchronousEvaluation);
+        sb.append("\n\tnumberOfEvaluationThreads = " + numberOfEvaluationThreads);
+        sb.append("\n\tdecompositionFunction = " + decompositionFunction);
+        sb.append("\n\tcomponentDecomposition = " + componentDecomposition);
+        sb.append("\n\tvariableGrouping = " + variableGrouping);
+        sb.append("\n\tnumberOfVariableGroups = " + numberOfVariableGroups);
         sb.append("\n\tswarmSize = " + swarmSize);
         sb.append("\n\tinstanceFiles = " + instanceFiles);
         sb.append("\n\talgorithms = " + algorithms);
@@ -117,6 +315,8 @@ public class ExperimentSettings {
         sb.append("\n\trepairedSolutions = " + repairedSolutions);
         sb.append("\n\thistPropPreviousEventSolutions = " + histPropPreviousEventSolutions);
         sb.append("\n\tdynamicStrategies = " + dynamicStrategies);
+        sb.append("\n\tsparseDedication = " + sparseDedication);
+        sb.append("\n\treducedDecisionSpace = " + reducedDecisionSpace);
         sb.append("\n}");
         return sb.toString();
     }
@@ -1,5 +1,7 @@
 package net.rodrigoamaral.dspsp.nsgaii;
 
+import net.rodrigoamaral.algorithms.Deadline;
+import net.rodrigoamaral.jmetal.util.solutionattribute.RankingType;
 import org.uma.jmetal.algorithm.impl.AbstractGeneticAlgorithm;
 import org.uma.jmetal.operator.CrossoverOperator;
 import org.uma.jmetal.operator.MutationOperator;
@@ -11,7 +13,6 @@ import org.uma.jmetal.util.comparator.CrowdingDistanceComparator;
 import org.uma.jmetal.util.evaluator.SolutionListEvaluator;
 import org.uma.jmetal.util.solutionattribute.Ranking;
 import org.uma.jmetal.util.solutionattribute.impl.CrowdingDistance;
-import org.uma.jmetal.util.solutionattribute.impl.DominanceRanking;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -26,14 +27,31 @@ public class DSPSP_NSGAII<S extends Solution<?>> extends AbstractGeneticAlgorith
 
     protected final SolutionListEvaluator<S> evaluator;
 
+    protected final RankingType rankingType;
+
     protected int evaluations;
 
+    private Deadline deadline;
+
     /**
      * Constructor
      */
     public DSPSP_NSGAII(Problem<S> problem, int maxEvaluations, int populationSize,
                         CrossoverOperator<S> crossoverOperator, MutationOperator<S> mutationOperator,
                         SelectionOperator<List<S>, S> selectionOperator, SolutionListEvaluator<S> evaluator) {
+        this(problem, maxEvaluations, populationSize, crossoverOperator, mutationOperator, selectionOperator,
+                evaluator, RankingType.DOMINANCE);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param rankingType non-dominated sorting used in the replacement
+     */
+    public DSPSP_NSGAII(Problem<S> problem, int maxEvaluations, int populationSize,
+                        CrossoverOperator<S> crossoverOperator, MutationOperator<S> mutationOperator,
+                        SelectionOperator<List<S>, S> selectionOperator, SolutionListEvaluator<S> evaluator,
+                        RankingType rankingType) {
         super(problem);
         this.maxEvaluations = maxEvaluations;
         setMaxPopulationSize(populationSize);
@@ -43,9 +61,23 @@ public class DSPSP_NSGAII<S extends Solution<?>> extends AbstractGeneticAlgorith
         this.selectionOperator = selectionOperator;
 
         this.evaluator = evaluator;
+        this.rankingType = rankingType;
     }
 
 
+    /**
+     * @param deadline time by which the algorithm stops breeding new
+     *                 generations, or null
+     */
+    public void setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+    }
+
+    @Override public void run() {
+        Deadline.start(deadline);
+        super.run();
+    }
+
     @Override protected void initProgress() {
         evaluations = getMaxPopulationSize();
     }
@@ -55,7 +87,7 @@ public class DSPSP_NSGAII<S extends Solution<?>> extends AbstractGeneticAlgorith
     }
 
     @Override protected boolean isStoppingConditionReached() {
-        return evaluations >= maxEvaluations;
+        return evaluations >= maxEvaluations || Deadline.isReached(deadline);
     }
 
     @Override protected List<S> evaluatePopulation(List<S> population) {
@@ -79,7 +111,7 @@ public class DSPSP_NSGAII<S extends Solution<?>> extends AbstractGeneticAlgorith
     }
 
     protected Ranking<S> computeRanking(List<S> solutionList) {
-        Ranking<S> ranking = new DominanceRanking<S>();
+        Ranking<S> ranking = rankingType.newRanking();
         ranking.computeRanking(solutionList);
 
         return ranking;
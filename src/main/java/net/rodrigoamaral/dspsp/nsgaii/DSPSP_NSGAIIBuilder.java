@@ -1,9 +1,7 @@
 package net.rodrigoamaral.dspsp.nsgaii;
 
-import org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAII;
-import org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAIIBuilder;
-import org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAIIMeasures;
-import org.uma.jmetal.algorithm.multiobjective.nsgaii.SteadyStateNSGAII;
+import net.rodrigoamaral.algorithms.Deadline;
+import net.rodrigoamaral.jmetal.util.solutionattribute.RankingType;
 import org.uma.jmetal.operator.CrossoverOperator;
 import org.uma.jmetal.operator.MutationOperator;
 import org.uma.jmetal.operator.SelectionOperator;
@@ -21,8 +19,7 @@ import java.util.List;
 /**
  * @author Antonio J. Nebro <antonio@lcc.uma.es>
  */
-public class DSPSP_NSGAIIBuilder<S extends Solution<?>> implements AlgorithmBuilder<NSGAII<S>> {
-    public enum NSGAIIVariant {}
+public class DSPSP_NSGAIIBuilder<S extends Solution<?>> implements AlgorithmBuilder<DSPSP_NSGAII<S>> {
 
     /**
      * NSGAIIBuilder class
@@ -34,8 +31,8 @@ public class DSPSP_NSGAIIBuilder<S extends Solution<?>> implements AlgorithmBuil
     private MutationOperator<S> mutationOperator;
     private SelectionOperator<List<S>, S> selectionOperator;
     private SolutionListEvaluator<S> evaluator;
-
-    private org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAIIBuilder.NSGAIIVariant variant;
+    private RankingType rankingType;
+    private Deadline deadline;
 
     /**
      * NSGAIIBuilder constructor
@@ -49,8 +46,7 @@ public class DSPSP_NSGAIIBuilder<S extends Solution<?>> implements AlgorithmBuil
         this.mutationOperator = mutationOperator ;
         selectionOperator = new BinaryTournamentSelection<S>(new RankingAndCrowdingDistanceComparator<S>()) ;
         evaluator = new SequentialSolutionListEvaluator<S>();
-
-        this.variant = org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAIIBuilder.NSGAIIVariant.NSGAII ;
+        rankingType = RankingType.DOMINANCE;
     }
 
     public DSPSP_NSGAIIBuilder<S> setMaxEvaluations(int maxEvaluations) {
@@ -82,20 +78,26 @@ public class DSPSP_NSGAIIBuilder<S extends Solution<?>> implements AlgorithmBuil
     }
 
 
-    public NSGAII<S> build() {
-        NSGAII<S> algorithm = null ;
-        if (variant.equals(org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAIIBuilder.NSGAIIVariant.NSGAII)) {
-            algorithm = new NSGAII<S>(problem, maxEvaluations, populationSize, crossoverOperator,
-                    mutationOperator, selectionOperator, evaluator);
-        } else if (variant.equals(org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAIIBuilder.NSGAIIVariant.SteadyStateNSGAII)) {
-            algorithm = new SteadyStateNSGAII<S>(problem, maxEvaluations, populationSize, crossoverOperator,
-                    mutationOperator, selectionOperator, evaluator);
-        } else if (variant.equals(org.uma.jmetal.algorithm.multiobjective.nsgaii.NSGAIIBuilder.NSGAIIVariant.Measures)) {
-            algorithm = new NSGAIIMeasures<S>(problem, maxEvaluations, populationSize, crossoverOperator,
-                    mutationOperator, selectionOperator, evaluator);
+    public DSPSP_NSGAIIBuilder<S> setRankingType(RankingType rankingType) {
+        if (rankingType == null) {
+            throw new JMetalException("rankingType is null");
         }
+        this.rankingType = rankingType;
+
+        return this;
+    }
+
+    public DSPSP_NSGAIIBuilder<S> setDeadline(Deadline deadline) {
+        this.deadline = deadline;
+
+        return this;
+    }
 
-        return algorithm ;
+    public DSPSP_NSGAII<S> build() {
+        DSPSP_NSGAII<S> algorithm = new DSPSP_NSGAII<S>(problem, maxEvaluations, populationSize, crossoverOperator,
+                mutationOperator, selectionOperator, evaluator, rankingType);
+        algorithm.setDeadline(deadline);
+        return algorithm;
     }
 
 }
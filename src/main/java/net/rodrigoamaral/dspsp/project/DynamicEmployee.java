@@ -7,6 +7,8 @@ import java.util.HashMap;
 
 public class DynamicEmployee extends net.rodrigoamaral.spsp.project.Employee implements IEventSubject {
 
+    private static final long serialVersionUID = 1L;
+
     private HashMap<Integer, Double> skillsProficiency;
     private double overtimeSalary;
     private int originalIndex;
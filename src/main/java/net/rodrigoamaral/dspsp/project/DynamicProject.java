@@ -7,19 +7,25 @@ import net.rodrigoamaral.dspsp.project.events.DynamicEvent;
 import net.rodrigoamaral.dspsp.project.events.EventType;
 import net.rodrigoamaral.dspsp.project.tasks.DynamicTask;
 import net.rodrigoamaral.dspsp.project.tasks.EffortParameters;
+import net.rodrigoamaral.dspsp.project.tasks.EffortParametersTable;
 import net.rodrigoamaral.dspsp.project.tasks.TaskManager;
 import net.rodrigoamaral.dspsp.solution.DedicationMatrix;
 import net.rodrigoamaral.logging.SPSPLogger;
+import org.apache.commons.lang3.SerializationUtils;
 import org.uma.jmetal.solution.DoubleSolution;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.util.*;
 
 import static java.lang.Double.POSITIVE_INFINITY;
 import static java.lang.Double.max;
-import static net.rodrigoamaral.util.DoubleUtils.sum;
 
 
-public class DynamicProject {
+public class DynamicProject implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static final int SCENARIO_SAMPLE_SIZE = 30;
     public static final double ROBUSTNESS_COST_WEIGHT = 1;
@@ -43,6 +49,11 @@ public class DynamicProject {
     private List<Map<Integer, Double>> sampleEffortScenarios;
     private String instanceDescription;
     private List<Integer> lastAvailableEmployees;
+    private boolean sparseDedication;
+    // Set in copies restricted to some of the available tasks
+    private boolean restricted;
+    private double dedicationShare;
+    private transient ThreadLocal<EvaluationWorkspace> workspace = ThreadLocal.withInitial(EvaluationWorkspace::new);
 
     public DynamicProject() {
         tasks = new ArrayList<>();
@@ -57,6 +68,8 @@ public class DynamicProject {
         lastSchedulingTime = 0;
         totalDuration = 0.0;
         totalCost = 0.0;
+        sparseDedication = false;
+        dedicationShare = 1.0;
     }
 
     public List<DynamicTask> getTasks() {
@@ -103,6 +116,28 @@ public class DynamicProject {
         this.previousSchedule = new SolutionConverter(this).convert(previousSchedule);
     }
 
+    public boolean isSparseDedication() {
+        return sparseDedication;
+    }
+
+    /**
+     * Makes dedication matrices of this project be stored as compressed
+     * rows of nonzero dedications. Suited for large projects.
+     *
+     * @param sparseDedication
+     */
+    public void setSparseDedication(boolean sparseDedication) {
+        this.sparseDedication = sparseDedication;
+    }
+
+    /**
+     * @return fraction of the maximum dedication of each employee that can
+     * be used in this project, less than one in restricted copies
+     */
+    public double getDedicationShare() {
+        return dedicationShare;
+    }
+
     public List<Map<Integer, Double>> getSampleEffortScenarios() {
         return sampleEffortScenarios;
     }
@@ -145,6 +180,34 @@ public class DynamicProject {
         return availableEmployees;
     }
 
+    /**
+     * Creates a copy of the project in which only some of the available
+     * tasks remain available, and in which employees can only dedicate a
+     * share of their maximum dedication. The copy shares no state with
+     * this project and keeps its effort scenarios and previous schedule.
+     *
+     * @param taskIndices indices of the tasks that remain available
+     * @param dedicationShare fraction of the maximum dedication of each employee
+     * @return restricted copy of the project
+     */
+    public DynamicProject restrictTo(Collection<Integer> taskIndices, double dedicationShare) {
+        DynamicProject copy = SerializationUtils.clone(this);
+        for (DynamicTask task : copy.tasks) {
+            if (task.isAvailable() && !taskIndices.contains(task.index())) {
+                task.setAvailable(false);
+            }
+        }
+        for (DynamicEmployee employee : copy.employees) {
+            employee.setMaxDedication(employee.getMaxDedication() * dedicationShare);
+        }
+        copy.restricted = true;
+        copy.dedicationShare = dedicationShare * this.dedicationShare;
+        copy.availableEmployees = copy.filterAvailableEmployees();
+        copy.availableTasks = copy.filterAvailableTasks();
+        copy.activeTasks = copy.filterActiveTasks();
+        return copy;
+    }
+
     public List<DynamicTask> cloneTasks(Collection<DynamicTask> tasks_) {
         List<DynamicTask> cloned = new ArrayList<>();
         for (DynamicTask task : tasks_) {
@@ -296,10 +359,11 @@ public class DynamicProject {
 
             double partialDuration = Double.POSITIVE_INFINITY;
 
+            EffortParameters[] localEfforts = TaskManager.getEffortProperties(localActiveTasks, availableEmployees_, normalizedSchedule);
 
-            for (DynamicTask localTask : localActiveTasks) {
-                EffortParameters ep = TaskManager.getEffortProperties(localTask, availableEmployees_, normalizedSchedule);
-                efforts.put(localTask.index(), ep);
+            for (int i = 0; i < localActiveTasks.size(); i++) {
+                EffortParameters ep = localEfforts[i];
+                efforts.put(localActiveTasks.get(i).index(), ep);
                 // Checking if active task had anyone really working on it
                 if (ep.timeSpent > 0) {
                     partialDuration = Math.min(partialDuration, ep.timeSpent);
@@ -338,13 +402,7 @@ public class DynamicProject {
             }
 
             // Calculates cost
-            double partialCost = 0;
-
-            for (DynamicTask localTask : localActiveTasks) {
-                for (DynamicEmployee e : availableEmployees_) {
-                    partialCost += taskCostByEmployee(e, localTask, normalizedSchedule, effortDuration);
-                }
-            }
+            double partialCost = activeTasksCost(availableEmployees_, localActiveTasks, normalizedSchedule, effortDuration);
 
             totalCost += partialCost;
 
@@ -422,33 +480,68 @@ public class DynamicProject {
     }
 
     private DedicationMatrix normalize(DedicationMatrix dm, List<DynamicTask> activeTasks) {
+        return normalize(dm, taskMask(activeTasks, dm.getTasks()), new DedicationMatrix(dm.getEmployees(), dm.getTasks(), dm.isSparse()));
+    }
 
-        DedicationMatrix normalized = new DedicationMatrix(dm);
+    /**
+     * Scales down the dedications of overworked employees to the active
+     * tasks, writing the result into a reusable matrix.
+     */
+    private DedicationMatrix normalize(DedicationMatrix dm, boolean[] active, DedicationMatrix normalized) {
 
-        for (DynamicTask t : activeTasks) {
-            for (DynamicEmployee e : availableEmployees) {
-                double n = dm.getDedication(e.index(), t.index()) / max(1, dedicationSum(dm, activeTasks, e) / e.getMaxDedication());
-                normalized.setDedication(e.index(), t.index(), n);
+        normalized.copyFrom(dm);
+
+        for (DynamicEmployee e : availableEmployees) {
+            double factor = max(1, dm.maskedRowSum(e.index(), active) / e.getMaxDedication());
+            if (factor > 1) {
+                dm.divideMaskedRow(e.index(), active, factor, normalized);
             }
         }
 
         return normalized;
     }
 
-    private double dedicationSum(DedicationMatrix dm, List<DynamicTask> activeTasks, DynamicEmployee e) {
-        return sum(activeTasksDedication(dm, activeTasks, e));
+    private boolean[] taskMask(List<DynamicTask> tasks_, int size) {
+        boolean[] mask = new boolean[size];
+        fillTaskMask(mask, tasks_);
+        return mask;
+    }
+
+    private void fillTaskMask(boolean[] mask, List<DynamicTask> tasks_) {
+        Arrays.fill(mask, false);
+        for (DynamicTask t : tasks_) {
+            mask[t.index()] = true;
+        }
+    }
+
+    private void fillEmployeeMask(boolean[] mask, List<DynamicEmployee> employees_) {
+        Arrays.fill(mask, false);
+        for (DynamicEmployee e : employees_) {
+            mask[e.index()] = true;
+        }
     }
 
-    private List<Double> activeTasksDedication(DedicationMatrix dm, List<DynamicTask> activeTasks, DynamicEmployee employee) {
-        List<Double> result = new ArrayList<>();
-        for (DynamicTask task : activeTasks) {
-            result.add(dm.getDedication(employee.index(), task.index()));
+    /**
+     * Cost of the given employees working on the active tasks for a period.
+     * Only stored dedications are visited, since zero dedications have no cost.
+     */
+    private double activeTasksCost(List<DynamicEmployee> employees_, List<DynamicTask> activeTasks, DedicationMatrix solution, double duration) {
+        return activeTasksCost(employees_, taskMask(activeTasks, solution.getTasks()), solution, duration);
+    }
+
+    private double activeTasksCost(List<DynamicEmployee> employees_, boolean[] active, DedicationMatrix solution, double duration) {
+        double cost = 0;
+        for (DynamicEmployee e : employees_) {
+            for (int k = 0; k < solution.getStoredEntries(e.index()); k++) {
+                if (active[solution.getStoredTask(e.index(), k)]) {
+                    cost += employeeCost(e, solution.getStoredDedication(e.index(), k), duration);
+                }
+            }
         }
-        return result;
+        return cost;
     }
 
-    private double taskCostByEmployee(DynamicEmployee e, DynamicTask t, DedicationMatrix solution, double duration) {
-        double employeeDedication = solution.getDedication(e.index(), t.index());
+    private double employeeCost(DynamicEmployee e, double employeeDedication, double duration) {
         double regularCost = e.getSalary() * employeeDedication * duration;
         return regularCost + getOvertimeCost(e, employeeDedication - 1, duration);
     }
@@ -469,22 +562,24 @@ public class DynamicProject {
 
     public double calculateRobustness(DedicationMatrix solution, Efficiency efficiency) throws InvalidSolutionException {
 
-        List<Double> durationDistances = new ArrayList<>();
-        List<Double> costDistances = new ArrayList<>();
+        EvaluationWorkspace ws = workspace.get();
+        double durationDistances = 0;
+        double costDistances = 0;
 
-        List<DynamicTask> scenarioAvailableTasks = cloneTasks(availableTasks);
+        List<DynamicTask> scenarioAvailableTasks = ws.scenarioTasks.copy(availableTasks);
 
         for (Map<Integer, Double> effortScenario : getSampleEffortScenarios()) {
             for (DynamicTask t : scenarioAvailableTasks) {
                 t.setEffort(effortScenario.get(t.index()));
             }
-            Efficiency scenario = evaluateEfficiency(solution, scenarioAvailableTasks);
+            evaluateEfficiency(solution, scenarioAvailableTasks, ws);
 
-            durationDistances.add(efficiencyDistance(scenario.duration, efficiency.duration));
-            costDistances.add(efficiencyDistance(scenario.cost, efficiency.cost));
+            durationDistances += efficiencyDistance(ws.duration, efficiency.duration);
+            costDistances += efficiencyDistance(ws.cost, efficiency.cost);
         }
 
-        return Math.sqrt(avg(durationDistances)) + ROBUSTNESS_COST_WEIGHT * Math.sqrt(avg(costDistances));
+        int scenarios = getSampleEffortScenarios().size();
+        return Math.sqrt(durationDistances / scenarios) + ROBUSTNESS_COST_WEIGHT * Math.sqrt(costDistances / scenarios);
     }
 
     public double calculateStability(DedicationMatrix solution) {
@@ -493,13 +588,25 @@ public class DynamicProject {
             return 0;
         }
 
+        boolean[] available = taskMask(availableTasks, solution.getTasks());
+
+        // Merges the stored entries of both schedules, since pairs with
+        // zero dedication in both of them don't change stability
         double stabilityValue = 0;
         for (DynamicEmployee e : availableEmployees) {
-            for (DynamicTask t : availableTasks) {
-                double currentDedication = solution.getDedication(e.index(), t.index());
-                double previousDedication = previousSchedule.getDedication(e.index(), t.index());
-                double w = reschedulingPenalty(currentDedication, previousDedication);
-                stabilityValue = stabilityValue + (w * Math.abs(currentDedication - previousDedication));
+            int i = e.index();
+            int current = 0;
+            int previous = 0;
+            while (current < solution.getStoredEntries(i) || previous < previousSchedule.getStoredEntries(i)) {
+                int currentTask = current < solution.getStoredEntries(i) ? solution.getStoredTask(i, current) : Integer.MAX_VALUE;
+                int previousTask = previous < previousSchedule.getStoredEntries(i) ? previousSchedule.getStoredTask(i, previous) : Integer.MAX_VALUE;
+                int t = Math.min(currentTask, previousTask);
+                double currentDedication = currentTask == t ? solution.getStoredDedication(i, current++) : 0;
+                double previousDedication = previousTask == t ? previousSchedule.getStoredDedication(i, previous++) : 0;
+                if (available[t]) {
+                    double w = reschedulingPenalty(currentDedication, previousDedication);
+                    stabilityValue = stabilityValue + (w * Math.abs(currentDedication - previousDedication));
+                }
             }
         }
 
@@ -519,10 +626,6 @@ public class DynamicProject {
         return Math.pow(Math.max(0, (scenarioObjective - solutionObjective) / solutionObjective), 2);
     }
 
-    private double avg(List<Double> doubleList) {
-        return sum(doubleList) / doubleList.size();
-    }
-
     public List<DynamicTask> filterAvailableTasks() {
         List<DynamicTask> availableTasks = new ArrayList<>();
         for (DynamicTask task : getTasks()) {
@@ -652,12 +755,27 @@ public class DynamicProject {
     }
 
     public Efficiency evaluateEfficiency(DedicationMatrix dm, List<DynamicTask> tasks) throws InvalidSolutionException {
+        EvaluationWorkspace ws = workspace.get();
+        evaluateEfficiency(dm, tasks, ws);
+        return new Efficiency(ws.duration, ws.cost);
+    }
+
+    /**
+     * Simulates the execution of the tasks under a schedule, leaving the
+     * resulting duration and cost in the workspace. Task copies, precedence
+     * state, normalized schedules and effort parameters are kept in the
+     * workspace buffers instead of being allocated at every step.
+     */
+    private void evaluateEfficiency(DedicationMatrix dm, List<DynamicTask> tasks, EvaluationWorkspace ws) throws InvalidSolutionException {
         double duration = 0;
         double cost = 0;
         double partialCost = 0;
 
-        DynamicTaskPrecedenceGraph localTPG = taskPrecedenceGraph.copy();
-        List<DynamicTask> localAvailableTasks = cloneTasks(tasks);
+        ws.reset(this.tasks.size(), employees.size(), dm);
+        List<DynamicTask> localAvailableTasks = ws.localTasks.copy(tasks);
+        fillTaskMask(ws.availableTasks, localAvailableTasks);
+        int remainingPrecedences = initPendingPredecessors(ws.pendingPredecessors, ws.availableTasks);
+        fillEmployeeMask(ws.availableEmployees, availableEmployees);
 
 
         // --------------------------
@@ -665,13 +783,15 @@ public class DynamicProject {
         // --------------------------
 
         //// First headcount repair heuristic
-        dm = removeNonProficientEmployees(dm, localAvailableTasks);
+        dm = removeNonProficientEmployees(dm, ws.availableTasks);
 
         //// Second headcount repair heuristic
         for (DynamicTask t: localAvailableTasks) {
-            final List<DynamicEmployee> taskTeam = availableTaskTeam(t, dm);
-            List<DynamicEmployee> originalTeam = getSortedTeamByProficiencyInTask(taskTeam, t);
-            List<DynamicEmployee> repairedTeam = new ArrayList<>(originalTeam);
+            List<DynamicEmployee> originalTeam = availableTaskTeam(t, dm, ws.availableEmployees, ws.team);
+            originalTeam.sort(ws.proficiencyComparator.forTask(t));
+            List<DynamicEmployee> repairedTeam = ws.repairedTeam;
+            repairedTeam.clear();
+            repairedTeam.addAll(originalTeam);
 
             if (originalTeam.size() > t.getMaximumHeadcount()) {
                 for (DynamicEmployee e: originalTeam) {
@@ -696,23 +816,27 @@ public class DynamicProject {
 
         int over = 0;
 
-        while (!localTPG.isEmpty() || !(over == tasks.size())) {
+        while (remainingPrecedences > 0 || !(over == tasks.size())) {
 
-            List<DynamicTask> localActiveTasks = filterActiveTasks(localTPG, localAvailableTasks);
+            List<DynamicTask> localActiveTasks = filterActiveTasks(ws.pendingPredecessors, localAvailableTasks, ws.activeTasks);
 
             if (localActiveTasks.isEmpty()) {
                 throw new RuntimeException("Problem instance not solvable!");
             }
 
-            DedicationMatrix normDM = normalize(dm, localActiveTasks);
+            fillTaskMask(ws.activeTasksMask, localActiveTasks);
+            DedicationMatrix normDM = normalize(dm, ws.activeTasksMask, ws.normalized);
 
             // Duration calculation
             double partialDuration = Double.POSITIVE_INFINITY;
 
-            for (DynamicTask localTask : localActiveTasks) {
-                EffortParameters ep = TaskManager.getEffortProperties(localTask, availableEmployees, normDM);
-                partialDuration = Math.min(partialDuration, ep.timeSpent);
-                double finishedEffort = ep.finishedEffort(partialDuration);
+            EffortParametersTable localEfforts = ws.efforts;
+            TaskManager.getEffortProperties(localActiveTasks, availableEmployees, normDM, localEfforts);
+
+            for (int i = 0; i < localActiveTasks.size(); i++) {
+                DynamicTask localTask = localActiveTasks.get(i);
+                partialDuration = Math.min(partialDuration, localEfforts.timeSpent[i]);
+                double finishedEffort = localEfforts.finishedEffort(i, partialDuration);
                 try {
                     localTask.addFinishedEffort(finishedEffort);
                 } catch (IllegalArgumentException iae) {
@@ -724,11 +848,7 @@ public class DynamicProject {
             duration += partialDuration;
 
             // Cost calculation
-            for (DynamicEmployee e : availableEmployees) {
-                for (DynamicTask t : localActiveTasks) {
-                    partialCost += taskCostByEmployee(e, t, normDM, partialDuration);
-                }
-            }
+            partialCost += activeTasksCost(availableEmployees, ws.activeTasksMask, normDM, partialDuration);
 
             cost += partialCost;
 
@@ -736,14 +856,83 @@ public class DynamicProject {
             for (DynamicTask localTask : localActiveTasks) {
                 if (localTask.isFinished()) {
                     localTask.setAvailable(false);
-                    localTPG.remove(localTask.index());
-//                    localAvailableTasks.remove(localTask);
+                    remainingPrecedences -= removePrecedences(ws.pendingPredecessors, localTask.index());
                     over += 1;
                 }
             }
         }
 
-        return new Efficiency(duration, cost);
+        ws.duration = duration;
+        ws.cost = cost;
+    }
+
+    /**
+     * Counts the predecessors of each task in the project precedence graph.
+     * In a copy restricted to some tasks by
+     * {@link #restrictTo(Collection, double)}, only the predecessors of the
+     * simulated tasks are counted: the other tasks never become active, and
+     * the simulated tasks, a connected component, have no predecessors
+     * among them.
+     *
+     * @param pending array filled with the number of predecessors of each task
+     * @param simulated tasks being simulated
+     * @return total number of precedences
+     */
+    private int initPendingPredecessors(int[] pending, boolean[] simulated) {
+        int precedences = 0;
+        for (int t = 0; t < tasks.size(); t++) {
+            pending[t] = restricted && !simulated[t] ? 0 : taskPrecedenceGraph.getTaskPredecessors(t).size();
+            precedences += pending[t];
+        }
+        return precedences;
+    }
+
+    /**
+     * Removes a finished task from the simulated precedence graph, as
+     * {@link DynamicTaskPrecedenceGraph#remove(int)} does on a graph copy.
+     *
+     * @param pending number of remaining predecessors of each task
+     * @param task finished task index
+     * @return number of precedences removed
+     */
+    private int removePrecedences(int[] pending, int task) {
+        int removed = pending[task];
+        pending[task] = 0;
+        List<Integer> successors = taskPrecedenceGraph.getTaskSuccessors(task);
+        for (int k = 0; k < successors.size(); k++) {
+            int v = successors.get(k);
+            // Each predecessor list loses at most one occurrence of the task
+            if (successors.indexOf(v) == k && pending[v] > 0
+                    && taskPrecedenceGraph.getTaskPredecessors(v).contains(task)) {
+                pending[v]--;
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private List<DynamicTask> filterActiveTasks(int[] pending, final List<DynamicTask> tasks, List<DynamicTask> active) {
+        active.clear();
+        for (DynamicTask task : tasks) {
+            if (pending[task.index()] == 0 && task.isAvailable()) {
+                active.add(task);
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Fills a reusable buffer with the team of a task among the employees
+     * flagged as available, in employee index order.
+     */
+    private List<DynamicEmployee> availableTaskTeam(DynamicTask task, DedicationMatrix solution, boolean[] available, List<DynamicEmployee> team) {
+        team.clear();
+        for (int e = 0; e < solution.getEmployees(); e++) {
+            if (available[e] && solution.getDedication(e, task.index()) > 0) {
+                team.add(getEmployeeByIndex(e));
+            }
+        }
+        return team;
     }
 
     /**
@@ -752,11 +941,12 @@ public class DynamicProject {
      * @param localAvailableTasks
      * @return
      */
-    private DedicationMatrix removeNonProficientEmployees(DedicationMatrix dm, final List<DynamicTask> localAvailableTasks) {
-        for (DynamicTask t: localAvailableTasks) {
-            for (DynamicEmployee e : availableEmployees) {
-                if (e.getProficiencyOnTask().get(t.index()) == 0) {
-                    dm.setDedication(e.index(), t.index(), 0);
+    private DedicationMatrix removeNonProficientEmployees(DedicationMatrix dm, final boolean[] available) {
+        for (DynamicEmployee e : availableEmployees) {
+            for (int k = 0; k < dm.getStoredEntries(e.index()); k++) {
+                int t = dm.getStoredTask(e.index(), k);
+                if (available[t] && e.getProficiencyOnTask().get(t) == 0) {
+                    dm.setStoredDedication(e.index(), k, 0);
                 }
             }
         }
@@ -837,4 +1027,9 @@ public class DynamicProject {
         }
         this.lastAvailableEmployees = employees;
     }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        workspace = ThreadLocal.withInitial(EvaluationWorkspace::new);
+    }
 }
@@ -1,8 +1,11 @@
 package net.rodrigoamaral.dspsp.project;
 
+import java.io.Serializable;
 import java.util.*;
 
-public class DynamicTaskPrecedenceGraph {
+public class DynamicTaskPrecedenceGraph implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private static final int DFS_WHITE = -1;
     private static final int DFS_BLACK = 1;
     private Vector<Vector<Integer>> successors;
@@ -113,6 +116,44 @@ public class DynamicTaskPrecedenceGraph {
         return disconnectedTasks;
     }
 
+    /**
+     * Finds the weakly connected components of the graph, that is, the
+     * sets of tasks linked by precedences in any direction. Isolated tasks
+     * are components of their own.
+     *
+     * @return task indices of each component, in ascending order, with the
+     * components ordered by their first task
+     */
+    public List<List<Integer>> getConnectedComponents() {
+        int size = successors.size();
+        boolean[] reached = new boolean[size];
+        List<List<Integer>> components = new ArrayList<>();
+        Deque<Integer> pending = new ArrayDeque<>();
+        for (int t = 0; t < size; t++) {
+            if (reached[t]) {
+                continue;
+            }
+            List<Integer> component = new ArrayList<>();
+            reached[t] = true;
+            pending.push(t);
+            while (!pending.isEmpty()) {
+                int u = pending.pop();
+                component.add(u);
+                for (Vector<Integer> neighbours : Arrays.asList(successors.get(u), predecessors.get(u))) {
+                    for (int v : neighbours) {
+                        if (!reached[v]) {
+                            reached[v] = true;
+                            pending.push(v);
+                        }
+                    }
+                }
+            }
+            Collections.sort(component);
+            components.add(component);
+        }
+        return components;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -0,0 +1,115 @@
+package net.rodrigoamaral.dspsp.project;
+
+import net.rodrigoamaral.dspsp.project.tasks.DynamicTask;
+import net.rodrigoamaral.dspsp.project.tasks.EffortParametersTable;
+import net.rodrigoamaral.dspsp.solution.DedicationMatrix;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reusable buffers for the temporary objects of a schedule evaluation.
+ *
+ * A workspace is owned by a single evaluating thread (see
+ * {@link DynamicProject}) and is reset at the start of each efficiency
+ * evaluation, so its contents are only valid until the next one.
+ *
+ */
+class EvaluationWorkspace {
+
+    // Task copies simulated by evaluateEfficiency
+    final TaskCopies localTasks = new TaskCopies();
+    // Task copies with the efforts of a robustness scenario
+    final TaskCopies scenarioTasks = new TaskCopies();
+
+    final List<DynamicTask> activeTasks = new ArrayList<>();
+    final List<DynamicEmployee> team = new ArrayList<>();
+    final List<DynamicEmployee> repairedTeam = new ArrayList<>();
+    final ProficiencyComparator proficiencyComparator = new ProficiencyComparator();
+    final EffortParametersTable efforts = new EffortParametersTable();
+
+    // Remaining predecessors of each task in the simulated precedence graph
+    int[] pendingPredecessors = new int[0];
+    boolean[] availableTasks = new boolean[0];
+    boolean[] activeTasksMask = new boolean[0];
+    boolean[] availableEmployees = new boolean[0];
+    DedicationMatrix normalized;
+
+    // Results of the last efficiency evaluation
+    double duration;
+    double cost;
+
+    void reset(int tasks, int employees, DedicationMatrix dm) {
+        if (pendingPredecessors.length < tasks) {
+            pendingPredecessors = new int[tasks];
+            availableTasks = new boolean[tasks];
+            activeTasksMask = new boolean[tasks];
+        }
+        if (availableEmployees.length < employees) {
+            availableEmployees = new boolean[employees];
+        }
+        if (normalized == null
+                || normalized.getEmployees() != dm.getEmployees()
+                || normalized.getTasks() != dm.getTasks()
+                || normalized.isSparse() != dm.isSparse()) {
+            normalized = new DedicationMatrix(dm.getEmployees(), dm.getTasks(), dm.isSparse());
+        }
+        duration = 0;
+        cost = 0;
+    }
+
+    /**
+     * Copies of project tasks indexed by task index, reused between
+     * evaluations.
+     */
+    static class TaskCopies {
+
+        private DynamicTask[] pool = new DynamicTask[0];
+        private final List<DynamicTask> list = new ArrayList<>();
+
+        List<DynamicTask> copy(List<DynamicTask> tasks) {
+            list.clear();
+            for (DynamicTask task : tasks) {
+                if (task.index() >= pool.length) {
+                    DynamicTask[] grown = new DynamicTask[Math.max(task.index() + 1, pool.length * 2)];
+                    System.arraycopy(pool, 0, grown, 0, pool.length);
+                    pool = grown;
+                }
+                DynamicTask copy = pool[task.index()];
+                if (copy == null) {
+                    copy = new DynamicTask(task);
+                    pool[task.index()] = copy;
+                } else {
+                    copy.copyState(task);
+                }
+                list.add(copy);
+            }
+            return list;
+        }
+    }
+
+    /**
+     * Orders employees by increasing proficiency on a task.
+     */
+    static class ProficiencyComparator implements Comparator<DynamicEmployee> {
+
+        private int task;
+
+        ProficiencyComparator forTask(DynamicTask task) {
+            this.task = task.index();
+            return this;
+        }
+
+        @Override
+        public int compare(DynamicEmployee e1, DynamicEmployee e2) {
+            double p1 = e1.getProficiencyOnTask().get(task);
+            double p2 = e2.getProficiencyOnTask().get(task);
+
+            if (p1 == p2) {
+                return 0;
+            }
+            return p1 < p2 ? -1 : 1;
+        }
+    }
+}
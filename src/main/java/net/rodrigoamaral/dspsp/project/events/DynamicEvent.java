@@ -1,7 +1,10 @@
 package net.rodrigoamaral.dspsp.project.events;
 
+import java.io.Serializable;
+
+public class DynamicEvent implements Serializable {
+    private static final long serialVersionUID = 1L;
 
-public class DynamicEvent {
     private int id;
     private double time;
     private EventType type;
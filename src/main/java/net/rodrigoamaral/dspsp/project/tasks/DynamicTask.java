@@ -6,6 +6,8 @@ import net.rodrigoamaral.dspsp.project.events.IEventSubject;
 import java.util.ArrayList;
 
 public class DynamicTask extends net.rodrigoamaral.spsp.project.Task implements IEventSubject {
+    private static final long serialVersionUID = 1L;
+
     private double meanEstimatedEffort;
     private double effortDeviation;
     private double finishedEffort;
@@ -43,6 +45,24 @@ public class DynamicTask extends net.rodrigoamaral.spsp.project.Task implements
          this.available = task.isAvailable();
      }
 
+    /**
+     * Overwrites the state of this task with the state of another copy of
+     * the same task, so that a copy can be reused between evaluations.
+     * Skills are not copied, since they do not change.
+     *
+     * @param task task with the same index
+     */
+    public void copyState(DynamicTask task) {
+        this.setEffort(task.getEffort());
+        this.setMeanEstimatedEffort(task.getMeanEstimatedEffort());
+        this.setEffortDeviation(task.getEffortDeviation());
+        this.setDuration(task.getDuration());
+        this.setStart(task.getStart());
+        this.setFinish(task.getFinish());
+        this.setFinishedEffort(task.getFinishedEffort());
+        this.available = task.isAvailable();
+    }
+
     public double getMeanEstimatedEffort() {
         return meanEstimatedEffort;
     }
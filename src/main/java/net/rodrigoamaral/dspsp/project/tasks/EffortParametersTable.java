@@ -0,0 +1,40 @@
+package net.rodrigoamaral.dspsp.project.tasks;
+
+import java.util.Arrays;
+
+/**
+ * Effort parameters of several tasks stored in primitive arrays, so that
+ * they can be recomputed at every simulation step without allocating
+ * {@link EffortParameters} objects. Entry i refers to the i-th task of the
+ * list last passed to
+ * {@link TaskManager#getEffortProperties(java.util.List, java.util.List,
+ * net.rodrigoamaral.dspsp.solution.DedicationMatrix, EffortParametersTable)}.
+ *
+ */
+public class EffortParametersTable {
+
+    public double[] totalDedication = new double[0];
+    public double[] totalProficiency = new double[0];
+    public double[] costDriveValue = new double[0];
+    public double[] timeSpent = new double[0];
+    int[] position = new int[0];
+
+    void reset(int tasks, int projectTasks) {
+        if (totalDedication.length < tasks) {
+            totalDedication = new double[tasks];
+            totalProficiency = new double[tasks];
+            costDriveValue = new double[tasks];
+            timeSpent = new double[tasks];
+        }
+        Arrays.fill(totalDedication, 0, tasks, 0);
+        Arrays.fill(totalProficiency, 0, tasks, 0);
+        if (position.length < projectTasks) {
+            position = new int[projectTasks];
+        }
+        Arrays.fill(position, 0, projectTasks, -1);
+    }
+
+    public double finishedEffort(int task, double effortDuration) {
+        return effortDuration * (totalDedication[task] / costDriveValue[task]);
+    }
+}
@@ -7,6 +7,7 @@ import net.rodrigoamaral.dspsp.solution.DedicationMatrix;
 import org.apache.commons.math3.distribution.NormalDistribution;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -84,6 +85,90 @@ public class TaskManager {
         return new EffortParameters(task.index(), totalDedication, totalFitness, costDriveValue, timeSpent);
     }
 
+    /**
+     * Computes the effort parameters of several tasks at once, sweeping
+     * only the stored dedications of each employee instead of looking up
+     * every (employee, task) pair.
+     *
+     * @param tasks tasks to be evaluated
+     * @param employees employees working on the tasks
+     * @param solution dedication matrix
+     * @return effort parameters in the same order as tasks
+     */
+    static public EffortParameters[] getEffortProperties(List<DynamicTask> tasks,
+                                                         List<DynamicEmployee> employees,
+                                                         DedicationMatrix solution) {
+
+        int[] position = new int[solution.getTasks()];
+        Arrays.fill(position, -1);
+        for (int i = 0; i < tasks.size(); i++) {
+            position[tasks.get(i).index()] = i;
+        }
+
+        double[] totalDedication = new double[tasks.size()];
+        double[] totalProficiency = new double[tasks.size()];
+        for (DynamicEmployee e: employees) {
+            int id = e.index();
+            for (int k = 0; k < solution.getStoredEntries(id); k++) {
+                int t = solution.getStoredTask(id, k);
+                if (position[t] >= 0) {
+                    double dedication = solution.getStoredDedication(id, k);
+                    totalDedication[position[t]] += dedication;
+                    totalProficiency[position[t]] += e.getProficiencyOnTask().get(t) * dedication;
+                }
+            }
+        }
+
+        EffortParameters[] effortParameters = new EffortParameters[tasks.size()];
+        for (int i = 0; i < tasks.size(); i++) {
+            DynamicTask task = tasks.get(i);
+            double totalFitness = totalDedication[i] == 0 ? 0 : totalProficiency[i] / totalDedication[i];
+            double costDriveValue = costDriveValue(totalFitness);
+            double timeSpent = timeSpent(task, costDriveValue, totalDedication[i]);
+            effortParameters[i] = new EffortParameters(task.index(), totalDedication[i], totalFitness, costDriveValue, timeSpent);
+        }
+        return effortParameters;
+    }
+
+    /**
+     * Same as {@link #getEffortProperties(List, List, DedicationMatrix)},
+     * but stores the effort parameters in a reusable table.
+     *
+     * @param tasks tasks to be evaluated
+     * @param employees employees working on the tasks
+     * @param solution dedication matrix
+     * @param table table filled with the effort parameters, in the same order as tasks
+     */
+    static public void getEffortProperties(List<DynamicTask> tasks,
+                                           List<DynamicEmployee> employees,
+                                           DedicationMatrix solution,
+                                           EffortParametersTable table) {
+
+        table.reset(tasks.size(), solution.getTasks());
+        int[] position = table.position;
+        for (int i = 0; i < tasks.size(); i++) {
+            position[tasks.get(i).index()] = i;
+        }
+
+        for (DynamicEmployee e: employees) {
+            int id = e.index();
+            for (int k = 0; k < solution.getStoredEntries(id); k++) {
+                int t = solution.getStoredTask(id, k);
+                if (position[t] >= 0) {
+                    double dedication = solution.getStoredDedication(id, k);
+                    table.totalDedication[position[t]] += dedication;
+                    table.totalProficiency[position[t]] += e.getProficiencyOnTask().get(t) * dedication;
+                }
+            }
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            double totalFitness = table.totalDedication[i] == 0 ? 0 : table.totalProficiency[i] / table.totalDedication[i];
+            table.costDriveValue[i] = costDriveValue(totalFitness);
+            table.timeSpent[i] = timeSpent(tasks.get(i), table.costDriveValue[i], table.totalDedication[i]);
+        }
+    }
+
     static public double costDriveValue(double totalFitness) {
         return Math.max(1, 8 - Math.round(totalFitness * 7 + 0.5));
     }
@@ -116,8 +201,12 @@ public class TaskManager {
     static public int missingSkills(DynamicTask task, List<DynamicEmployee> employees) {
         Set<Integer> missingSkills = new HashSet<>(task.getSkills());
         for (DynamicEmployee employee: employees) {
-            Set<Integer> skills =  new HashSet<>(employee.getSkills());
-            missingSkills.removeAll(skills);
+            if (missingSkills.isEmpty()) {
+                break;
+            }
+            for (Integer skill: employee.getSkills()) {
+                missingSkills.remove(skill);
+            }
         }
         return missingSkills.size();
     }
@@ -160,7 +249,13 @@ public class TaskManager {
     }
 
     static public int teamSize(DynamicTask task, DedicationMatrix solution) {
-        return team(task, solution).size();
+        int teamSize = 0;
+        for (int e = 0; e < solution.getEmployees(); e++) {
+            if (solution.getDedication(e, task.index()) > 0) {
+                teamSize++;
+            }
+        }
+        return teamSize;
     }
 
     static public double teamSizePenalty(DynamicTask task, DedicationMatrix solution) {
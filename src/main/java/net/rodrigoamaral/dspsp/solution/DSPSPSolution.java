@@ -0,0 +1,192 @@
+package net.rodrigoamaral.dspsp.solution;
+
+import net.rodrigoamaral.jmetal.solution.ArrayBackedDoubleSolution;
+import net.rodrigoamaral.jmetal.util.DoubleSolutionUtils;
+import org.uma.jmetal.problem.DoubleProblem;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *
+ * {@link DoubleSolution} backed by primitive arrays.
+ *
+ * Variable bounds are shared by all solutions of a problem and the
+ * attribute map is only created when an attribute is first set, so copies
+ * are two array clones. Operators should use the bulk accessors
+ * {@link #getVariables(double[])} and {@link #setVariables(double[])}, or
+ * the {@link DoubleSolutionUtils} helpers that fall back to element-wise
+ * access for other solution types, instead of boxing one variable at a
+ * time.
+ *
+ */
+@SuppressWarnings("serial")
+public class DSPSPSolution implements ArrayBackedDoubleSolution {
+
+    private final double[] variables;
+    private final double[] objectives;
+    private final double[] lowerBounds;
+    private final double[] upperBounds;
+    private Map<Object, Object> attributes;
+
+    /**
+     * Creates a solution with random variables within the problem bounds.
+     *
+     * @param problem problem the solution belongs to
+     */
+    public DSPSPSolution(DoubleProblem problem) {
+        this(DoubleSolutionUtils.lowerBounds(problem), DoubleSolutionUtils.upperBounds(problem),
+                problem.getNumberOfObjectives());
+    }
+
+    /**
+     * Creates a solution with random variables within the given bounds.
+     * The bound arrays are shared, not copied.
+     *
+     * @param lowerBounds lower bound of each variable
+     * @param upperBounds upper bound of each variable
+     * @param numberOfObjectives number of objectives
+     */
+    public DSPSPSolution(double[] lowerBounds, double[] upperBounds, int numberOfObjectives) {
+        this.lowerBounds = lowerBounds;
+        this.upperBounds = upperBounds;
+        this.variables = new double[lowerBounds.length];
+        this.objectives = new double[numberOfObjectives];
+        JMetalRandom randomGenerator = JMetalRandom.getInstance();
+        for (int i = 0; i < variables.length; i++) {
+            variables[i] = randomGenerator.nextDouble(lowerBounds[i], upperBounds[i]);
+        }
+    }
+
+    /**
+     * Creates a solution from existing values. No array is copied.
+     *
+     * @param lowerBounds lower bound of each variable
+     * @param upperBounds upper bound of each variable
+     * @param variables variable values
+     * @param objectives objective values
+     */
+    public DSPSPSolution(double[] lowerBounds, double[] upperBounds, double[] variables, double[] objectives) {
+        this.lowerBounds = lowerBounds;
+        this.upperBounds = upperBounds;
+        this.variables = variables;
+        this.objectives = objectives;
+    }
+
+    public DSPSPSolution(DSPSPSolution solution) {
+        this.lowerBounds = solution.lowerBounds;
+        this.upperBounds = solution.upperBounds;
+        this.variables = solution.variables.clone();
+        this.objectives = solution.objectives.clone();
+        if (solution.attributes != null) {
+            this.attributes = new HashMap<>(solution.attributes);
+        }
+    }
+
+    @Override
+    public double[] getVariables(double[] values) {
+        System.arraycopy(variables, 0, values, 0, variables.length);
+        return values;
+    }
+
+    @Override
+    public void setVariables(double[] values) {
+        System.arraycopy(values, 0, variables, 0, variables.length);
+    }
+
+    public double getLowerBoundValue(int index) {
+        return lowerBounds[index];
+    }
+
+    public double getUpperBoundValue(int index) {
+        return upperBounds[index];
+    }
+
+    @Override
+    public Double getLowerBound(int index) {
+        return lowerBounds[index];
+    }
+
+    @Override
+    public Double getUpperBound(int index) {
+        return upperBounds[index];
+    }
+
+    @Override
+    public void setObjective(int index, double value) {
+        objectives[index] = value;
+    }
+
+    @Override
+    public double getObjective(int index) {
+        return objectives[index];
+    }
+
+    @Override
+    public Double getVariableValue(int index) {
+        return variables[index];
+    }
+
+    @Override
+    public void setVariableValue(int index, Double value) {
+        variables[index] = value;
+    }
+
+    @Override
+    public String getVariableValueString(int index) {
+        return Double.toString(variables[index]);
+    }
+
+    @Override
+    public int getNumberOfVariables() {
+        return variables.length;
+    }
+
+    @Override
+    public int getNumberOfObjectives() {
+        return objectives.length;
+    }
+
+    @Override
+    public DSPSPSolution copy() {
+        return new DSPSPSolution(this);
+    }
+
+    @Override
+    public void setAttribute(Object id, Object value) {
+        if (attributes == null) {
+            attributes = new HashMap<>();
+        }
+        attributes.put(id, value);
+    }
+
+    @Override
+    public Object getAttribute(Object id) {
+        return attributes == null ? null : attributes.get(id);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DSPSPSolution that = (DSPSPSolution) o;
+        return Arrays.equals(objectives, that.objectives) && Arrays.equals(variables, that.variables);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(objectives) + Arrays.hashCode(variables);
+    }
+
+    @Override
+    public String toString() {
+        return "Variables: " + Arrays.toString(variables) + " Objectives: " + Arrays.toString(objectives);
+    }
+}
@@ -1,36 +1,108 @@
 package net.rodrigoamaral.dspsp.solution;
 
+import net.rodrigoamaral.util.ArrayKernels;
+import net.rodrigoamaral.util.ArrayKernelsFactory;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
 /**
  *
  * Represents a E x T dedication matrix where each matrix[i][j]
  * element is the dedication degree of employee i to the task j.
  *
+ * A matrix can be stored densely or, for large projects where most
+ * dedications are zero, as per-employee compressed rows of
+ * (task, dedication) pairs sorted by task. Code that only needs nonzero
+ * dedications should iterate the stored entries of each employee with
+ * {@link #getStoredEntries(int)}, {@link #getStoredTask(int, int)} and
+ * {@link #getStoredDedication(int, int)}. In dense mode every task is a
+ * stored entry, so the same loops work for both modes.
+ *
  */
-public class DedicationMatrix {
+public class DedicationMatrix implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static final Double MIN_DED_THRESHOLD = 10E-2;
-    final private double[][] matrix;
+    private static final int INITIAL_ROW_CAPACITY = 4;
+    private static final ArrayKernels KERNELS = ArrayKernelsFactory.getInstance();
+
     final private int employees;
     final private int tasks;
+    final private boolean sparse;
+
+    // Dense storage
+    private double[][] matrix;
+
+    // Sparse storage (compressed rows)
+    private int[][] rowTasks;
+    private double[][] rowDedications;
+    private int[] rowLengths;
 
     public DedicationMatrix(int _employees, int _tasks) {
+        this(_employees, _tasks, false);
+    }
+
+    public DedicationMatrix(int _employees, int _tasks, boolean _sparse) {
         employees = _employees;
         tasks = _tasks;
-        matrix = new double[employees][tasks];
-        for (int i = 0; i < employees; i++) {
-            for (int j = 0; j < tasks; j++) {
-                matrix[i][j] = 0;
+        sparse = _sparse;
+        if (sparse) {
+            rowTasks = new int[employees][];
+            rowDedications = new double[employees][];
+            rowLengths = new int[employees];
+            for (int i = 0; i < employees; i++) {
+                rowTasks[i] = new int[INITIAL_ROW_CAPACITY];
+                rowDedications[i] = new double[INITIAL_ROW_CAPACITY];
             }
+        } else {
+            matrix = new double[employees][tasks];
         }
     }
 
     public DedicationMatrix(DedicationMatrix dm_) {
         employees = dm_.getEmployees();
         tasks = dm_.getTasks();
-        matrix = new double[employees][tasks];
+        sparse = dm_.isSparse();
+        if (sparse) {
+            rowTasks = new int[employees][];
+            rowDedications = new double[employees][];
+            rowLengths = Arrays.copyOf(dm_.rowLengths, employees);
+            for (int i = 0; i < employees; i++) {
+                rowTasks[i] = Arrays.copyOf(dm_.rowTasks[i], Math.max(rowLengths[i], INITIAL_ROW_CAPACITY));
+                rowDedications[i] = Arrays.copyOf(dm_.rowDedications[i], Math.max(rowLengths[i], INITIAL_ROW_CAPACITY));
+            }
+        } else {
+            matrix = new double[employees][];
+            for (int i = 0; i < employees; i++) {
+                matrix[i] = Arrays.copyOf(dm_.matrix[i], tasks);
+            }
+        }
+    }
+
+    /**
+     * Overwrites this matrix with the dedications of another one with the
+     * same dimensions and storage mode, reusing the allocated storage.
+     *
+     * @param dm_ matrix to be copied
+     */
+    public void copyFrom(DedicationMatrix dm_) {
+        if (dm_.getEmployees() != employees || dm_.getTasks() != tasks || dm_.isSparse() != sparse) {
+            throw new IllegalArgumentException("Dedication matrices must have the same dimensions and storage mode");
+        }
         for (int i = 0; i < employees; i++) {
-            for (int j = 0; j < tasks; j++) {
-                matrix[i][j] = dm_.getDedication(i, j);
+            if (sparse) {
+                int length = dm_.rowLengths[i];
+                if (rowTasks[i].length < length) {
+                    rowTasks[i] = new int[dm_.rowTasks[i].length];
+                    rowDedications[i] = new double[dm_.rowTasks[i].length];
+                }
+                System.arraycopy(dm_.rowTasks[i], 0, rowTasks[i], 0, length);
+                System.arraycopy(dm_.rowDedications[i], 0, rowDedications[i], 0, length);
+                rowLengths[i] = length;
+            } else {
+                System.arraycopy(dm_.matrix[i], 0, matrix[i], 0, tasks);
             }
         }
     }
@@ -43,12 +115,140 @@ public class DedicationMatrix {
         return tasks;
     }
 
+    public boolean isSparse() {
+        return sparse;
+    }
+
     public void setDedication(int employee, int task, double dedication) {
-        matrix[employee][task] = dedication;
+        if (!sparse) {
+            matrix[employee][task] = dedication;
+            return;
+        }
+        int position = find(employee, task);
+        if (position >= 0) {
+            // Zeroed entries are kept stored so that iterations over
+            // stored entries are not disturbed by repair operations
+            rowDedications[employee][position] = dedication;
+        } else if (dedication != 0) {
+            insert(employee, -(position + 1), task, dedication);
+        }
     }
 
     public double getDedication(int employee, int task) {
-        return matrix[employee][task];
+        if (!sparse) {
+            return matrix[employee][task];
+        }
+        int position = find(employee, task);
+        return position >= 0 ? rowDedications[employee][position] : 0;
+    }
+
+    /**
+     * Number of entries stored for an employee. In sparse mode these are
+     * the entries ever set to a nonzero value; in dense mode, all tasks.
+     *
+     * @param employee employee index
+     * @return number of stored entries
+     */
+    public int getStoredEntries(int employee) {
+        return sparse ? rowLengths[employee] : tasks;
+    }
+
+    /**
+     * @param employee employee index
+     * @param entry stored entry position, from 0 to getStoredEntries(employee) - 1
+     * @return task index of the stored entry
+     */
+    public int getStoredTask(int employee, int entry) {
+        return sparse ? rowTasks[employee][entry] : entry;
+    }
+
+    /**
+     * @param employee employee index
+     * @param entry stored entry position, from 0 to getStoredEntries(employee) - 1
+     * @return dedication of the stored entry
+     */
+    public double getStoredDedication(int employee, int entry) {
+        return sparse ? rowDedications[employee][entry] : matrix[employee][entry];
+    }
+
+    /**
+     * Updates the dedication of a stored entry without searching for it.
+     *
+     * @param employee employee index
+     * @param entry stored entry position, from 0 to getStoredEntries(employee) - 1
+     * @param dedication new dedication value
+     */
+    public void setStoredDedication(int employee, int entry, double dedication) {
+        if (sparse) {
+            rowDedications[employee][entry] = dedication;
+        } else {
+            matrix[employee][entry] = dedication;
+        }
+    }
+
+    /**
+     * Sum of the dedications of an employee to the tasks selected by a mask.
+     *
+     * @param employee employee index
+     * @param mask selected tasks, indexed by task
+     * @return sum of the selected dedications
+     */
+    public double maskedRowSum(int employee, boolean[] mask) {
+        if (!sparse) {
+            return KERNELS.maskedSum(matrix[employee], mask, tasks);
+        }
+        double sum = 0;
+        for (int k = 0; k < rowLengths[employee]; k++) {
+            if (mask[rowTasks[employee][k]]) {
+                sum += rowDedications[employee][k];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Divides the dedications of an employee to the tasks selected by a
+     * mask, writing the results into a target matrix, which must be this
+     * matrix or have the same stored entries (see {@link #copyFrom}).
+     *
+     * @param employee employee index
+     * @param mask selected tasks, indexed by task
+     * @param divisor value the selected dedications are divided by
+     * @param target matrix that receives the results
+     */
+    public void divideMaskedRow(int employee, boolean[] mask, double divisor, DedicationMatrix target) {
+        if (!sparse) {
+            KERNELS.maskedDivide(matrix[employee], mask, divisor, target.matrix[employee], tasks);
+            return;
+        }
+        for (int k = 0; k < rowLengths[employee]; k++) {
+            if (mask[rowTasks[employee][k]]) {
+                target.rowDedications[employee][k] = rowDedications[employee][k] / divisor;
+            }
+        }
+    }
+
+    private int find(int employee, int task) {
+        int length = rowLengths[employee];
+        // Rows are usually filled in task order, so checks the tail first
+        if (length > 0 && rowTasks[employee][length - 1] < task) {
+            return -(length + 1);
+        }
+        return Arrays.binarySearch(rowTasks[employee], 0, length, task);
+    }
+
+    private void insert(int employee, int position, int task, double dedication) {
+        int length = rowLengths[employee];
+        if (length == rowTasks[employee].length) {
+            int capacity = Math.min(Math.max(length * 2, INITIAL_ROW_CAPACITY), tasks);
+            rowTasks[employee] = Arrays.copyOf(rowTasks[employee], capacity);
+            rowDedications[employee] = Arrays.copyOf(rowDedications[employee], capacity);
+        }
+        System.arraycopy(rowTasks[employee], position, rowTasks[employee], position + 1, length - position);
+        System.arraycopy(rowDedications[employee], position, rowDedications[employee], position + 1, length - position);
+        rowTasks[employee][position] = task;
+        rowDedications[employee][position] = dedication;
+        rowLengths[employee]++;
     }
 
 }
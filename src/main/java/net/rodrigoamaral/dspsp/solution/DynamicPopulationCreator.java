@@ -1,14 +1,13 @@
 package net.rodrigoamaral.dspsp.solution;
 
 
+import net.rodrigoamaral.dspsp.DSPSProblem;
 import net.rodrigoamaral.dspsp.experiment.ExperimentSettings;
 import net.rodrigoamaral.dspsp.solution.mutation.DSPSPRepairMutation;
 import net.rodrigoamaral.dspsp.solution.repair.IScheduleRepairStrategy;
 import net.rodrigoamaral.logging.SPSPLogger;
 import org.uma.jmetal.operator.MutationOperator;
-import org.uma.jmetal.problem.DoubleProblem;
 import org.uma.jmetal.solution.DoubleSolution;
-import org.uma.jmetal.solution.impl.DefaultDoubleSolution;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -16,7 +15,7 @@ import java.util.List;
 
 public class DynamicPopulationCreator {
 
-    private DoubleProblem problem;
+    private DSPSProblem problem;
     private SchedulingHistory history;
     private int size;
     private double propRepairedSolutions;
@@ -25,7 +24,7 @@ public class DynamicPopulationCreator {
     private List<String> dynamicStrategies;
 
 //    REFACTOR: Remove string literals
-    public DynamicPopulationCreator(DoubleProblem problem, SchedulingHistory history, ExperimentSettings settings, String algorithmID, IScheduleRepairStrategy repairStrategy) {
+    public DynamicPopulationCreator(DSPSProblem problem, SchedulingHistory history, ExperimentSettings settings, String algorithmID, IScheduleRepairStrategy repairStrategy) {
 
         this.problem = problem;
         this.history = history;
@@ -38,6 +37,7 @@ public class DynamicPopulationCreator {
         }
         if (algorithmID.equals("MS2MO")
                 || algorithmID.equals("MS2MODynamic")
+                || algorithmID.toUpperCase().startsWith("CCSMPSO")
                 ) {
             this.size = settings.getSwarmSize();
         } else {
@@ -51,12 +51,12 @@ public class DynamicPopulationCreator {
 
         if (repairStrategy != null && dynamicStrategies.contains("proactive_repair")) {
             SPSPLogger.debug("Using proactive repair");
-            population.addAll(repairedSolutions());
+            population.addAll(problem.reduce(repairedSolutions()));
         }
 
         if (dynamicStrategies.contains("history_info")) {
             SPSPLogger.debug("Using history info");
-            population.addAll(getRandomSublist(history.getPrevious(event), propPreviousEventSolutions));
+            population.addAll(problem.reduce(getRandomSublist(history.getPrevious(event), propPreviousEventSolutions)));
         }
 
         population.addAll(getRandomSolutions(size - population.size()));
@@ -87,7 +87,7 @@ public class DynamicPopulationCreator {
         MutationOperator<DoubleSolution> mutation;
         mutation = new DSPSPRepairMutation(mutationProbability, mutationDistributionIndex);
 
-        return mutation.execute(new DefaultDoubleSolution((DefaultDoubleSolution) seed));
+        return mutation.execute((DoubleSolution) seed.copy());
     }
 
 
@@ -111,7 +111,7 @@ public class DynamicPopulationCreator {
     private List<DoubleSolution> getRandomSolutions(int listSize) {
         List<DoubleSolution> randomList = new ArrayList<>(listSize);
         for (int i = 0; i < listSize; i++) {
-            randomList.add(new DefaultDoubleSolution(problem));
+            randomList.add(new DSPSPSolution(problem));
         }
 
         return randomList;
@@ -1,9 +1,9 @@
 package net.rodrigoamaral.dspsp.solution;
 
 
+import net.rodrigoamaral.jmetal.util.archive.impl.NDTreeArchive;
 import org.uma.jmetal.solution.DoubleSolution;
 import org.uma.jmetal.util.archive.Archive;
-import org.uma.jmetal.util.archive.impl.NonDominatedSolutionListArchive;
 
 import java.util.*;
 
@@ -14,7 +14,7 @@ public class SchedulingHistory  {
 
     public SchedulingHistory() {
         this.history = new HashMap<>();
-        this.archive = new NonDominatedSolutionListArchive<>();
+        this.archive = new NDTreeArchive<>();
     }
 
     private boolean addToArchive(List<DoubleSolution> population) {
@@ -10,17 +10,21 @@ import java.util.List;
  * Scheduling must return:
  *      - a list of candidate solutions
  *      - time spent on processing,for logging and profiling purposes
+ *      - number of evaluations performed, for the same purposes
  *
  */
 public class SchedulingResult {
     private final List<DoubleSolution> schedules;
     private final long computingTime;
+    private final long evaluations;
 
     private final boolean projectFinished;
 
-    public SchedulingResult(List<DoubleSolution> result, long computingTime, boolean projectFinished) {
+    public SchedulingResult(List<DoubleSolution> result, long computingTime, long evaluations,
+                            boolean projectFinished) {
         this.schedules = result;
         this.computingTime = computingTime;
+        this.evaluations = evaluations;
         this.projectFinished = projectFinished;
     }
 
@@ -32,4 +36,8 @@ public class SchedulingResult {
         return computingTime;
     }
 
+    public long getEvaluations() {
+        return evaluations;
+    }
+
 }
@@ -0,0 +1,65 @@
+package net.rodrigoamaral.dspsp.solution;
+
+import net.rodrigoamaral.dspsp.adapters.SolutionConverter;
+import net.rodrigoamaral.dspsp.project.DynamicEmployee;
+import net.rodrigoamaral.dspsp.project.DynamicProject;
+import net.rodrigoamaral.dspsp.project.tasks.DynamicTask;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Maps the variables of a reduced decision space, made only of the
+ * (available employee, available task) pairs of the current rescheduling
+ * point, into the full E x T dedication matrix.
+ *
+ * Variables are ordered by employee and then by task, as in the full
+ * encoding.
+ *
+ */
+public class VariableMapping implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int[] employees;
+    private final int[] tasks;
+    private final int[] fullIndices;
+
+    public VariableMapping(DynamicProject project) {
+        List<DynamicEmployee> availableEmployees = project.getAvailableEmployees();
+        List<DynamicTask> availableTasks = project.getAvailableTasks();
+        int size = availableEmployees.size() * availableTasks.size();
+        employees = new int[size];
+        tasks = new int[size];
+        fullIndices = new int[size];
+        int i = 0;
+        for (DynamicEmployee e : availableEmployees) {
+            for (DynamicTask t : availableTasks) {
+                employees[i] = e.index();
+                tasks[i] = t.index();
+                fullIndices[i] = SolutionConverter.encode(e.index(), t.index());
+                i++;
+            }
+        }
+    }
+
+    public int size() {
+        return fullIndices.length;
+    }
+
+    public int getEmployee(int index) {
+        return employees[index];
+    }
+
+    public int getTask(int index) {
+        return tasks[index];
+    }
+
+    /**
+     * @param index reduced variable index
+     * @return index of the same variable in the full employees x tasks vector
+     */
+    public int getFullIndex(int index) {
+        return fullIndices[index];
+    }
+}
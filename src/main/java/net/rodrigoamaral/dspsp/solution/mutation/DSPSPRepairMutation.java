@@ -1,6 +1,8 @@
 package net.rodrigoamaral.dspsp.solution.mutation;
 
 
+import net.rodrigoamaral.dspsp.solution.DSPSPSolution;
+import net.rodrigoamaral.jmetal.operator.impl.mutation.SkipSampler;
 import org.uma.jmetal.operator.MutationOperator;
 import org.uma.jmetal.problem.DoubleProblem;
 import org.uma.jmetal.solution.DoubleSolution;
@@ -8,6 +10,7 @@ import org.uma.jmetal.solution.util.RepairDoubleSolution;
 import org.uma.jmetal.solution.util.RepairDoubleSolutionAtBounds;
 import org.uma.jmetal.util.JMetalException;
 import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
 
 public class DSPSPRepairMutation implements MutationOperator<DoubleSolution> {
     private static final double DEFAULT_PROBABILITY = 0.01 ;
@@ -77,42 +80,61 @@ public class DSPSPRepairMutation implements MutationOperator<DoubleSolution> {
         return solution;
     }
 
-    /** Perform the mutation operation */
+    /**
+     * Perform the mutation operation. Mutated variables are selected by
+     * skip sampling, so only they are read and written.
+     */
     private void doMutation(double probability, DoubleSolution solution) {
         double rnd, delta1, delta2, mutPow, deltaq;
         double y, yl, yu, val, xy;
 
-        for (int i = 0; i < solution.getNumberOfVariables(); i++) {
-            if (randomGenerator.nextDouble() <= probability) {
-                y = solution.getVariableValue(i);
-
-                // Only mutates if value is not zero
-                if (y != 0.0) {
-                    yl = solution.getLowerBound(i);
-                    yu = solution.getUpperBound(i);
-                    if (yl == yu) {
-                        y = yl;
+        SkipSampler sampler = new SkipSampler(probability);
+        PseudoRandomGenerator random = randomGenerator.getRandomGenerator();
+        int length = solution.getNumberOfVariables();
+        for (int i = sampler.next(random, 0, length); i < length;
+             i = sampler.next(random, i + 1, length)) {
+            y = solution.getVariableValue(i);
+
+            // Only mutates if value is not zero
+            if (y != 0.0) {
+                yl = lowerBound(solution, i);
+                yu = upperBound(solution, i);
+                if (yl == yu) {
+                    y = yl;
+                } else {
+                    delta1 = (y - yl) / (yu - yl);
+                    delta2 = (yu - y) / (yu - yl);
+                    rnd = randomGenerator.nextDouble();
+                    mutPow = 1.0 / (distributionIndex + 1.0);
+                    if (rnd <= 0.5) {
+                        xy = 1.0 - delta1;
+                        val = 2.0 * rnd + (1.0 - 2.0 * rnd) * (Math.pow(xy, distributionIndex + 1.0));
+                        deltaq = Math.pow(val, mutPow) - 1.0;
                     } else {
-                        delta1 = (y - yl) / (yu - yl);
-                        delta2 = (yu - y) / (yu - yl);
-                        rnd = randomGenerator.nextDouble();
-                        mutPow = 1.0 / (distributionIndex + 1.0);
-                        if (rnd <= 0.5) {
-                            xy = 1.0 - delta1;
-                            val = 2.0 * rnd + (1.0 - 2.0 * rnd) * (Math.pow(xy, distributionIndex + 1.0));
-                            deltaq = Math.pow(val, mutPow) - 1.0;
-                        } else {
-                            xy = 1.0 - delta2;
-                            val = 2.0 * (1.0 - rnd) + 2.0 * (rnd - 0.5) * (Math.pow(xy, distributionIndex + 1.0));
-                            deltaq = 1.0 - Math.pow(val, mutPow);
-                        }
-                        y = y + deltaq * (yu - yl);
-                        y = solutionRepair.repairSolutionVariableValue(y, yl, yu);
+                        xy = 1.0 - delta2;
+                        val = 2.0 * (1.0 - rnd) + 2.0 * (rnd - 0.5) * (Math.pow(xy, distributionIndex + 1.0));
+                        deltaq = 1.0 - Math.pow(val, mutPow);
                     }
+                    y = y + deltaq * (yu - yl);
+                    y = solutionRepair.repairSolutionVariableValue(y, yl, yu);
                 }
                 solution.setVariableValue(i, y);
             }
         }
     }
+
+    private static double lowerBound(DoubleSolution solution, int index) {
+        if (solution instanceof DSPSPSolution) {
+            return ((DSPSPSolution) solution).getLowerBoundValue(index);
+        }
+        return solution.getLowerBound(index);
+    }
+
+    private static double upperBound(DoubleSolution solution, int index) {
+        if (solution instanceof DSPSPSolution) {
+            return ((DSPSPSolution) solution).getUpperBoundValue(index);
+        }
+        return solution.getUpperBound(index);
+    }
 }
 
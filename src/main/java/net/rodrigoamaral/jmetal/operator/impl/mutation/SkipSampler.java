@@ -0,0 +1,44 @@
+package net.rodrigoamaral.jmetal.operator.impl.mutation;
+
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+
+/**
+ * Selects the genes that are mutated independently with the same
+ * probability. Instead of one random number per gene, the gap to the next
+ * mutated gene is drawn from a geometric distribution, so about one random
+ * number is drawn per mutated gene and the other genes are never visited.
+ * The selected genes have the same distribution as with one Bernoulli
+ * trial per gene.
+ */
+public final class SkipSampler {
+
+    private final double probability;
+    private final double logComplement;
+
+    /**
+     * @param probability mutation probability of each gene
+     */
+    public SkipSampler(double probability) {
+        this.probability = probability;
+        this.logComplement = Math.log1p(-Math.min(probability, 1.0));
+    }
+
+    /**
+     * @param random   generator of the gaps
+     * @param position first gene that may be selected
+     * @param length   number of genes
+     * @return next selected gene from the position on, or the length if no
+     * other gene is selected
+     */
+    public int next(PseudoRandomGenerator random, int position, int length) {
+        if (probability >= 1.0) {
+            return position;
+        }
+        if (probability <= 0.0 || position >= length) {
+            return length;
+        }
+        // P(gap >= k) = P(1 - u <= (1 - p)^k) = (1 - p)^k, with u in [0, 1)
+        double gap = Math.floor(Math.log1p(-random.nextDouble()) / logComplement);
+        return gap < length - position ? position + (int) gap : length;
+    }
+}
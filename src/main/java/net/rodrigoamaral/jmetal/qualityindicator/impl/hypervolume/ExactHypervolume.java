@@ -0,0 +1,365 @@
+package net.rodrigoamaral.jmetal.qualityindicator.impl.hypervolume;
+
+import org.uma.jmetal.solution.Solution;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Exact hypervolume of sets of points in objective space, all objectives
+ * being minimized, with respect to a fixed reference point. Points that
+ * are not better than the reference point in every objective do not
+ * contribute. Dominated and repeated points are allowed.
+ *
+ * Two objectives are handled by a sweep over the sorted points and three
+ * by the HV3D dimension sweep (Beume et al., 2009), which keeps the
+ * two-dimensional staircase of the points seen so far, in O(N log N) for
+ * the sort plus O(N) per insertion into the staircase arrays. More
+ * objectives are sliced along the last one, as in HSO, the hypervolume of
+ * each slice being that of the preceding points in one objective less, so
+ * four objectives take N three-dimensional sweeps over presorted points.
+ *
+ * {@link #contribution(double[], double[][], int)} gives the hypervolume
+ * that a point adds to a set, which is the hypervolume of its box minus
+ * that of the set limited to the box, so it costs a single computation
+ * over the non-dominated points that overlap the box.
+ *
+ * Instances keep working arrays and are not thread-safe.
+ */
+public class ExactHypervolume implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final double[] referencePoint;
+    private final int numberOfObjectives;
+
+    // Staircase of the three-dimensional sweep, sorted by the first objective
+    private double[] stairX = new double[16];
+    private double[] stairY = new double[16];
+
+    /**
+     * Constructor.
+     *
+     * @param referencePoint point bounding the measured region, worse than
+     *                       the points in every objective
+     */
+    public ExactHypervolume(double[] referencePoint) {
+        if (referencePoint.length < 1) {
+            throw new IllegalArgumentException("The reference point must have at least one objective");
+        }
+        this.referencePoint = referencePoint.clone();
+        this.numberOfObjectives = referencePoint.length;
+    }
+
+    public double[] getReferencePoint() {
+        return referencePoint.clone();
+    }
+
+    /**
+     * @return hypervolume of the objective vectors of the solutions
+     */
+    public <S extends Solution<?>> double hypervolume(List<S> solutions) {
+        double[][] points = new double[solutions.size()][numberOfObjectives];
+        for (int k = 0; k < points.length; k++) {
+            for (int i = 0; i < numberOfObjectives; i++) {
+                points[k][i] = solutions.get(k).getObjective(i);
+            }
+        }
+        return hypervolume(points, points.length);
+    }
+
+    /**
+     * @param points objective vectors, which are not modified
+     * @param size   number of points to take from the start of the array
+     * @return hypervolume of the points
+     */
+    public double hypervolume(double[][] points, int size) {
+        double[][] inside = new double[size][];
+        int count = 0;
+        for (int k = 0; k < size; k++) {
+            if (isInside(points[k])) {
+                inside[count++] = points[k];
+            }
+        }
+        return hypervolume(inside, count, numberOfObjectives);
+    }
+
+    /**
+     * @param point  objective vector, which may or may not be among points
+     *               (its own box is excluded from the set either way)
+     * @param points objective vectors of the set, which are not modified
+     * @param size   number of points to take from the start of the array
+     * @return hypervolume dominated by point and not by any other point of
+     * the set, that is, what point adds to the hypervolume of the rest of
+     * the set
+     */
+    public double contribution(double[] point, double[][] points, int size) {
+        if (!isInside(point)) {
+            return 0;
+        }
+        // The part of the box of point dominated by each other point
+        double[][] clipped = new double[size][];
+        int count = 0;
+        for (int k = 0; k < size; k++) {
+            double[] other = points[k];
+            if (other == point) {
+                continue;
+            }
+            double[] limited = new double[numberOfObjectives];
+            boolean overlaps = true;
+            for (int i = 0; i < numberOfObjectives && overlaps; i++) {
+                limited[i] = Math.max(other[i], point[i]);
+                overlaps = limited[i] < referencePoint[i];
+            }
+            if (overlaps) {
+                clipped[count++] = limited;
+            }
+        }
+        double box = 1;
+        for (int i = 0; i < numberOfObjectives; i++) {
+            box *= referencePoint[i] - point[i];
+        }
+        count = removeDominated(clipped, count);
+        return Math.max(box - hypervolume(clipped, count, numberOfObjectives), 0);
+    }
+
+    /**
+     * Moves the points not weakly dominated by another one to the start of
+     * the array. Most points limited to a box are dominated by the few
+     * that lie closest to its corner.
+     *
+     * @return number of points kept
+     */
+    private int removeDominated(double[][] points, int size) {
+        int count = 0;
+        for (int k = 0; k < size; k++) {
+            double[] point = points[k];
+            boolean dominated = false;
+            for (int l = 0; l < count && !dominated; l++) {
+                dominated = weaklyDominates(points[l], point);
+            }
+            if (!dominated) {
+                int kept = 0;
+                for (int l = 0; l < count; l++) {
+                    if (!weaklyDominates(point, points[l])) {
+                        points[kept++] = points[l];
+                    }
+                }
+                points[kept++] = point;
+                count = kept;
+            }
+        }
+        return count;
+    }
+
+    private boolean weaklyDominates(double[] a, double[] b) {
+        for (int i = 0; i < numberOfObjectives; i++) {
+            if (a[i] > b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isInside(double[] point) {
+        for (int i = 0; i < numberOfObjectives; i++) {
+            // Also rejects NaN
+            if (!(point[i] < referencePoint[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param points points better than the reference point, in the first
+     *               dimensions objectives
+     */
+    private double hypervolume(double[][] points, int size, int dimensions) {
+        if (size == 0) {
+            return 0;
+        }
+        switch (dimensions) {
+            case 1:
+                double min = referencePoint[0];
+                for (int k = 0; k < size; k++) {
+                    min = Math.min(min, points[k][0]);
+                }
+                return referencePoint[0] - min;
+            case 2:
+                return hypervolume2D(sortedBy(points, size, 0), size);
+            case 3:
+                return hypervolume3D(sortedBy(points, size, 2), size, null, Integer.MAX_VALUE);
+            default:
+                return slicedHypervolume(points, size, dimensions);
+        }
+    }
+
+    /**
+     * Adds, for each point that improves the second objective, the strip
+     * between its value and the previous best one, which no point before
+     * it dominates.
+     *
+     * @param points points sorted by the first objective
+     */
+    private double hypervolume2D(double[][] points, int size) {
+        double area = 0;
+        double bestY = referencePoint[1];
+        for (int k = 0; k < size; k++) {
+            double y = points[k][1];
+            if (y < bestY) {
+                area += (referencePoint[0] - points[k][0]) * (bestY - y);
+                bestY = y;
+            }
+        }
+        return area;
+    }
+
+    /**
+     * Sweeps the points in order of the third objective, keeping the area
+     * dominated in the first two by the points swept so far.
+     *
+     * @param points   points sorted by the third objective
+     * @param ranks    if not null, only points whose rank is at most
+     *                 maxRank are taken
+     */
+    private double hypervolume3D(double[][] points, int size, int[] ranks, int maxRank) {
+        double volume = 0;
+        double area = 0;
+        int stairs = 0;
+        double lastZ = 0;
+        boolean started = false;
+        for (int k = 0; k < size; k++) {
+            if (ranks != null && ranks[k] > maxRank) {
+                continue;
+            }
+            double[] point = points[k];
+            if (started) {
+                volume += area * (point[2] - lastZ);
+            }
+            lastZ = point[2];
+            started = true;
+
+            double x = point[0];
+            double y = point[1];
+            // Last stair with first objective not greater than x
+            int floor = floorIndex(stairs, x);
+            if (floor >= 0 && stairY[floor] <= y) {
+                continue;
+            }
+            // Stairs from the first with first objective not smaller than x
+            // are dominated while their second objective is not smaller
+            int first = floor >= 0 && stairX[floor] == x ? floor : floor + 1;
+            double top = first > 0 ? stairY[first - 1] : referencePoint[1];
+            double currentX = x;
+            int last = first;
+            while (last < stairs && stairY[last] >= y) {
+                area += (stairX[last] - currentX) * (top - y);
+                top = stairY[last];
+                currentX = stairX[last];
+                last++;
+            }
+            double endX = last < stairs ? stairX[last] : referencePoint[0];
+            area += (endX - currentX) * (top - y);
+
+            // Replace the dominated stairs by the point
+            int removed = last - first;
+            if (removed == 0) {
+                if (stairs == stairX.length) {
+                    stairX = Arrays.copyOf(stairX, stairs * 2);
+                    stairY = Arrays.copyOf(stairY, stairs * 2);
+                }
+                System.arraycopy(stairX, first, stairX, first + 1, stairs - first);
+                System.arraycopy(stairY, first, stairY, first + 1, stairs - first);
+                stairs++;
+            } else if (removed > 1) {
+                System.arraycopy(stairX, last, stairX, first + 1, stairs - last);
+                System.arraycopy(stairY, last, stairY, first + 1, stairs - last);
+                stairs -= removed - 1;
+            }
+            stairX[first] = x;
+            stairY[first] = y;
+        }
+        if (started) {
+            volume += area * (referencePoint[2] - lastZ);
+        }
+        return volume;
+    }
+
+    /**
+     * @return index of the last stair whose first objective is not greater
+     * than x, or -1
+     */
+    private int floorIndex(int stairs, double x) {
+        int low = 0;
+        int high = stairs - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (stairX[middle] <= x) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Slices the dominated region along the last objective. Each slice,
+     * between consecutive values of that objective, has the hypervolume of
+     * the preceding points in the other objectives times its depth.
+     */
+    private double slicedHypervolume(double[][] points, int size, int dimensions) {
+        int last = dimensions - 1;
+        double[][] sorted = sortedBy(points, size, last);
+        double volume = 0;
+        if (dimensions == 4) {
+            // Ranks in the last objective, so that the three-dimensional
+            // sweeps share a single sort by the third objective
+            Integer[] order = new Integer[size];
+            for (int k = 0; k < size; k++) {
+                order[k] = k;
+            }
+            final double[][] bySlice = sorted;
+            Arrays.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer k1, Integer k2) {
+                    return Double.compare(bySlice[k1][2], bySlice[k2][2]);
+                }
+            });
+            double[][] byThird = new double[size][];
+            int[] ranks = new int[size];
+            for (int k = 0; k < size; k++) {
+                byThird[k] = sorted[order[k]];
+                ranks[k] = order[k];
+            }
+            for (int k = 0; k < size; k++) {
+                double next = k + 1 < size ? sorted[k + 1][last] : referencePoint[last];
+                if (next > sorted[k][last]) {
+                    volume += hypervolume3D(byThird, size, ranks, k) * (next - sorted[k][last]);
+                }
+            }
+        } else {
+            for (int k = 0; k < size; k++) {
+                double next = k + 1 < size ? sorted[k + 1][last] : referencePoint[last];
+                if (next > sorted[k][last]) {
+                    volume += hypervolume(sorted, k + 1, last) * (next - sorted[k][last]);
+                }
+            }
+        }
+        return volume;
+    }
+
+    private static double[][] sortedBy(double[][] points, int size, final int objective) {
+        double[][] sorted = Arrays.copyOf(points, size);
+        Arrays.sort(sorted, new Comparator<double[]>() {
+            @Override
+            public int compare(double[] point1, double[] point2) {
+                return Double.compare(point1[objective], point2[objective]);
+            }
+        });
+        return sorted;
+    }
+}
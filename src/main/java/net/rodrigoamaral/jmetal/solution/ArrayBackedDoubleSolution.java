@@ -0,0 +1,27 @@
+package net.rodrigoamaral.jmetal.solution;
+
+import org.uma.jmetal.solution.DoubleSolution;
+
+/**
+ * {@link DoubleSolution} that stores its variables in a double[], so they
+ * can be read and written in bulk without boxing.
+ *
+ * @see net.rodrigoamaral.jmetal.util.DoubleSolutionUtils
+ */
+public interface ArrayBackedDoubleSolution extends DoubleSolution {
+
+    /**
+     * Copies all variables into an array.
+     *
+     * @param values array with at least getNumberOfVariables() elements
+     * @return values
+     */
+    double[] getVariables(double[] values);
+
+    /**
+     * Sets all variables from an array.
+     *
+     * @param values array with at least getNumberOfVariables() elements
+     */
+    void setVariables(double[] values);
+}
@@ -0,0 +1,62 @@
+package net.rodrigoamaral.jmetal.util;
+
+import net.rodrigoamaral.jmetal.solution.ArrayBackedDoubleSolution;
+import org.uma.jmetal.problem.DoubleProblem;
+import org.uma.jmetal.solution.DoubleSolution;
+
+/**
+ * Copies the variables of double solutions to and from primitive arrays.
+ * Solutions that store their variables in an array, the
+ * {@link ArrayBackedDoubleSolution}s, are copied in bulk; other solutions
+ * are copied one variable at a time.
+ */
+public final class DoubleSolutionUtils {
+
+    private DoubleSolutionUtils() {
+    }
+
+    /**
+     * @param solution solution to read
+     * @param values array with at least solution.getNumberOfVariables() elements
+     * @return values
+     */
+    public static double[] getVariables(DoubleSolution solution, double[] values) {
+        if (solution instanceof ArrayBackedDoubleSolution) {
+            return ((ArrayBackedDoubleSolution) solution).getVariables(values);
+        }
+        for (int i = 0; i < solution.getNumberOfVariables(); i++) {
+            values[i] = solution.getVariableValue(i);
+        }
+        return values;
+    }
+
+    /**
+     * @param solution solution to write
+     * @param values array with at least solution.getNumberOfVariables() elements
+     */
+    public static void setVariables(DoubleSolution solution, double[] values) {
+        if (solution instanceof ArrayBackedDoubleSolution) {
+            ((ArrayBackedDoubleSolution) solution).setVariables(values);
+            return;
+        }
+        for (int i = 0; i < solution.getNumberOfVariables(); i++) {
+            solution.setVariableValue(i, values[i]);
+        }
+    }
+
+    public static double[] lowerBounds(DoubleProblem problem) {
+        double[] bounds = new double[problem.getNumberOfVariables()];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = problem.getLowerBound(i);
+        }
+        return bounds;
+    }
+
+    public static double[] upperBounds(DoubleProblem problem) {
+        double[] bounds = new double[problem.getNumberOfVariables()];
+        for (int i = 0; i < bounds.length; i++) {
+            bounds[i] = problem.getUpperBound(i);
+        }
+        return bounds;
+    }
+}
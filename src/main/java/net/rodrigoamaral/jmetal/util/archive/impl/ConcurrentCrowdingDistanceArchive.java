@@ -0,0 +1,176 @@
+package net.rodrigoamaral.jmetal.util.archive.impl;
+
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.archive.BoundedArchive;
+import org.uma.jmetal.util.comparator.CrowdingDistanceComparator;
+import org.uma.jmetal.util.comparator.DominanceComparator;
+import org.uma.jmetal.util.solutionattribute.impl.CrowdingDistance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Crowding distance archive that can be shared by concurrent swarms.
+ *
+ * Added solutions go to an insertion buffer striped by thread and are
+ * merged in batches into an {@link IncrementalCrowdingDistanceArchive} by
+ * whichever thread fills the batch, or by {@link #computeDensityEstimator()}.
+ * After each merge an immutable snapshot with copies of the archived
+ * solutions and their crowding distances is published, and all reads (leader
+ * selection, {@link #getSolutionList()}, {@link #get(int)}) use it without
+ * locking. Reads therefore do not see solutions still in the buffer. Only
+ * the solutions that are new or whose crowding distance changed are copied
+ * again; the other copies are shared with the previous snapshot.
+ *
+ * Solutions must not be modified after being added.
+ *
+ * @param <S>
+ */
+@SuppressWarnings("serial")
+public class ConcurrentCrowdingDistanceArchive<S extends Solution<?>> implements BoundedArchive<S> {
+
+    private final IncrementalCrowdingDistanceArchive<S> archive;
+    private final List<Queue<S>> stripes;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ReentrantLock mergeLock = new ReentrantLock();
+    private final int batchSize;
+    private final Comparator<S> crowdingDistanceComparator = new CrowdingDistanceComparator<>();
+    private final Comparator<S> dominanceComparator = new DominanceComparator<>();
+    private final CrowdingDistance<S> crowdingDistance = new CrowdingDistance<>();
+
+    // Published copy of each archived solution, only used while merging
+    private Map<S, S> copies = new IdentityHashMap<>();
+
+    private volatile List<S> snapshot = Collections.emptyList();
+
+    public ConcurrentCrowdingDistanceArchive(int maxSize) {
+        this(maxSize, maxSize);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxSize The maximum size of the archive.
+     * @param batchSize Number of buffered solutions that triggers a merge.
+     */
+    public ConcurrentCrowdingDistanceArchive(int maxSize, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.archive = new IncrementalCrowdingDistanceArchive<>(maxSize);
+        this.batchSize = batchSize;
+        int numberOfStripes = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+        this.stripes = new ArrayList<>(numberOfStripes);
+        for (int i = 0; i < numberOfStripes; i++) {
+            stripes.add(new ConcurrentLinkedQueue<S>());
+        }
+    }
+
+    /**
+     * Buffers a solution unless it is dominated by the current snapshot.
+     *
+     * @return false if the solution is dominated by an archived solution,
+     * true if it was buffered, in which case it may still be discarded by
+     * the next merge
+     */
+    @Override
+    public boolean add(S solution) {
+        for (S archived : snapshot) {
+            if (dominanceComparator.compare(solution, archived) > 0) {
+                return false;
+            }
+        }
+        stripes.get((int) Thread.currentThread().getId() & (stripes.size() - 1)).add(solution);
+        if (pending.incrementAndGet() >= batchSize && mergeLock.tryLock()) {
+            try {
+                merge();
+            } finally {
+                mergeLock.unlock();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Merges all buffered solutions and publishes a new snapshot. Unlike
+     * {@link #add(Solution)}, waits for a merge in progress.
+     */
+    @Override
+    public void computeDensityEstimator() {
+        mergeLock.lock();
+        try {
+            merge();
+        } finally {
+            mergeLock.unlock();
+        }
+    }
+
+    private void merge() {
+        int merged = 0;
+        for (Queue<S> stripe : stripes) {
+            S solution;
+            while ((solution = stripe.poll()) != null) {
+                archive.add(solution);
+                merged++;
+            }
+        }
+        pending.addAndGet(-merged);
+        archive.computeDensityEstimator();
+        publish();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void publish() {
+        List<S> solutions = archive.getSolutionList();
+        List<S> published = new ArrayList<>(solutions.size());
+        Map<S, S> publishedCopies = new IdentityHashMap<>(solutions.size() * 2);
+        for (S solution : solutions) {
+            S copy = copies.get(solution);
+            if (copy == null || !Objects.equals(crowdingDistance.getAttribute(copy),
+                    crowdingDistance.getAttribute(solution))) {
+                copy = (S) solution.copy();
+            }
+            published.add(copy);
+            publishedCopies.put(solution, copy);
+        }
+        copies = publishedCopies;
+        snapshot = Collections.unmodifiableList(published);
+    }
+
+    @Override
+    public S get(int index) {
+        return snapshot.get(index);
+    }
+
+    /**
+     * @return the last published snapshot, which is immutable
+     */
+    @Override
+    public List<S> getSolutionList() {
+        return snapshot;
+    }
+
+    @Override
+    public int size() {
+        return snapshot.size();
+    }
+
+    @Override
+    public int getMaxSize() {
+        return archive.getMaxSize();
+    }
+
+    @Override
+    public Comparator<S> getComparator() {
+        return crowdingDistanceComparator;
+    }
+}
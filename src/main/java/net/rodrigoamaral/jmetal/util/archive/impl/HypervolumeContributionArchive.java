@@ -0,0 +1,229 @@
+package net.rodrigoamaral.jmetal.util.archive.impl;
+
+import net.rodrigoamaral.jmetal.qualityindicator.impl.hypervolume.ExactHypervolume;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.archive.impl.AbstractBoundedArchive;
+import org.uma.jmetal.util.comparator.HypervolumeContributionComparator;
+import org.uma.jmetal.util.solutionattribute.impl.HypervolumeContributionAttribute;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Bounded archive that, as SMS-EMOA (Beume et al., 2007), removes the
+ * solution with the smallest exclusive hypervolume contribution when it
+ * overflows, the first one in insertion order among ties.
+ *
+ * The reference point lies beyond the nadir point of the archived
+ * solutions by {@value #REFERENCE_OFFSET} times their range in each
+ * objective, which is the reference point 1.1 of the normalized front.
+ *
+ * Contributions are kept from one pruning to the next. A solution added
+ * or removed changes the contribution of an archived one only if the
+ * intersection of their boxes is not covered by the box of a third
+ * solution, that is, if the componentwise maximum of both is not weakly
+ * dominated by another solution. Only those contributions, each computed
+ * by {@link ExactHypervolume} over the points that overlap the box, are
+ * recomputed, and all of them only when the reference point moves.
+ *
+ * @param <S>
+ */
+public class HypervolumeContributionArchive<S extends Solution<?>> extends AbstractBoundedArchive<S> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final double REFERENCE_OFFSET = 0.1;
+
+    private final int numberOfObjectives;
+    private final Comparator<S> comparator = new HypervolumeContributionComparator<>();
+    private final HypervolumeContributionAttribute<S> contributionAttribute = new HypervolumeContributionAttribute<>();
+
+    // Entries of the archived solutions, in the same order
+    private List<Entry<S>> entries = new ArrayList<>();
+    // Reference point of the valid contributions
+    private double[] referencePoint;
+    private ExactHypervolume hypervolume;
+
+    public HypervolumeContributionArchive(int maxSize, int numberOfObjectives) {
+        super(maxSize);
+        this.numberOfObjectives = numberOfObjectives;
+    }
+
+    @Override
+    public void prune() {
+        if (getSolutionList().size() > getMaxSize()) {
+            synchronizeEntries();
+            updateContributions();
+            int worst = 0;
+            for (int k = 1; k < entries.size(); k++) {
+                if (entries.get(k).contribution < entries.get(worst).contribution) {
+                    worst = k;
+                }
+            }
+            getSolutionList().remove(worst);
+            Entry<S> removed = entries.remove(worst);
+            invalidateAffected(removed);
+        }
+    }
+
+    /**
+     * Removes the entries of the solutions removed from the list since the
+     * last call, which only removes solutions or adds them at its end, and
+     * adds entries for the added ones, invalidating the contributions they
+     * change.
+     */
+    private void synchronizeEntries() {
+        List<S> solutions = getSolutionList();
+        List<Entry<S>> kept = new ArrayList<>(solutions.size());
+        List<Entry<S>> changed = new ArrayList<>();
+        int next = 0;
+        for (Entry<S> entry : entries) {
+            if (next < solutions.size() && solutions.get(next) == entry.solution) {
+                kept.add(entry);
+                next++;
+            } else {
+                changed.add(entry);
+            }
+        }
+        List<Entry<S>> added = new ArrayList<>(solutions.size() - next);
+        for (; next < solutions.size(); next++) {
+            added.add(new Entry<>(solutions.get(next), numberOfObjectives));
+        }
+        changed.addAll(added);
+
+        // Kept entries are only compared with the solutions kept as well,
+        // so that a change is not hidden by another one
+        entries = kept;
+        for (Entry<S> entry : changed) {
+            invalidateAffected(entry);
+        }
+        entries.addAll(added);
+    }
+
+    /**
+     * Invalidates the contributions of the archived entries that a solution
+     * added or removed changes.
+     *
+     * @param changed entry of the solution, which is not among the entries
+     */
+    private void invalidateAffected(Entry<S> changed) {
+        double[] corner = new double[numberOfObjectives];
+        for (Entry<S> entry : entries) {
+            if (!entry.valid) {
+                continue;
+            }
+            for (int i = 0; i < numberOfObjectives; i++) {
+                corner[i] = Math.max(entry.values[i], changed.values[i]);
+            }
+            if (!isCovered(corner, entry)) {
+                entry.valid = false;
+            }
+        }
+    }
+
+    /**
+     * @return true if an archived entry other than excluded weakly
+     * dominates the point
+     */
+    private boolean isCovered(double[] point, Entry<S> excluded) {
+        for (Entry<S> entry : entries) {
+            if (entry != excluded && weaklyDominates(entry.values, point)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean weaklyDominates(double[] a, double[] b) {
+        for (int i = 0; i < numberOfObjectives; i++) {
+            if (a[i] > b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves the reference point with the archived solutions, invalidating
+     * all contributions if it changes, and recomputes the invalid ones.
+     */
+    private void updateContributions() {
+        double[] point = computeReferencePoint();
+        if (!Arrays.equals(point, referencePoint)) {
+            referencePoint = point;
+            hypervolume = new ExactHypervolume(point);
+            for (Entry<S> entry : entries) {
+                entry.valid = false;
+            }
+        }
+        double[][] points = new double[entries.size()][];
+        for (int k = 0; k < points.length; k++) {
+            points[k] = entries.get(k).values;
+        }
+        for (Entry<S> entry : entries) {
+            if (!entry.valid) {
+                entry.contribution = hypervolume.contribution(entry.values, points, points.length);
+                entry.valid = true;
+            }
+        }
+    }
+
+    private double[] computeReferencePoint() {
+        double[] ideal = new double[numberOfObjectives];
+        double[] nadir = new double[numberOfObjectives];
+        Arrays.fill(ideal, Double.POSITIVE_INFINITY);
+        Arrays.fill(nadir, Double.NEGATIVE_INFINITY);
+        for (Entry<S> entry : entries) {
+            for (int i = 0; i < numberOfObjectives; i++) {
+                ideal[i] = Math.min(ideal[i], entry.values[i]);
+                nadir[i] = Math.max(nadir[i], entry.values[i]);
+            }
+        }
+        double[] point = new double[numberOfObjectives];
+        for (int i = 0; i < numberOfObjectives; i++) {
+            double range = nadir[i] - ideal[i];
+            point[i] = nadir[i] + REFERENCE_OFFSET * (range > 0 ? range : 1);
+        }
+        return point;
+    }
+
+    @Override
+    public Comparator<S> getComparator() {
+        return comparator;
+    }
+
+    /**
+     * Writes the hypervolume contributions to the archived solutions.
+     */
+    @Override
+    public void computeDensityEstimator() {
+        synchronizeEntries();
+        if (entries.isEmpty()) {
+            return;
+        }
+        updateContributions();
+        for (Entry<S> entry : entries) {
+            contributionAttribute.setAttribute(entry.solution, entry.contribution);
+        }
+    }
+
+    private static class Entry<S extends Solution<?>> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final S solution;
+        final double[] values;
+        double contribution;
+        boolean valid;
+
+        Entry(S solution, int numberOfObjectives) {
+            this.solution = solution;
+            values = new double[numberOfObjectives];
+            for (int i = 0; i < numberOfObjectives; i++) {
+                values[i] = solution.getObjective(i);
+            }
+        }
+    }
+}
@@ -6,14 +6,30 @@ import org.uma.jmetal.util.archive.impl.AbstractBoundedArchive;
 import org.uma.jmetal.util.distance.Distance;
 import org.uma.jmetal.util.distance.impl.EuclideanDistanceBetweenSolutionsInObjectiveSpace;
 import org.uma.jmetal.util.comparator.DominanceComparator;
+import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 
 
+/**
+ * Bounded archive that removes the solution farthest from the ideal point
+ * of the archive, the last added one among those at the same distance.
+ * Distances are rounded up to 5 decimal places.
+ *
+ * The ideal point and the distances are kept up to date as solutions are
+ * added and removed, and are only all recomputed when the ideal point
+ * changes. Solutions are kept in a max-heap ordered by distance and then
+ * by insertion, so the solution to remove is found in O(log N).
+ *
+ * @param <S>
+ */
 public class IdealArchive<S extends Solution<?>> extends AbstractBoundedArchive<S> {
 
+    private static final double ROUNDING_SCALE = 1e5;
+
     private int objectives_;
     private Comparator comparator;
 
@@ -23,40 +39,206 @@ public class IdealArchive<S extends Solution<?>> extends AbstractBoundedArchive<
      */
     private Distance distance_;
 
+    // Entries of the archived solutions, in the same order, and a max-heap
+    // of them
+    private List<Entry<S>> entries = new ArrayList<>();
+    private Entry<S>[] heap;
+    private int heapSize;
+    private long nextSequence;
+    private double[] ideal;
+
     /**
      * Constructor.
      * @param maxSize The maximum size of the archive.
      * @param numberOfObjectives The number of objectives.
      */
+    @SuppressWarnings("unchecked")
     public IdealArchive(int maxSize, int numberOfObjectives) {
         super(maxSize);
         objectives_       = numberOfObjectives;
         distance_		  = new EuclideanDistanceBetweenSolutionsInObjectiveSpace();
         comparator = new DominanceComparator();
+        heap = (Entry<S>[]) new Entry<?>[maxSize + 1];
+        ideal = new double[numberOfObjectives];
+        Arrays.fill(ideal, Double.POSITIVE_INFINITY);
     }
 
     @Override
     public void prune() {
-        if (getSolutionList().size() > getMaxSize()) {
-            Solution ideal = getIdealSolutions(getSolutionList(), false).get(objectives_).get(0);
-            double[] eucDistances = new double[getSolutionList().size()];
-            for (int i = 0; i < getSolutionList().size(); i++) {
-                Solution s = getSolutionList().get(i);
-                eucDistances[i] = distance_.getDistance(ideal, s);
-                BigDecimal b = new BigDecimal(eucDistances[i]);
-                eucDistances[i] = (b.setScale(5, BigDecimal.ROUND_UP)).doubleValue();
+        synchronizeEntries();
+        if (entries.size() > getMaxSize()) {
+            Entry<S> farthest = heap[0];
+            int index = entries.lastIndexOf(farthest);
+            getSolutionList().remove(index);
+            entries.remove(index);
+            removeFromHeap(farthest);
+            if (isIdeal(farthest)) {
+                updateIdeal();
             }
+        }
+    }
 
-            double highDistanceValue = 0;
-            int index = -1;
-            for (int i = 0; i < eucDistances.length; i++) {
-                if (eucDistances[i] >= highDistanceValue) {
-                    highDistanceValue = eucDistances[i];
-                    index = i;
+    /**
+     * Removes the entries of the solutions removed from the list since the
+     * last call, which only removes solutions or adds them at its end, and
+     * adds entries for the added ones.
+     */
+    private void synchronizeEntries() {
+        List<S> solutions = getSolutionList();
+        List<Entry<S>> kept = new ArrayList<>(solutions.size());
+        boolean idealRemoved = false;
+        int next = 0;
+        for (Entry<S> entry : entries) {
+            if (next < solutions.size() && solutions.get(next) == entry.solution) {
+                kept.add(entry);
+                next++;
+            } else {
+                removeFromHeap(entry);
+                idealRemoved |= isIdeal(entry);
+            }
+        }
+        entries = kept;
+
+        boolean idealChanged = false;
+        for (; next < solutions.size(); next++) {
+            Entry<S> entry = new Entry<>(solutions.get(next), objectives_, nextSequence++);
+            for (int i = 0; i < objectives_; i++) {
+                if (entry.objectives[i] < ideal[i]) {
+                    idealChanged = true;
                 }
             }
-            getSolutionList().remove(index);
+            entries.add(entry);
+            if (!idealChanged) {
+                entry.distance = roundedDistance(entry);
+                addToHeap(entry);
+            }
+        }
+        if (idealRemoved || idealChanged) {
+            updateIdeal();
+        }
+    }
+
+    private boolean isIdeal(Entry<S> entry) {
+        for (int i = 0; i < objectives_; i++) {
+            if (entry.objectives[i] <= ideal[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Recomputes the ideal point, all the distances and the heap.
+     */
+    private void updateIdeal() {
+        Arrays.fill(ideal, Double.POSITIVE_INFINITY);
+        for (Entry<S> entry : entries) {
+            for (int i = 0; i < objectives_; i++) {
+                if (entry.objectives[i] <= ideal[i]) {
+                    ideal[i] = entry.objectives[i];
+                }
+            }
+        }
+        if (heap.length < entries.size()) {
+            heap = Arrays.copyOf(heap, entries.size());
+        }
+        heapSize = 0;
+        for (Entry<S> entry : entries) {
+            entry.distance = roundedDistance(entry);
+            entry.heapIndex = heapSize;
+            heap[heapSize++] = entry;
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * @return the Euclidean distance to the ideal point, computed as by
+     * {@link EuclideanDistanceBetweenSolutionsInObjectiveSpace} and rounded
+     * up to 5 decimal places
+     */
+    private double roundedDistance(Entry<S> entry) {
+        double sum = 0.0;
+        for (int i = 0; i < objectives_; i++) {
+            double difference = ideal[i] - entry.objectives[i];
+            sum += difference * difference;
+        }
+        double distance = Math.sqrt(sum);
+        // The ceiling of the rounded product is that of the exact one,
+        // unless the product was rounded to an integer
+        double scaled = distance * ROUNDING_SCALE;
+        if (scaled == Math.rint(scaled)) {
+            return new BigDecimal(distance).setScale(5, BigDecimal.ROUND_UP).doubleValue();
+        }
+        return Math.ceil(scaled) / ROUNDING_SCALE;
+    }
+
+    private void addToHeap(Entry<S> entry) {
+        if (heapSize == heap.length) {
+            heap = Arrays.copyOf(heap, heapSize * 2);
+        }
+        entry.heapIndex = heapSize;
+        heap[heapSize++] = entry;
+        siftUp(entry.heapIndex);
+    }
+
+    private void removeFromHeap(Entry<S> entry) {
+        int index = entry.heapIndex;
+        Entry<S> last = heap[--heapSize];
+        heap[heapSize] = null;
+        if (index < heapSize) {
+            heap[index] = last;
+            last.heapIndex = index;
+            siftDown(index);
+            siftUp(last.heapIndex);
+        }
+    }
+
+    private void siftUp(int index) {
+        Entry<S> entry = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isFarther(entry, heap[parent])) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].heapIndex = index;
+            index = parent;
+        }
+        heap[index] = entry;
+        entry.heapIndex = index;
+    }
+
+    private void siftDown(int index) {
+        Entry<S> entry = heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && isFarther(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!isFarther(heap[child], entry)) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].heapIndex = index;
+            index = child;
         }
+        heap[index] = entry;
+        entry.heapIndex = index;
+    }
+
+    /**
+     * @return true if entry1 is removed before entry2
+     */
+    private static boolean isFarther(Entry<?> entry1, Entry<?> entry2) {
+        if (entry1.distance != entry2.distance) {
+            return entry1.distance > entry2.distance;
+        }
+        return entry1.sequence > entry2.sequence;
     }
 
     public ArrayList<List<S>> getIdealSolutions(List<S> front, boolean prox_ideal) {
@@ -114,4 +296,23 @@ public class IdealArchive<S extends Solution<?>> extends AbstractBoundedArchive<
     public void computeDensityEstimator() {
 
     }
+
+    private static class Entry<S extends Solution<?>> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final S solution;
+        final double[] objectives;
+        final long sequence;
+        double distance;
+        int heapIndex;
+
+        Entry(S solution, int numberOfObjectives, long sequence) {
+            this.solution = solution;
+            this.sequence = sequence;
+            objectives = new double[numberOfObjectives];
+            for (int i = 0; i < numberOfObjectives; i++) {
+                objectives[i] = solution.getObjective(i);
+            }
+        }
+    }
 } // IdealArchive
@@ -0,0 +1,282 @@
+package net.rodrigoamaral.jmetal.util.archive.impl;
+
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.archive.BoundedArchive;
+import org.uma.jmetal.util.archive.impl.CrowdingDistanceArchive;
+import org.uma.jmetal.util.comparator.CrowdingDistanceComparator;
+import org.uma.jmetal.util.comparator.DominanceComparator;
+import org.uma.jmetal.util.comparator.EqualSolutionsComparator;
+import org.uma.jmetal.util.solutionattribute.impl.CrowdingDistance;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Crowding distance archive that keeps the crowding distances up to date
+ * as solutions are added and removed, a drop-in replacement for
+ * {@link CrowdingDistanceArchive}.
+ *
+ * The archive keeps its solutions sorted by each objective. When a
+ * solution is inserted or removed, only the contributions of its
+ * neighbours in each order are recomputed, and those of a whole order only
+ * if its minimum or maximum changes. Pruning removes the solution with the
+ * smallest distance found by a linear scan, and
+ * {@link #computeDensityEstimator()} just copies the distances to the
+ * solutions, instead of sorting the archive once per objective.
+ *
+ * Ties in each objective are broken as by the stable sorts of
+ * {@link CrowdingDistance}, that is, by the previous objectives in reverse
+ * order and then by insertion order, and distances are added up in the
+ * same order, so crowding distances, pruned solutions and
+ * {@link #getSolutionList()} are exactly those of
+ * {@link CrowdingDistanceArchive}. Crowding distances are also written to
+ * the solutions at the same points, when pruning and by
+ * {@link #computeDensityEstimator()}.
+ *
+ * @param <S>
+ */
+public class IncrementalCrowdingDistanceArchive<S extends Solution<?>> implements BoundedArchive<S> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int maxSize;
+    private final Comparator<S> dominanceComparator = new DominanceComparator<>();
+    private final Comparator<S> equalSolutionsComparator = new EqualSolutionsComparator<>();
+    private final Comparator<S> crowdingDistanceComparator = new CrowdingDistanceComparator<>();
+    private final CrowdingDistance<S> crowdingDistance = new CrowdingDistance<>();
+
+    // Archived solutions in insertion order, and their entries
+    private final List<S> solutionList = new ArrayList<>();
+    private final List<Entry<S>> entries = new ArrayList<>();
+    // Entries sorted by each objective
+    private List<List<Entry<S>>> orders;
+    private List<Comparator<Entry<S>>> orderComparators;
+    private long nextSequence;
+
+    public IncrementalCrowdingDistanceArchive(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public boolean add(S solution) {
+        int i = 0;
+        while (i < solutionList.size()) {
+            S archived = solutionList.get(i);
+            int flag = dominanceComparator.compare(solution, archived);
+            if (flag == -1) {
+                remove(i);
+            } else if (flag == 1 || (flag == 0 && equalSolutionsComparator.compare(solution, archived) == 0)) {
+                return false;
+            } else {
+                i++;
+            }
+        }
+        insert(solution);
+        prune();
+        return true;
+    }
+
+    private void prune() {
+        if (solutionList.size() > maxSize) {
+            computeDensityEstimator();
+            remove(findWorst());
+        }
+    }
+
+    /**
+     * @return index of the first solution with the smallest crowding
+     * distance, as selected by SolutionListUtils.findWorstSolution
+     */
+    private int findWorst() {
+        int worst = 0;
+        for (int i = 1; i < entries.size(); i++) {
+            if (entries.get(worst).distance > entries.get(i).distance) {
+                worst = i;
+            }
+        }
+        return worst;
+    }
+
+    private void insert(S solution) {
+        Entry<S> entry = new Entry<>(solution, nextSequence++);
+        if (orders == null) {
+            createOrders(entry.objectives.length);
+        }
+        solutionList.add(solution);
+        entries.add(entry);
+        for (int objective = 0; objective < orders.size(); objective++) {
+            List<Entry<S>> order = orders.get(objective);
+            int position = -Collections.binarySearch(order, entry, orderComparators.get(objective)) - 1;
+            order.add(position, entry);
+            if (position == 0 || position == order.size() - 1) {
+                updateContributions(objective, 0, order.size() - 1);
+            } else {
+                updateContributions(objective, position - 1, position + 1);
+            }
+        }
+        updateDistances();
+    }
+
+    private void remove(int index) {
+        solutionList.remove(index);
+        Entry<S> entry = entries.remove(index);
+        for (int objective = 0; objective < orders.size(); objective++) {
+            List<Entry<S>> order = orders.get(objective);
+            int position = Collections.binarySearch(order, entry, orderComparators.get(objective));
+            order.remove(position);
+            if (position == 0 || position == order.size()) {
+                updateContributions(objective, 0, order.size() - 1);
+            } else {
+                updateContributions(objective, position - 1, position);
+            }
+        }
+        updateDistances();
+    }
+
+    private void createOrders(int numberOfObjectives) {
+        orders = new ArrayList<>(numberOfObjectives);
+        orderComparators = new ArrayList<>(numberOfObjectives);
+        for (int objective = 0; objective < numberOfObjectives; objective++) {
+            orders.add(new ArrayList<Entry<S>>());
+            orderComparators.add(new OrderComparator<S>(objective));
+        }
+    }
+
+    /**
+     * Recomputes the contributions to the crowding distance of the entries
+     * between two positions of the order of an objective.
+     */
+    private void updateContributions(int objective, int from, int to) {
+        List<Entry<S>> order = orders.get(objective);
+        int last = order.size() - 1;
+        if (last < 0) {
+            return;
+        }
+        double range = order.get(last).objectives[objective] - order.get(0).objectives[objective];
+        for (int position = Math.max(from, 0); position <= Math.min(to, last); position++) {
+            Entry<S> entry = order.get(position);
+            if (position == 0 || position == last) {
+                entry.boundary[objective] = true;
+            } else {
+                entry.boundary[objective] = false;
+                double distance = order.get(position + 1).objectives[objective]
+                        - order.get(position - 1).objectives[objective];
+                entry.contributions[objective] = distance / range;
+            }
+            entry.changed = true;
+        }
+    }
+
+    /**
+     * Adds up the contributions of the changed entries in objective order,
+     * the boundaries of an objective getting an infinite distance.
+     */
+    private void updateDistances() {
+        boolean allBoundaries = entries.size() <= 2;
+        for (Entry<S> entry : entries) {
+            if (allBoundaries) {
+                entry.distance = Double.POSITIVE_INFINITY;
+            } else if (entry.changed) {
+                double distance = 0.0;
+                for (int objective = 0; objective < entry.contributions.length; objective++) {
+                    distance = entry.boundary[objective]
+                            ? Double.POSITIVE_INFINITY
+                            : entry.contributions[objective] + distance;
+                }
+                entry.distance = distance;
+            }
+            entry.changed = false;
+        }
+    }
+
+    /**
+     * Writes the crowding distances to the archived solutions.
+     */
+    @Override
+    public void computeDensityEstimator() {
+        for (Entry<S> entry : entries) {
+            crowdingDistance.setAttribute(entry.solution, entry.distance);
+        }
+    }
+
+    /**
+     * @return the archived solutions in insertion order. The list is
+     * reused by the archive and must not be modified.
+     */
+    @Override
+    public List<S> getSolutionList() {
+        return solutionList;
+    }
+
+    @Override
+    public int size() {
+        return solutionList.size();
+    }
+
+    @Override
+    public S get(int index) {
+        return solutionList.get(index);
+    }
+
+    @Override
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    @Override
+    public Comparator<S> getComparator() {
+        return crowdingDistanceComparator;
+    }
+
+    private static class Entry<S extends Solution<?>> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final S solution;
+        final long sequence;
+        final double[] objectives;
+        final double[] contributions;
+        final boolean[] boundary;
+        double distance;
+        boolean changed;
+
+        Entry(S solution, long sequence) {
+            this.solution = solution;
+            this.sequence = sequence;
+            objectives = new double[solution.getNumberOfObjectives()];
+            for (int i = 0; i < objectives.length; i++) {
+                objectives[i] = solution.getObjective(i);
+            }
+            contributions = new double[objectives.length];
+            boundary = new boolean[objectives.length];
+        }
+    }
+
+    /**
+     * Orders entries by an objective, then by the previous objectives from
+     * the last to the first and then by insertion, as successive stable
+     * sorts by ObjectiveComparator do.
+     */
+    private static class OrderComparator<S extends Solution<?>> implements Comparator<Entry<S>>, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final int objective;
+
+        OrderComparator(int objective) {
+            this.objective = objective;
+        }
+
+        @Override
+        public int compare(Entry<S> entry1, Entry<S> entry2) {
+            for (int i = objective; i >= 0; i--) {
+                int result = Double.compare(entry1.objectives[i], entry2.objectives[i]);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return Long.compare(entry1.sequence, entry2.sequence);
+        }
+    }
+}
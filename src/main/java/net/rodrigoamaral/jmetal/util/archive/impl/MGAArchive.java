@@ -3,10 +3,15 @@ package net.rodrigoamaral.jmetal.util.archive.impl;
 import org.uma.jmetal.solution.Solution;
 import org.uma.jmetal.util.archive.impl.AbstractBoundedArchive;
 import org.uma.jmetal.util.comparator.DominanceComparator;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Implements a Multi-level Grid Archiver
@@ -14,114 +19,163 @@ import java.util.List;
  * M. Laumanns and R. Zenklusen, “Stochastic convergence of random search methods
  * to fixed size pareto front approximations,” European Journal of Operational
  * Research, vol. 213, no. 2, pp. 414 – 421, 2011.
+ * <p>
+ * The box of a solution at level b has coordinates floor(|f_i| / 2^b).
+ * When the archive overflows, the finest level at which the box of some
+ * solution is weakly dominated by the box of another is found, and one of
+ * those solutions, chosen at random, is removed.
+ * <p>
+ * Boxes at level b + 1 contain whole boxes at level b, so the binary
+ * representation of an objective value gives its box at every level, and
+ * the finest level at which two values share a box is read from the first
+ * bit in which they differ. The box of a solution is weakly dominated by
+ * the box of another from the finest level at which they share a box in
+ * every objective where the other is worse. The archive keeps, for each
+ * solution, the finest such level over the other solutions, and updates it
+ * when solutions are added or removed instead of comparing all pairs of
+ * solutions at every level.
  *
  * @param <S>
  */
 
 public class MGAArchive<S extends Solution<?>> extends AbstractBoundedArchive<S> {
 
-    public static int DOMINATED_BY = -1;
-    public static int DOMINATES = 1;
-    public static int NON_DOMINATED = 0;
-    public static int EQUALS = 2;
+    private static final int SIGNIFICAND_WIDTH = 53;
+    // Level of a box that is weakly dominated at every level
+    private static final int ALL_LEVELS = Integer.MIN_VALUE;
 
     private int objectives_;
     private Comparator comparator;
+    private JMetalRandom randomGenerator;
 
+    // Entries of the archived solutions, in the same order
+    private List<Entry<S>> entries = new ArrayList<>();
 
     public MGAArchive(int maxSize, int numberOfObjectives) {
         super(maxSize);
         objectives_ = numberOfObjectives;
         comparator = new DominanceComparator();
+        randomGenerator = JMetalRandom.getInstance();
     }
 
-    //    TODO: Fix MGAArchive.prune()
     @Override
     public void prune() {
-        if (getSolutionList().size() > getMaxSize()) {
-            List<S> solutions = getSolutionList();
-            Collections.shuffle(solutions);
-            int b = compute_b_mga(solutions);
-            int index_removed = -1;
-            while (index_removed == -1) {
-                for (int i = solutions.size() - 1; i >= 0; i--) {
-                    Solution solution_i = solutions.get(i);
-                    double box_i[] = box_mga(solution_i, b);
-                    for (int j = solutions.size() - 1; j >= 0; j--) {
-                        if (i != j) {
-                            Solution solution_j = solutions.get(j);
-                            double box_j[] = box_mga(solution_j, b);
-                            int comparation = compareObjectiveVector(box_i, box_j);
-                            if (comparation == DOMINATED_BY || comparation == EQUALS) {
-                                index_removed = i;
-                                break;
-                            }
-                        }
-                    }
-                    if (index_removed != -1) {
-                        //System.out.println(b);
-                        break;
-                    }
+        synchronizeEntries();
+        if (entries.size() > getMaxSize()) {
+            int finestLevel = Integer.MAX_VALUE;
+            for (Entry<S> entry : entries) {
+                finestLevel = Math.min(finestLevel, entry.level);
+            }
+
+            int candidates = 0;
+            for (Entry<S> entry : entries) {
+                if (entry.level == finestLevel) {
+                    candidates++;
+                }
+            }
+            int removed = randomGenerator.nextInt(0, candidates - 1);
+            for (int k = 0; k < entries.size(); k++) {
+                if (entries.get(k).level == finestLevel && removed-- == 0) {
+                    getSolutionList().remove(k);
+                    updateLevels(Collections.singleton(entries.remove(k)));
+                    break;
                 }
-                b--;
             }
-            solutions.remove(index_removed);
         }
     }
 
-    // TODO: compute_b_mga() calculates the initial "size" of the box?
-    private int compute_b_mga(List<S> solutions) {
-        double max_value = 0;
-        for (int i = 0; i < solutions.size(); i++) {
-            Solution s = solutions.get(i);
-            for (int j = 0; j < objectives_; j++) {
-                if (Math.abs(s.getObjective(j)) > max_value) {
-                    max_value = Math.abs(s.getObjective(j));
-                }
+    /**
+     * Removes the entries of the solutions removed from the list since the
+     * last call, which only removes solutions or adds them at its end, and
+     * adds entries for the added ones.
+     */
+    private void synchronizeEntries() {
+        List<S> solutions = getSolutionList();
+        List<Entry<S>> kept = new ArrayList<>(solutions.size());
+        Set<Entry<S>> removed = Collections.newSetFromMap(new IdentityHashMap<Entry<S>, Boolean>());
+        int next = 0;
+        for (Entry<S> entry : entries) {
+            if (next < solutions.size() && solutions.get(next) == entry.solution) {
+                kept.add(entry);
+                next++;
+            } else {
+                removed.add(entry);
             }
         }
-        return (int) Math.floor(log2(max_value)) + 1;
+        entries = kept;
+        if (!removed.isEmpty()) {
+            updateLevels(removed);
+        }
+        for (; next < solutions.size(); next++) {
+            addEntry(new Entry<>(solutions.get(next), objectives_));
+        }
     }
 
-    private double[] box_mga(Solution solution, int b) {
-        double[] box = new double[objectives_];
-        for (int i = 0; i < objectives_; i++) {
-            double z = Math.abs(solution.getObjective(i));
-            box[i] = (int) Math.floor(z / Math.pow(2.0, b) + 0.5);
+    private void addEntry(Entry<S> added) {
+        for (Entry<S> entry : entries) {
+            int level = boxDominatedLevel(entry, added);
+            if (level < entry.level) {
+                entry.level = level;
+                entry.dominating = added;
+            }
+            level = boxDominatedLevel(added, entry);
+            if (level < added.level) {
+                added.level = level;
+                added.dominating = entry;
+            }
         }
-        return box;
+        entries.add(added);
     }
 
-    private int compareObjectiveVector(double[] sol1, double[] sol2) {
-        int cont = 0;
-        int cont2 = sol1.length;
-        for (int i = 0; i < sol1.length; i++) {
-
-            double sol1_i = sol1[i];
-            double sol2_i = sol2[i];
-
-            if (sol1_i * -1 > sol2_i * -1) {
-                ++cont;
-            } else {
-                if (sol1_i == sol2_i) {
-                    --cont2;
+    /**
+     * Recomputes the levels that were given by removed entries.
+     */
+    private void updateLevels(Set<Entry<S>> removed) {
+        for (Entry<S> entry : entries) {
+            if (removed.contains(entry.dominating)) {
+                entry.level = Integer.MAX_VALUE;
+                entry.dominating = null;
+                for (Entry<S> other : entries) {
+                    if (other != entry) {
+                        int level = boxDominatedLevel(entry, other);
+                        if (level < entry.level) {
+                            entry.level = level;
+                            entry.dominating = other;
+                        }
+                    }
                 }
             }
         }
-        if (cont == 0) {
-            if (cont2 == 0)
-                return EQUALS;
-            else
-                return DOMINATED_BY;
-        } else {
-            if (cont > 0 && cont < cont2)
-                return NON_DOMINATED;
-            else return DOMINATES;
+    }
+
+    /**
+     * @return the finest level from which the box of a solution is weakly
+     * dominated by the box of another
+     */
+    private int boxDominatedLevel(Entry<S> entry, Entry<S> other) {
+        int level = ALL_LEVELS;
+        for (int i = 0; i < objectives_; i++) {
+            if (other.values[i] > entry.values[i]) {
+                level = Math.max(level, sharedBoxLevel(entry.values[i], other.values[i]));
+            }
         }
+        return level;
     }
 
-    public static double log2(double num) {
-        return Math.log10(num) / Math.log10(2);
+    /**
+     * @return the finest level at which two values, with 0 <= value1 < value2,
+     * are in the same box
+     */
+    private static int sharedBoxLevel(double value1, double value2) {
+        int exponent = Math.getExponent(value2);
+        if (Math.getExponent(value1) != exponent) {
+            // 2^exponent lies between them
+            return exponent + 1;
+        }
+        // With the same exponent, boxes are the significands shifted right
+        long difference = Double.doubleToRawLongBits(value1) ^ Double.doubleToRawLongBits(value2);
+        return Math.max(exponent, Double.MIN_EXPONENT) - (SIGNIFICAND_WIDTH - 1)
+                + Long.SIZE - Long.numberOfLeadingZeros(difference);
     }
 
     @Override
@@ -133,4 +187,24 @@ public class MGAArchive<S extends Solution<?>> extends AbstractBoundedArchive<S>
     public void computeDensityEstimator() {
 
     }
+
+    private static class Entry<S extends Solution<?>> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final S solution;
+        // Absolute objective values
+        final double[] values;
+        // Finest level at which the box of the solution is weakly dominated,
+        // and an entry whose box dominates it from that level
+        int level = Integer.MAX_VALUE;
+        Entry<S> dominating;
+
+        Entry(S solution, int numberOfObjectives) {
+            this.solution = solution;
+            values = new double[numberOfObjectives];
+            for (int i = 0; i < numberOfObjectives; i++) {
+                values[i] = Math.abs(solution.getObjective(i));
+            }
+        }
+    }
 }
@@ -0,0 +1,334 @@
+package net.rodrigoamaral.jmetal.util.archive.impl;
+
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.archive.Archive;
+import org.uma.jmetal.util.archive.impl.NonDominatedSolutionListArchive;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Unbounded archive of non-dominated solutions indexed by an ND-tree
+ * (Jaszkiewicz and Lust, 2018), a drop-in replacement for
+ * {@link NonDominatedSolutionListArchive}.
+ *
+ * Each node of the tree keeps the ideal and nadir points of the solutions
+ * below it, so a new solution is only compared with the solutions of
+ * leaves whose bounding box may contain a solution that dominates it or is
+ * dominated by it. Whole subtrees are accepted, rejected or removed from
+ * their bounds alone. Leaves hold up to maxLeafSize solutions and are
+ * split into numberOfObjectives + 1 children when they overflow. Bounds
+ * are not shrunk when solutions are removed, which keeps them valid.
+ *
+ * As in {@link NonDominatedSolutionListArchive}, solutions dominated by or
+ * with the same objectives as an archived one are rejected, and
+ * {@link #getSolutionList()} lists the archived solutions in insertion
+ * order. Constraint violation is not taken into account.
+ *
+ * @param <S>
+ */
+public class NDTreeArchive<S extends Solution<?>> implements Archive<S> {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_MAX_LEAF_SIZE = 20;
+
+    private final int maxLeafSize;
+    private Node<S> root;
+
+    // Archived solutions in insertion order, including removed ones until
+    // the next compaction
+    private List<Entry<S>> entries = new ArrayList<>();
+    private int removedEntries;
+    private final List<S> solutionList = new ArrayList<>();
+    private boolean solutionListValid = true;
+
+    public NDTreeArchive() {
+        this(DEFAULT_MAX_LEAF_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param maxLeafSize maximum number of solutions of a leaf
+     */
+    public NDTreeArchive(int maxLeafSize) {
+        if (maxLeafSize < 1) {
+            throw new IllegalArgumentException("Maximum leaf size must be positive: " + maxLeafSize);
+        }
+        this.maxLeafSize = maxLeafSize;
+    }
+
+    @Override
+    public boolean add(S solution) {
+        double[] point = new double[solution.getNumberOfObjectives()];
+        for (int i = 0; i < point.length; i++) {
+            point[i] = solution.getObjective(i);
+        }
+
+        int removedBefore = removedEntries;
+        if (root != null) {
+            if (update(root, point)) {
+                return false;
+            }
+            if (root.isEmpty()) {
+                root = null;
+            }
+        }
+
+        Entry<S> entry = new Entry<>(solution, point);
+        if (root == null) {
+            root = new Node<>(point);
+        }
+        insert(root, entry);
+        entries.add(entry);
+
+        if (removedEntries != removedBefore) {
+            solutionListValid = false;
+        } else if (solutionListValid) {
+            solutionList.add(solution);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the solutions of a node dominated by a point.
+     *
+     * @return true if some solution of the node weakly dominates the point
+     */
+    private boolean update(Node<S> node, double[] point) {
+        if (weaklyDominates(node.nadir, point)) {
+            return true;
+        }
+        if (weaklyDominates(point, node.ideal) && !weaklyDominates(node.ideal, point)) {
+            // No solution can be equal to the point, so all are dominated
+            removeAll(node);
+            return false;
+        }
+        if (!weaklyDominates(node.ideal, point) && !weaklyDominates(point, node.nadir)) {
+            return false;
+        }
+        if (node.isLeaf()) {
+            Iterator<Entry<S>> iterator = node.points.iterator();
+            while (iterator.hasNext()) {
+                Entry<S> entry = iterator.next();
+                if (weaklyDominates(entry.point, point)) {
+                    return true;
+                }
+                if (weaklyDominates(point, entry.point)) {
+                    remove(entry);
+                    iterator.remove();
+                }
+            }
+        } else {
+            Iterator<Node<S>> iterator = node.children.iterator();
+            while (iterator.hasNext()) {
+                Node<S> child = iterator.next();
+                if (update(child, point)) {
+                    return true;
+                }
+                if (child.isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+        return false;
+    }
+
+    private void removeAll(Node<S> node) {
+        if (node.isLeaf()) {
+            for (Entry<S> entry : node.points) {
+                remove(entry);
+            }
+            node.points.clear();
+        } else {
+            for (Node<S> child : node.children) {
+                removeAll(child);
+            }
+            node.children.clear();
+        }
+    }
+
+    private void remove(Entry<S> entry) {
+        entry.removed = true;
+        removedEntries++;
+    }
+
+    private void insert(Node<S> node, Entry<S> entry) {
+        node.include(entry.point);
+        if (node.isLeaf()) {
+            node.points.add(entry);
+            if (node.points.size() > maxLeafSize) {
+                split(node);
+            }
+        } else {
+            insert(closestChild(node.children, entry.point), entry);
+        }
+    }
+
+    /**
+     * Turns an overflowing leaf into an internal node. The solutions
+     * farthest from the others become the first solution of each child,
+     * and the remaining ones go to the child with the closest middle point.
+     */
+    private void split(Node<S> node) {
+        List<Entry<S>> remaining = node.points;
+        int numberOfChildren = Math.min(remaining.get(0).point.length + 1, remaining.size());
+        List<Node<S>> children = new ArrayList<>(numberOfChildren);
+        List<Entry<S>> seeds = new ArrayList<>(numberOfChildren);
+
+        seeds.add(remaining.remove(farthest(remaining, remaining)));
+        while (seeds.size() < numberOfChildren) {
+            seeds.add(remaining.remove(farthest(remaining, seeds)));
+        }
+        for (Entry<S> seed : seeds) {
+            Node<S> child = new Node<>(seed.point);
+            child.points.add(seed);
+            children.add(child);
+        }
+        for (Entry<S> entry : remaining) {
+            Node<S> child = closestChild(children, entry.point);
+            child.include(entry.point);
+            child.points.add(entry);
+        }
+
+        node.points = null;
+        node.children = children;
+    }
+
+    /**
+     * @return index of the candidate with the greatest sum of distances to
+     * the reference solutions
+     */
+    private int farthest(List<Entry<S>> candidates, List<Entry<S>> references) {
+        int farthest = 0;
+        double greatestDistance = -1;
+        for (int i = 0; i < candidates.size(); i++) {
+            double distance = 0;
+            for (Entry<S> reference : references) {
+                distance += Math.sqrt(squaredDistance(candidates.get(i).point, reference.point));
+            }
+            if (distance > greatestDistance) {
+                greatestDistance = distance;
+                farthest = i;
+            }
+        }
+        return farthest;
+    }
+
+    private Node<S> closestChild(List<Node<S>> children, double[] point) {
+        Node<S> closest = null;
+        double smallestDistance = Double.POSITIVE_INFINITY;
+        for (Node<S> child : children) {
+            double distance = 0;
+            for (int i = 0; i < point.length; i++) {
+                double difference = point[i] - (child.ideal[i] + child.nadir[i]) / 2;
+                distance += difference * difference;
+            }
+            if (distance < smallestDistance) {
+                smallestDistance = distance;
+                closest = child;
+            }
+        }
+        return closest;
+    }
+
+    private static double squaredDistance(double[] a, double[] b) {
+        double distance = 0;
+        for (int i = 0; i < a.length; i++) {
+            distance += (a[i] - b[i]) * (a[i] - b[i]);
+        }
+        return distance;
+    }
+
+    /**
+     * @return true if a is not worse than b in any objective
+     */
+    private static boolean weaklyDominates(double[] a, double[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] > b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the archived solutions in insertion order. The list is
+     * reused by the archive and must not be modified.
+     */
+    @Override
+    public List<S> getSolutionList() {
+        if (!solutionListValid) {
+            List<Entry<S>> archived = new ArrayList<>(entries.size() - removedEntries);
+            solutionList.clear();
+            for (Entry<S> entry : entries) {
+                if (!entry.removed) {
+                    archived.add(entry);
+                    solutionList.add(entry.solution);
+                }
+            }
+            entries = archived;
+            removedEntries = 0;
+            solutionListValid = true;
+        }
+        return solutionList;
+    }
+
+    @Override
+    public int size() {
+        return entries.size() - removedEntries;
+    }
+
+    @Override
+    public S get(int index) {
+        return getSolutionList().get(index);
+    }
+
+    private static class Entry<S> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final S solution;
+        final double[] point;
+        boolean removed;
+
+        Entry(S solution, double[] point) {
+            this.solution = solution;
+            this.point = point;
+        }
+    }
+
+    /**
+     * Leaf, with solutions, or internal node, with children.
+     */
+    private static class Node<S> implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        final double[] ideal;
+        final double[] nadir;
+        List<Entry<S>> points = new ArrayList<>();
+        List<Node<S>> children;
+
+        Node(double[] point) {
+            ideal = point.clone();
+            nadir = point.clone();
+        }
+
+        boolean isLeaf() {
+            return points != null;
+        }
+
+        boolean isEmpty() {
+            return isLeaf() ? points.isEmpty() : children.isEmpty();
+        }
+
+        void include(double[] point) {
+            for (int i = 0; i < point.length; i++) {
+                ideal[i] = Math.min(ideal[i], point[i]);
+                nadir[i] = Math.max(nadir[i], point[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package net.rodrigoamaral.jmetal.util.evaluator.impl;
+
+import net.rodrigoamaral.jmetal.util.evaluator.SolutionListEvaluator;
+import org.uma.jmetal.problem.ConstrainedProblem;
+import org.uma.jmetal.problem.Problem;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.JMetalException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Evaluates the solutions of a list in parallel on a fixed pool of
+ * threads, which is created by the first evaluation and released by
+ * {@link #shutdown()}. Its threads are daemons, so a pool that is not shut
+ * down does not keep the application running.
+ *
+ * Unlike {@link MultithreadedSolutionListEvaluator}, the number of threads
+ * does not depend on the common fork-join pool, and no jMetal logger is
+ * configured.
+ */
+@SuppressWarnings("serial")
+public class ThreadPoolSolutionListEvaluator<S extends Solution<?>> implements SolutionListEvaluator<S> {
+
+    private final int numberOfThreads;
+    private transient ExecutorService executor;
+
+    /**
+     * @param numberOfThreads threads evaluating solutions. Zero uses all
+     *                        available processors.
+     */
+    public ThreadPoolSolutionListEvaluator(int numberOfThreads) {
+        if (numberOfThreads < 0) {
+            throw new IllegalArgumentException("Number of threads must not be negative: " + numberOfThreads);
+        }
+        this.numberOfThreads = numberOfThreads == 0 ? Runtime.getRuntime().availableProcessors() : numberOfThreads;
+    }
+
+    @Override
+    public List<S> evaluate(List<S> solutionList, Problem<S> problem) {
+        if (executor == null) {
+            executor = Executors.newFixedThreadPool(numberOfThreads, runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        List<Callable<Void>> tasks = new ArrayList<>(solutionList.size());
+        for (S solution : solutionList) {
+            tasks.add(() -> {
+                problem.evaluate(solution);
+                if (problem instanceof ConstrainedProblem) {
+                    ((ConstrainedProblem<S>) problem).evaluateConstraints(solution);
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JMetalException(e);
+        } catch (ExecutionException e) {
+            throw new JMetalException(e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+        }
+        return solutionList;
+    }
+
+    public int getNumberOfThreads() {
+        return numberOfThreads;
+    }
+
+    @Override
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+}
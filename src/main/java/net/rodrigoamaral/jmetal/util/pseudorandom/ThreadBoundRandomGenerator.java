@@ -0,0 +1,127 @@
+package net.rodrigoamaral.jmetal.util.pseudorandom;
+
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+
+/**
+ * Pseudo random generator that delegates to the generator bound to the
+ * current thread, or to a default generator if none is bound.
+ *
+ * Installed in {@link JMetalRandom}, it lets code that uses the jMetal
+ * random singleton run concurrently, each task with its own generator, so
+ * results depend on the seed of each task and not on thread scheduling.
+ *
+ * Algorithms that run concurrently with other algorithms should use
+ * {@link #install()} and {@link #uninstall(ThreadBoundRandomGenerator)},
+ * which share a single installed generator, and restore the previous
+ * binding of a thread instead of unbinding it.
+ *
+ */
+@SuppressWarnings("serial")
+public class ThreadBoundRandomGenerator implements PseudoRandomGenerator {
+
+    private final PseudoRandomGenerator defaultGenerator;
+    private final transient ThreadLocal<PseudoRandomGenerator> bound = new ThreadLocal<>();
+    // Callers of install() that have not uninstalled this generator yet
+    private int installations;
+
+    public ThreadBoundRandomGenerator(PseudoRandomGenerator defaultGenerator) {
+        this.defaultGenerator = defaultGenerator;
+    }
+
+    /**
+     * Installs a thread-bound generator in the jMetal random singleton. If
+     * one is already installed, by an enclosing algorithm, it is reused, so
+     * threads of the enclosing algorithm keep their bindings.
+     *
+     * @return the installed generator, to be passed to
+     * {@link #uninstall(ThreadBoundRandomGenerator)}
+     */
+    public static synchronized ThreadBoundRandomGenerator install() {
+        JMetalRandom random = JMetalRandom.getInstance();
+        PseudoRandomGenerator current = random.getRandomGenerator();
+        ThreadBoundRandomGenerator generator = current instanceof ThreadBoundRandomGenerator
+                ? (ThreadBoundRandomGenerator) current
+                : new ThreadBoundRandomGenerator(current);
+        generator.installations++;
+        random.setRandomGenerator(generator);
+        return generator;
+    }
+
+    /**
+     * Restores the default generator once every caller of
+     * {@link #install()} has uninstalled the generator.
+     */
+    public static synchronized void uninstall(ThreadBoundRandomGenerator generator) {
+        if (--generator.installations == 0) {
+            JMetalRandom.getInstance().setRandomGenerator(generator.defaultGenerator);
+        }
+    }
+
+    /**
+     * Makes the current thread use a generator until {@link #unbind()} or
+     * {@link #restore(PseudoRandomGenerator)}.
+     *
+     * @param generator generator to be used by the current thread
+     * @return generator bound to the current thread before, or null
+     */
+    public PseudoRandomGenerator bind(PseudoRandomGenerator generator) {
+        PseudoRandomGenerator previous = bound.get();
+        bound.set(generator);
+        return previous;
+    }
+
+    public void unbind() {
+        bound.remove();
+    }
+
+    /**
+     * @param previous generator returned by {@link #bind(PseudoRandomGenerator)}
+     */
+    public void restore(PseudoRandomGenerator previous) {
+        if (previous == null) {
+            bound.remove();
+        } else {
+            bound.set(previous);
+        }
+    }
+
+    public PseudoRandomGenerator getDefaultGenerator() {
+        return defaultGenerator;
+    }
+
+    private PseudoRandomGenerator current() {
+        PseudoRandomGenerator generator = bound.get();
+        return generator != null ? generator : defaultGenerator;
+    }
+
+    @Override
+    public int nextInt(int lowerBound, int upperBound) {
+        return current().nextInt(lowerBound, upperBound);
+    }
+
+    @Override
+    public double nextDouble(double lowerBound, double upperBound) {
+        return current().nextDouble(lowerBound, upperBound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return current().nextDouble();
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        current().setSeed(seed);
+    }
+
+    @Override
+    public long getSeed() {
+        return current().getSeed();
+    }
+
+    @Override
+    public String getName() {
+        return current().getName();
+    }
+}
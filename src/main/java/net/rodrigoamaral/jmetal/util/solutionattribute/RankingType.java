@@ -0,0 +1,31 @@
+package net.rodrigoamaral.jmetal.util.solutionattribute;
+
+import net.rodrigoamaral.jmetal.util.solutionattribute.impl.EfficientNonDominatedSortRanking;
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.solutionattribute.Ranking;
+import org.uma.jmetal.util.solutionattribute.impl.DominanceRanking;
+
+/**
+ * Non-dominated sorting algorithms used to rank NSGA-II populations. All
+ * of them give the same fronts.
+ */
+public enum RankingType {
+    // jMetal's fast non-dominated sort, O(M N²)
+    DOMINANCE,
+    // Efficient non-dominated sort with sequential search of fronts
+    ENS_SS,
+    // Efficient non-dominated sort with binary search of fronts
+    ENS_BS;
+
+    public <S extends Solution<?>> Ranking<S> newRanking() {
+        switch (this) {
+            case ENS_SS:
+                return new EfficientNonDominatedSortRanking<>(false);
+            case ENS_BS:
+                return new EfficientNonDominatedSortRanking<>(true);
+            case DOMINANCE:
+            default:
+                return new DominanceRanking<>();
+        }
+    }
+}
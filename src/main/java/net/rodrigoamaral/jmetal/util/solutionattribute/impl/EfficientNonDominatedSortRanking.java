@@ -0,0 +1,207 @@
+package net.rodrigoamaral.jmetal.util.solutionattribute.impl;
+
+import org.uma.jmetal.solution.Solution;
+import org.uma.jmetal.util.JMetalException;
+import org.uma.jmetal.util.solutionattribute.Ranking;
+import org.uma.jmetal.util.solutionattribute.impl.DominanceRanking;
+import org.uma.jmetal.util.solutionattribute.impl.GenericSolutionAttribute;
+import org.uma.jmetal.util.solutionattribute.impl.OverallConstraintViolation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ranking computed with the Efficient Non-dominated Sort (ENS) of Zhang et
+ * al. (2015), which gives the same fronts as {@link DominanceRanking}.
+ *
+ * Solutions are sorted lexicographically by their objectives, so that a
+ * solution can only be dominated by solutions before it, and are then
+ * added one at a time to the first front with no solution dominating it.
+ * That front is found by sequential search (ENS-SS) or by binary search
+ * (ENS-BS). Only comparisons between a solution and the members of the
+ * fronts it is tested against are made, instead of all N² pairs, and
+ * objectives are read into primitive arrays once.
+ *
+ * As in {@link DominanceRanking}, solutions with an overall constraint
+ * violation degree (zero or negative) are ranked first by the degree and
+ * then by dominance, each group of solutions with the same degree
+ * starting after the fronts of the less violating groups.
+ *
+ * Ranks are stored with the attribute identifier of
+ * {@link DominanceRanking}, so that comparators based on it, such as
+ * RankingAndCrowdingDistanceComparator, read them. Solutions in each
+ * subfront keep their order in the ranked list.
+ *
+ * @param <S>
+ */
+@SuppressWarnings("serial")
+public class EfficientNonDominatedSortRanking<S extends Solution<?>>
+        extends GenericSolutionAttribute<S, Integer> implements Ranking<S> {
+
+    private final boolean binarySearch;
+    private final OverallConstraintViolation<S> overallConstraintViolation = new OverallConstraintViolation<>();
+    private List<ArrayList<S>> rankedSubPopulations = new ArrayList<>();
+
+    /**
+     * Constructor.
+     *
+     * @param binarySearch true for ENS-BS, false for ENS-SS
+     */
+    public EfficientNonDominatedSortRanking(boolean binarySearch) {
+        super(DominanceRanking.class);
+        this.binarySearch = binarySearch;
+    }
+
+    @Override
+    public Ranking<S> computeRanking(List<S> solutionList) {
+        int size = solutionList.size();
+        final double[][] objectives = new double[size][];
+        final double[] violations = new double[size];
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            S solution = solutionList.get(i);
+            objectives[i] = new double[solution.getNumberOfObjectives()];
+            for (int j = 0; j < objectives[i].length; j++) {
+                objectives[i][j] = solution.getObjective(j);
+            }
+            Double violation = overallConstraintViolation.getAttribute(solution);
+            violations[i] = violation != null && violation < 0 ? violation : 0;
+            order[i] = i;
+        }
+
+        // Less violating solutions first, then lexicographic order of objectives
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer i1, Integer i2) {
+                int result = compareValues(violations[i2], violations[i1]);
+                for (int j = 0; result == 0 && j < objectives[i1].length; j++) {
+                    result = compareValues(objectives[i1][j], objectives[i2][j]);
+                }
+                return result;
+            }
+        });
+
+        // Members of each front, as indexes into the solution list
+        List<int[]> fronts = new ArrayList<>();
+        int[] frontSizes = new int[size];
+        int[] ranks = new int[size];
+        int firstFront = 0;
+        for (int k = 0; k < size; k++) {
+            int solution = order[k];
+            if (k > 0 && violations[solution] != violations[order[k - 1]]) {
+                // Every solution of the previous groups dominates this one
+                firstFront = fronts.size();
+            }
+            int rank = binarySearch
+                    ? binarySearchFront(objectives, solution, fronts, frontSizes, firstFront)
+                    : sequentialSearchFront(objectives, solution, fronts, frontSizes, firstFront);
+            if (rank == fronts.size()) {
+                fronts.add(new int[Math.min(size - k, 16)]);
+            }
+            int[] front = fronts.get(rank);
+            if (frontSizes[rank] == front.length) {
+                front = Arrays.copyOf(front, front.length * 2);
+                fronts.set(rank, front);
+            }
+            front[frontSizes[rank]++] = solution;
+            ranks[solution] = rank;
+        }
+
+        rankedSubPopulations = new ArrayList<>(fronts.size());
+        for (int rank = 0; rank < fronts.size(); rank++) {
+            rankedSubPopulations.add(new ArrayList<S>(frontSizes[rank]));
+        }
+        for (int i = 0; i < size; i++) {
+            S solution = solutionList.get(i);
+            setAttribute(solution, ranks[i]);
+            rankedSubPopulations.get(ranks[i]).add(solution);
+        }
+
+        return this;
+    }
+
+    private int sequentialSearchFront(double[][] objectives, int solution, List<int[]> fronts, int[] frontSizes,
+                                      int firstFront) {
+        int rank = firstFront;
+        while (rank < fronts.size() && isDominatedByFront(objectives, solution, fronts.get(rank), frontSizes[rank])) {
+            rank++;
+        }
+        return rank;
+    }
+
+    /**
+     * A solution dominated by some member of a front is also dominated by
+     * some member of each previous front, so the first front without
+     * dominating solutions can be found by binary search.
+     */
+    private int binarySearchFront(double[][] objectives, int solution, List<int[]> fronts, int[] frontSizes,
+                                  int firstFront) {
+        int low = firstFront;
+        int high = fronts.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (isDominatedByFront(objectives, solution, fronts.get(middle), frontSizes[middle])) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Checks the members of a front from the last added one, which are the
+     * closest to the solution in the lexicographic order.
+     */
+    private boolean isDominatedByFront(double[][] objectives, int solution, int[] front, int frontSize) {
+        for (int k = frontSize - 1; k >= 0; k--) {
+            if (dominates(objectives[front[k]], objectives[solution])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Compares with the same operators as the dominance test, unlike
+     * Double.compare, which orders -0.0 before 0.0.
+     */
+    private static int compareValues(double value1, double value2) {
+        if (value1 < value2) {
+            return -1;
+        }
+        return value1 > value2 ? 1 : 0;
+    }
+
+    /**
+     * @param first objectives of a solution that precedes second in the
+     *              lexicographic order, so its first objective is not greater
+     */
+    private static boolean dominates(double[] first, double[] second) {
+        boolean better = first[0] < second[0];
+        for (int j = 1; j < first.length; j++) {
+            if (first[j] > second[j]) {
+                return false;
+            }
+            if (first[j] < second[j]) {
+                better = true;
+            }
+        }
+        return better;
+    }
+
+    @Override
+    public List<S> getSubfront(int rank) {
+        if (rank >= rankedSubPopulations.size()) {
+            throw new JMetalException("Invalid rank: " + rank + ". Max rank = " + (rankedSubPopulations.size() - 1));
+        }
+        return rankedSubPopulations.get(rank);
+    }
+
+    @Override
+    public int getNumberOfSubfronts() {
+        return rankedSubPopulations.size();
+    }
+}
@@ -5,8 +5,20 @@ import net.rodrigoamaral.spsp.project.Project;
 import net.rodrigoamaral.spsp.project.Task;
 import net.rodrigoamaral.spsp.solution.DedicationMatrix;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 
+/**
+ *
+ * Constraint 3: No employee can be dedicated to the running tasks
+ * beyond his/her maximum dedication.
+ *
+ * The overwork of each employee is integrated over the intervals delimited
+ * by task start and finish points, so the cost depends on the number of
+ * tasks instead of the project duration.
+ *
+ */
 public class NoEmployeeOverworkConstraint implements IConstraint {
     @Override
     public boolean isViolated(Project project, DedicationMatrix s) {
@@ -16,25 +28,55 @@ public class NoEmployeeOverworkConstraint implements IConstraint {
     @Override
     public double violationDegree(Project project, DedicationMatrix s) {
         Collection<Employee> employees = project.getEmployees().values();
-        Collection<Task> tasks = project.getTasks().values();
-        double projectDuration = project.calculateDuration(s);
+        // Sets start and finish of every task for this solution
+        project.calculateDuration(s);
+        Task[] byStart = project.getTasks().values().toArray(new Task[0]);
+        Task[] byFinish = byStart.clone();
+        Arrays.sort(byStart, Comparator.comparingDouble(Task::getStart));
+        Arrays.sort(byFinish, Comparator.comparingDouble(Task::getFinish));
         double projectOverwork = 0.0;
         for (Employee e: employees) {
-            double employeeOverDedication = 0.0;
-            for (int instant = 0; instant <= projectDuration; instant++) {
-                double employeeDedication = 0.0;
-                for (Task t: tasks) {
-                    if (t.isTaskRunning(instant)) {
-                        employeeDedication += s.getDedication(e.getId(), t.getId());
-                    }
-                }
-                if (employeeDedication > e.getMaxDedication()) {
-                    employeeOverDedication += employeeDedication - e.getMaxDedication();
-                }
-            }
-            projectOverwork += employeeOverDedication;
+            projectOverwork += employeeOverwork(e, s, byStart, byFinish);
         }
         return projectOverwork;
     }
 
+    /**
+     * Sweeps the task start and finish points in chronological order,
+     * accumulating the area where the employee dedication to the running
+     * tasks exceeds his/her maximum dedication.
+     *
+     * @param e employee
+     * @param s dedication matrix
+     * @param byStart tasks sorted by start
+     * @param byFinish tasks sorted by finish
+     * @return employee overwork in dedication x time units
+     */
+    private double employeeOverwork(Employee e, DedicationMatrix s, Task[] byStart, Task[] byFinish) {
+        double overwork = 0.0;
+        double dedication = 0.0;
+        double previousInstant = 0.0;
+        int started = 0;
+        int finished = 0;
+        while (finished < byFinish.length) {
+            boolean isStart = started < byStart.length
+                    && byStart[started].getStart() <= byFinish[finished].getFinish();
+            double instant = isStart ? byStart[started].getStart() : byFinish[finished].getFinish();
+            if (dedication > e.getMaxDedication()) {
+                overwork += (dedication - e.getMaxDedication()) * (instant - previousInstant);
+            }
+            previousInstant = instant;
+            if (isStart) {
+                dedication += s.getDedication(e.getId(), byStart[started++].getId());
+            } else {
+                dedication -= s.getDedication(e.getId(), byFinish[finished++].getId());
+            }
+            if (started == finished) {
+                // No running tasks: discards accumulated rounding errors
+                dedication = 0.0;
+            }
+        }
+        return overwork;
+    }
+
 }
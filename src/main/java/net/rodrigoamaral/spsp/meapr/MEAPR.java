@@ -1,5 +1,6 @@
 package net.rodrigoamaral.spsp.meapr;
 
+import net.rodrigoamaral.jmetal.util.DoubleSolutionUtils;
 import org.uma.jmetal.algorithm.impl.AbstractParticleSwarmOptimization;
 import org.uma.jmetal.operator.MutationOperator;
 import org.uma.jmetal.problem.DoubleProblem;
@@ -49,6 +50,13 @@ public class MEAPR extends AbstractParticleSwarmOptimization<DoubleSolution, Lis
 
     private double deltaMax[];
     private double deltaMin[];
+    private double lowerBound[];
+    private double upperBound[];
+
+    // Variable buffers reused by velocity and position updates
+    private double position[];
+    private double bestPosition[];
+    private double globalBestPosition[];
 
     private SolutionListEvaluator<DoubleSolution> evaluator;
 
@@ -92,7 +100,11 @@ public class MEAPR extends AbstractParticleSwarmOptimization<DoubleSolution, Lis
             deltaMax[i] = (problem.getUpperBound(i) - problem.getLowerBound(i)) / 2.0;
             deltaMin[i] = -deltaMax[i];
         }
-
+        lowerBound = DoubleSolutionUtils.lowerBounds(problem);
+        upperBound = DoubleSolutionUtils.upperBounds(problem);
+        position = new double[problem.getNumberOfVariables()];
+        bestPosition = new double[problem.getNumberOfVariables()];
+        globalBestPosition = new double[problem.getNumberOfVariables()];
     }
 
     // TODO: what is a density estimator?
@@ -159,43 +171,48 @@ public class MEAPR extends AbstractParticleSwarmOptimization<DoubleSolution, Lis
         }
     }
 
+    /**
+     * Reads the particles, their local bests and the selected leaders in
+     * place, so no solution is copied. Constants are computed once per
+     * swarm or per particle, outside the variable loop.
+     */
     @Override
     protected void updateVelocity(List<DoubleSolution> swarm) {
-        double r1, r2, c1, c2;
-        double wmax, wmin;
-        DoubleSolution bestGlobal;
+        double inertia = inertiaWeight(iterations, maxIterations, weightMax, weightMin);
 
         for (int i = 0; i < swarm.size(); i++) {
-            DoubleSolution particle = (DoubleSolution) swarm.get(i).copy();
-            DoubleSolution bestParticle = (DoubleSolution) localBest.getAttribute(swarm.get(i)).copy();
-
-            bestGlobal = selectGlobalBest();
-
-            r1 = randomGenerator.nextDouble(r1Min, r1Max);
-            r2 = randomGenerator.nextDouble(r2Min, r2Max);
-            c1 = randomGenerator.nextDouble(c1Min, c1Max);
-            c2 = randomGenerator.nextDouble(c2Min, c2Max);
-            wmax = weightMax;
-            wmin = weightMin;
-
-            for (int var = 0; var < particle.getNumberOfVariables(); var++) {
-                speed[i][var] = velocityConstriction(constrictionCoefficient(c1, c2) * (
-                                inertiaWeight(iterations, maxIterations, wmax, wmin) * speed[i][var] +
-                                        c1 * r1 * (bestParticle.getVariableValue(var) - particle.getVariableValue(var)) +
-                                        c2 * r2 * (bestGlobal.getVariableValue(var) - particle.getVariableValue(var))),
-                        deltaMax, deltaMin, var);
+            DoubleSolution particle = swarm.get(i);
+            DoubleSolution bestParticle = localBest.getAttribute(particle);
+            DoubleSolution bestGlobal = selectGlobalBest();
+
+            double r1 = randomGenerator.nextDouble(r1Min, r1Max);
+            double r2 = randomGenerator.nextDouble(r2Min, r2Max);
+            double c1 = randomGenerator.nextDouble(c1Min, c1Max);
+            double c2 = randomGenerator.nextDouble(c2Min, c2Max);
+            double constriction = constrictionCoefficient(c1, c2);
+            double cognitive = c1 * r1;
+            double social = c2 * r2;
+
+            DoubleSolutionUtils.getVariables(particle, position);
+            DoubleSolutionUtils.getVariables(bestParticle, bestPosition);
+            DoubleSolutionUtils.getVariables(bestGlobal, globalBestPosition);
+
+            double[] velocity = speed[i];
+            for (int var = 0; var < velocity.length; var++) {
+                velocity[var] = velocityConstriction(constriction * (
+                                inertia * velocity[var] +
+                                        cognitive * (bestPosition[var] - position[var]) +
+                                        social * (globalBestPosition[var] - position[var])),
+                        var);
             }
         }
     }
 
-    private double velocityConstriction(double v, double[] deltaMax, double[] deltaMin,
-                                        int variableIndex) {
-        double result;
-
+    private double velocityConstriction(double v, int variableIndex) {
         double dmax = deltaMax[variableIndex];
         double dmin = deltaMin[variableIndex];
 
-        result = v;
+        double result = v;
 
         if (v > dmax) {
             result = dmax;
@@ -226,18 +243,21 @@ public class MEAPR extends AbstractParticleSwarmOptimization<DoubleSolution, Lis
     protected void updatePosition(List<DoubleSolution> swarm) {
         for (int i = 0; i < swarmSize; i++) {
             DoubleSolution particle = swarm.get(i);
-            for (int j = 0; j < particle.getNumberOfVariables(); j++) {
-                particle.setVariableValue(j, particle.getVariableValue(j) + speed[i][j]);
-
-                if (particle.getVariableValue(j) < problem.getLowerBound(j)) {
-                    particle.setVariableValue(j, problem.getLowerBound(j));
-                    speed[i][j] = speed[i][j] * changeVelocity1;
+            double[] velocity = speed[i];
+            DoubleSolutionUtils.getVariables(particle, position);
+            for (int j = 0; j < velocity.length; j++) {
+                position[j] += velocity[j];
+
+                if (position[j] < lowerBound[j]) {
+                    position[j] = lowerBound[j];
+                    velocity[j] = velocity[j] * changeVelocity1;
                 }
-                if (particle.getVariableValue(j) > problem.getUpperBound(j)) {
-                    particle.setVariableValue(j, problem.getUpperBound(j));
-                    speed[i][j] = speed[i][j] * changeVelocity2;
+                if (position[j] > upperBound[j]) {
+                    position[j] = upperBound[j];
+                    velocity[j] = velocity[j] * changeVelocity2;
                 }
             }
+            DoubleSolutionUtils.setVariables(particle, position);
         }
     }
 
@@ -273,21 +293,23 @@ public class MEAPR extends AbstractParticleSwarmOptimization<DoubleSolution, Lis
         return leaders.getSolutionList();
     }
 
+    /**
+     * Selects a leader by binary tournament.
+     *
+     * @return the selected leader itself, which must not be modified
+     */
     protected DoubleSolution selectGlobalBest() {
-        DoubleSolution one, two;
-        DoubleSolution bestGlobal;
-        int pos1 = randomGenerator.nextInt(0, leaders.getSolutionList().size() - 1);
-        int pos2 = randomGenerator.nextInt(0, leaders.getSolutionList().size() - 1);
-        one = leaders.getSolutionList().get(pos1);
-        two = leaders.getSolutionList().get(pos2);
+        List<DoubleSolution> leaderList = leaders.getSolutionList();
+        int pos1 = randomGenerator.nextInt(0, leaderList.size() - 1);
+        int pos2 = randomGenerator.nextInt(0, leaderList.size() - 1);
+        DoubleSolution one = leaderList.get(pos1);
+        DoubleSolution two = leaderList.get(pos2);
 
         if (leaders.getComparator().compare(one, two) < 1) {
-            bestGlobal = (DoubleSolution) one.copy();
+            return one;
         } else {
-            bestGlobal = (DoubleSolution) two.copy();
+            return two;
         }
-
-        return bestGlobal;
     }
 
     @Override
@@ -1,5 +1,6 @@
 package net.rodrigoamaral.spsp.project;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -10,7 +11,9 @@ import java.util.List;
  * @author Rodrigo Amaral
  *
  */
-public class Employee {
+public class Employee implements Serializable {
+    private static final long serialVersionUID = 1L;
+
     private int id;
     private double salary;
     private List<Integer> skills;
@@ -1,6 +1,7 @@
 package net.rodrigoamaral.spsp.project;
 
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,7 +12,9 @@ import java.util.List;
  * @author Rodrigo Amaral
  *
  */
-public class Task {
+public class Task implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private int id;
     protected double effort;
@@ -0,0 +1,47 @@
+package net.rodrigoamaral.util;
+
+/**
+ * Element-wise loops over primitive arrays used in the hot paths of the
+ * optimizers and of schedule evaluation.
+ *
+ * The scalar implementation runs everywhere. When the multi-release jar is
+ * run on Java 17 or later with the jdk.incubator.vector module,
+ * {@link ArrayKernelsFactory} returns an implementation based on the
+ * Vector API. Both give the same results, except for
+ * {@link #maskedSum(double[], boolean[], int)}, whose additions may happen
+ * in a different order.
+ *
+ */
+public interface ArrayKernels {
+
+    /**
+     * SMPSO velocity update of a particle, with each new velocity limited
+     * to [deltaMin, deltaMax]:
+     *
+     * v = constriction * (inertia * v + cognitive * (best - x) + social * (globalBest - x))
+     *
+     */
+    void updateVelocity(double[] velocity, double[] position, double[] bestPosition, double[] globalBestPosition,
+                        double[] deltaMin, double[] deltaMax,
+                        double constriction, double inertia, double cognitive, double social);
+
+    /**
+     * Moves a particle, keeping it within the bounds. When a bound is hit,
+     * the velocity is multiplied by changeVelocity1 (lower bound) or
+     * changeVelocity2 (upper bound).
+     */
+    void updatePosition(double[] position, double[] velocity, double[] lowerBound, double[] upperBound,
+                        double changeVelocity1, double changeVelocity2);
+
+    /**
+     * @return the sum of the first length values whose mask is true
+     */
+    double maskedSum(double[] values, boolean[] mask, int length);
+
+    /**
+     * Writes source[i] / divisor into target[i] for the first length
+     * positions whose mask is true. Other positions of target are not
+     * changed. Source and target may be the same array.
+     */
+    void maskedDivide(double[] source, boolean[] mask, double divisor, double[] target, int length);
+}
@@ -0,0 +1,21 @@
+package net.rodrigoamaral.util;
+
+/**
+ * Chooses the {@link ArrayKernels} implementation.
+ *
+ * This is the Java 8 version, which always uses {@link ScalarArrayKernels}.
+ * The multi-release jar built on Java 17 or later contains another version
+ * of this class (src/main/java17) that can return the Vector API kernels.
+ *
+ */
+public final class ArrayKernelsFactory {
+
+    private static final ArrayKernels INSTANCE = new ScalarArrayKernels();
+
+    private ArrayKernelsFactory() {
+    }
+
+    public static ArrayKernels getInstance() {
+        return INSTANCE;
+    }
+}
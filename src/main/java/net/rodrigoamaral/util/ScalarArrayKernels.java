@@ -0,0 +1,65 @@
+package net.rodrigoamaral.util;
+
+/**
+ * Plain loop implementation of {@link ArrayKernels}.
+ *
+ */
+public class ScalarArrayKernels implements ArrayKernels {
+
+    @Override
+    public void updateVelocity(double[] velocity, double[] position, double[] bestPosition, double[] globalBestPosition,
+                               double[] deltaMin, double[] deltaMax,
+                               double constriction, double inertia, double cognitive, double social) {
+        for (int i = 0; i < velocity.length; i++) {
+            double v = constriction * (
+                    inertia * velocity[i] +
+                            cognitive * (bestPosition[i] - position[i]) +
+                            social * (globalBestPosition[i] - position[i]));
+            double result = v;
+            if (v > deltaMax[i]) {
+                result = deltaMax[i];
+            }
+            if (v < deltaMin[i]) {
+                result = deltaMin[i];
+            }
+            velocity[i] = result;
+        }
+    }
+
+    @Override
+    public void updatePosition(double[] position, double[] velocity, double[] lowerBound, double[] upperBound,
+                               double changeVelocity1, double changeVelocity2) {
+        for (int i = 0; i < velocity.length; i++) {
+            position[i] += velocity[i];
+
+            if (position[i] < lowerBound[i]) {
+                position[i] = lowerBound[i];
+                velocity[i] = velocity[i] * changeVelocity1;
+            }
+            if (position[i] > upperBound[i]) {
+                position[i] = upperBound[i];
+                velocity[i] = velocity[i] * changeVelocity2;
+            }
+        }
+    }
+
+    @Override
+    public double maskedSum(double[] values, boolean[] mask, int length) {
+        double sum = 0;
+        for (int i = 0; i < length; i++) {
+            if (mask[i]) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public void maskedDivide(double[] source, boolean[] mask, double divisor, double[] target, int length) {
+        for (int i = 0; i < length; i++) {
+            if (mask[i]) {
+                target[i] = source[i] / divisor;
+            }
+        }
+    }
+}
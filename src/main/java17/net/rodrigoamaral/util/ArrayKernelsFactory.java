@@ -0,0 +1,36 @@
+package net.rodrigoamaral.util;
+
+/**
+ * Chooses the {@link ArrayKernels} implementation.
+ *
+ * This is the Java 17 version, packed in META-INF/versions/17 of the
+ * multi-release jar. It returns {@link VectorArrayKernels} when the
+ * jdk.incubator.vector module is loaded (run with
+ * --add-modules jdk.incubator.vector) and the preferred vector species
+ * holds more than one double, and {@link ScalarArrayKernels} otherwise.
+ * Setting the system property dspsp.vectorKernels to false forces the
+ * scalar kernels.
+ *
+ */
+public final class ArrayKernelsFactory {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final ArrayKernels INSTANCE = create();
+
+    private ArrayKernelsFactory() {
+    }
+
+    public static ArrayKernels getInstance() {
+        return INSTANCE;
+    }
+
+    private static ArrayKernels create() {
+        boolean enabled = Boolean.parseBoolean(System.getProperty("dspsp.vectorKernels", "true"));
+        if (enabled && ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()
+                && VectorArrayKernels.isAccelerated()) {
+            return new VectorArrayKernels();
+        }
+        return new ScalarArrayKernels();
+    }
+}
@@ -0,0 +1,133 @@
+package net.rodrigoamaral.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ArrayKernels} implemented with the incubating Vector API, using
+ * the preferred species of the platform (4 doubles on AVX2). The elements
+ * that do not fill a whole vector are processed by scalar loops.
+ *
+ * The operations are the same as in {@link ScalarArrayKernels} and in the
+ * same order, so results are identical, except for
+ * {@link #maskedSum(double[], boolean[], int)}, which adds each lane
+ * separately before adding the lanes.
+ *
+ */
+public class VectorArrayKernels implements ArrayKernels {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    static boolean isAccelerated() {
+        return SPECIES.length() > 1;
+    }
+
+    @Override
+    public void updateVelocity(double[] velocity, double[] position, double[] bestPosition, double[] globalBestPosition,
+                               double[] deltaMin, double[] deltaMax,
+                               double constriction, double inertia, double cognitive, double social) {
+        int i = 0;
+        int bound = SPECIES.loopBound(velocity.length);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, position, i);
+            DoubleVector v = DoubleVector.fromArray(SPECIES, velocity, i)
+                    .mul(inertia)
+                    .add(DoubleVector.fromArray(SPECIES, bestPosition, i).sub(x).mul(cognitive))
+                    .add(DoubleVector.fromArray(SPECIES, globalBestPosition, i).sub(x).mul(social))
+                    .mul(constriction);
+            DoubleVector max = DoubleVector.fromArray(SPECIES, deltaMax, i);
+            DoubleVector min = DoubleVector.fromArray(SPECIES, deltaMin, i);
+            v.blend(max, v.compare(VectorOperators.GT, max))
+                    .blend(min, v.compare(VectorOperators.LT, min))
+                    .intoArray(velocity, i);
+        }
+        for (; i < velocity.length; i++) {
+            double v = constriction * (
+                    inertia * velocity[i] +
+                            cognitive * (bestPosition[i] - position[i]) +
+                            social * (globalBestPosition[i] - position[i]));
+            double result = v;
+            if (v > deltaMax[i]) {
+                result = deltaMax[i];
+            }
+            if (v < deltaMin[i]) {
+                result = deltaMin[i];
+            }
+            velocity[i] = result;
+        }
+    }
+
+    @Override
+    public void updatePosition(double[] position, double[] velocity, double[] lowerBound, double[] upperBound,
+                               double changeVelocity1, double changeVelocity2) {
+        int i = 0;
+        int bound = SPECIES.loopBound(velocity.length);
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector v = DoubleVector.fromArray(SPECIES, velocity, i);
+            DoubleVector x = DoubleVector.fromArray(SPECIES, position, i).add(v);
+
+            DoubleVector lower = DoubleVector.fromArray(SPECIES, lowerBound, i);
+            VectorMask<Double> belowLower = x.compare(VectorOperators.LT, lower);
+            x = x.blend(lower, belowLower);
+            v = v.blend(v.mul(changeVelocity1), belowLower);
+
+            DoubleVector upper = DoubleVector.fromArray(SPECIES, upperBound, i);
+            VectorMask<Double> aboveUpper = x.compare(VectorOperators.GT, upper);
+            x = x.blend(upper, aboveUpper);
+            v = v.blend(v.mul(changeVelocity2), aboveUpper);
+
+            x.intoArray(position, i);
+            v.intoArray(velocity, i);
+        }
+        for (; i < velocity.length; i++) {
+            position[i] += velocity[i];
+
+            if (position[i] < lowerBound[i]) {
+                position[i] = lowerBound[i];
+                velocity[i] = velocity[i] * changeVelocity1;
+            }
+            if (position[i] > upperBound[i]) {
+                position[i] = upperBound[i];
+                velocity[i] = velocity[i] * changeVelocity2;
+            }
+        }
+    }
+
+    @Override
+    public double maskedSum(double[] values, boolean[] mask, int length) {
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        DoubleVector sums = DoubleVector.zero(SPECIES);
+        for (; i < bound; i += SPECIES.length()) {
+            sums = sums.add(DoubleVector.fromArray(SPECIES, values, i), VectorMask.fromArray(SPECIES, mask, i));
+        }
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            if (mask[i]) {
+                sum += values[i];
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public void maskedDivide(double[] source, boolean[] mask, double divisor, double[] target, int length) {
+        int i = 0;
+        int bound = SPECIES.loopBound(length);
+        for (; i < bound; i += SPECIES.length()) {
+            // Blends and stores whole vectors, which is faster than a
+            // masked store
+            DoubleVector.fromArray(SPECIES, target, i)
+                    .blend(DoubleVector.fromArray(SPECIES, source, i).div(divisor),
+                            VectorMask.fromArray(SPECIES, mask, i))
+                    .intoArray(target, i);
+        }
+        for (; i < length; i++) {
+            if (mask[i]) {
+                target[i] = source[i] / divisor;
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package net.rodrigoamaral;
+
+import net.rodrigoamaral.dspsp.solution.DSPSPSolution;
+import net.rodrigoamaral.jmetal.util.archive.impl.IncrementalCrowdingDistanceArchive;
+import net.rodrigoamaral.jmetal.util.archive.impl.NDTreeArchive;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.archive.Archive;
+import org.uma.jmetal.util.archive.BoundedArchive;
+import org.uma.jmetal.util.archive.impl.CrowdingDistanceArchive;
+import org.uma.jmetal.util.archive.impl.NonDominatedSolutionListArchive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the insertion time of the non-dominated archives.
+ *
+ * Usage: ArchiveBenchmarkApp [solutions] [objectives]
+ *
+ * The same random solutions are added to a
+ * {@link NonDominatedSolutionListArchive} and to an {@link NDTreeArchive}.
+ * Their objectives lie in a thin spherical shell of the positive orthant,
+ * so that the archives keep growing, as in the history of a dynamic run.
+ * Each archive is warmed up with a tenth of the solutions before being
+ * timed.
+ *
+ * The crowding distance archives, bounded to {@value #BOUNDED_SIZE}
+ * solutions, are then compared on the same solutions, computing the
+ * density estimator after every {@value #BOUNDED_SIZE} insertions, as
+ * SMPSO does once per iteration.
+ *
+ */
+public class ArchiveBenchmarkApp {
+
+    private static final int DEFAULT_SOLUTIONS = 100000;
+    private static final int DEFAULT_OBJECTIVES = 4;
+    private static final int BOUNDED_SIZE = 100;
+
+    public static void main(String[] args) {
+        int numberOfSolutions = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SOLUTIONS;
+        int numberOfObjectives = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_OBJECTIVES;
+
+        List<DoubleSolution> solutions = createSolutions(numberOfSolutions, numberOfObjectives);
+
+        System.out.println("Solutions: " + numberOfSolutions);
+        System.out.println("Objectives: " + numberOfObjectives);
+        List<DoubleSolution> warmUp = solutions.subList(0, numberOfSolutions / 10);
+        addAll(new NonDominatedSolutionListArchive<DoubleSolution>(), warmUp);
+        run("NonDominatedSolutionListArchive", new NonDominatedSolutionListArchive<DoubleSolution>(), solutions);
+        addAll(new NDTreeArchive<DoubleSolution>(), warmUp);
+        run("NDTreeArchive", new NDTreeArchive<DoubleSolution>(), solutions);
+        addAll(new CrowdingDistanceArchive<DoubleSolution>(BOUNDED_SIZE), warmUp);
+        run("CrowdingDistanceArchive", new CrowdingDistanceArchive<DoubleSolution>(BOUNDED_SIZE), solutions);
+        addAll(new IncrementalCrowdingDistanceArchive<DoubleSolution>(BOUNDED_SIZE), warmUp);
+        run("IncrementalCrowdingDistanceArchive", new IncrementalCrowdingDistanceArchive<DoubleSolution>(BOUNDED_SIZE),
+                solutions);
+    }
+
+    private static void run(String name, Archive<DoubleSolution> archive, List<DoubleSolution> solutions) {
+        long time = System.nanoTime();
+        addAll(archive, solutions);
+        time = System.nanoTime() - time;
+        System.out.println(name + ": " + time / 1000000 + " ms, " + archive.size() + " archived solutions");
+    }
+
+    private static void addAll(Archive<DoubleSolution> archive, List<DoubleSolution> solutions) {
+        int added = 0;
+        for (DoubleSolution solution : solutions) {
+            archive.add(solution);
+            if (archive instanceof BoundedArchive && ++added % BOUNDED_SIZE == 0) {
+                ((BoundedArchive<DoubleSolution>) archive).computeDensityEstimator();
+            }
+        }
+    }
+
+    private static List<DoubleSolution> createSolutions(int numberOfSolutions, int numberOfObjectives) {
+        Random random = new Random(1);
+        double[] noBounds = new double[0];
+        List<DoubleSolution> solutions = new ArrayList<>(numberOfSolutions);
+        for (int i = 0; i < numberOfSolutions; i++) {
+            double[] objectives = new double[numberOfObjectives];
+            double norm = 0;
+            for (int j = 0; j < numberOfObjectives; j++) {
+                objectives[j] = Math.abs(random.nextGaussian());
+                norm += objectives[j] * objectives[j];
+            }
+            double radius = (1 + 0.05 * random.nextDouble()) / Math.sqrt(norm);
+            for (int j = 0; j < numberOfObjectives; j++) {
+                objectives[j] *= radius;
+            }
+            solutions.add(new DSPSPSolution(noBounds, noBounds, noBounds, objectives));
+        }
+        return solutions;
+    }
+}
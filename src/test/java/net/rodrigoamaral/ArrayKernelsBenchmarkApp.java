@@ -0,0 +1,114 @@
+package net.rodrigoamaral;
+
+import net.rodrigoamaral.util.ArrayKernels;
+import net.rodrigoamaral.util.ArrayKernelsFactory;
+import net.rodrigoamaral.util.ScalarArrayKernels;
+
+import java.util.Random;
+
+/**
+ * Compares the time of the scalar array kernels with the kernels chosen by
+ * {@link ArrayKernelsFactory}.
+ *
+ * Usage: ArrayKernelsBenchmarkApp [employees] [tasks] [calls]
+ *
+ * Each kernel is called on arrays of employees x tasks elements (the
+ * length of a dedication matrix as particle position) and on rows of
+ * tasks elements (dedication normalization), after a warm-up. To measure
+ * the Vector API kernels, build on Java 17 or later and run
+ * gradle benchmarkArrayKernels -PbenchmarkArgs="15 30 1000000";
+ * otherwise both columns use the scalar kernels.
+ *
+ */
+public class ArrayKernelsBenchmarkApp {
+
+    private static final int DEFAULT_EMPLOYEES = 15;
+    private static final int DEFAULT_TASKS = 30;
+    private static final int DEFAULT_CALLS = 1000000;
+
+    private final double[] velocity;
+    private final double[] position;
+    private final double[] bestPosition;
+    private final double[] globalBestPosition;
+    private final double[] deltaMin;
+    private final double[] deltaMax;
+    private final double[] lowerBound;
+    private final double[] upperBound;
+    private final double[] row;
+    private final double[] normalizedRow;
+    private final boolean[] mask;
+
+    // Keeps the JIT compiler from discarding the sums
+    private double sink;
+
+    private ArrayKernelsBenchmarkApp(int variables, int tasks) {
+        Random random = new Random(1);
+        velocity = new double[variables];
+        position = new double[variables];
+        bestPosition = new double[variables];
+        globalBestPosition = new double[variables];
+        deltaMin = new double[variables];
+        deltaMax = new double[variables];
+        lowerBound = new double[variables];
+        upperBound = new double[variables];
+        for (int i = 0; i < variables; i++) {
+            position[i] = random.nextDouble();
+            bestPosition[i] = random.nextDouble();
+            globalBestPosition[i] = random.nextDouble();
+            upperBound[i] = 1;
+            deltaMax[i] = 0.5;
+            deltaMin[i] = -0.5;
+        }
+        row = new double[tasks];
+        normalizedRow = new double[tasks];
+        mask = new boolean[tasks];
+        for (int i = 0; i < tasks; i++) {
+            row[i] = random.nextDouble();
+            mask[i] = random.nextBoolean();
+        }
+    }
+
+    public static void main(String[] args) {
+        int employees = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_EMPLOYEES;
+        int tasks = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_TASKS;
+        int calls = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_CALLS;
+
+        ArrayKernelsBenchmarkApp benchmark = new ArrayKernelsBenchmarkApp(employees * tasks, tasks);
+        ArrayKernels scalar = new ScalarArrayKernels();
+        ArrayKernels selected = ArrayKernelsFactory.getInstance();
+
+        System.out.println("Kernels: " + selected.getClass().getSimpleName());
+        System.out.println("Employees x tasks: " + employees + " x " + tasks);
+        System.out.println("Nanoseconds per call (scalar / selected):");
+        for (String kernel : new String[] {"updateVelocity", "updatePosition", "maskedSum", "maskedDivide"}) {
+            benchmark.run(scalar, kernel, calls);
+            benchmark.run(selected, kernel, calls);
+            long scalarTime = benchmark.run(scalar, kernel, calls);
+            long selectedTime = benchmark.run(selected, kernel, calls);
+            System.out.println(String.format("  %-15s %8.1f / %8.1f (x%.2f)", kernel,
+                    (double) scalarTime / calls, (double) selectedTime / calls,
+                    (double) scalarTime / selectedTime));
+        }
+    }
+
+    private long run(ArrayKernels kernels, String kernel, int calls) {
+        long time = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            switch (kernel) {
+                case "updateVelocity":
+                    kernels.updateVelocity(velocity, position, bestPosition, globalBestPosition, deltaMin, deltaMax,
+                            0.9, 0.1, 1.5, 1.5);
+                    break;
+                case "updatePosition":
+                    kernels.updatePosition(position, velocity, lowerBound, upperBound, -1.0, -1.0);
+                    break;
+                case "maskedSum":
+                    sink += kernels.maskedSum(row, mask, row.length);
+                    break;
+                default:
+                    kernels.maskedDivide(row, mask, 1.5, normalizedRow, row.length);
+            }
+        }
+        return System.nanoTime() - time;
+    }
+}
@@ -0,0 +1,63 @@
+package net.rodrigoamaral;
+
+import net.rodrigoamaral.dspsp.DSPSProblem;
+import org.uma.jmetal.solution.DoubleSolution;
+
+import java.io.FileNotFoundException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports the heap allocation rate of DSPSP objective evaluation.
+ *
+ * Usage: EvaluationAllocationApp instance-file [evaluations]
+ *
+ * Random solutions are evaluated by the current thread, after a warm-up,
+ * and the bytes allocated by the thread are divided by the number of
+ * evaluations. Requires a JVM whose ThreadMXBean supports thread allocated
+ * memory measurement, such as HotSpot.
+ *
+ */
+public class EvaluationAllocationApp {
+
+    private static final int DEFAULT_EVALUATIONS = 2000;
+    private static final int SOLUTIONS = 100;
+
+    public static void main(String[] args) throws FileNotFoundException {
+        if (args.length < 1) {
+            System.out.println("Usage: EvaluationAllocationApp instance-file [evaluations]");
+            System.exit(1);
+        }
+        int evaluations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_EVALUATIONS;
+
+        DSPSProblem problem = new DSPSProblem(args[0]);
+        List<DoubleSolution> solutions = new ArrayList<>(SOLUTIONS);
+        for (int i = 0; i < SOLUTIONS; i++) {
+            solutions.add(problem.createSolution());
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        evaluate(problem, solutions, evaluations);
+
+        long bytes = threads.getThreadAllocatedBytes(thread);
+        long time = System.nanoTime();
+        evaluate(problem, solutions, evaluations);
+        time = System.nanoTime() - time;
+        bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+
+        System.out.println("Instance: " + problem.getInstanceDescription());
+        System.out.println("Evaluations: " + evaluations);
+        System.out.println("Bytes per evaluation: " + bytes / evaluations);
+        System.out.println("Microseconds per evaluation: " + time / 1000 / evaluations);
+    }
+
+    private static void evaluate(DSPSProblem problem, List<DoubleSolution> solutions, int evaluations) {
+        for (int i = 0; i < evaluations; i++) {
+            problem.evaluate(solutions.get(i % solutions.size()));
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package net.rodrigoamaral;
+
+import net.rodrigoamaral.jmetal.qualityindicator.impl.hypervolume.ExactHypervolume;
+import org.uma.jmetal.qualityindicator.impl.hypervolume.PISAHypervolume;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.front.imp.ArrayFront;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Compares the time of {@link PISAHypervolume} and {@link ExactHypervolume}
+ * on random fronts.
+ *
+ * Usage: HypervolumeBenchmarkApp [points] [objectives] [fronts]
+ *
+ * The points of each front lie in a thin spherical shell of the unit
+ * hypercube, so most of them are non-dominated, and the reference point
+ * is 1.1 in every objective, as in the rewards of the rescheduling bandit.
+ * PISAHypervolume maximizes, so it is given the points subtracted from
+ * the reference point. The contribution of every point of a front is
+ * also timed.
+ *
+ */
+public class HypervolumeBenchmarkApp {
+
+    private static final int DEFAULT_POINTS = 100;
+    private static final int DEFAULT_OBJECTIVES = 4;
+    private static final int DEFAULT_FRONTS = 1000;
+    private static final double REFERENCE = 1.1;
+
+    public static void main(String[] args) {
+        int numberOfPoints = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_POINTS;
+        int numberOfObjectives = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_OBJECTIVES;
+        int numberOfFronts = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_FRONTS;
+
+        double[][][] fronts = createFronts(numberOfFronts, numberOfPoints, numberOfObjectives);
+        double[][][] invertedFronts = new double[numberOfFronts][numberOfPoints][numberOfObjectives];
+        for (int f = 0; f < numberOfFronts; f++) {
+            for (int k = 0; k < numberOfPoints; k++) {
+                for (int i = 0; i < numberOfObjectives; i++) {
+                    invertedFronts[f][k][i] = REFERENCE - fronts[f][k][i];
+                }
+            }
+        }
+        double[] referencePoint = new double[numberOfObjectives];
+        Arrays.fill(referencePoint, REFERENCE);
+        PISAHypervolume<DoubleSolution> pisa = new PISAHypervolume<>(new ArrayFront(1, numberOfObjectives));
+        ExactHypervolume exact = new ExactHypervolume(referencePoint);
+
+        System.out.println("Points: " + numberOfPoints);
+        System.out.println("Objectives: " + numberOfObjectives);
+        System.out.println("Fronts: " + numberOfFronts);
+        for (int round = 0; round < 2; round++) {
+            double pisaSum = 0;
+            long time = System.nanoTime();
+            for (int f = 0; f < numberOfFronts; f++) {
+                // calculateHypervolume reorders the points it is given
+                double[][] copy = new double[numberOfPoints][];
+                for (int k = 0; k < numberOfPoints; k++) {
+                    copy[k] = invertedFronts[f][k].clone();
+                }
+                pisaSum += pisa.calculateHypervolume(copy, numberOfPoints, numberOfObjectives);
+            }
+            long pisaTime = System.nanoTime() - time;
+
+            double exactSum = 0;
+            time = System.nanoTime();
+            for (int f = 0; f < numberOfFronts; f++) {
+                exactSum += exact.hypervolume(fronts[f], numberOfPoints);
+            }
+            long exactTime = System.nanoTime() - time;
+
+            time = System.nanoTime();
+            for (int f = 0; f < numberOfFronts; f++) {
+                for (int k = 0; k < numberOfPoints; k++) {
+                    exact.contribution(fronts[f][k], fronts[f], numberOfPoints);
+                }
+            }
+            long contributionTime = System.nanoTime() - time;
+
+            if (round > 0) {
+                System.out.println("PISAHypervolume: " + pisaTime / 1000000 + " ms, mean " + pisaSum / numberOfFronts);
+                System.out.println("ExactHypervolume: " + exactTime / 1000000 + " ms, mean " + exactSum / numberOfFronts);
+                System.out.println("ExactHypervolume, contributions of all points: " + contributionTime / 1000000 + " ms");
+            }
+        }
+    }
+
+    private static double[][][] createFronts(int numberOfFronts, int numberOfPoints, int numberOfObjectives) {
+        Random random = new Random(1);
+        double[][][] fronts = new double[numberOfFronts][numberOfPoints][numberOfObjectives];
+        for (double[][] front : fronts) {
+            for (double[] point : front) {
+                double norm = 0;
+                for (int i = 0; i < numberOfObjectives; i++) {
+                    point[i] = Math.abs(random.nextGaussian());
+                    norm += point[i] * point[i];
+                }
+                double radius = (1 - 0.05 * random.nextDouble()) / Math.sqrt(norm);
+                for (int i = 0; i < numberOfObjectives; i++) {
+                    point[i] *= radius;
+                }
+            }
+        }
+        return fronts;
+    }
+}
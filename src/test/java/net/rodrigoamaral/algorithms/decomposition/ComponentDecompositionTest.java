@@ -0,0 +1,127 @@
+package net.rodrigoamaral.algorithms.decomposition;
+
+import net.rodrigoamaral.dspsp.DSPSProblem;
+import net.rodrigoamaral.dspsp.adapters.SolutionConverter;
+import net.rodrigoamaral.dspsp.project.tasks.DynamicTask;
+import net.rodrigoamaral.jmetal.util.DoubleSolutionUtils;
+import org.junit.Before;
+import org.junit.Test;
+import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.solution.DoubleSolution;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class ComponentDecompositionTest {
+
+    // Tasks 0 -> 1 and 2 -> 3 are available, with efforts 6, 4, 8 and 5
+    private static final String INSTANCE = "src/test/java/dspsp-two-components.json";
+    private static final int EMPLOYEES = 3;
+
+    private DSPSProblem problem;
+
+    @Before
+    public void setUp() throws FileNotFoundException {
+        problem = new DSPSProblem(INSTANCE);
+    }
+
+    private static List<Integer> availableTasks(DSPSProblem subproblem) {
+        List<Integer> indices = new ArrayList<>();
+        for (DynamicTask task : subproblem.getProject().getAvailableTasks()) {
+            indices.add(task.index());
+        }
+        return indices;
+    }
+
+    /**
+     * @return schedule of a subproblem in which every employee dedicates the
+     * given value to the tasks, and whose duration is the value
+     */
+    private static DoubleSolution schedule(DSPSProblem subproblem, double dedication, List<Integer> tasks) {
+        double[] values = new double[subproblem.getNumberOfVariables()];
+        for (int e = 0; e < EMPLOYEES; e++) {
+            for (int t : tasks) {
+                values[SolutionConverter.encode(e, t)] = dedication;
+            }
+        }
+        DoubleSolution solution = subproblem.createSolution();
+        DoubleSolutionUtils.setVariables(solution, values);
+        solution.setObjective(0, dedication);
+        return solution;
+    }
+
+    @Test
+    public void testDecomposeSplitsTheAvailableTasksByComponent() {
+        List<DSPSProblem> subproblems = ComponentDecomposition.decompose(problem);
+
+        assertEquals(2, subproblems.size());
+        assertEquals(Arrays.asList(0, 1), availableTasks(subproblems.get(0)));
+        assertEquals(Arrays.asList(2, 3), availableTasks(subproblems.get(1)));
+        assertEquals(10.0 / 23, subproblems.get(0).getProject().getDedicationShare(), 1e-12);
+        assertEquals(13.0 / 23, subproblems.get(1).getProject().getDedicationShare(), 1e-12);
+
+        subproblems.get(1).evaluate(subproblems.get(1).createSolution());
+        assertEquals(1, problem.getEvaluations());
+    }
+
+    @Test
+    public void testProjectKeepsTheValuesOfTheComponentTasks() {
+        problem.setReducedDecisionSpace(true);
+        List<DSPSProblem> subproblems = ComponentDecomposition.decompose(problem);
+        DSPSProblem subproblem = subproblems.get(1);
+        DoubleSolution solution = problem.createSolution();
+
+        DoubleSolution projected = ComponentDecomposition.project(problem, subproblem, solution);
+
+        assertEquals(subproblem.getNumberOfVariables(), projected.getNumberOfVariables());
+        assertEquals(EMPLOYEES * 2, projected.getNumberOfVariables());
+        DoubleSolution expanded = problem.expand(solution);
+        DoubleSolution expandedProjection = subproblem.expand(projected);
+        for (int e = 0; e < EMPLOYEES; e++) {
+            for (int t : Arrays.asList(2, 3)) {
+                int index = SolutionConverter.encode(e, t);
+                assertEquals(expanded.getVariableValue(index), expandedProjection.getVariableValue(index), 0);
+            }
+        }
+    }
+
+    @Test
+    public void testMergeJoinsSchedulesAtTheSameRelativePosition() {
+        List<DSPSProblem> subproblems = ComponentDecomposition.decompose(problem);
+        List<Integer> first = Arrays.asList(0, 1);
+        List<Integer> second = Arrays.asList(2, 3);
+        List<DoubleSolution> firstFront = Arrays.asList(
+                schedule(subproblems.get(0), 0.3, first),
+                schedule(subproblems.get(0), 0.1, first),
+                schedule(subproblems.get(0), 0.2, first));
+        List<DoubleSolution> secondFront = Arrays.asList(
+                schedule(subproblems.get(1), 0.6, second),
+                schedule(subproblems.get(1), 0.4, second));
+        ComponentDecomposition decomposition = new ComponentDecomposition(problem, subproblems,
+                Collections.<Algorithm<List<DoubleSolution>>>emptyList(), 10, 1);
+
+        List<DoubleSolution> merged = decomposition.merge(Arrays.asList(firstFront, secondFront));
+
+        // Fronts sorted by duration, the second one stretched over the first
+        double[][] expected = {{0.1, 0.4}, {0.2, 0.4}, {0.3, 0.6}};
+        assertEquals(expected.length, merged.size());
+        for (int i = 0; i < expected.length; i++) {
+            DoubleSolution solution = merged.get(i);
+            assertEquals(problem.getNumberOfObjectives(), solution.getNumberOfObjectives());
+            for (int e = 0; e < EMPLOYEES; e++) {
+                for (int t : first) {
+                    assertEquals(expected[i][0], solution.getVariableValue(SolutionConverter.encode(e, t)), 0);
+                }
+                for (int t : second) {
+                    assertEquals(expected[i][1], solution.getVariableValue(SolutionConverter.encode(e, t)), 0);
+                }
+                assertEquals(0, solution.getVariableValue(SolutionConverter.encode(e, 4)), 0);
+            }
+        }
+    }
+}
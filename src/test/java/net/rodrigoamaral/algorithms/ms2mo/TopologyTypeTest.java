@@ -0,0 +1,34 @@
+package net.rodrigoamaral.algorithms.ms2mo;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+
+public class TopologyTypeTest {
+
+    @Test
+    public void testRingHasTwoNeighbours() {
+        assertArrayEquals(new int[] {3, 1}, TopologyType.RING.neighbours(0, 4));
+        assertArrayEquals(new int[] {2, 0}, TopologyType.RING.neighbours(3, 4));
+    }
+
+    @Test
+    public void testRingOfTwoNodesHasOneNeighbour() {
+        assertArrayEquals(new int[] {1}, TopologyType.RING.neighbours(0, 2));
+        assertArrayEquals(new int[] {0}, TopologyType.RING.neighbours(1, 2));
+    }
+
+    @Test
+    public void testStarHubSendsToAllOthers() {
+        assertArrayEquals(new int[] {1, 2, 3}, TopologyType.STAR.neighbours(0, 4));
+        assertArrayEquals(new int[] {0}, TopologyType.STAR.neighbours(2, 4));
+        assertArrayEquals(new int[] {0, 1, 3}, TopologyType.BROADCAST.neighbours(2, 4));
+    }
+
+    @Test
+    public void testSingleNodeHasNoNeighbours() {
+        for (TopologyType topology : TopologyType.values()) {
+            assertArrayEquals(new int[0], topology.neighbours(0, 1));
+        }
+    }
+}
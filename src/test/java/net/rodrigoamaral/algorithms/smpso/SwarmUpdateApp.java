@@ -0,0 +1,77 @@
+package net.rodrigoamaral.algorithms.smpso;
+
+import net.rodrigoamaral.dspsp.DSPSProblem;
+import net.rodrigoamaral.jmetal.operator.impl.mutation.SparsePolynomialMutation;
+import net.rodrigoamaral.jmetal.util.evaluator.impl.SequentialSolutionListEvaluator;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.archive.impl.CrowdingDistanceArchive;
+import org.uma.jmetal.util.pseudorandom.impl.MersenneTwisterGenerator;
+
+import java.io.FileNotFoundException;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+/**
+ * Reports the time and heap allocation of the SMPSO velocity and position
+ * updates on a DSPSP instance.
+ *
+ * Usage: SwarmUpdateApp instance-file [updates] [swarm-size]
+ *
+ * A swarm is initialized once and then moved by the current thread, after a
+ * warm-up, without evaluating the new positions, so only the update step is
+ * measured. Run it on an instance with 30 tasks and 15 employees to compare
+ * with the figures of the previous version. Requires a JVM whose
+ * ThreadMXBean supports thread allocated memory measurement, such as
+ * HotSpot.
+ *
+ */
+public class SwarmUpdateApp {
+
+    private static final int DEFAULT_UPDATES = 2000;
+    private static final int DEFAULT_SWARM_SIZE = 100;
+
+    public static void main(String[] args) throws FileNotFoundException {
+        if (args.length < 1) {
+            System.out.println("Usage: SwarmUpdateApp instance-file [updates] [swarm-size]");
+            System.exit(1);
+        }
+        int updates = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_UPDATES;
+        int swarmSize = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_SWARM_SIZE;
+
+        DSPSProblem problem = new DSPSProblem(args[0]);
+        SMPSO smpso = new SMPSOBuilder(problem, new CrowdingDistanceArchive<DoubleSolution>(swarmSize))
+                .setMutation(new SparsePolynomialMutation(1.0 / problem.getNumberOfVariables(), 20.0))
+                .setSwarmSize(swarmSize)
+                .setRandomGenerator(new MersenneTwisterGenerator())
+                .setSolutionListEvaluator(new SequentialSolutionListEvaluator<DoubleSolution>())
+                .build();
+        smpso.init();
+        List<DoubleSolution> swarm = smpso.getSwarm();
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        update(smpso, swarm, updates);
+
+        long bytes = threads.getThreadAllocatedBytes(thread);
+        long time = System.nanoTime();
+        update(smpso, swarm, updates);
+        time = System.nanoTime() - time;
+        bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+
+        System.out.println("Instance: " + problem.getInstanceDescription());
+        System.out.println("Variables: " + problem.getNumberOfVariables());
+        System.out.println("Swarm size: " + swarmSize);
+        System.out.println("Updates: " + updates);
+        System.out.println("Bytes per particle update: " + bytes / ((long) updates * swarmSize));
+        System.out.println("Microseconds per swarm update: " + time / 1000 / updates);
+    }
+
+    private static void update(SMPSO smpso, List<DoubleSolution> swarm, int updates) {
+        for (int i = 0; i < updates; i++) {
+            smpso.updateVelocity(swarm);
+            smpso.updatePosition(swarm);
+        }
+    }
+}
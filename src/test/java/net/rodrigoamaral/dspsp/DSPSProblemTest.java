@@ -0,0 +1,77 @@
+package net.rodrigoamaral.dspsp;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.pseudorandom.JMetalRandom;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+import org.uma.jmetal.util.pseudorandom.impl.JavaRandomGenerator;
+
+import java.io.FileNotFoundException;
+
+import static org.junit.Assert.assertEquals;
+
+public class DSPSProblemTest {
+
+    private static final String INSTANCE = "src/test/java/dspsp-two-components.json";
+
+    private PseudoRandomGenerator defaultGenerator;
+    private CountingGenerator countingGenerator;
+
+    /**
+     * Counts the random numbers drawn
+     */
+    @SuppressWarnings("serial")
+    private static class CountingGenerator extends JavaRandomGenerator {
+        private int draws;
+
+        @Override
+        public double nextDouble() {
+            draws++;
+            return super.nextDouble();
+        }
+
+        @Override
+        public double nextDouble(double lowerBound, double upperBound) {
+            draws++;
+            return super.nextDouble(lowerBound, upperBound);
+        }
+
+        @Override
+        public int nextInt(int lowerBound, int upperBound) {
+            draws++;
+            return super.nextInt(lowerBound, upperBound);
+        }
+    }
+
+    @Before
+    public void setUp() {
+        defaultGenerator = JMetalRandom.getInstance().getRandomGenerator();
+        countingGenerator = new CountingGenerator();
+        JMetalRandom.getInstance().setRandomGenerator(countingGenerator);
+    }
+
+    @After
+    public void tearDown() {
+        JMetalRandom.getInstance().setRandomGenerator(defaultGenerator);
+    }
+
+    @Test
+    public void testReduceAndExpandDrawNoRandomNumbers() throws FileNotFoundException {
+        DSPSProblem problem = new DSPSProblem(INSTANCE);
+        problem.setReducedDecisionSpace(true);
+        DoubleSolution solution = problem.createSolution();
+        solution.setObjective(0, 42);
+        int draws = countingGenerator.draws;
+
+        DoubleSolution reduced = problem.reduce(problem.expand(solution));
+
+        assertEquals(draws, countingGenerator.draws);
+        assertEquals(solution.getNumberOfVariables(), reduced.getNumberOfVariables());
+        for (int i = 0; i < solution.getNumberOfVariables(); i++) {
+            assertEquals(solution.getVariableValue(i), reduced.getVariableValue(i), 0);
+        }
+        assertEquals(42, reduced.getObjective(0), 0);
+    }
+}
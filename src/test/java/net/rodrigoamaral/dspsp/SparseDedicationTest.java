@@ -0,0 +1,121 @@
+package net.rodrigoamaral.dspsp;
+
+import net.rodrigoamaral.dspsp.adapters.SolutionConverter;
+import net.rodrigoamaral.dspsp.config.DynamicProjectConfigLoader;
+import net.rodrigoamaral.dspsp.constraints.AllTasksAllocatedConstraint;
+import net.rodrigoamaral.dspsp.constraints.NoEmployeeOverworkConstraint;
+import net.rodrigoamaral.dspsp.project.DynamicProject;
+import net.rodrigoamaral.dspsp.solution.DedicationMatrix;
+import org.junit.Before;
+import org.junit.Test;
+import org.uma.jmetal.solution.DoubleSolution;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Evaluates the same schedules with sparse and dense dedication matrices.
+ */
+public class SparseDedicationTest {
+
+    // Employee 1 has a maximum dedication of 0.5, so it is often overworked
+    private static final String INSTANCE = "src/test/java/dspsp-two-components.json";
+
+    private DynamicProject project;
+    private DSPSProblem problem;
+
+    @Before
+    public void setUp() throws FileNotFoundException {
+        project = new DynamicProjectConfigLoader(INSTANCE).createProject();
+        problem = new DSPSProblem(project);
+    }
+
+    /**
+     * Dedications from 0.1 to 1.2, a quarter of them zero, so that sparse
+     * rows have missing entries, some employees are overworked and most
+     * schedules are valid.
+     */
+    private static double[] schedule(Random random, int numberOfVariables) {
+        double[] values = new double[numberOfVariables];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(4) == 0 ? 0 : 0.1 + 1.1 * random.nextDouble();
+        }
+        return values;
+    }
+
+    private DedicationMatrix repair(double[] values, boolean sparse) {
+        project.setSparseDedication(sparse);
+        DedicationMatrix dm = new SolutionConverter(project).convert(problem.createSolution(values.clone()));
+        assertEquals(sparse, dm.isSparse());
+        dm = new NoEmployeeOverworkConstraint().repair(dm, project);
+        return new AllTasksAllocatedConstraint().repair(dm, project);
+    }
+
+    private double[] objectives(double[] values, double[] previousValues, boolean sparse) {
+        project.setSparseDedication(sparse);
+        project.setPreviousSchedule(problem.createSolution(previousValues.clone()));
+        DoubleSolution solution = problem.createSolution(values.clone());
+        problem.evaluate(solution);
+        double[] objectives = new double[solution.getNumberOfObjectives()];
+        for (int i = 0; i < objectives.length; i++) {
+            objectives[i] = solution.getObjective(i);
+        }
+        return objectives;
+    }
+
+    @Test
+    public void testSameNormalizedDedications() {
+        Random random = new Random(1);
+        int overworked = 0;
+        for (int trial = 0; trial < 200; trial++) {
+            double[] values = schedule(random, problem.getNumberOfVariables());
+            DedicationMatrix dense = repair(values, false);
+            DedicationMatrix sparse = repair(values, true);
+
+            for (int e = 0; e < dense.getEmployees(); e++) {
+                for (int t = 0; t < dense.getTasks(); t++) {
+                    assertEquals("trial " + trial, dense.getDedication(e, t), sparse.getDedication(e, t), 0);
+                }
+                // Sparse rows only store the nonzero dedications, in task order
+                int stored = 0;
+                for (int t = 0; t < dense.getTasks(); t++) {
+                    if (values[SolutionConverter.encode(e, t)] != 0) {
+                        assertEquals(t, sparse.getStoredTask(e, stored++));
+                    }
+                }
+                assertEquals(stored, sparse.getStoredEntries(e));
+            }
+            if (dense.getDedication(1, 0) != values[SolutionConverter.encode(1, 0)]) {
+                overworked++;
+            }
+        }
+        assertTrue(overworked > 0);
+    }
+
+    @Test
+    public void testSameObjectives() {
+        Random random = new Random(2);
+        int valid = 0;
+        for (int trial = 0; trial < 100; trial++) {
+            double[] previousValues = schedule(random, problem.getNumberOfVariables());
+            double[] values = schedule(random, problem.getNumberOfVariables());
+            double[] dense = objectives(values, previousValues, false);
+            double[] sparse = objectives(values, previousValues, true);
+
+            assertEquals(4, dense.length);
+            for (int i = 0; i < dense.length; i++) {
+                assertEquals("trial " + trial + ", objective " + i, dense[i], sparse[i], 0);
+            }
+            if (dense[0] != project.penalizeDuration(1)) {
+                valid++;
+                // Stability is compared against a different previous schedule
+                assertNotEquals(0, dense[3], 0);
+            }
+        }
+        assertTrue(valid > 50);
+    }
+}
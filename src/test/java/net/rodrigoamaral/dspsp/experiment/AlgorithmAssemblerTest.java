@@ -0,0 +1,107 @@
+package net.rodrigoamaral.dspsp.experiment;
+
+import net.rodrigoamaral.dspsp.DSPSProblem;
+import org.junit.Test;
+import org.uma.jmetal.algorithm.Algorithm;
+import org.uma.jmetal.solution.DoubleSolution;
+
+import java.io.FileNotFoundException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class AlgorithmAssemblerTest {
+
+    private static final String INSTANCE = "src/test/java/dspsp-two-components.json";
+    private static final int OBJECTIVE_EVALUATIONS = 400;
+    private static final int POPULATION_SIZE = 20;
+
+    private static ExperimentSettings settings() {
+        ExperimentSettings settings = new ExperimentSettings();
+        settings.setObjectiveEvaluations(OBJECTIVE_EVALUATIONS);
+        settings.setPopulationSize(POPULATION_SIZE);
+        settings.setNumberOfSwarms(1);
+        settings.setSwarmSize(POPULATION_SIZE);
+        settings.setNumberOfEvaluationThreads(1);
+        return settings;
+    }
+
+    private static long evaluationsOfRun(String algorithmID, ExperimentSettings settings)
+            throws FileNotFoundException {
+        return evaluationsOfRun(algorithmID, settings, 0);
+    }
+
+    /**
+     * @param delay milliseconds between assembly and run
+     */
+    private static long evaluationsOfRun(String algorithmID, ExperimentSettings settings, long delay)
+            throws FileNotFoundException {
+        DSPSProblem problem = new DSPSProblem(INSTANCE);
+        Algorithm<List<DoubleSolution>> algorithm = new AlgorithmAssembler(algorithmID, settings).assemble(problem);
+        if (delay > 0) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        algorithm.run();
+        return problem.getEvaluations();
+    }
+
+    @Test
+    public void testNSGAIIRunsWholeGenerationsOfTheBaselineBudget() throws FileNotFoundException {
+        // maxEvaluations is objectiveEvaluations / populationSize = 50, so
+        // the initial population and two generations are evaluated
+        ExperimentSettings settings = settings();
+        settings.setObjectiveEvaluations(1000);
+
+        assertEquals(60, evaluationsOfRun("NSGAII", settings));
+        assertEquals(60, evaluationsOfRun("NSGAIIDynamic", settings));
+    }
+
+    @Test
+    public void testAsynchronousAndGenerationalNSGAIIUseTheSameEvaluations() throws FileNotFoundException {
+        ExperimentSettings generational = settings();
+        generational.setObjectiveEvaluations(1000);
+        generational.setAsynchronousEvaluation(false);
+        ExperimentSettings asynchronous = settings();
+        asynchronous.setObjectiveEvaluations(1000);
+        asynchronous.setAsynchronousEvaluation(true);
+
+        assertEquals(evaluationsOfRun("NSGAIIDynamic", generational),
+                evaluationsOfRun("NSGAIIDynamic", asynchronous));
+    }
+
+    @Test
+    public void testMOEADUsesTheObjectiveEvaluations() throws FileNotFoundException {
+        assertEquals(OBJECTIVE_EVALUATIONS, evaluationsOfRun("MOEAD", settings()));
+        assertEquals(OBJECTIVE_EVALUATIONS, evaluationsOfRun("MOEADDynamic", settings()));
+    }
+
+    @Test
+    public void testDeadlineIsCountedFromTheStartOfTheRun() throws FileNotFoundException {
+        ExperimentSettings settings = settings();
+        settings.setObjectiveEvaluations(1000);
+        settings.setReschedulingDeadlineMillis(500L);
+
+        // A deadline counted from assembly would stop the run after the
+        // initial population
+        assertTrue(evaluationsOfRun("NSGAIIDynamic", settings, 600) > POPULATION_SIZE);
+        assertTrue(evaluationsOfRun("MOEADDynamic", settings, 600) > POPULATION_SIZE);
+    }
+
+    @Test
+    public void testMS2MORunsOnComponentsWithASingleIteration() throws FileNotFoundException {
+        // 4 swarms of 20 particles take 80 evaluations per iteration, and
+        // both components get less than 160 of the 200 evaluations
+        ExperimentSettings settings = settings();
+        settings.setObjectiveEvaluations(200);
+        settings.setNumberOfSwarms(4);
+        settings.setComponentDecomposition(true);
+
+        assertTrue(evaluationsOfRun("MS2MO", settings) > 0);
+        assertTrue(evaluationsOfRun("MS2MODynamic", settings) > 0);
+    }
+}
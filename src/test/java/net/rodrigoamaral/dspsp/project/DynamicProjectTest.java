@@ -0,0 +1,55 @@
+package net.rodrigoamaral.dspsp.project;
+
+import net.rodrigoamaral.dspsp.config.DynamicProjectConfigLoader;
+import net.rodrigoamaral.dspsp.project.tasks.DynamicTask;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class DynamicProjectTest {
+
+    // Tasks 0 -> 1 and 2 -> 3 are available, task 4 arrives later
+    private static final String INSTANCE = "src/test/java/dspsp-two-components.json";
+
+    private DynamicProject project;
+
+    @Before
+    public void setUp() throws FileNotFoundException {
+        project = new DynamicProjectConfigLoader(INSTANCE).createProject();
+    }
+
+    private static List<Integer> indices(List<DynamicTask> tasks) {
+        List<Integer> indices = new ArrayList<>();
+        for (DynamicTask task : tasks) {
+            indices.add(task.index());
+        }
+        return indices;
+    }
+
+    @Test
+    public void testRestrictToKeepsOnlyTheGivenAvailableTasks() {
+        DynamicProject restricted = project.restrictTo(Arrays.asList(2, 3, 4), 0.5);
+
+        assertEquals(Arrays.asList(2, 3), indices(restricted.getAvailableTasks()));
+        assertEquals(Arrays.asList(2), indices(restricted.getActiveTasks()));
+        assertEquals(Arrays.asList(0, 1, 2, 3), indices(project.getAvailableTasks()));
+    }
+
+    @Test
+    public void testRestrictToScalesTheMaximumDedication() {
+        DynamicProject restricted = project.restrictTo(Arrays.asList(0, 1), 0.25);
+
+        assertEquals(0.25, restricted.getDedicationShare(), 0);
+        assertEquals(1.0, project.getDedicationShare(), 0);
+        for (int e = 0; e < project.getEmployees().size(); e++) {
+            double maxDedication = project.getEmployees().get(e).getMaxDedication();
+            assertEquals(maxDedication * 0.25, restricted.getEmployees().get(e).getMaxDedication(), 1e-12);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package net.rodrigoamaral.dspsp.project;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class DynamicTaskPrecedenceGraphTest {
+
+    @Test
+    public void testConnectedComponentsFollowPrecedencesInBothDirections() {
+        DynamicTaskPrecedenceGraph graph = new DynamicTaskPrecedenceGraph(6);
+        graph.addEdge(0, 3);
+        graph.addEdge(5, 3);
+        graph.addEdge(4, 1);
+
+        List<List<Integer>> components = graph.getConnectedComponents();
+
+        assertEquals(Arrays.asList(
+                Arrays.asList(0, 3, 5),
+                Arrays.asList(1, 4),
+                Collections.singletonList(2)), components);
+    }
+
+    @Test
+    public void testGraphWithoutPrecedencesHasOneComponentPerTask() {
+        DynamicTaskPrecedenceGraph graph = new DynamicTaskPrecedenceGraph(3);
+
+        assertEquals(3, graph.getConnectedComponents().size());
+    }
+}
@@ -0,0 +1,67 @@
+package net.rodrigoamaral.jmetal.operator.impl.mutation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.uma.jmetal.util.pseudorandom.PseudoRandomGenerator;
+import org.uma.jmetal.util.pseudorandom.impl.JavaRandomGenerator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SkipSamplerTest {
+
+    private static final int LENGTH = 50;
+    private static final int TRIALS = 200000;
+
+    private PseudoRandomGenerator random;
+
+    @Before
+    public void setUp() {
+        random = new JavaRandomGenerator(1234);
+    }
+
+    @Test
+    public void testGenesAreSelectedIndependentlyWithTheProbability() {
+        double probability = 1.0 / LENGTH;
+        SkipSampler sampler = new SkipSampler(probability);
+        int[] selected = new int[LENGTH];
+        int noneSelected = 0;
+        for (int trial = 0; trial < TRIALS; trial++) {
+            int i = sampler.next(random, 0, LENGTH);
+            if (i == LENGTH) {
+                noneSelected++;
+            }
+            for (; i < LENGTH; i = sampler.next(random, i + 1, LENGTH)) {
+                selected[i]++;
+            }
+        }
+
+        // Within five standard deviations of the Bernoulli trials per gene
+        double expected = TRIALS * probability;
+        double tolerance = 5 * Math.sqrt(TRIALS * probability * (1 - probability));
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals("gene " + i, expected, selected[i], tolerance);
+        }
+        double none = Math.pow(1 - probability, LENGTH);
+        assertEquals(TRIALS * none, noneSelected, 5 * Math.sqrt(TRIALS * none * (1 - none)));
+    }
+
+    @Test
+    public void testCertainAndImpossibleSelection() {
+        SkipSampler all = new SkipSampler(1.0);
+        for (int i = 0; i < LENGTH; i++) {
+            assertEquals(i, all.next(random, i, LENGTH));
+        }
+        assertEquals(LENGTH, new SkipSampler(0.0).next(random, 0, LENGTH));
+    }
+
+    @Test
+    public void testSelectionStaysWithinTheGenes() {
+        SkipSampler sampler = new SkipSampler(0.3);
+        for (int trial = 0; trial < 1000; trial++) {
+            int position = trial % LENGTH;
+            int i = sampler.next(random, position, LENGTH);
+            assertTrue(i >= position && i <= LENGTH);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package net.rodrigoamaral.jmetal.qualityindicator.impl.hypervolume;
+
+import org.junit.Test;
+import org.uma.jmetal.qualityindicator.impl.hypervolume.PISAHypervolume;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.front.imp.ArrayFront;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class ExactHypervolumeTest {
+
+    private static final double REFERENCE = 1.1;
+
+    private static double[] referencePoint(int numberOfObjectives) {
+        double[] point = new double[numberOfObjectives];
+        Arrays.fill(point, REFERENCE);
+        return point;
+    }
+
+    /**
+     * Points in the unit hypercube, mostly near a spherical front and some
+     * on a coarse grid, so that there are dominated and repeated points.
+     */
+    private static double[][] points(Random random, int size, int numberOfObjectives) {
+        double[][] points = new double[size][numberOfObjectives];
+        for (double[] point : points) {
+            if (random.nextInt(4) == 0) {
+                for (int i = 0; i < numberOfObjectives; i++) {
+                    point[i] = random.nextInt(5) / 4.0;
+                }
+            } else {
+                double norm = 0;
+                for (int i = 0; i < numberOfObjectives; i++) {
+                    point[i] = Math.abs(random.nextGaussian());
+                    norm += point[i] * point[i];
+                }
+                double radius = (1 - 0.2 * random.nextDouble()) / Math.sqrt(norm);
+                for (int i = 0; i < numberOfObjectives; i++) {
+                    point[i] *= radius;
+                }
+            }
+        }
+        return points;
+    }
+
+    /**
+     * PISAHypervolume maximizes from the origin, so it is given the points
+     * subtracted from the reference point.
+     */
+    private static double pisaHypervolume(double[][] points, int numberOfObjectives) {
+        double[][] mirrored = new double[points.length][numberOfObjectives];
+        for (int k = 0; k < points.length; k++) {
+            for (int i = 0; i < numberOfObjectives; i++) {
+                mirrored[k][i] = REFERENCE - points[k][i];
+            }
+        }
+        PISAHypervolume<DoubleSolution> pisa = new PISAHypervolume<>(new ArrayFront(1, numberOfObjectives));
+        return pisa.calculateHypervolume(mirrored, mirrored.length, numberOfObjectives);
+    }
+
+    @Test
+    public void testSameHypervolumeAsPisa() {
+        Random random = new Random(1);
+        for (int numberOfObjectives = 2; numberOfObjectives <= 5; numberOfObjectives++) {
+            ExactHypervolume hypervolume = new ExactHypervolume(referencePoint(numberOfObjectives));
+            for (int trial = 0; trial < 20; trial++) {
+                double[][] points = points(random, 1 + random.nextInt(60), numberOfObjectives);
+                double expected = pisaHypervolume(points, numberOfObjectives);
+                assertEquals(numberOfObjectives + " objectives", expected,
+                        hypervolume.hypervolume(points, points.length), 1e-12 * expected);
+            }
+        }
+    }
+
+    @Test
+    public void testContributionIsHypervolumeLostWithoutThePoint() {
+        Random random = new Random(2);
+        for (int numberOfObjectives = 2; numberOfObjectives <= 4; numberOfObjectives++) {
+            ExactHypervolume hypervolume = new ExactHypervolume(referencePoint(numberOfObjectives));
+            for (int trial = 0; trial < 10; trial++) {
+                double[][] points = points(random, 2 + random.nextInt(30), numberOfObjectives);
+                double total = hypervolume.hypervolume(points, points.length);
+                for (int k = 0; k < points.length; k++) {
+                    double[][] others = new double[points.length - 1][];
+                    for (int j = 0, n = 0; j < points.length; j++) {
+                        if (j != k) {
+                            others[n++] = points[j];
+                        }
+                    }
+                    double expected = total - hypervolume.hypervolume(others, others.length);
+                    assertEquals(expected, hypervolume.contribution(points[k], points, points.length), 1e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPointsBeyondTheReferencePointDoNotContribute() {
+        ExactHypervolume hypervolume = new ExactHypervolume(new double[] {1, 1, 1});
+        double[][] points = {{0.5, 0.5, 0.5}, {0.2, 1.5, 0.2}, {0.0, 0.0, 1.0}};
+
+        assertEquals(0.125, hypervolume.hypervolume(points, points.length), 1e-15);
+        assertEquals(0.0, hypervolume.contribution(points[1], points, points.length), 0.0);
+        assertEquals(0.0, hypervolume.hypervolume(points, 0), 0.0);
+    }
+}
@@ -0,0 +1,94 @@
+package net.rodrigoamaral.jmetal.util.archive.impl;
+
+import net.rodrigoamaral.dspsp.solution.DSPSPSolution;
+import org.junit.Test;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.solutionattribute.impl.CrowdingDistance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class ConcurrentCrowdingDistanceArchiveTest {
+
+    private static final double[] NO_BOUNDS = new double[0];
+
+    private static DoubleSolution solution(double... objectives) {
+        return new DSPSPSolution(NO_BOUNDS, NO_BOUNDS, NO_BOUNDS, objectives);
+    }
+
+    private static DoubleSolution randomSolution(Random random, int numberOfObjectives) {
+        double[] objectives = new double[numberOfObjectives];
+        for (int i = 0; i < numberOfObjectives; i++) {
+            objectives[i] = random.nextInt(1000) / 10.0;
+        }
+        return solution(objectives);
+    }
+
+    private static double[] objectives(DoubleSolution solution) {
+        double[] objectives = new double[solution.getNumberOfObjectives()];
+        for (int i = 0; i < objectives.length; i++) {
+            objectives[i] = solution.getObjective(i);
+        }
+        return objectives;
+    }
+
+    @Test
+    public void testSnapshotHasTheSolutionsAndDistancesOfTheMergedArchive() {
+        CrowdingDistance<DoubleSolution> crowdingDistance = new CrowdingDistance<>();
+        Random random = new Random(1);
+        for (int run = 0; run < 50; run++) {
+            int numberOfObjectives = 2 + random.nextInt(2);
+            int maxSize = 1 + random.nextInt(10);
+            ConcurrentCrowdingDistanceArchive<DoubleSolution> concurrent =
+                    new ConcurrentCrowdingDistanceArchive<>(maxSize, 1 + random.nextInt(5));
+            IncrementalCrowdingDistanceArchive<DoubleSolution> sequential =
+                    new IncrementalCrowdingDistanceArchive<>(maxSize);
+            for (int i = 0; i < 100; i++) {
+                DoubleSolution s = randomSolution(random, numberOfObjectives);
+                // Buffered solutions are merged in the order they were added
+                if (concurrent.add(s)) {
+                    sequential.add(s);
+                }
+            }
+            concurrent.computeDensityEstimator();
+            sequential.computeDensityEstimator();
+
+            assertEquals(sequential.size(), concurrent.size());
+            for (int i = 0; i < sequential.size(); i++) {
+                DoubleSolution archived = sequential.get(i);
+                DoubleSolution published = concurrent.get(i);
+                assertNotSame(archived, published);
+                assertArrayEquals(objectives(archived), objectives(published), 0);
+                assertEquals(crowdingDistance.getAttribute(archived), crowdingDistance.getAttribute(published));
+            }
+        }
+    }
+
+    @Test
+    public void testSnapshotIsNotChangedByLaterMerges() {
+        CrowdingDistance<DoubleSolution> crowdingDistance = new CrowdingDistance<>();
+        ConcurrentCrowdingDistanceArchive<DoubleSolution> archive = new ConcurrentCrowdingDistanceArchive<>(10, 1);
+        archive.add(solution(0, 10));
+        archive.add(solution(10, 0));
+        archive.add(solution(2, 6));
+        List<DoubleSolution> snapshot = archive.getSolutionList();
+        List<Double> distances = new ArrayList<>();
+        for (DoubleSolution s : snapshot) {
+            distances.add(crowdingDistance.getAttribute(s));
+        }
+
+        archive.add(solution(4, 4));
+        archive.add(solution(6, 2));
+
+        assertEquals(3, snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            assertEquals(distances.get(i), crowdingDistance.getAttribute(snapshot.get(i)));
+        }
+        assertEquals(5, archive.size());
+    }
+}
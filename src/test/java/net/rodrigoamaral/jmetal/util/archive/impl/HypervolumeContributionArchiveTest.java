@@ -0,0 +1,184 @@
+package net.rodrigoamaral.jmetal.util.archive.impl;
+
+import net.rodrigoamaral.dspsp.solution.DSPSPSolution;
+import net.rodrigoamaral.jmetal.qualityindicator.impl.hypervolume.ExactHypervolume;
+import org.junit.Test;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.archive.impl.AbstractBoundedArchive;
+import org.uma.jmetal.util.comparator.HypervolumeContributionComparator;
+import org.uma.jmetal.util.solutionattribute.impl.HypervolumeContributionAttribute;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class HypervolumeContributionArchiveTest {
+
+    private static final double[] NO_BOUNDS = new double[0];
+
+    private final HypervolumeContributionAttribute<DoubleSolution> contribution =
+            new HypervolumeContributionAttribute<>();
+
+    private static DoubleSolution solution(double... objectives) {
+        return new DSPSPSolution(NO_BOUNDS, NO_BOUNDS, NO_BOUNDS, objectives);
+    }
+
+    private static double[][] points(List<DoubleSolution> solutions, int numberOfObjectives) {
+        double[][] points = new double[solutions.size()][numberOfObjectives];
+        for (int k = 0; k < points.length; k++) {
+            for (int i = 0; i < numberOfObjectives; i++) {
+                points[k][i] = solutions.get(k).getObjective(i);
+            }
+        }
+        return points;
+    }
+
+    /**
+     * @return hypervolume lost without each point, with respect to the
+     * reference point of the archive
+     */
+    private static double[] contributions(double[][] points, int numberOfObjectives) {
+        double[] ideal = new double[numberOfObjectives];
+        double[] nadir = new double[numberOfObjectives];
+        Arrays.fill(ideal, Double.POSITIVE_INFINITY);
+        Arrays.fill(nadir, Double.NEGATIVE_INFINITY);
+        for (double[] point : points) {
+            for (int i = 0; i < numberOfObjectives; i++) {
+                ideal[i] = Math.min(ideal[i], point[i]);
+                nadir[i] = Math.max(nadir[i], point[i]);
+            }
+        }
+        double[] referencePoint = new double[numberOfObjectives];
+        for (int i = 0; i < numberOfObjectives; i++) {
+            double range = nadir[i] - ideal[i];
+            referencePoint[i] = nadir[i]
+                    + HypervolumeContributionArchive.REFERENCE_OFFSET * (range > 0 ? range : 1);
+        }
+        ExactHypervolume hypervolume = new ExactHypervolume(referencePoint);
+        double total = hypervolume.hypervolume(points, points.length);
+        double[] contributions = new double[points.length];
+        for (int k = 0; k < points.length; k++) {
+            double[][] others = new double[points.length - 1][];
+            for (int j = 0, n = 0; j < points.length; j++) {
+                if (j != k) {
+                    others[n++] = points[j];
+                }
+            }
+            contributions[k] = total - hypervolume.hypervolume(others, others.length);
+        }
+        return contributions;
+    }
+
+    /**
+     * Recomputes every contribution on every pruning, as SMS-EMOA does.
+     */
+    @SuppressWarnings("serial")
+    private static class RecomputingArchive extends AbstractBoundedArchive<DoubleSolution> {
+        private final int numberOfObjectives;
+
+        RecomputingArchive(int maxSize, int numberOfObjectives) {
+            super(maxSize);
+            this.numberOfObjectives = numberOfObjectives;
+        }
+
+        @Override
+        public void prune() {
+            if (getSolutionList().size() > getMaxSize()) {
+                double[] contributions = contributions(points(getSolutionList(), numberOfObjectives),
+                        numberOfObjectives);
+                int worst = 0;
+                for (int k = 1; k < contributions.length; k++) {
+                    if (contributions[k] < contributions[worst]) {
+                        worst = k;
+                    }
+                }
+                getSolutionList().remove(worst);
+            }
+        }
+
+        @Override
+        public Comparator<DoubleSolution> getComparator() {
+            return new HypervolumeContributionComparator<>();
+        }
+
+        @Override
+        public void computeDensityEstimator() {
+        }
+    }
+
+    /**
+     * Adds the same random solutions to both archives, spread along a
+     * spherical front so that the reference point moves less and less
+     * and most contributions are kept from one pruning to the next.
+     * Solutions are sometimes removed from the archives directly, as the
+     * algorithms do with their leaders.
+     */
+    private void assertSameAsRecomputingArchive(long seed, int numberOfObjectives, int maxSize) {
+        Random random = new Random(seed);
+        RecomputingArchive expected = new RecomputingArchive(maxSize, numberOfObjectives);
+        HypervolumeContributionArchive<DoubleSolution> archive =
+                new HypervolumeContributionArchive<>(maxSize, numberOfObjectives);
+        for (int k = 0; k < 500; k++) {
+            double[] objectives = new double[numberOfObjectives];
+            double norm = 0;
+            for (int i = 0; i < numberOfObjectives; i++) {
+                objectives[i] = Math.abs(random.nextGaussian());
+                norm += objectives[i] * objectives[i];
+            }
+            double radius = (1 - 0.1 * random.nextDouble()) / Math.sqrt(norm);
+            for (int i = 0; i < numberOfObjectives; i++) {
+                objectives[i] *= radius;
+            }
+            DoubleSolution s = solution(objectives);
+            assertEquals("solution " + k, expected.add(s), archive.add(s));
+            if (k % 53 == 0 && expected.size() > 1) {
+                int index = random.nextInt(expected.size());
+                expected.getSolutionList().remove(index);
+                archive.getSolutionList().remove(index);
+            }
+
+            assertEquals(expected.size(), archive.size());
+            for (int j = 0; j < expected.size(); j++) {
+                assertSame("solution " + k, expected.get(j), archive.get(j));
+            }
+        }
+
+        double[] contributions = contributions(points(expected.getSolutionList(), numberOfObjectives),
+                numberOfObjectives);
+        archive.computeDensityEstimator();
+        for (int j = 0; j < archive.size(); j++) {
+            assertEquals(contributions[j], contribution.getAttribute(archive.get(j)), 1e-12);
+        }
+    }
+
+    @Test
+    public void testSameSolutionsAsRecomputingArchive() {
+        for (int numberOfObjectives = 2; numberOfObjectives <= 4; numberOfObjectives++) {
+            for (long seed = 0; seed < 3; seed++) {
+                assertSameAsRecomputingArchive(seed, numberOfObjectives, 20);
+                assertSameAsRecomputingArchive(seed, numberOfObjectives, 3);
+            }
+        }
+    }
+
+    @Test
+    public void testRemovesSmallestContribution() {
+        HypervolumeContributionArchive<DoubleSolution> archive = new HypervolumeContributionArchive<>(2, 2);
+        DoubleSolution a = solution(0, 10);
+        DoubleSolution b = solution(10, 0);
+        DoubleSolution c = solution(5, 9.5);
+        archive.add(a);
+        archive.add(b);
+        archive.add(c);
+
+        // The reference point is (11, 11), so c adds 2.5, while a and b add
+        // 5 and 9.5
+        assertEquals(2, archive.size());
+        assertSame(a, archive.get(0));
+        assertSame(b, archive.get(1));
+    }
+}
@@ -0,0 +1,140 @@
+package net.rodrigoamaral.jmetal.util.archive.impl;
+
+import net.rodrigoamaral.dspsp.solution.DSPSPSolution;
+import org.junit.Test;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.archive.impl.AbstractBoundedArchive;
+import org.uma.jmetal.util.comparator.DominanceComparator;
+import org.uma.jmetal.util.distance.Distance;
+import org.uma.jmetal.util.distance.impl.EuclideanDistanceBetweenSolutionsInObjectiveSpace;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class IdealArchiveTest {
+
+    private static final double[] NO_BOUNDS = new double[0];
+
+    private static DoubleSolution solution(double... objectives) {
+        return new DSPSPSolution(NO_BOUNDS, NO_BOUNDS, NO_BOUNDS, objectives);
+    }
+
+    /**
+     * Recomputes the ideal point and all the distances on every pruning,
+     * as IdealArchive did before keeping them up to date.
+     */
+    @SuppressWarnings("serial")
+    private static class RecomputingIdealArchive extends AbstractBoundedArchive<DoubleSolution> {
+        private final int numberOfObjectives;
+        private final Distance<DoubleSolution, DoubleSolution> distance =
+                new EuclideanDistanceBetweenSolutionsInObjectiveSpace<>();
+
+        RecomputingIdealArchive(int maxSize, int numberOfObjectives) {
+            super(maxSize);
+            this.numberOfObjectives = numberOfObjectives;
+        }
+
+        @Override
+        public void prune() {
+            if (getSolutionList().size() > getMaxSize()) {
+                double[] ideal = new double[numberOfObjectives];
+                Arrays.fill(ideal, Double.POSITIVE_INFINITY);
+                for (DoubleSolution s : getSolutionList()) {
+                    for (int i = 0; i < numberOfObjectives; i++) {
+                        ideal[i] = Math.min(ideal[i], s.getObjective(i));
+                    }
+                }
+                DoubleSolution idealSolution = solution(ideal);
+                double highDistanceValue = 0;
+                int index = -1;
+                for (int k = 0; k < getSolutionList().size(); k++) {
+                    double d = new BigDecimal(distance.getDistance(idealSolution, getSolutionList().get(k)))
+                            .setScale(5, BigDecimal.ROUND_UP).doubleValue();
+                    if (d >= highDistanceValue) {
+                        highDistanceValue = d;
+                        index = k;
+                    }
+                }
+                getSolutionList().remove(index);
+            }
+        }
+
+        @Override
+        public Comparator<DoubleSolution> getComparator() {
+            return new DominanceComparator<>();
+        }
+
+        @Override
+        public void computeDensityEstimator() {
+        }
+    }
+
+    private static void assertSameArchive(RecomputingIdealArchive expected, IdealArchive<DoubleSolution> archive) {
+        assertEquals(expected.size(), archive.size());
+        for (int k = 0; k < expected.size(); k++) {
+            assertSame(expected.get(k), archive.get(k));
+        }
+    }
+
+    /**
+     * Adds the same random solutions to both archives, mostly near a
+     * linear front so that the archives overflow and the ideal point
+     * moves, and with decimal objectives so that distances are rounded.
+     * Solutions are sometimes removed from the archives directly, as the
+     * algorithms do with their leaders.
+     */
+    private static void assertSameAsRecomputingArchive(long seed, int numberOfObjectives, int maxSize) {
+        Random random = new Random(seed);
+        RecomputingIdealArchive expected = new RecomputingIdealArchive(maxSize, numberOfObjectives);
+        IdealArchive<DoubleSolution> archive = new IdealArchive<>(maxSize, numberOfObjectives);
+        for (int k = 0; k < 1000; k++) {
+            double[] objectives = new double[numberOfObjectives];
+            double sum = 0;
+            for (int i = 0; i < numberOfObjectives - 1; i++) {
+                objectives[i] = random.nextInt(400) / 8.0;
+                sum += objectives[i];
+            }
+            objectives[numberOfObjectives - 1] = Math.max(0, 50 - sum / (numberOfObjectives - 1))
+                    + random.nextInt(10) / 8.0;
+            DoubleSolution s = solution(objectives);
+            assertEquals("solution " + k, expected.add(s), archive.add(s));
+            if (k % 97 == 0 && expected.size() > 1) {
+                int index = random.nextInt(expected.size());
+                expected.getSolutionList().remove(index);
+                archive.getSolutionList().remove(index);
+            }
+            assertSameArchive(expected, archive);
+        }
+    }
+
+    @Test
+    public void testSameSolutionsAsRecomputingArchive() {
+        for (int numberOfObjectives = 2; numberOfObjectives <= 4; numberOfObjectives++) {
+            for (long seed = 0; seed < 5; seed++) {
+                assertSameAsRecomputingArchive(seed, numberOfObjectives, 20);
+                assertSameAsRecomputingArchive(seed, numberOfObjectives, 2);
+            }
+        }
+    }
+
+    @Test
+    public void testRemovesLastFarthestSolution() {
+        IdealArchive<DoubleSolution> archive = new IdealArchive<>(2, 2);
+        DoubleSolution a = solution(0, 2);
+        DoubleSolution b = solution(2, 0);
+        DoubleSolution c = solution(1, 1);
+        archive.add(a);
+        archive.add(b);
+        archive.add(c);
+
+        // a and b are at the same distance from the ideal point (0, 0)
+        assertEquals(2, archive.size());
+        assertSame(a, archive.get(0));
+        assertSame(c, archive.get(1));
+    }
+}
@@ -0,0 +1,98 @@
+package net.rodrigoamaral.jmetal.util.archive.impl;
+
+import net.rodrigoamaral.dspsp.solution.DSPSPSolution;
+import org.junit.Test;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.archive.impl.CrowdingDistanceArchive;
+import org.uma.jmetal.util.solutionattribute.impl.CrowdingDistance;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class IncrementalCrowdingDistanceArchiveTest {
+
+    private static final double[] NO_BOUNDS = new double[0];
+
+    private final CrowdingDistance<DoubleSolution> crowdingDistance = new CrowdingDistance<>();
+
+    private static DoubleSolution solution(double... objectives) {
+        return new DSPSPSolution(NO_BOUNDS, NO_BOUNDS, NO_BOUNDS, objectives);
+    }
+
+    /**
+     * Compares the archived solutions, and the crowding distances each
+     * archive writes to them.
+     */
+    private void assertSameArchive(CrowdingDistanceArchive<DoubleSolution> expected,
+                                   IncrementalCrowdingDistanceArchive<DoubleSolution> archive) {
+        assertEquals(expected.size(), archive.size());
+        for (int k = 0; k < expected.size(); k++) {
+            assertSame(expected.get(k), archive.get(k));
+        }
+        double[] distances = new double[expected.size()];
+        expected.computeDensityEstimator();
+        for (int k = 0; k < distances.length; k++) {
+            distances[k] = crowdingDistance.getAttribute(expected.get(k));
+        }
+        archive.computeDensityEstimator();
+        for (int k = 0; k < distances.length; k++) {
+            assertEquals("solution " + k, distances[k], crowdingDistance.getAttribute(archive.get(k)), 0.0);
+        }
+    }
+
+    /**
+     * Adds the same random solutions to both archives, with objectives on
+     * a grid so that there are ties, and mostly near a linear front so
+     * that the archives overflow.
+     */
+    private void assertSameAsCrowdingDistanceArchive(long seed, int numberOfObjectives, int maxSize) {
+        Random random = new Random(seed);
+        CrowdingDistanceArchive<DoubleSolution> expected = new CrowdingDistanceArchive<>(maxSize);
+        IncrementalCrowdingDistanceArchive<DoubleSolution> archive = new IncrementalCrowdingDistanceArchive<>(maxSize);
+        int grid = 40;
+        for (int k = 0; k < 1000; k++) {
+            double[] objectives = new double[numberOfObjectives];
+            int sum = 0;
+            for (int i = 0; i < numberOfObjectives - 1; i++) {
+                objectives[i] = random.nextInt(grid);
+                sum += objectives[i];
+            }
+            objectives[numberOfObjectives - 1] = Math.max(0, grid - sum / (numberOfObjectives - 1))
+                    + random.nextInt(3);
+            DoubleSolution s = solution(objectives);
+            assertEquals("solution " + k, expected.add(s), archive.add(s));
+            if (k % 50 == 0) {
+                assertSameArchive(expected, archive);
+            }
+        }
+        assertSameArchive(expected, archive);
+    }
+
+    @Test
+    public void testSameSolutionsAndDistancesAsCrowdingDistanceArchive() {
+        for (int numberOfObjectives = 2; numberOfObjectives <= 4; numberOfObjectives++) {
+            for (long seed = 0; seed < 5; seed++) {
+                assertSameAsCrowdingDistanceArchive(seed, numberOfObjectives, 20);
+                assertSameAsCrowdingDistanceArchive(seed, numberOfObjectives, 3);
+            }
+        }
+    }
+
+    @Test
+    public void testBoundariesHaveInfiniteDistance() {
+        IncrementalCrowdingDistanceArchive<DoubleSolution> archive = new IncrementalCrowdingDistanceArchive<>(10);
+        DoubleSolution a = solution(0, 4);
+        DoubleSolution b = solution(1, 2);
+        DoubleSolution c = solution(4, 0);
+        archive.add(a);
+        archive.add(b);
+        archive.add(c);
+        archive.computeDensityEstimator();
+
+        assertEquals(Double.POSITIVE_INFINITY, crowdingDistance.getAttribute(a), 0.0);
+        assertEquals(Double.POSITIVE_INFINITY, crowdingDistance.getAttribute(c), 0.0);
+        assertEquals(2.0, crowdingDistance.getAttribute(b), 1e-12);
+    }
+}
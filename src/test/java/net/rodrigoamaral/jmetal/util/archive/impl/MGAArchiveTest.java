@@ -0,0 +1,146 @@
+package net.rodrigoamaral.jmetal.util.archive.impl;
+
+import net.rodrigoamaral.dspsp.solution.DSPSPSolution;
+import org.junit.Test;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.archive.impl.NonDominatedSolutionListArchive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MGAArchiveTest {
+
+    private static final double[] NO_BOUNDS = new double[0];
+
+    private static DoubleSolution solution(double... objectives) {
+        return new DSPSPSolution(NO_BOUNDS, NO_BOUNDS, NO_BOUNDS, objectives);
+    }
+
+    @Test
+    public void testPruneRemovesSolutionDominatedAtFinestLevel() {
+        MGAArchive<DoubleSolution> archive = new MGAArchive<>(2, 2);
+        DoubleSolution a = solution(0, 8);
+        DoubleSolution b = solution(8, 0);
+        DoubleSolution c = solution(1, 7);
+        archive.add(a);
+        archive.add(b);
+        archive.add(c);
+
+        // Boxes are the values at level 0, and at level 1 the box (0, 3) of
+        // c dominates the box (0, 4) of a. Coarser levels are not looked at.
+        assertEquals(2, archive.size());
+        assertSame(b, archive.get(0));
+        assertSame(c, archive.get(1));
+    }
+
+    @Test
+    public void testPruneKeepsInsertionOrder() {
+        MGAArchive<DoubleSolution> archive = new MGAArchive<>(3, 2);
+        DoubleSolution[] solutions = {
+                solution(0, 16), solution(4, 9), solution(16, 0), solution(9, 4), solution(5, 8)};
+        for (DoubleSolution s : solutions) {
+            archive.add(s);
+        }
+
+        assertEquals(3, archive.size());
+        int last = -1;
+        for (DoubleSolution s : archive.getSolutionList()) {
+            int index = indexOf(solutions, s);
+            assertTrue(index > last);
+            last = index;
+        }
+    }
+
+    @Test
+    public void testPruneRemovesBoxDominatedSolutionOfFinestLevel() {
+        Random random = new Random(1);
+        for (int run = 0; run < 500; run++) {
+            int numberOfObjectives = 2 + random.nextInt(3);
+            int maxSize = 1 + random.nextInt(20);
+            List<DoubleSolution> front = nonDominatedSolutions(random, numberOfObjectives, maxSize + 1);
+            if (front.size() <= maxSize) {
+                continue;
+            }
+            front = front.subList(0, maxSize + 1);
+
+            MGAArchive<DoubleSolution> archive = new MGAArchive<>(maxSize, numberOfObjectives);
+            for (DoubleSolution s : front) {
+                assertTrue(archive.add(s));
+            }
+
+            assertEquals(maxSize, archive.size());
+            List<DoubleSolution> removed = new ArrayList<>(front);
+            removed.removeAll(archive.getSolutionList());
+            assertEquals(1, removed.size());
+            assertTrue(finestLevelCandidates(front, numberOfObjectives).contains(removed.get(0)));
+        }
+    }
+
+    /**
+     * Random non-dominated solutions whose objectives are multiples of 1/8
+     * in [0, 64), so that many share boxes at coarse levels.
+     */
+    private static List<DoubleSolution> nonDominatedSolutions(Random random, int numberOfObjectives, int size) {
+        NonDominatedSolutionListArchive<DoubleSolution> archive = new NonDominatedSolutionListArchive<>();
+        for (int attempt = 0; attempt < 100 * size && archive.size() < size; attempt++) {
+            double[] objectives = new double[numberOfObjectives];
+            int sum = 0;
+            for (int i = 0; i < numberOfObjectives - 1; i++) {
+                objectives[i] = random.nextInt(64 * 8) / 8.0;
+                sum += objectives[i] * 8;
+            }
+            objectives[numberOfObjectives - 1] = Math.max(0, 64 * 8 - sum - random.nextInt(16)) / 8.0;
+            archive.add(solution(objectives));
+        }
+        return archive.getSolutionList();
+    }
+
+    /**
+     * Solutions whose box is weakly dominated by the box of another at the
+     * finest level at which there are such solutions, comparing all pairs
+     * at all levels.
+     */
+    private static List<DoubleSolution> finestLevelCandidates(List<DoubleSolution> solutions, int numberOfObjectives) {
+        for (int level = -4; ; level++) {
+            List<DoubleSolution> candidates = new ArrayList<>();
+            for (DoubleSolution s1 : solutions) {
+                for (DoubleSolution s2 : solutions) {
+                    if (s1 != s2 && boxWeaklyDominates(s2, s1, level, numberOfObjectives)) {
+                        candidates.add(s1);
+                        break;
+                    }
+                }
+            }
+            if (!candidates.isEmpty()) {
+                assertFalse(level == -4);
+                return candidates;
+            }
+        }
+    }
+
+    private static boolean boxWeaklyDominates(DoubleSolution s1, DoubleSolution s2, int level,
+                                              int numberOfObjectives) {
+        double side = Math.pow(2.0, level);
+        for (int i = 0; i < numberOfObjectives; i++) {
+            if (Math.floor(s1.getObjective(i) / side) > Math.floor(s2.getObjective(i) / side)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(DoubleSolution[] solutions, DoubleSolution solution) {
+        for (int i = 0; i < solutions.length; i++) {
+            if (solutions[i] == solution) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,84 @@
+package net.rodrigoamaral.jmetal.util.archive.impl;
+
+import net.rodrigoamaral.dspsp.solution.DSPSPSolution;
+import org.junit.Test;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.archive.impl.NonDominatedSolutionListArchive;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NDTreeArchiveTest {
+
+    private static final double[] NO_BOUNDS = new double[0];
+
+    private static DoubleSolution solution(double... objectives) {
+        return new DSPSPSolution(NO_BOUNDS, NO_BOUNDS, NO_BOUNDS, objectives);
+    }
+
+    private static void assertSameArchive(NonDominatedSolutionListArchive<DoubleSolution> expected,
+                                          NDTreeArchive<DoubleSolution> archive) {
+        assertEquals(expected.size(), archive.size());
+        for (int k = 0; k < expected.size(); k++) {
+            assertSame(expected.get(k), archive.get(k));
+            assertSame(expected.get(k), archive.getSolutionList().get(k));
+        }
+    }
+
+    /**
+     * Adds the same random solutions to both archives, with objectives on
+     * a grid so that there are repeated and weakly dominated solutions.
+     */
+    private static void assertSameAsListArchive(long seed, int numberOfObjectives, int grid, int maxLeafSize) {
+        Random random = new Random(seed);
+        NonDominatedSolutionListArchive<DoubleSolution> expected = new NonDominatedSolutionListArchive<>();
+        NDTreeArchive<DoubleSolution> archive = new NDTreeArchive<>(maxLeafSize);
+        for (int k = 0; k < 2000; k++) {
+            double[] objectives = new double[numberOfObjectives];
+            for (int i = 0; i < numberOfObjectives; i++) {
+                objectives[i] = random.nextInt(grid);
+            }
+            // Mostly near the front, so that the archives grow
+            if (random.nextBoolean()) {
+                objectives[numberOfObjectives - 1] = grid - 1 - objectives[0];
+            }
+            DoubleSolution s = solution(objectives);
+            assertEquals("solution " + k, expected.add(s), archive.add(s));
+            if (k % 100 == 0) {
+                assertSameArchive(expected, archive);
+            }
+        }
+        assertSameArchive(expected, archive);
+    }
+
+    @Test
+    public void testSameSolutionsAsListArchive() {
+        for (int numberOfObjectives = 2; numberOfObjectives <= 4; numberOfObjectives++) {
+            for (long seed = 0; seed < 5; seed++) {
+                assertSameAsListArchive(seed, numberOfObjectives, 50, NDTreeArchive.DEFAULT_MAX_LEAF_SIZE);
+                assertSameAsListArchive(seed, numberOfObjectives, 50, 2);
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsRepeatedAndDominatedSolutions() {
+        NDTreeArchive<DoubleSolution> archive = new NDTreeArchive<>(1);
+        DoubleSolution a = solution(1, 5);
+        DoubleSolution b = solution(5, 1);
+        assertTrue(archive.add(a));
+        assertTrue(archive.add(b));
+        assertFalse(archive.add(solution(1, 5)));
+        assertFalse(archive.add(solution(5, 6)));
+        assertEquals(2, archive.size());
+
+        DoubleSolution c = solution(0, 0);
+        assertTrue(archive.add(c));
+        assertEquals(1, archive.size());
+        assertSame(c, archive.get(0));
+    }
+}
@@ -0,0 +1,114 @@
+package net.rodrigoamaral.jmetal.util.solutionattribute.impl;
+
+import net.rodrigoamaral.dspsp.solution.DSPSPSolution;
+import net.rodrigoamaral.jmetal.util.solutionattribute.RankingType;
+import org.junit.Test;
+import org.uma.jmetal.solution.DoubleSolution;
+import org.uma.jmetal.util.solutionattribute.Ranking;
+import org.uma.jmetal.util.solutionattribute.impl.DominanceRanking;
+import org.uma.jmetal.util.solutionattribute.impl.OverallConstraintViolation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class EfficientNonDominatedSortRankingTest {
+
+    private static final double[] NO_BOUNDS = new double[0];
+
+    private static DoubleSolution solution(double... objectives) {
+        return new DSPSPSolution(NO_BOUNDS, NO_BOUNDS, NO_BOUNDS, objectives);
+    }
+
+    /**
+     * Solutions with objectives on a coarse grid, so that there are
+     * duplicates and ties in some objectives, and optionally with
+     * constraint violations.
+     */
+    private static List<DoubleSolution> population(Random random, int size, int numberOfObjectives,
+                                                   boolean constrained) {
+        OverallConstraintViolation<DoubleSolution> violation = new OverallConstraintViolation<>();
+        List<DoubleSolution> population = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            double[] objectives = new double[numberOfObjectives];
+            for (int j = 0; j < numberOfObjectives; j++) {
+                objectives[j] = random.nextInt(10);
+            }
+            DoubleSolution s = solution(objectives);
+            if (constrained) {
+                violation.setAttribute(s, random.nextInt(4) == 0 ? -1.0 * random.nextInt(3) : 0.0);
+            }
+            population.add(s);
+        }
+        return population;
+    }
+
+    private static List<List<DoubleSolution>> fronts(RankingType type, List<DoubleSolution> population) {
+        Ranking<DoubleSolution> ranking = type.newRanking();
+        ranking.computeRanking(population);
+        List<List<DoubleSolution>> fronts = new ArrayList<>();
+        for (int rank = 0; rank < ranking.getNumberOfSubfronts(); rank++) {
+            fronts.add(new ArrayList<>(ranking.getSubfront(rank)));
+        }
+        return fronts;
+    }
+
+    private static void assertSameFronts(List<DoubleSolution> population) {
+        List<List<DoubleSolution>> expected = fronts(RankingType.DOMINANCE, population);
+        for (RankingType type : new RankingType[] {RankingType.ENS_SS, RankingType.ENS_BS}) {
+            List<List<DoubleSolution>> fronts = fronts(type, population);
+            assertEquals(type.name(), expected.size(), fronts.size());
+            for (int rank = 0; rank < expected.size(); rank++) {
+                assertEquals(type.name() + " front " + rank, expected.get(rank).size(), fronts.get(rank).size());
+                assertEquals(type.name() + " front " + rank, identities(expected.get(rank)),
+                        identities(fronts.get(rank)));
+            }
+        }
+    }
+
+    private static List<Integer> identities(List<DoubleSolution> front) {
+        List<Integer> identities = new ArrayList<>();
+        for (DoubleSolution s : front) {
+            identities.add(System.identityHashCode(s));
+        }
+        identities.sort(null);
+        return identities;
+    }
+
+    @Test
+    public void testSameFrontsAsFastNonDominatedSort() {
+        Random random = new Random(1);
+        for (int run = 0; run < 200; run++) {
+            assertSameFronts(population(random, 1 + random.nextInt(60), 2 + random.nextInt(3), false));
+        }
+    }
+
+    @Test
+    public void testSameFrontsWithConstraintViolations() {
+        Random random = new Random(2);
+        for (int run = 0; run < 200; run++) {
+            assertSameFronts(population(random, 1 + random.nextInt(60), 2 + random.nextInt(3), true));
+        }
+    }
+
+    @Test
+    public void testRanksAreStoredForDominanceComparators() {
+        DoubleSolution a = solution(1, 1);
+        DoubleSolution b = solution(2, 2);
+        DoubleSolution c = solution(0, 3);
+        List<DoubleSolution> population = new ArrayList<>();
+        population.add(b);
+        population.add(a);
+        population.add(c);
+
+        Ranking<DoubleSolution> ranking = RankingType.ENS_BS.newRanking();
+        ranking.computeRanking(population);
+
+        assertEquals(Integer.valueOf(0), ranking.getAttribute(a));
+        assertEquals(Integer.valueOf(1), ranking.getAttribute(b));
+        assertEquals(Integer.valueOf(0), ranking.getAttribute(c));
+        assertEquals(Integer.valueOf(1), new DominanceRanking<DoubleSolution>().getAttribute(b));
+    }
+}
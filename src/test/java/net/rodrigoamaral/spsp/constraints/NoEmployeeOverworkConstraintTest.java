@@ -0,0 +1,152 @@
+package net.rodrigoamaral.spsp.constraints;
+
+import net.rodrigoamaral.spsp.project.Employee;
+import net.rodrigoamaral.spsp.project.Project;
+import net.rodrigoamaral.spsp.project.Task;
+import net.rodrigoamaral.spsp.project.TaskPrecedenceGraph;
+import net.rodrigoamaral.spsp.solution.DedicationMatrix;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NoEmployeeOverworkConstraintTest {
+
+    private static final int TASKS = 4;
+    private static final int EMPLOYEES = 2;
+
+    private final NoEmployeeOverworkConstraint constraint = new NoEmployeeOverworkConstraint();
+
+    /**
+     * Tasks 0 -> 2 and 1 -> 3, so that each successor starts when its
+     * predecessor finishes, while the other chain is running. Employee 1
+     * has a maximum dedication of 0.5.
+     */
+    private static Project project(double... efforts) {
+        Project project = new Project();
+        for (int t = 0; t < TASKS; t++) {
+            project.getTasks().put(t, new Task(t, efforts[t]));
+        }
+        for (int e = 0; e < EMPLOYEES; e++) {
+            Employee employee = new Employee(e, 1000);
+            employee.setMaxDedication(e == 0 ? 1.0 : 0.5);
+            project.getEmployees().put(e, employee);
+        }
+        TaskPrecedenceGraph graph = new TaskPrecedenceGraph(TASKS);
+        graph.addEdge(0, 2);
+        graph.addEdge(1, 3);
+        project.setTaskPrecedenceGraph(graph);
+        return project;
+    }
+
+    private static DedicationMatrix dedications(double[][] dedications) {
+        DedicationMatrix dm = new DedicationMatrix(EMPLOYEES, TASKS);
+        for (int e = 0; e < EMPLOYEES; e++) {
+            for (int t = 0; t < TASKS; t++) {
+                dm.setDedication(e, t, dedications[e][t]);
+            }
+        }
+        return dm;
+    }
+
+    /**
+     * Computes the overwork as the baseline did, summing the dedications
+     * of the running tasks for every employee and period, but over the
+     * periods between consecutive task start and finish points instead of
+     * at integer instants. A task runs in a period if it covers all of it,
+     * so tasks that only touch it do not count.
+     */
+    private static double pairwiseOverwork(Project project, DedicationMatrix s) {
+        project.calculateDuration(s);
+        TreeSet<Double> instants = new TreeSet<>();
+        for (Task t : project.getTasks().values()) {
+            instants.add(t.getStart());
+            instants.add(t.getFinish());
+        }
+        Double[] points = instants.toArray(new Double[0]);
+        double overwork = 0.0;
+        for (Employee e : project.getEmployees().values()) {
+            for (int i = 0; i + 1 < points.length; i++) {
+                double dedication = 0.0;
+                for (Task t : project.getTasks().values()) {
+                    if (t.getStart() <= points[i] && points[i + 1] <= t.getFinish()) {
+                        dedication += s.getDedication(e.getId(), t.getId());
+                    }
+                }
+                if (dedication > e.getMaxDedication()) {
+                    overwork += (dedication - e.getMaxDedication()) * (points[i + 1] - points[i]);
+                }
+            }
+        }
+        return overwork;
+    }
+
+    @Test
+    public void testTouchingTasksDoNotOverlap() {
+        Project project = project(2, 3, 2, 1);
+        DedicationMatrix s = dedications(new double[][] {
+                {0.5, 0.5, 1.0, 0.5},
+                {0.5, 0.5, 0.0, 0.5}
+        });
+
+        // Tasks run in [0, 2], [0, 3], [2, 4] and [3, 4]. Employee 0 works
+        // 1.5 in [2, 4] and employee 1 works 1.0 in [0, 2]. Sampling at
+        // integer instants would also count task 0 at instant 2 and task 1
+        // at instant 3.
+        assertEquals(2.0, constraint.violationDegree(project, s), 1e-12);
+        assertTrue(constraint.isViolated(project, s));
+    }
+
+    @Test
+    public void testNoOverworkWithinMaximumDedication() {
+        Project project = project(2, 3, 2, 1);
+        DedicationMatrix s = dedications(new double[][] {
+                {0.5, 0.5, 0.5, 0.5},
+                {0.25, 0.25, 0.25, 0.25}
+        });
+
+        // Each employee works on two tasks at a time, at their maximum
+        // dedication, and on three only at the instants where tasks touch
+        assertEquals(0.0, constraint.violationDegree(project, s), 0.0);
+        assertFalse(constraint.isViolated(project, s));
+    }
+
+    /**
+     * Dedications are multiples of 0.25, so that sums are exact and an
+     * employee working exactly their maximum dedication is not
+     * overworked.
+     */
+    @Test
+    public void testSameOverworkAsPairwiseComputation() {
+        Random random = new Random(1);
+        int violated = 0;
+        for (int trial = 0; trial < 500; trial++) {
+            double[] efforts = new double[TASKS];
+            for (int t = 0; t < TASKS; t++) {
+                efforts[t] = 1 + random.nextInt(8);
+            }
+            double[][] dedications = new double[EMPLOYEES][TASKS];
+            for (double[] row : dedications) {
+                for (int t = 0; t < TASKS; t++) {
+                    row[t] = random.nextInt(5) * 0.25;
+                }
+            }
+            Project project = project(efforts);
+            DedicationMatrix s = dedications(dedications);
+
+            double expected = pairwiseOverwork(project, s);
+            String message = "trial " + trial + ": " + Arrays.deepToString(dedications);
+            assertEquals(message, expected, constraint.violationDegree(project, s), 1e-9);
+            assertEquals(message, expected > 0, constraint.isViolated(project, s));
+            if (expected > 0) {
+                violated++;
+            }
+        }
+        assertTrue(violated > 0 && violated < 500);
+    }
+}